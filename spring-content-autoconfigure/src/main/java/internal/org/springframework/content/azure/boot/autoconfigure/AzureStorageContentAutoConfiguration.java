@@ -0,0 +1,23 @@
+package internal.org.springframework.content.azure.boot.autoconfigure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the transfer options of Azure storage stores to the {@code spring.content.azure} properties.
+ */
+@Configuration
+@ConditionalOnClass(AzureStorageTransferOptions.class)
+public class AzureStorageContentAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(AzureStorageTransferOptions.class)
+	@ConfigurationProperties(prefix = "spring.content.azure")
+	public AzureStorageTransferOptions azureStorageTransferOptions() {
+		return new AzureStorageTransferOptions();
+	}
+}
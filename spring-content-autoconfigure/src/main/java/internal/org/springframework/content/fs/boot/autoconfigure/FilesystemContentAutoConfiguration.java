@@ -10,6 +10,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.content.fs.config.FilesystemStoreShardingStrategy;
+import org.springframework.content.fs.config.FilesystemStoreWriteOptions;
 import org.springframework.content.fs.io.FileSystemResourceLoader;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,6 +46,23 @@ public class FilesystemContentAutoConfiguration {
 		return new FileSystemResourceLoader(props.getFilesystemRoot());
 	}
 
+	@Bean
+	@ConditionalOnMissingBean(FilesystemStoreWriteOptions.class)
+	FilesystemStoreWriteOptions filesystemStoreWriteOptions(FilesystemProperties props) {
+		FilesystemStoreWriteOptions options = new FilesystemStoreWriteOptions();
+		options.setAtomic(props.isAtomicWrites());
+		options.setFsync(props.isFsync());
+		options.setBufferSize(props.getWriteBufferSize());
+		return options;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(FilesystemStoreShardingStrategy.class)
+	@ConditionalOnProperty(prefix = "spring.content.fs", name = "sharding-levels")
+	FilesystemStoreShardingStrategy filesystemStoreShardingStrategy(FilesystemProperties props) {
+		return FilesystemStoreShardingStrategy.hexFanOut(props.getShardingLevels());
+	}
+
 	@Component
 	@ConfigurationProperties(prefix = "spring.content.fs")
 	public static class FilesystemProperties {
@@ -55,6 +74,26 @@ public class FilesystemContentAutoConfiguration {
 		 */
 		String filesystemRoot;
 
+		/**
+		 * Whether content is written to a temporary file and then atomically moved into place
+		 */
+		boolean atomicWrites = true;
+
+		/**
+		 * Whether content is forced to the storage device before it is moved into place
+		 */
+		boolean fsync = false;
+
+		/**
+		 * The size of the buffer used to write content
+		 */
+		int writeBufferSize = FilesystemStoreWriteOptions.DEFAULT_BUFFER_SIZE;
+
+		/**
+		 * The number of hex-named directory levels content is spread across, from 1 to 4.  Unset by default
+		 */
+		int shardingLevels;
+
 		public String getFilesystemRoot() {
 			if (filesystemRoot == null) {
 				try {
@@ -73,5 +112,37 @@ public class FilesystemContentAutoConfiguration {
 		public void setFilesystemRoot(String filesystemRoot) {
 			this.filesystemRoot = filesystemRoot;
 		}
+
+		public boolean isAtomicWrites() {
+			return atomicWrites;
+		}
+
+		public void setAtomicWrites(boolean atomicWrites) {
+			this.atomicWrites = atomicWrites;
+		}
+
+		public boolean isFsync() {
+			return fsync;
+		}
+
+		public void setFsync(boolean fsync) {
+			this.fsync = fsync;
+		}
+
+		public int getWriteBufferSize() {
+			return writeBufferSize;
+		}
+
+		public void setWriteBufferSize(int writeBufferSize) {
+			this.writeBufferSize = writeBufferSize;
+		}
+
+		public int getShardingLevels() {
+			return shardingLevels;
+		}
+
+		public void setShardingLevels(int shardingLevels) {
+			this.shardingLevels = shardingLevels;
+		}
 	}
 }
@@ -0,0 +1,23 @@
+package internal.org.springframework.content.gcs.boot.autoconfigure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.content.gcs.config.GCPStorageUploadOptions;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the upload options of GCP storage stores to the {@code spring.content.gcp.storage} properties.
+ */
+@Configuration
+@ConditionalOnClass(GCPStorageUploadOptions.class)
+public class GCPStorageContentAutoConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(GCPStorageUploadOptions.class)
+	@ConfigurationProperties(prefix = "spring.content.gcp.storage")
+	public GCPStorageUploadOptions gcpStorageUploadOptions() {
+		return new GCPStorageUploadOptions();
+	}
+}
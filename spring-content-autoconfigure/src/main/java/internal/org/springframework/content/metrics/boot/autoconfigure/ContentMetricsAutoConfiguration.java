@@ -0,0 +1,42 @@
+package internal.org.springframework.content.metrics.boot.autoconfigure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.content.encryption.EnvelopeEncryptionService;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the caches and counters of Spring Content to Micrometer, when Micrometer is on the classpath.  Each binder
+ * binds whichever of the instrumented beans exist when the registry is configured.
+ */
+@Configuration
+@ConditionalOnClass(MeterBinder.class)
+public class ContentMetricsAutoConfiguration {
+
+    @Configuration
+    @ConditionalOnClass(S3ObjectMetadataCache.class)
+    public static class S3MetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(S3ObjectMetadataCacheMetrics.class)
+        public S3ObjectMetadataCacheMetrics s3ObjectMetadataCacheMetrics(ObjectProvider<S3ObjectMetadataCache> caches) {
+            return new S3ObjectMetadataCacheMetrics(caches);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(EnvelopeEncryptionService.class)
+    public static class EncryptionMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(EnvelopeEncryptionMetrics.class)
+        public EnvelopeEncryptionMetrics envelopeEncryptionMetrics(ObjectProvider<EnvelopeEncryptionService> services) {
+            return new EnvelopeEncryptionMetrics(services);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package internal.org.springframework.content.metrics.boot.autoconfigure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.content.encryption.DataKeyCache;
+import org.springframework.content.encryption.EnvelopeEncryptionService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the Vault requests of the {@link EnvelopeEncryptionService}, if there is one, and its {@link DataKeyCache}
+ * using Micrometer's cache meter names and the tag {@code cache=dataKeys}.
+ */
+public class EnvelopeEncryptionMetrics implements MeterBinder {
+
+    static final String CACHE_NAME = "dataKeys";
+
+    private final ObjectProvider<EnvelopeEncryptionService> services;
+
+    public EnvelopeEncryptionMetrics(ObjectProvider<EnvelopeEncryptionService> services) {
+        this.services = services;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        services.ifUnique(service -> {
+            FunctionTimer.builder("spring.content.encryption.vault.requests", service,
+                    EnvelopeEncryptionService::getVaultRequestCount,
+                    EnvelopeEncryptionService::getVaultRequestNanos,
+                    TimeUnit.NANOSECONDS)
+                    .description("Requests made to Vault to generate or decrypt data keys")
+                    .register(registry);
+
+            DataKeyCache cache = service.getDataKeyCache();
+            if (cache == null) {
+                return;
+            }
+
+            Gauge.builder("cache.size", cache, DataKeyCache::size)
+                    .tag("cache", CACHE_NAME)
+                    .description("The number of cached data keys")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", cache, DataKeyCache::getHitCount)
+                    .tags("cache", CACHE_NAME, "result", "hit")
+                    .description("The number of data keys found in the cache")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", cache, DataKeyCache::getMissCount)
+                    .tags("cache", CACHE_NAME, "result", "miss")
+                    .description("The number of data keys not found in the cache")
+                    .register(registry);
+        });
+    }
+}
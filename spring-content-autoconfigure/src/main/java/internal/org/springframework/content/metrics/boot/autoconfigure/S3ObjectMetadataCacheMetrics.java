@@ -0,0 +1,49 @@
+package internal.org.springframework.content.metrics.boot.autoconfigure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Binds the {@link S3ObjectMetadataCache}, if there is one, using Micrometer's cache meter names and the tag
+ * {@code cache=s3ObjectMetadata}.
+ */
+public class S3ObjectMetadataCacheMetrics implements MeterBinder {
+
+    static final String CACHE_NAME = "s3ObjectMetadata";
+
+    private final ObjectProvider<S3ObjectMetadataCache> caches;
+
+    public S3ObjectMetadataCacheMetrics(ObjectProvider<S3ObjectMetadataCache> caches) {
+        this.caches = caches;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        caches.ifUnique(cache -> {
+            Gauge.builder("cache.size", cache, S3ObjectMetadataCache::size)
+                    .tag("cache", CACHE_NAME)
+                    .description("The number of objects whose metadata is cached")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", cache, S3ObjectMetadataCache::getHitCount)
+                    .tags("cache", CACHE_NAME, "result", "hit")
+                    .description("The number of lookups answered from the cache")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", cache, S3ObjectMetadataCache::getMissCount)
+                    .tags("cache", CACHE_NAME, "result", "miss")
+                    .description("The number of lookups that made a HEAD request")
+                    .register(registry);
+
+            FunctionCounter.builder("cache.gets", cache, S3ObjectMetadataCache::getCoalescedCount)
+                    .tags("cache", CACHE_NAME, "result", "coalesced")
+                    .description("The number of lookups that waited for another lookup's HEAD request")
+                    .register(registry);
+        });
+    }
+}
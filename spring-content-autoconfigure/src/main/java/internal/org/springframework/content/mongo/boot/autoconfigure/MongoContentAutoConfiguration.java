@@ -4,6 +4,9 @@ import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.content.mongo.config.MongoStoreUploadOptions;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
@@ -26,4 +29,10 @@ import internal.org.springframework.versions.jpa.boot.autoconfigure.JpaVersionsA
 @Import({ MongoContentAutoConfigureRegistrar.class, MongoStoreConfiguration.class })
 public class MongoContentAutoConfiguration {
 
+	@Bean
+	@ConditionalOnMissingBean(MongoStoreUploadOptions.class)
+	@ConfigurationProperties(prefix = "spring.content.mongo")
+	public MongoStoreUploadOptions mongoStoreUploadOptions() {
+		return new MongoStoreUploadOptions();
+	}
 }
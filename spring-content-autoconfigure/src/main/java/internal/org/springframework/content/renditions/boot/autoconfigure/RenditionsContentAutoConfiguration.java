@@ -1,20 +1,89 @@
 package internal.org.springframework.content.renditions.boot.autoconfigure;
 
+import java.io.File;
+
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.content.commons.renditions.FileSystemRenditionCache;
+import org.springframework.content.commons.renditions.RenditionCache;
 import org.springframework.content.docx4j.config.Docx4jConfiguration;
 import org.springframework.content.renditions.config.RenditionsConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Component;
 
 @Configuration
 @ConditionalOnClass(RenditionsConfiguration.class)
 @Import(RenditionsConfiguration.class)
 public class RenditionsContentAutoConfiguration {
 
+    @Bean
+    @ConditionalOnMissingBean(RenditionCache.class)
+    @ConditionalOnProperty(prefix = "spring.content.renditions.cache", name = "enabled", havingValue = "true")
+    RenditionCache renditionCache(RenditionsProperties props) {
+        return new FileSystemRenditionCache(props.getCache().getDirectory(), props.getCache().getMaxSize());
+    }
+
     @Configuration
     @ConditionalOnClass(Docx4jConfiguration.class)
     @Import(Docx4jConfiguration.class)
     public static class Docx4jAutoConfiguration {
         //
     }
+
+    @Component
+    @ConfigurationProperties(prefix = "spring.content.renditions")
+    public static class RenditionsProperties {
+
+        private final Cache cache = new Cache();
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public static class Cache {
+
+            /**
+             * Whether renditions are cached on the local filesystem
+             */
+            private boolean enabled = false;
+
+            /**
+             * The directory renditions are cached in
+             */
+            private File directory = new File(System.getProperty("java.io.tmpdir"), "spring-content-renditions");
+
+            /**
+             * The maximum total size, in bytes, of the cached renditions
+             */
+            private long maxSize = FileSystemRenditionCache.DEFAULT_MAXIMUM_SIZE;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public File getDirectory() {
+                return directory;
+            }
+
+            public void setDirectory(File directory) {
+                this.directory = directory;
+            }
+
+            public long getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(long maxSize) {
+                this.maxSize = maxSize;
+            }
+        }
+    }
 }
@@ -5,6 +5,7 @@ import java.net.URI;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.content.rest.config.ReactiveRestConfiguration;
 import org.springframework.content.rest.config.RestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -77,4 +78,10 @@ public class ContentRestAutoConfiguration {
 		return new SpringBootContentRestConfigurer();
 	}
 
+	@Configuration
+	@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+	@Import(ReactiveRestConfiguration.class)
+	public static class ReactiveContentRestAutoConfiguration {
+	}
+
 }
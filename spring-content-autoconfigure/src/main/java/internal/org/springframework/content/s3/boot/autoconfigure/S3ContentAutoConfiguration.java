@@ -1,12 +1,15 @@
 package internal.org.springframework.content.s3.boot.autoconfigure;
 
 import java.net.URI;
+import java.time.Duration;
 
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -59,6 +62,22 @@ public class S3ContentAutoConfiguration {
 		return builder.build();
 	}
 
+	@Bean
+	@ConditionalOnMissingBean(S3StoreUploadOptions.class)
+	public S3StoreUploadOptions s3StoreUploadOptions(S3Properties props) {
+		S3StoreUploadOptions options = new S3StoreUploadOptions();
+		options.setPartSize(props.partSize);
+		options.setMaxConcurrentParts(props.maxConcurrentParts);
+		return options;
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(S3ObjectMetadataCache.class)
+	@ConditionalOnProperty(prefix = "spring.content.s3", name = "metadata-cache-ttl")
+	public S3ObjectMetadataCache s3ObjectMetadataCache(S3Properties props) {
+		return new S3ObjectMetadataCache(props.metadataCacheTtl, props.metadataCacheSize);
+	}
+
     @Component
     @ConfigurationProperties(prefix = "spring.content.s3")
     public static class S3Properties {
@@ -67,6 +86,10 @@ public class S3ContentAutoConfiguration {
         public String accessKey;
         public String secretKey;
         public boolean pathStyleAccess;
+        public int partSize = S3StoreUploadOptions.DEFAULT_PART_SIZE;
+        public int maxConcurrentParts = S3StoreUploadOptions.DEFAULT_MAX_CONCURRENT_PARTS;
+        public Duration metadataCacheTtl;
+        public int metadataCacheSize = S3ObjectMetadataCache.DEFAULT_MAXIMUM_SIZE;
 
         public void setEndpoint(String endpoint) {
             this.endpoint = endpoint;
@@ -83,5 +106,21 @@ public class S3ContentAutoConfiguration {
         public void setPathStyleAccess(boolean pathStyleAccess) {
             this.pathStyleAccess = pathStyleAccess;
         }
+
+        public void setPartSize(int partSize) {
+            this.partSize = partSize;
+        }
+
+        public void setMaxConcurrentParts(int maxConcurrentParts) {
+            this.maxConcurrentParts = maxConcurrentParts;
+        }
+
+        public void setMetadataCacheTtl(Duration metadataCacheTtl) {
+            this.metadataCacheTtl = metadataCacheTtl;
+        }
+
+        public void setMetadataCacheSize(int metadataCacheSize) {
+            this.metadataCacheSize = metadataCacheSize;
+        }
     }
 }
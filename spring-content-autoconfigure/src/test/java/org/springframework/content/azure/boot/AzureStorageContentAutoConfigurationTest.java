@@ -0,0 +1,96 @@
+package org.springframework.content.azure.boot;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.runner.RunWith;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.azure.boot.autoconfigure.AzureStorageContentAutoConfiguration;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class AzureStorageContentAutoConfigurationTest {
+
+    private AnnotationConfigApplicationContext context;
+
+    {
+        Describe("AzureStorageContentAutoConfiguration", () -> {
+            AfterEach(() -> {
+                context.close();
+            });
+            Context("given no transfer properties", () -> {
+                BeforeEach(() -> {
+                    context = new AnnotationConfigApplicationContext(TestConfig.class);
+                });
+                It("should provide the default transfer options", () -> {
+                    AzureStorageTransferOptions options = context.getBean(AzureStorageTransferOptions.class);
+                    assertThat(options.getBlockSize(), is(AzureStorageTransferOptions.DEFAULT_BLOCK_SIZE));
+                    assertThat(options.getMaxConcurrency(), is(AzureStorageTransferOptions.DEFAULT_MAX_CONCURRENCY));
+                    assertThat(options.isParallelUpload(), is(false));
+                    assertThat(options.isParallelDownload(), is(false));
+                });
+            });
+            Context("given an environment specifying transfer properties", () -> {
+                BeforeEach(() -> {
+                    System.setProperty("spring.content.azure.block-size", "4194304");
+                    System.setProperty("spring.content.azure.max-concurrency", "8");
+                    System.setProperty("spring.content.azure.parallel-upload", "true");
+                    System.setProperty("spring.content.azure.parallel-download", "true");
+                    context = new AnnotationConfigApplicationContext(TestConfig.class);
+                });
+                AfterEach(() -> {
+                    System.clearProperty("spring.content.azure.block-size");
+                    System.clearProperty("spring.content.azure.max-concurrency");
+                    System.clearProperty("spring.content.azure.parallel-upload");
+                    System.clearProperty("spring.content.azure.parallel-download");
+                });
+                It("should bind them to the transfer options", () -> {
+                    AzureStorageTransferOptions options = context.getBean(AzureStorageTransferOptions.class);
+                    assertThat(options.getBlockSize(), is(4194304));
+                    assertThat(options.getMaxConcurrency(), is(8));
+                    assertThat(options.isParallelUpload(), is(true));
+                    assertThat(options.isParallelDownload(), is(true));
+                });
+            });
+            Context("given an application that provides its own transfer options", () -> {
+                BeforeEach(() -> {
+                    context = new AnnotationConfigApplicationContext(OptionsConfig.class, TestConfig.class);
+                });
+                It("should use them", () -> {
+                    assertThat(context.getBean(AzureStorageTransferOptions.class).getBlockSize(), is(1024));
+                });
+            });
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties
+    @Import(AzureStorageContentAutoConfiguration.class)
+    public static class TestConfig {
+    }
+
+    @Configuration
+    public static class OptionsConfig {
+
+        @Bean
+        public AzureStorageTransferOptions uploadOptions() {
+            AzureStorageTransferOptions options = new AzureStorageTransferOptions();
+            options.setBlockSize(1024);
+            return options;
+        }
+    }
+}
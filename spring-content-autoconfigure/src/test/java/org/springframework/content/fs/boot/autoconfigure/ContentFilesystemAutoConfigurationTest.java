@@ -17,6 +17,7 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
 import org.springframework.content.fs.config.EnableFilesystemStores;
+import org.springframework.content.fs.config.FilesystemStoreWriteOptions;
 import org.springframework.content.fs.io.FileSystemResourceLoader;
 import org.springframework.content.fs.store.FilesystemContentStore;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
@@ -79,6 +80,26 @@ public class ContentFilesystemAutoConfigurationTest {
 						});
 			});
 
+			Context("given an environment specifying fsync", () -> {
+				BeforeEach(() -> {
+					System.setProperty("spring.content.fs.fsync", "true");
+				});
+				AfterEach(() -> {
+					System.clearProperty("spring.content.fs.fsync");
+				});
+				It("should have write options with fsync enabled", () -> {
+					AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+					context.register(TestConfig.class);
+					context.refresh();
+
+					FilesystemStoreWriteOptions options = context.getBean(FilesystemStoreWriteOptions.class);
+					assertThat(options.isAtomic(), is(true));
+					assertThat(options.isFsync(), is(true));
+
+					context.close();
+				});
+			});
+
 			Context("given a configuration that contributes a loader bean", () -> {
 				It("should have that loader bean in the context", () -> {
 					AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
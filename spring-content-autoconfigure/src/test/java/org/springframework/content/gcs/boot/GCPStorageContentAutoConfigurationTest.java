@@ -0,0 +1,96 @@
+package org.springframework.content.gcs.boot;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.runner.RunWith;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.content.gcs.config.GCPStorageUploadOptions;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.gcs.boot.autoconfigure.GCPStorageContentAutoConfiguration;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class GCPStorageContentAutoConfigurationTest {
+
+    private AnnotationConfigApplicationContext context;
+
+    {
+        Describe("GCPStorageContentAutoConfiguration", () -> {
+            AfterEach(() -> {
+                context.close();
+            });
+            Context("given no upload properties", () -> {
+                BeforeEach(() -> {
+                    context = new AnnotationConfigApplicationContext(TestConfig.class);
+                });
+                It("should provide the default upload options", () -> {
+                    GCPStorageUploadOptions options = context.getBean(GCPStorageUploadOptions.class);
+                    assertThat(options.getChunkSize(), is(GCPStorageUploadOptions.DEFAULT_CHUNK_SIZE));
+                    assertThat(options.isParallelCompositeUpload(), is(false));
+                    assertThat(options.getPartSize(), is(GCPStorageUploadOptions.DEFAULT_PART_SIZE));
+                    assertThat(options.getMaxConcurrentParts(), is(GCPStorageUploadOptions.DEFAULT_MAX_CONCURRENT_PARTS));
+                });
+            });
+            Context("given an environment specifying upload properties", () -> {
+                BeforeEach(() -> {
+                    System.setProperty("spring.content.gcp.storage.chunk-size", "524288");
+                    System.setProperty("spring.content.gcp.storage.parallel-composite-upload", "true");
+                    System.setProperty("spring.content.gcp.storage.part-size", "10485760");
+                    System.setProperty("spring.content.gcp.storage.max-concurrent-parts", "8");
+                    context = new AnnotationConfigApplicationContext(TestConfig.class);
+                });
+                AfterEach(() -> {
+                    System.clearProperty("spring.content.gcp.storage.chunk-size");
+                    System.clearProperty("spring.content.gcp.storage.parallel-composite-upload");
+                    System.clearProperty("spring.content.gcp.storage.part-size");
+                    System.clearProperty("spring.content.gcp.storage.max-concurrent-parts");
+                });
+                It("should bind them to the upload options", () -> {
+                    GCPStorageUploadOptions options = context.getBean(GCPStorageUploadOptions.class);
+                    assertThat(options.getChunkSize(), is(524288));
+                    assertThat(options.isParallelCompositeUpload(), is(true));
+                    assertThat(options.getPartSize(), is(10485760));
+                    assertThat(options.getMaxConcurrentParts(), is(8));
+                });
+            });
+            Context("given an application that provides its own upload options", () -> {
+                BeforeEach(() -> {
+                    context = new AnnotationConfigApplicationContext(OptionsConfig.class, TestConfig.class);
+                });
+                It("should use them", () -> {
+                    assertThat(context.getBean(GCPStorageUploadOptions.class).getPartSize(), is(1024));
+                });
+            });
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties
+    @Import(GCPStorageContentAutoConfiguration.class)
+    public static class TestConfig {
+    }
+
+    @Configuration
+    public static class OptionsConfig {
+
+        @Bean
+        public GCPStorageUploadOptions uploadOptions() {
+            GCPStorageUploadOptions options = new GCPStorageUploadOptions();
+            options.setPartSize(1024);
+            return options;
+        }
+    }
+}
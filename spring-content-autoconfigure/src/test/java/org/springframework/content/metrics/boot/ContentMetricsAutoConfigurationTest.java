@@ -0,0 +1,90 @@
+package org.springframework.content.metrics.boot;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.encryption.DataKeyCache;
+import org.springframework.content.encryption.EnvelopeEncryptionService;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.vault.core.VaultOperations;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.metrics.boot.autoconfigure.ContentMetricsAutoConfiguration;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+public class ContentMetricsAutoConfigurationTest {
+
+    private AnnotationConfigApplicationContext context;
+    private SimpleMeterRegistry registry;
+
+    {
+        Describe("ContentMetricsAutoConfiguration", () -> {
+            BeforeEach(() -> {
+                registry = new SimpleMeterRegistry();
+            });
+            AfterEach(() -> {
+                context.close();
+            });
+            Context("given an S3 metadata cache and an envelope encryption service with a data key cache", () -> {
+                BeforeEach(() -> {
+                    context = new AnnotationConfigApplicationContext(InstrumentedConfig.class, ContentMetricsAutoConfiguration.class);
+                    context.getBeansOfType(MeterBinder.class).values().forEach(binder -> binder.bindTo(registry));
+                });
+                It("should bind the S3 metadata cache", () -> {
+                    assertThat(registry.find("cache.gets").tags("cache", "s3ObjectMetadata", "result", "hit").functionCounter(), is(not(nullValue())));
+                    assertThat(registry.find("cache.gets").tags("cache", "s3ObjectMetadata", "result", "miss").functionCounter(), is(not(nullValue())));
+                    assertThat(registry.find("cache.size").tags("cache", "s3ObjectMetadata").gauge(), is(not(nullValue())));
+                });
+                It("should bind the data key cache and the vault requests", () -> {
+                    assertThat(registry.find("cache.gets").tags("cache", "dataKeys", "result", "hit").functionCounter(), is(not(nullValue())));
+                    assertThat(registry.find("cache.size").tags("cache", "dataKeys").gauge(), is(not(nullValue())));
+                    assertThat(registry.find("spring.content.encryption.vault.requests").functionTimer(), is(not(nullValue())));
+                });
+            });
+            Context("given none of the instrumented beans", () -> {
+                BeforeEach(() -> {
+                    context = new AnnotationConfigApplicationContext(ContentMetricsAutoConfiguration.class);
+                    context.getBeansOfType(MeterBinder.class).values().forEach(binder -> binder.bindTo(registry));
+                });
+                It("should not register any meters", () -> {
+                    assertThat(registry.getMeters().isEmpty(), is(true));
+                });
+            });
+        });
+    }
+
+    @Configuration
+    public static class InstrumentedConfig {
+
+        @Bean
+        public S3ObjectMetadataCache s3ObjectMetadataCache() {
+            return new S3ObjectMetadataCache(Duration.ofMinutes(1), 100);
+        }
+
+        @Bean
+        public EnvelopeEncryptionService envelopeEncryptionService() {
+            EnvelopeEncryptionService service = new EnvelopeEncryptionService(mock(VaultOperations.class));
+            service.setDataKeyCache(new DataKeyCache(Duration.ofMinutes(1), 100));
+            return service;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.springframework.content.renditions.boot;
 
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
@@ -11,7 +14,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import org.junit.runner.RunWith;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.content.commons.renditions.FileSystemRenditionCache;
 import org.springframework.content.commons.renditions.Renderable;
+import org.springframework.content.commons.renditions.RenditionCache;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.renditions.renderers.JpegToPngRenditionProvider;
 import org.springframework.content.renditions.renderers.PdfToJpegRenderer;
@@ -55,6 +60,26 @@ public class ContentRenditionsAutoConfigurationTest {
 					assertThat(context.getBean(WordToPdfRenditionProvider.class),is(not(nullValue())));
 					assertThat(context.getBean(WordToTextRenditionProvider.class),is(not(nullValue())));
 
+					assertThat(context.getBeansOfType(RenditionCache.class).isEmpty(), is(true));
+
+					context.close();
+				});
+			});
+
+			Context("given an environment enabling the rendition cache", () -> {
+				BeforeEach(() -> {
+					System.setProperty("spring.content.renditions.cache.enabled", "true");
+				});
+				AfterEach(() -> {
+					System.clearProperty("spring.content.renditions.cache.enabled");
+				});
+				It("should have a filesystem rendition cache", () -> {
+					AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+					context.register(TestConfig.class);
+					context.refresh();
+
+					assertThat(context.getBean(RenditionCache.class), is(instanceOf(FileSystemRenditionCache.class)));
+
 					context.close();
 				});
 			});
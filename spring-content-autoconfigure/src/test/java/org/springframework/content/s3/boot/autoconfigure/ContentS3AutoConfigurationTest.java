@@ -19,6 +19,8 @@ import org.junit.runner.RunWith;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.content.s3.config.EnableS3Stores;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
 import org.springframework.content.s3.store.S3ContentStore;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -119,12 +121,18 @@ public class ContentS3AutoConfigurationTest {
                     System.setProperty("spring.content.s3.accessKey", "foo");
                     System.setProperty("spring.content.s3.secretKey", "bar");
                     System.setProperty("spring.content.s3.pathStyleAccess", "true");
+                    System.setProperty("spring.content.s3.partSize", "10485760");
+                    System.setProperty("spring.content.s3.maxConcurrentParts", "8");
+                    System.setProperty("spring.content.s3.metadata-cache-ttl", "30s");
                 });
                 AfterEach(() -> {
                     System.clearProperty("spring.content.s3.endpoint");
                     System.clearProperty("spring.content.s3.accessKey");
                     System.clearProperty("spring.content.s3.secretKey");
                     System.clearProperty("spring.content.s3.pathStyleAccess");
+                    System.clearProperty("spring.content.s3.partSize");
+                    System.clearProperty("spring.content.s3.maxConcurrentParts");
+                    System.clearProperty("spring.content.s3.metadata-cache-ttl");
                 });
                 It("should have a filesystem properties bean with the correct root set", () -> {
                     AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
@@ -133,6 +141,12 @@ public class ContentS3AutoConfigurationTest {
 
                     S3Client client = context.getBean(S3Client.class);
 
+                    S3StoreUploadOptions options = context.getBean(S3StoreUploadOptions.class);
+                    assertThat(options.getPartSize(), is(10485760));
+                    assertThat(options.getMaxConcurrentParts(), is(8));
+
+                    assertThat(context.getBean(S3ObjectMetadataCache.class), is(not(nullValue())));
+
 //                    Field endpointField = getField(AmazonWebServiceClient.class, "endpoint");
 //                    URI endpoint = (URI) endpointField.get(client);
 //                    assertThat(endpoint.toString(), is("http://some-endpoint"));
@@ -1,9 +1,12 @@
 package internal.org.springframework.content.azure.config;
 
+import org.apache.commons.lang.ClassUtils;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
 import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.context.ApplicationContext;
@@ -15,6 +18,7 @@ import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.BlobServiceClientBuilder;
 
 import internal.org.springframework.content.azure.store.DefaultAzureStorageImpl;
+import internal.org.springframework.content.azure.store.DefaultReactiveAzureStorageImpl;
 
 @SuppressWarnings("rawtypes")
 public class AzureStorageFactoryBean extends AbstractStoreFactoryBean {
@@ -41,9 +45,13 @@ public class AzureStorageFactoryBean extends AbstractStoreFactoryBean {
 	@Autowired
 	private AzureStorageProtocolResolver resolver;
 
+	@Autowired(required=false)
+	private AzureStorageTransferOptions transferOptions;
+
 	@Autowired
 	public AzureStorageFactoryBean(ApplicationContext context, BlobServiceClientBuilder client, PlacementService storePlacementService) {
 	    this.context = context;
+		this.clientBuilder = client;
 		this.client = client.buildClient();
 		this.storePlacementService = storePlacementService;
 	}
@@ -58,9 +66,15 @@ public class AzureStorageFactoryBean extends AbstractStoreFactoryBean {
 	@Override
 	protected Object getContentStoreImpl() {
 
+		if (ClassUtils.getAllInterfaces(getStoreInterface()).contains(ReactiveContentStore.class)) {
+			return new DefaultReactiveAzureStorageImpl(mappingContext, storePlacementService, clientBuilder.buildAsyncClient());
+		}
+
 		DefaultResourceLoader loader = new DefaultResourceLoader();
 		loader.addProtocolResolver(resolver);
 
-		return new DefaultAzureStorageImpl(context, loader, mappingContext, storePlacementService, client);
+		DefaultAzureStorageImpl store = new DefaultAzureStorageImpl(context, loader, mappingContext, storePlacementService, client);
+		store.setTransferOptions(transferOptions);
+		return store;
 	}
 }
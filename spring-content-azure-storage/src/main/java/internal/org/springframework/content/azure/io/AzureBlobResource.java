@@ -1,24 +1,30 @@
 package internal.org.springframework.content.azure.io;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
 import org.springframework.content.commons.io.DeletableResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.util.Assert;
 
+import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobStorageException;
 
 public class AzureBlobResource implements WritableResource, DeletableResource {
 
 	private BlobServiceClient client;
 	private Resource delegate;
 	private String bucket;
+	private AzureStorageTransferOptions transferOptions;
 
 	public AzureBlobResource(BlobServiceClient client, String bucket, Resource delegate) {
 		Assert.notNull(client, "client must be specified");
@@ -33,6 +39,10 @@ public class AzureBlobResource implements WritableResource, DeletableResource {
 		return client;
 	}
 
+	public void setTransferOptions(AzureStorageTransferOptions transferOptions) {
+		this.transferOptions = transferOptions;
+	}
+
 	@Override
 	public boolean exists() {
 		return delegate.exists();
@@ -90,13 +100,30 @@ public class AzureBlobResource implements WritableResource, DeletableResource {
 
 	@Override
 	public InputStream getInputStream() throws IOException {
-		return delegate.getInputStream();
+		if (transferOptions == null || !transferOptions.isParallelDownload()) {
+			return delegate.getInputStream();
+		}
+
+		BlobClient blob = blobClient();
+		BlobProperties properties;
+		try {
+			properties = blob.getProperties();
+		} catch (BlobStorageException e) {
+			if (e.getStatusCode() == 404) {
+				throw new FileNotFoundException(String.format("%s does not exist", getFilename()));
+			}
+			throw new IOException(String.format("reading properties of %s", getFilename()), e);
+		}
+		if (properties.getBlobSize() <= transferOptions.getBlockSize()) {
+			return delegate.getInputStream();
+		}
+		return new AzureRangedDownloadInputStream(blob, properties.getBlobSize(), properties.getETag(), transferOptions);
 	}
 
 	@Override
 	public void delete() {
 		if (delegate.exists()) {
-		    client.getBlobContainerClient(bucket).getBlobClient(getFilename()).delete();
+		    blobClient().delete();
 		}
 	}
 
@@ -107,6 +134,13 @@ public class AzureBlobResource implements WritableResource, DeletableResource {
 
 	@Override
 	public OutputStream getOutputStream() throws IOException {
+		if (transferOptions != null && transferOptions.isParallelUpload()) {
+			return new AzureBlockUploadStream(blobClient().getBlockBlobClient(), transferOptions);
+		}
 		return ((WritableResource) delegate).getOutputStream();
 	}
+
+	private BlobClient blobClient() {
+		return client.getBlobContainerClient(bucket).getBlobClient(getFilename());
+	}
 }
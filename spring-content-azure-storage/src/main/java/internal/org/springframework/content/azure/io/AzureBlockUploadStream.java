@@ -0,0 +1,169 @@
+package internal.org.springframework.content.azure.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
+import org.springframework.content.commons.io.ParallelPartUploader;
+
+import com.azure.storage.blob.specialized.BlockBlobClient;
+
+/**
+ * Uploads content as blocks staged in parallel.
+ *
+ * Content is split into blocks that are staged concurrently and then committed as a block list.  Staged blocks are
+ * not part of the blob until the list is committed, so readers continue to see the content being replaced until the
+ * upload is closed.  Blocks of an upload that fails, or is aborted, are never committed and are discarded by the
+ * service.
+ */
+public class AzureBlockUploadStream extends OutputStream {
+
+	private final BlockBlobClient client;
+	private final int blockSize;
+	private final ParallelPartUploader uploader;
+	private final String uploadId;
+
+	private final List<String> blockIds = new ArrayList<>();
+
+	private byte[] buffer;
+	private int count = 0;
+	private long written = 0L;
+	private boolean closed = false;
+
+	public AzureBlockUploadStream(BlockBlobClient client, AzureStorageTransferOptions options) {
+		this.client = client;
+		this.blockSize = options.getBlockSize();
+		this.uploader = new ParallelPartUploader(options.getTaskExecutor(), options.getMaxConcurrency());
+		this.uploadId = UUID.randomUUID().toString();
+		this.buffer = new byte[blockSize];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		checkOpen();
+		buffer[count++] = (byte) b;
+		written++;
+		if (count == buffer.length) {
+			stageBlock();
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		checkOpen();
+		while (len > 0) {
+			int n = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, n);
+			count += n;
+			written += n;
+			off += n;
+			len -= n;
+			if (count == buffer.length) {
+				stageBlock();
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		try {
+			if (blockIds.isEmpty()) {
+				client.upload(new ByteArrayInputStream(buffer, 0, count), count, true);
+				return;
+			}
+
+			if (count > 0) {
+				stageBlock();
+			}
+			uploader.awaitAll();
+			checkFailure();
+
+			client.commitBlockList(blockIds, true);
+		} catch (RuntimeException e) {
+			throw new IOException(String.format("uploading %s", client.getBlobName()), e);
+		} finally {
+			buffer = null;
+		}
+	}
+
+	/**
+	 * Discards the upload.  Blocks already staged are left uncommitted and the existing content, if any, is retained.
+	 */
+	public void abort() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		buffer = null;
+		uploader.awaitAll();
+	}
+
+	/**
+	 * @return the number of bytes written so far
+	 */
+	public long getBytesWritten() {
+		return written;
+	}
+
+	private void stageBlock() throws IOException {
+		if (uploader.getFailure() != null) {
+			abort();
+			checkFailure();
+		}
+		if (blockIds.size() == AzureStorageTransferOptions.MAX_BLOCKS) {
+			abort();
+			throw new IOException(String.format("uploading %s exceeds %d blocks of %d bytes", client.getBlobName(), AzureStorageTransferOptions.MAX_BLOCKS, blockSize));
+		}
+
+		String blockId = blockId(blockIds.size());
+		blockIds.add(blockId);
+
+		final byte[] bytes = buffer;
+		final int len = count;
+		buffer = new byte[blockSize];
+		count = 0;
+
+		try {
+			uploader.submit(() -> client.stageBlock(blockId, new ByteArrayInputStream(bytes, 0, len), len));
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			abort();
+			throw new InterruptedIOException(String.format("interrupted uploading %s", client.getBlobName()));
+		} catch (RejectedExecutionException ree) {
+			abort();
+			throw new IOException(String.format("uploading %s", client.getBlobName()), ree);
+		}
+	}
+
+	// block ids must all be the same length within a blob
+	private String blockId(int index) {
+		String id = String.format("%s-%05d", uploadId, index);
+		return Base64.getEncoder().encodeToString(id.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void checkOpen() throws IOException {
+		if (closed) {
+			throw new IOException(String.format("upload of %s is closed", client.getBlobName()));
+		}
+	}
+
+	private void checkFailure() throws IOException {
+		Throwable t = uploader.getFailure();
+		if (t != null) {
+			throw new IOException(String.format("staging block of %s", client.getBlobName()), t);
+		}
+	}
+}
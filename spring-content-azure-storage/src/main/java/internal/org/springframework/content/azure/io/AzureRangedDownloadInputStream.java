@@ -0,0 +1,144 @@
+package internal.org.springframework.content.azure.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
+import org.springframework.content.commons.io.TransferExecutors;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.specialized.BlobClientBase;
+
+/**
+ * Downloads a blob as ranges fetched in parallel.
+ *
+ * Ranges are fetched ahead of the reader, at most {@code maxConcurrency} at a time, and returned in order.  Every range
+ * is read on condition that the blob still has the ETag it had when the download started.
+ */
+public class AzureRangedDownloadInputStream extends InputStream {
+
+	private final BlobClientBase client;
+	private final long length;
+	private final BlobRequestConditions conditions;
+	private final int rangeSize;
+	private final int maxConcurrency;
+	private final Executor executor;
+
+	private final Deque<CompletableFuture<byte[]>> ranges = new ArrayDeque<>();
+
+	private long nextOffset = 0L;
+	private byte[] current = new byte[0];
+	private int pos = 0;
+	private boolean closed = false;
+
+	public AzureRangedDownloadInputStream(BlobClientBase client, long length, String eTag, AzureStorageTransferOptions options) {
+		this.client = client;
+		this.length = length;
+		this.conditions = new BlobRequestConditions().setIfMatch(eTag);
+		this.rangeSize = options.getBlockSize();
+		this.maxConcurrency = options.getMaxConcurrency();
+		this.executor = TransferExecutors.orDefault(options.getTaskExecutor());
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!fill()) {
+			return -1;
+		}
+		return current[pos++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!fill()) {
+			return -1;
+		}
+		int n = Math.min(len, current.length - pos);
+		System.arraycopy(current, pos, b, off, n);
+		pos += n;
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return current.length - pos;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		for (CompletableFuture<byte[]> range : ranges) {
+			range.cancel(false);
+		}
+		ranges.clear();
+		current = new byte[0];
+		pos = 0;
+	}
+
+	private boolean fill() throws IOException {
+		if (closed) {
+			throw new IOException(String.format("download of %s is closed", client.getBlobName()));
+		}
+		if (pos < current.length) {
+			return true;
+		}
+
+		fetchAhead();
+		CompletableFuture<byte[]> next = ranges.poll();
+		if (next == null) {
+			return false;
+		}
+		try {
+			current = next.join();
+			pos = 0;
+		} catch (CompletionException ce) {
+			close();
+			throw new IOException(String.format("downloading %s", client.getBlobName()), ce.getCause());
+		}
+		fetchAhead();
+		return true;
+	}
+
+	private void fetchAhead() throws IOException {
+		while (ranges.size() < maxConcurrency && nextOffset < length) {
+			final long offset = nextOffset;
+			final int count = (int) Math.min(rangeSize, length - offset);
+			nextOffset += count;
+
+			CompletableFuture<byte[]> range = new CompletableFuture<>();
+			try {
+				executor.execute(() -> {
+					if (range.isCancelled()) {
+						return;
+					}
+					try {
+						ByteArrayOutputStream out = new ByteArrayOutputStream(count);
+						client.downloadStreamWithResponse(out, new BlobRange(offset, (long) count), null, conditions, false, null, Context.NONE);
+						if (out.size() != count) {
+							throw new IOException(String.format("expected %d bytes at offset %d but read %d", count, offset, out.size()));
+						}
+						range.complete(out.toByteArray());
+					} catch (Throwable t) {
+						range.completeExceptionally(t);
+					}
+				});
+			} catch (RejectedExecutionException ree) {
+				close();
+				throw new IOException(String.format("downloading %s", client.getBlobName()), ree);
+			}
+			ranges.add(range);
+		}
+	}
+}
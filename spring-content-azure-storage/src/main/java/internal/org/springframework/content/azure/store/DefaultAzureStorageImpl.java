@@ -13,6 +13,7 @@ import java.util.UUID;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
 import org.springframework.content.azure.config.BlobId;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
@@ -36,6 +37,7 @@ import org.springframework.util.Assert;
 import com.azure.storage.blob.BlobServiceClient;
 
 import internal.org.springframework.content.azure.io.AzureBlobResource;
+import internal.org.springframework.content.azure.io.AzureBlockUploadStream;
 import internal.org.springframework.content.commons.utils.ContentPropertyInfoTypeDescriptor;
 
 @Transactional
@@ -48,6 +50,7 @@ public class DefaultAzureStorageImpl<S, SID extends Serializable>
 	private ResourceLoader loader;
 	private PlacementService placementService;
 	private BlobServiceClient client;
+	private AzureStorageTransferOptions transferOptions;
 //	private MultiTenantS3ClientProvider clientProvider;
 
     private MappingContext mappingContext/* = new MappingContext("/", ".")*/;
@@ -68,6 +71,10 @@ public class DefaultAzureStorageImpl<S, SID extends Serializable>
         }
 	}
 
+	public void setTransferOptions(AzureStorageTransferOptions transferOptions) {
+		this.transferOptions = transferOptions;
+	}
+
 	@Override
 	public Resource getResource(SID id) {
 		if (id == null)
@@ -166,7 +173,9 @@ public class DefaultAzureStorageImpl<S, SID extends Serializable>
 //		}
 
 		Resource resource = loaderToUse.getResource(location);
-		return new AzureBlobResource(clientToUse, bucket, resource);
+		AzureBlobResource azureResource = new AzureBlobResource(clientToUse, bucket, resource);
+		azureResource.setTransferOptions(transferOptions);
+		return azureResource;
 	}
 
 	@Override
@@ -253,21 +262,15 @@ public class DefaultAzureStorageImpl<S, SID extends Serializable>
 			return entity;
 		}
 
-        try (OutputStream os = ((WritableResource) resource).getOutputStream()) {
-            IOUtils.copy(content, os);
+        try {
+            long written = write((WritableResource) resource, content);
+            BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, written);
         }
         catch (IOException e) {
             logger.error(format("Unexpected error setting content for entity %s", entity), e);
             throw new StoreAccessException(format("Setting content for entity %s", entity), e);
         }
 
-        try {
-            BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, resource.contentLength());
-        }
-        catch (IOException e) {
-            logger.error(format("Unexpected error setting content length for entity %s", entity), e);
-        }
-
         return entity;
 	}
 
@@ -304,25 +307,15 @@ public class DefaultAzureStorageImpl<S, SID extends Serializable>
             return entity;
         }
 
-        try (OutputStream os = ((WritableResource) resource).getOutputStream()) {
-            IOUtils.copy(content, os);
+        try {
+            long written = write((WritableResource) resource, content);
+            property.setContentLength(entity, contentLen != -1L ? contentLen : written);
         }
         catch (IOException e) {
             logger.error(format("Unexpected error setting content for entity %s", entity), e);
             throw new StoreAccessException(format("Setting content for entity %s", entity), e);
         }
 
-        try {
-            long lenToSet = contentLen;
-            if (lenToSet == -1L) {
-                lenToSet = resource.contentLength();
-            }
-            property.setContentLength(entity, lenToSet);
-        }
-        catch (IOException e) {
-            logger.error(format("Unexpected error setting content length for entity %s", entity), e);
-        }
-
         return entity;
     }
 
@@ -478,6 +471,26 @@ public class DefaultAzureStorageImpl<S, SID extends Serializable>
         return entity;
     }
 
+	// block uploads only replace the blob once all of the content has been staged
+	private long write(WritableResource resource, InputStream content) throws IOException {
+		OutputStream os = resource.getOutputStream();
+		if (os instanceof AzureBlockUploadStream == false) {
+			try (OutputStream out = os) {
+				return IOUtils.copyLarge(content, out);
+			}
+		}
+
+		long written;
+		try {
+			written = IOUtils.copyLarge(content, os);
+			os.close();
+		} catch (IOException | RuntimeException e) {
+			((AzureBlockUploadStream) os).abort();
+			throw e;
+		}
+		return written;
+	}
+
 	private String absolutify(String bucket, String location) {
 		String locationToUse = null;
 		Assert.state(location.startsWith("azure-blob://") == false);
@@ -0,0 +1,200 @@
+package internal.org.springframework.content.azure.store;
+
+import static java.lang.String.format;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.content.azure.config.BlobId;
+import org.springframework.content.commons.config.ContentPropertyInfo;
+import org.springframework.content.commons.mappingcontext.Condition;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.utils.ByteRanges;
+import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.Assert;
+
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobServiceAsyncClient;
+import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobStorageException;
+import com.azure.storage.blob.options.BlobParallelUploadOptions;
+
+import internal.org.springframework.content.commons.utils.ContentPropertyInfoTypeDescriptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A reactive Azure Storage store, backed by the non-blocking blob service client.
+ */
+public class DefaultReactiveAzureStorageImpl<S, SID extends Serializable>
+		implements ReactiveContentStore<S, SID> {
+
+	private PlacementService placementService;
+	private BlobServiceAsyncClient client;
+	private MappingContext mappingContext;
+
+	public DefaultReactiveAzureStorageImpl(MappingContext mappingContext, PlacementService placementService, BlobServiceAsyncClient client) {
+		Assert.notNull(placementService, "placementService must be specified");
+		Assert.notNull(client, "client must be specified");
+		this.placementService = placementService;
+		this.client = client;
+		this.mappingContext = mappingContext;
+		if (this.mappingContext == null) {
+			this.mappingContext = new MappingContext("/", ".");
+		}
+	}
+
+	@Override
+	public Mono<S> setContent(S entity, PropertyPath path, long contentLen, Flux<ByteBuffer> buffer) {
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+
+			Serializable newId = UUID.randomUUID().toString();
+
+			Object convertedId = placementService.convert(
+					newId,
+					TypeDescriptor.forObject(newId),
+					property.getContentIdType(entity));
+
+			property.setContentId(entity, convertedId, null);
+		}
+
+		BlobAsyncClient blob = getBlobClient(entity, path, property);
+
+		AtomicLong written = new AtomicLong();
+		BlobParallelUploadOptions options = new BlobParallelUploadOptions(buffer.doOnNext(bytes -> written.addAndGet(bytes.remaining())));
+		Object mimeType = property.getMimeType(entity);
+		if (mimeType != null) {
+			options.setHeaders(new BlobHttpHeaders().setContentType(mimeType.toString()));
+		}
+
+		return blob.uploadWithResponse(options)
+				.map(response -> {
+					property.setContentLength(entity, contentLen >= 0 ? contentLen : written.get());
+					return entity;
+				})
+				.onErrorMap(BlobStorageException.class, e -> new StoreAccessException(format("Setting content for entity %s", entity), e));
+	}
+
+	@Override
+	public Flux<ByteBuffer> getContent(S entity, PropertyPath path) {
+		return this.getContent(entity, path, GetResourceParams.builder().build());
+	}
+
+	@Override
+	public Flux<ByteBuffer> getContent(S entity, PropertyPath path, GetResourceParams params) {
+
+		if (entity == null)
+			return Flux.empty();
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+			return Flux.empty();
+		}
+
+		BlobAsyncClient blob = getBlobClient(entity, path, property);
+
+		Flux<ByteBuffer> content;
+		if (params == null || params.getRange() == null) {
+			content = blob.downloadStream();
+		} else {
+			// the size is needed to resolve suffix and open ended ranges
+			content = blob.getProperties().flatMapMany(properties -> {
+				long[] range = ByteRanges.parse(params.getRange(), properties.getBlobSize());
+				if (range == null) {
+					return blob.downloadStream();
+				}
+				return blob.downloadStreamWithResponse(new BlobRange(range[0], range[1]), null, null, false)
+						.flatMapMany(response -> response.getValue());
+			});
+		}
+
+		return content.onErrorResume(BlobStorageException.class, e -> {
+			if (e.getStatusCode() == 404) {
+				return Flux.empty();
+			}
+			return Flux.error(new StoreAccessException(format("Getting content for entity %s", entity), e));
+		});
+	}
+
+	@Override
+	public Mono<S> unsetContent(S entity, PropertyPath path) {
+
+		if (entity == null)
+			return Mono.justOrEmpty(entity);
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+			return Mono.just(entity);
+		}
+
+		return getBlobClient(entity, path, property).deleteIfExists()
+				.map(deleted -> {
+					property.setContentId(entity, null, new Condition() {
+						@Override
+						public boolean matches(TypeDescriptor descriptor) {
+							for (Annotation annotation : descriptor.getAnnotations()) {
+								if ("javax.persistence.Id".equals(
+										annotation.annotationType().getCanonicalName())
+										|| "org.springframework.data.annotation.Id"
+												.equals(annotation.annotationType()
+														.getCanonicalName())) {
+									return false;
+								}
+							}
+							return true;
+						}
+					});
+					property.setContentLength(entity, 0);
+					return entity;
+				})
+				.onErrorMap(BlobStorageException.class, e -> new StoreAccessException(format("Unsetting content for entity %s", entity), e));
+	}
+
+	private ContentProperty getContentProperty(S entity, PropertyPath path) {
+		ContentProperty property = this.mappingContext.getContentProperty(entity.getClass(), path.getName());
+		if (property == null) {
+			throw new StoreAccessException(format("Content property %s does not exist", path.getName()));
+		}
+		return property;
+	}
+
+	private BlobAsyncClient getBlobClient(S entity, PropertyPath path, ContentProperty property) {
+		TypeDescriptor contentPropertyInfoType = ContentPropertyInfoTypeDescriptor.withGenerics(entity, property);
+		if (!placementService.canConvert(contentPropertyInfoType, TypeDescriptor.valueOf(BlobId.class))) {
+			throw new IllegalStateException(format("Unable to convert %s to a BlobId", contentPropertyInfoType));
+		}
+		ContentPropertyInfo<S, SID> contentPropertyInfo = ContentPropertyInfo.of(entity,
+				(SID) property.getContentId(entity), path, property);
+		BlobId id = placementService.convert(contentPropertyInfo, BlobId.class);
+
+		// placed in the same location as the blocking store would place it
+		String location;
+		if (placementService.canConvert(BlobId.class, String.class)) {
+			location = placementService.convert(id, String.class);
+		} else {
+			location = placementService.convert(id.getName(), String.class);
+		}
+		if (location.startsWith("/")) {
+			location = location.substring(1);
+		}
+		return client.getBlobContainerAsyncClient(id.getBucket()).getBlobAsyncClient(location);
+	}
+}
@@ -0,0 +1,92 @@
+package org.springframework.content.azure.config;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * Controls how Azure storage stores transfer content.
+ *
+ * By default content is uploaded and downloaded through the blob's own streams, one block at a time.
+ *
+ * With parallel uploads enabled content is split into blocks of {@code blockSize} bytes that are staged by the task
+ * executor with at most {@code maxConcurrency} blocks staging, or waiting to stage, at any time; writers block until a
+ * block completes.  Once all blocks are staged the block list is committed, replacing the blob
+ * in a single operation.  Content that fits in a single block is uploaded directly.
+ *
+ * With parallel downloads enabled blobs larger than {@code blockSize} are read as ranges of {@code blockSize} bytes,
+ * with at most {@code maxConcurrency} ranges fetched ahead of the reader, and reassembled in order.
+ */
+public class AzureStorageTransferOptions {
+
+	// the most blocks a block blob can hold
+	public static final int MAX_BLOCKS = 50000;
+
+	public static final int DEFAULT_BLOCK_SIZE = 8 * 1024 * 1024;
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+	private int blockSize = DEFAULT_BLOCK_SIZE;
+	private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+	private boolean parallelUpload = false;
+	private boolean parallelDownload = false;
+	private TaskExecutor taskExecutor;
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	public void setBlockSize(int blockSize) {
+		Assert.isTrue(blockSize > 0, "blockSize must be greater than 0");
+		this.blockSize = blockSize;
+	}
+
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	public void setMaxConcurrency(int maxConcurrency) {
+		Assert.isTrue(maxConcurrency > 0, "maxConcurrency must be greater than 0");
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	public boolean isParallelUpload() {
+		return parallelUpload;
+	}
+
+	/**
+	 * Enables parallel block uploads.  A blob holds at most 50,000 blocks so {@code blockSize} bounds the largest
+	 * content that can be uploaded.
+	 *
+	 * @param parallelUpload true to stage content as blocks in parallel
+	 */
+	public void setParallelUpload(boolean parallelUpload) {
+		this.parallelUpload = parallelUpload;
+	}
+
+	public boolean isParallelDownload() {
+		return parallelDownload;
+	}
+
+	/**
+	 * Enables parallel ranged downloads.  Each range is read on condition that the blob's ETag is unchanged so content
+	 * replaced during a download fails the read rather than mixing old and new content.
+	 *
+	 * @param parallelDownload true to download large blobs as parallel ranges
+	 */
+	public void setParallelDownload(boolean parallelDownload) {
+		this.parallelDownload = parallelDownload;
+	}
+
+	public TaskExecutor getTaskExecutor() {
+		return taskExecutor;
+	}
+
+	/**
+	 * Sets the executor that stages blocks and fetches ranges.  When not set blocks and ranges are transferred by the
+	 * bounded executor shared by all stores, see {@link org.springframework.content.commons.io.TransferExecutors}.
+	 *
+	 * @param taskExecutor the task executor
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+}
@@ -0,0 +1,241 @@
+package internal.org.springframework.content.azure.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
+import org.springframework.core.io.WritableResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class AzureBlobResourceTest {
+
+	private static final String CONTENT = "Hello Parallel Block Content World!";
+
+	private BlobClient blob;
+	private BlockBlobClient blockBlob;
+	private WritableResource delegate;
+	private AzureStorageTransferOptions options;
+	private AzureBlobResource resource;
+
+	private Map<String, byte[]> staged;
+	private List<String> committed;
+	private byte[] stored;
+
+	private OutputStream os;
+	private InputStream is;
+	private Exception e;
+
+	{
+		Describe("AzureBlobResource", () -> {
+			BeforeEach(() -> {
+				BlobServiceClient client = mock(BlobServiceClient.class);
+				BlobContainerClient container = mock(BlobContainerClient.class);
+				blob = mock(BlobClient.class);
+				blockBlob = mock(BlockBlobClient.class);
+				when(client.getBlobContainerClient("some-container")).thenReturn(container);
+				when(container.getBlobClient("some-blob")).thenReturn(blob);
+				when(blob.getBlockBlobClient()).thenReturn(blockBlob);
+				when(blob.getBlobName()).thenReturn("some-blob");
+				when(blockBlob.getBlobName()).thenReturn("some-blob");
+
+				delegate = mock(WritableResource.class);
+				when(delegate.getFilename()).thenReturn("some-blob");
+
+				staged = new ConcurrentHashMap<>();
+				committed = Collections.synchronizedList(new ArrayList<>());
+				stored = null;
+
+				doAnswer(invocation -> {
+					staged.put(invocation.getArgument(0), IOUtils.toByteArray((InputStream) invocation.getArgument(1)));
+					return null;
+				}).when(blockBlob).stageBlock(anyString(), any(InputStream.class), anyLong());
+				doAnswer(invocation -> {
+					List<String> ids = invocation.getArgument(0);
+					committed.addAll(ids);
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					for (String id : ids) {
+						out.write(staged.get(id));
+					}
+					stored = out.toByteArray();
+					return null;
+				}).when(blockBlob).commitBlockList(any(), anyBoolean());
+				doAnswer(invocation -> {
+					stored = IOUtils.toByteArray((InputStream) invocation.getArgument(0));
+					return null;
+				}).when(blockBlob).upload(any(InputStream.class), anyLong(), anyBoolean());
+
+				options = new AzureStorageTransferOptions();
+				options.setBlockSize(8);
+				options.setMaxConcurrency(2);
+				options.setTaskExecutor(new SimpleAsyncTaskExecutor());
+
+				resource = new AzureBlobResource(client, "some-container", delegate);
+				resource.setTransferOptions(options);
+				e = null;
+			});
+			Context("#getOutputStream", () -> {
+				Context("given parallel uploads are disabled", () -> {
+					It("should write through the delegate", () -> {
+						OutputStream delegateStream = mock(OutputStream.class);
+						when(delegate.getOutputStream()).thenReturn(delegateStream);
+
+						assertThat(resource.getOutputStream(), is(delegateStream));
+					});
+				});
+				Context("given parallel uploads are enabled", () -> {
+					BeforeEach(() -> {
+						options.setParallelUpload(true);
+					});
+					JustBeforeEach(() -> {
+						os = resource.getOutputStream();
+					});
+					It("should stage blocks and commit them in order", () -> {
+						os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+						os.close();
+
+						assertThat(staged.size(), is(5));
+						assertThat(committed.size(), is(5));
+						assertThat(new String(stored, StandardCharsets.UTF_8), is(CONTENT));
+						assertThat(((AzureBlockUploadStream) os).getBytesWritten(), is((long) CONTENT.length()));
+						for (String id : committed) {
+							assertThat(id.length(), is(committed.get(0).length()));
+						}
+					});
+					It("should upload content that fits in a single block directly", () -> {
+						os.write("Hello".getBytes(StandardCharsets.UTF_8));
+						os.close();
+
+						assertThat(new String(stored, StandardCharsets.UTF_8), is("Hello"));
+						verify(blockBlob, never()).stageBlock(anyString(), any(InputStream.class), anyLong());
+						verify(blockBlob, never()).commitBlockList(any(), anyBoolean());
+					});
+					It("should not commit the block list when aborted", () -> {
+						os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+						((AzureBlockUploadStream) os).abort();
+
+						verify(blockBlob, never()).commitBlockList(any(), anyBoolean());
+						assertThat(stored, is((byte[]) null));
+					});
+					Context("given staging a block fails", () -> {
+						BeforeEach(() -> {
+							doThrow(new RuntimeException("badness")).when(blockBlob).stageBlock(anyString(), any(InputStream.class), anyLong());
+						});
+						It("should fail the upload without committing", () -> {
+							try {
+								os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+								os.close();
+							} catch (IOException ioe) {
+								e = ioe;
+							}
+							assertThat(e, is(instanceOf(IOException.class)));
+							verify(blockBlob, never()).commitBlockList(any(), anyBoolean());
+						});
+					});
+				});
+			});
+			Context("#getInputStream", () -> {
+				BeforeEach(() -> {
+					stored = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+					BlobProperties properties = mock(BlobProperties.class);
+					when(properties.getBlobSize()).thenAnswer(invocation -> (long) stored.length);
+					when(properties.getETag()).thenReturn("some-etag");
+					when(blob.getProperties()).thenReturn(properties);
+
+					when(blob.downloadStreamWithResponse(any(), any(), any(), any(), anyBoolean(), any(), any())).thenAnswer(invocation -> {
+						OutputStream out = invocation.getArgument(0);
+						BlobRange range = invocation.getArgument(1);
+						out.write(stored, (int) range.getOffset(), range.getCount().intValue());
+						return null;
+					});
+					when(delegate.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(stored));
+				});
+				Context("given parallel downloads are enabled", () -> {
+					BeforeEach(() -> {
+						options.setParallelDownload(true);
+					});
+					JustBeforeEach(() -> {
+						is = resource.getInputStream();
+					});
+					It("should read the blob as ranges reassembled in order", () -> {
+						assertThat(is, is(instanceOf(AzureRangedDownloadInputStream.class)));
+						assertThat(IOUtils.toString(is, StandardCharsets.UTF_8), is(CONTENT));
+						verify(blob, times(5)).downloadStreamWithResponse(any(), any(), any(), any(), anyBoolean(), any(), eq(Context.NONE));
+					});
+					It("should read each range on condition the blob is unchanged", () -> {
+						IOUtils.toString(is, StandardCharsets.UTF_8);
+						verify(blob, atLeastOnce()).downloadStreamWithResponse(any(), any(), any(), argThat((BlobRequestConditions c) -> "some-etag".equals(c.getIfMatch())), anyBoolean(), any(), any());
+					});
+					Context("given a blob that fits in a single range", () -> {
+						BeforeEach(() -> {
+							stored = "Hello".getBytes(StandardCharsets.UTF_8);
+						});
+						It("should read through the delegate", () -> {
+							assertThat(is, is(not(instanceOf(AzureRangedDownloadInputStream.class))));
+							assertThat(IOUtils.toString(is, StandardCharsets.UTF_8), is("Hello"));
+						});
+					});
+					Context("given a range fails", () -> {
+						BeforeEach(() -> {
+							doThrow(new RuntimeException("badness")).when(blob).downloadStreamWithResponse(any(), any(), any(), any(), anyBoolean(), any(), any());
+						});
+						It("should fail the read", () -> {
+							try {
+								IOUtils.toString(is, StandardCharsets.UTF_8);
+							} catch (IOException ioe) {
+								e = ioe;
+							}
+							assertThat(e, is(instanceOf(IOException.class)));
+						});
+					});
+				});
+			});
+		});
+	}
+}
@@ -0,0 +1,203 @@
+package internal.org.springframework.content.azure.it;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.content.azure.config.AzureStorageTransferOptions;
+import org.springframework.content.azure.config.EnableAzureStorage;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.azure.storage.blob.models.BlockListType;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.azure.io.AzureRangedDownloadInputStream;
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class AzureStorageTransferIT {
+
+    private static final int BLOCK_SIZE = 1024;
+
+    private static final BlobServiceClientBuilder builder = Azurite.getBlobServiceClientBuilder();
+    private static final BlobContainerClient client = builder.buildClient().getBlobContainerClient("azure-test-bucket");
+
+    static {
+        if (!client.exists()) {
+            client.create();
+        }
+
+        System.setProperty("spring.content.azure.bucket", "azure-test-bucket");
+    }
+
+    private AnnotationConfigApplicationContext context;
+
+    private TransferTestEntityStore store;
+    private TransferTestEntity entity;
+    private byte[] content;
+
+    private InputStream in;
+    private Exception e;
+
+    {
+        Describe("Parallel transfers", () -> {
+
+            BeforeEach(() -> {
+                context = new AnnotationConfigApplicationContext();
+                context.register(TestConfig.class);
+                context.refresh();
+
+                store = context.getBean(TransferTestEntityStore.class);
+                entity = new TransferTestEntity();
+                e = null;
+            });
+
+            AfterEach(() -> {
+                if (in != null) {
+                    in.close();
+                    in = null;
+                }
+                store.unsetContent(entity);
+                context.close();
+            });
+
+            Context("given content larger than a block", () -> {
+
+                BeforeEach(() -> {
+                    content = randomBytes(10 * BLOCK_SIZE + 17);
+                    store.setContent(entity, new ByteArrayInputStream(content));
+                });
+
+                It("should commit the content as blocks", () -> {
+                    assertThat(entity.getContentLen(), is((long) content.length));
+                    assertThat(client.getBlobClient(entity.getContentId()).getBlockBlobClient()
+                            .listBlocks(BlockListType.COMMITTED).getCommittedBlocks().size(), is(11));
+                });
+
+                It("should download the content as ranges", () -> {
+                    in = store.getResource(entity).getInputStream();
+
+                    assertThat(in, is(instanceOf(AzureRangedDownloadInputStream.class)));
+                    assertThat(Arrays.equals(IOUtils.toByteArray(in), content), is(true));
+                });
+
+                Context("when the content is replaced during a download", () -> {
+
+                    It("should fail the download", () -> {
+                        in = store.getResource(entity).getInputStream();
+                        byte[] first = new byte[BLOCK_SIZE];
+                        IOUtils.readFully(in, first);
+
+                        client.getBlobClient(entity.getContentId()).upload(new ByteArrayInputStream(randomBytes(content.length)), content.length, true);
+
+                        try {
+                            IOUtils.toByteArray(in);
+                        } catch (IOException ioe) {
+                            e = ioe;
+                        }
+                        assertThat(e, is(instanceOf(IOException.class)));
+                    });
+                });
+
+                Context("when the content is replaced", () -> {
+
+                    It("should replace the blocks", () -> {
+                        byte[] replacement = randomBytes(3 * BLOCK_SIZE);
+                        store.setContent(entity, new ByteArrayInputStream(replacement));
+
+                        assertThat(entity.getContentLen(), is((long) replacement.length));
+                        assertThat(client.getBlobClient(entity.getContentId()).getBlockBlobClient()
+                                .listBlocks(BlockListType.COMMITTED).getCommittedBlocks().size(), is(3));
+                        assertThat(Arrays.equals(IOUtils.toByteArray(store.getContent(entity)), replacement), is(true));
+                    });
+                });
+            });
+
+            Context("given content that fits in a block", () -> {
+
+                BeforeEach(() -> {
+                    content = randomBytes(BLOCK_SIZE / 2);
+                    store.setContent(entity, new ByteArrayInputStream(content));
+                });
+
+                It("should upload and download the content directly", () -> {
+                    assertThat(entity.getContentLen(), is((long) content.length));
+
+                    in = store.getResource(entity).getInputStream();
+
+                    assertThat(in, is(not(instanceOf(AzureRangedDownloadInputStream.class))));
+                    assertThat(Arrays.equals(IOUtils.toByteArray(in), content), is(true));
+                });
+            });
+        });
+    }
+
+    @Test
+    public void test() {
+        // noop
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+
+    @Configuration
+    @EnableAzureStorage(basePackages="internal.org.springframework.content.azure.it")
+    public static class TestConfig {
+
+        @Bean
+        public BlobServiceClientBuilder blobServiceClientBuilder() {
+            return builder;
+        }
+
+        @Bean
+        public AzureStorageTransferOptions transferOptions() {
+            AzureStorageTransferOptions options = new AzureStorageTransferOptions();
+            options.setBlockSize(BLOCK_SIZE);
+            options.setMaxConcurrency(2);
+            options.setParallelUpload(true);
+            options.setParallelDownload(true);
+            return options;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class TransferTestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+    }
+
+    public interface TransferTestEntityStore extends ContentStore<TransferTestEntity, String> {}
+}
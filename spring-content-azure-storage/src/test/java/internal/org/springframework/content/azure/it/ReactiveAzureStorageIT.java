@@ -0,0 +1,156 @@
+package internal.org.springframework.content.azure.it;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.aop.framework.Advised;
+import org.springframework.content.azure.config.EnableAzureStorage;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClientBuilder;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.azure.store.DefaultReactiveAzureStorageImpl;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Flux;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class ReactiveAzureStorageIT {
+
+    private static final BlobServiceClientBuilder builder = Azurite.getBlobServiceClientBuilder();
+    private static final BlobContainerClient client = builder.buildClient().getBlobContainerClient("azure-test-bucket");
+
+    static {
+        if (!client.exists()) {
+            client.create();
+        }
+
+        System.setProperty("spring.content.azure.bucket", "azure-test-bucket");
+    }
+
+    private AnnotationConfigApplicationContext context;
+
+    private ReactiveTestEntityStore store;
+    private ReactiveTestEntity entity;
+    private String contentId;
+
+    {
+        Describe("DefaultReactiveAzureStorageImpl", () -> {
+
+            BeforeEach(() -> {
+                context = new AnnotationConfigApplicationContext();
+                context.register(TestConfig.class);
+                context.refresh();
+
+                store = context.getBean(ReactiveTestEntityStore.class);
+                entity = new ReactiveTestEntity();
+            });
+
+            AfterEach(() -> {
+                context.close();
+            });
+
+            It("should be backed by the reactive store", () -> {
+                assertThat(((Advised) store).getTargetSource().getTarget(), is(instanceOf(DefaultReactiveAzureStorageImpl.class)));
+            });
+
+            Context("given content is set", () -> {
+
+                BeforeEach(() -> {
+                    store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello ", "Spring Content ", "World!")).block();
+                });
+
+                It("should store the content and set the content id and length", () -> {
+                    assertThat(entity.getContentId(), is(not(nullValue())));
+                    assertThat(entity.getContentLen(), is(27L));
+                    assertThat(client.getBlobClient(entity.getContentId()).exists(), is(true));
+                });
+
+                It("should get the content", () -> {
+                    assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Spring Content World!"));
+                });
+
+                It("should get a range of the content", () -> {
+                    GetResourceParams params = GetResourceParams.builder().range("bytes=6-19").build();
+                    assertThat(read(store.getContent(entity, PropertyPath.from("content"), params)), is("Spring Content"));
+                });
+
+                Context("given the content is unset", () -> {
+
+                    BeforeEach(() -> {
+                        contentId = entity.getContentId();
+                        store.unsetContent(entity, PropertyPath.from("content")).block();
+                    });
+
+                    It("should delete the content and reset the content id and length", () -> {
+                        assertThat(client.getBlobClient(contentId).exists(), is(false));
+                        assertThat(entity.getContentId(), is(nullValue()));
+                        assertThat(entity.getContentLen(), is(0L));
+                    });
+                });
+            });
+        });
+    }
+
+    @Test
+    public void test() {
+        // noop
+    }
+
+    private static Flux<ByteBuffer> content(String... chunks) {
+        return Flux.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String read(Flux<ByteBuffer> content) {
+        return content.map(buffer -> StandardCharsets.UTF_8.decode(buffer).toString())
+                .reduce("", String::concat)
+                .block();
+    }
+
+    @Configuration
+    @EnableAzureStorage(basePackages="internal.org.springframework.content.azure.it")
+    public static class TestConfig {
+
+        @Bean
+        public BlobServiceClientBuilder blobServiceClientBuilder() {
+            return builder;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class ReactiveTestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+    }
+
+    public interface ReactiveTestEntityStore extends ReactiveContentStore<ReactiveTestEntity, String> {}
+}
@@ -0,0 +1,116 @@
+package internal.org.springframework.content.commons.storeservice;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.content.commons.repository.factory.StoreFactory;
+import org.springframework.content.commons.storeservice.StoreFilter;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+
+/**
+ * Compares finding the store of a domain class among a few hundred registered stores with the indexed
+ * {@link Stores#withDomainClass(Class)} filter and with an equivalent plain filter, which {@link StoresImpl} can only
+ * answer by testing every store.
+ *
+ * Run with:
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl spring-content-commons test-compile exec:exec -Djmh.includes=StoresLookupBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoresLookupBenchmark {
+
+    @Param({"10", "100", "500"})
+    private int numberOfStores;
+
+    private StoresImpl stores;
+
+    private StoreFilter indexedFilter;
+    private StoreFilter scanningFilter;
+
+    @Setup
+    public void setup() {
+        DefaultListableBeanFactory factory = new DefaultListableBeanFactory();
+        factory.registerSingleton("targetStore", new InterfaceStoreFactory(TargetStore.class));
+        for (int i = 1; i < numberOfStores; i++) {
+            factory.registerSingleton("otherStore" + i, new InterfaceStoreFactory(OtherStore.class));
+        }
+
+        stores = new StoresImpl(factory);
+        stores.afterPropertiesSet();
+
+        indexedFilter = Stores.withDomainClass(TargetEntity.class);
+        scanningFilter = new StoreFilter() {
+            @Override
+            public String name() {
+                return TargetEntity.class.getCanonicalName();
+            }
+
+            @Override
+            public boolean matches(StoreInfo info) {
+                return TargetEntity.class.equals(info.getDomainObjectClass());
+            }
+        };
+    }
+
+    @Benchmark
+    public StoreInfo[] withDomainClassIndexed() {
+        return stores.getStores(indexedFilter);
+    }
+
+    @Benchmark
+    public StoreInfo[] withDomainClassScan() {
+        return stores.getStores(scanningFilter);
+    }
+
+    public static class TargetEntity {
+    }
+
+    public static class OtherEntity {
+    }
+
+    public interface TargetStore extends ContentStore<TargetEntity, String> {
+    }
+
+    public interface OtherStore extends ContentStore<OtherEntity, String> {
+    }
+
+    private static class InterfaceStoreFactory implements StoreFactory {
+
+        private final Class<? extends Store> storeInterface;
+
+        private InterfaceStoreFactory(Class<? extends Store> storeInterface) {
+            this.storeInterface = storeInterface;
+        }
+
+        @Override
+        public Class<? extends Store> getStoreInterface() {
+            return storeInterface;
+        }
+
+        @Override
+        public <T> T getStore() {
+            return null;
+        }
+    }
+}
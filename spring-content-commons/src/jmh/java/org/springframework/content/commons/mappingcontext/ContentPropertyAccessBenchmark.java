@@ -0,0 +1,151 @@
+package org.springframework.content.commons.mappingcontext;
+
+import java.lang.reflect.Field;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Compares reading and writing content attributes through a new {@link BeanWrapperImpl} per call, as
+ * {@link ContentProperty} used to, with the cached method handles of {@link PropertyPathAccessor}.  Also compares
+ * finding an annotated field by walking the class on every call with the cached lookup of {@link BeanUtils}.
+ *
+ * Run with:
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl spring-content-commons test-compile exec:exec -Djmh.includes=ContentPropertyAccessBenchmark
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentPropertyAccessBenchmark {
+
+    private TestEntity entity;
+    private ContentProperty property;
+    private String contentId;
+
+    @Setup
+    public void setup() {
+        entity = new TestEntity();
+        contentId = UUID.randomUUID().toString();
+        entity.setContentId(contentId);
+        entity.setContentLength(1024L);
+        entity.setMimeType("text/plain");
+
+        property = new ContentProperty();
+        property.setContentPropertyPath("content");
+        property.setContentIdPropertyPath("contentId");
+        property.setContentLengthPropertyPath("contentLength");
+        property.setMimeTypePropertyPath("mimeType");
+    }
+
+    @Benchmark
+    public Object getContentIdBeanWrapper() {
+        return new BeanWrapperImpl(entity).getPropertyValue("contentId");
+    }
+
+    @Benchmark
+    public Object getContentIdAccessor() {
+        return property.getContentId(entity);
+    }
+
+    @Benchmark
+    public Object setContentLengthBeanWrapper() {
+        new BeanWrapperImpl(entity).setPropertyValue("contentLength", 2048L);
+        return entity;
+    }
+
+    @Benchmark
+    public Object setContentLengthAccessor() {
+        property.setContentLength(entity, 2048L);
+        return entity;
+    }
+
+    @Benchmark
+    public Object getFieldWithAnnotationScan() {
+        Field[] found = new Field[1];
+        ReflectionUtils.doWithFields(TestEntity.class, f -> found[0] = f, f -> f.isAnnotationPresent(ContentId.class));
+        ReflectionUtils.makeAccessible(found[0]);
+        return ReflectionUtils.getField(found[0], entity);
+    }
+
+    @Benchmark
+    public Object getFieldWithAnnotationCached() {
+        return BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+    }
+
+    public static class TestEntity {
+
+        private String name;
+        private String description;
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private Long contentLength;
+
+        @MimeType
+        private String mimeType;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        public String getContentId() {
+            return contentId;
+        }
+
+        public void setContentId(String contentId) {
+            this.contentId = contentId;
+        }
+
+        public Long getContentLength() {
+            return contentLength;
+        }
+
+        public void setContentLength(Long contentLength) {
+            this.contentLength = contentLength;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public void setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+        }
+    }
+}
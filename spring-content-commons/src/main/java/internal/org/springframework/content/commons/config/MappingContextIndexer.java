@@ -0,0 +1,39 @@
+package internal.org.springframework.content.commons.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.util.Assert;
+
+import internal.org.springframework.content.commons.storeservice.StoresImpl;
+
+/**
+ * Indexes the shared {@link MappingContext} for the domain class of every store.  Store factory beans inject the
+ * mapping context, so this runs once all singletons exist rather than when the context is created.
+ */
+public class MappingContextIndexer implements SmartInitializingSingleton, BeanFactoryAware {
+
+	private final MappingContext mappingContext;
+	private ListableBeanFactory beanFactory;
+
+	public MappingContextIndexer(MappingContext mappingContext) {
+		Assert.notNull(mappingContext, "mappingContext must not be null");
+		this.mappingContext = mappingContext;
+	}
+
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		Assert.isInstanceOf(ListableBeanFactory.class, beanFactory);
+		this.beanFactory = (ListableBeanFactory) beanFactory;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		StoresImpl stores = new StoresImpl(beanFactory);
+		stores.afterPropertiesSet();
+		mappingContext.index(stores);
+	}
+}
@@ -0,0 +1,39 @@
+package internal.org.springframework.content.commons.config;
+
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.type.AnnotationMetadata;
+
+/**
+ * Registers the {@link MappingContext} shared by every store, fragment and the REST layer, and the
+ * {@link MappingContextIndexer} that indexes it once all stores exist.  Both store registrars and the REST
+ * configuration register it, so whichever runs first wins.
+ */
+public class MappingContextRegistrar implements ImportBeanDefinitionRegistrar {
+
+	public static final String MAPPING_CONTEXT_BEAN_NAME = "mappingContext";
+	public static final String MAPPING_CONTEXT_INDEXER_BEAN_NAME = "mappingContextIndexer";
+
+	@Override
+	public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+		registerIfNecessary(registry);
+	}
+
+	public static void registerIfNecessary(BeanDefinitionRegistry registry) {
+		if (registry.containsBeanDefinition(MAPPING_CONTEXT_BEAN_NAME) == false) {
+			registry.registerBeanDefinition(MAPPING_CONTEXT_BEAN_NAME, BeanDefinitionBuilder.rootBeanDefinition(MappingContext.class)
+					.addConstructorArgValue("/")
+					.addConstructorArgValue(".")
+					.getBeanDefinition());
+		}
+
+		if (registry.containsBeanDefinition(MAPPING_CONTEXT_INDEXER_BEAN_NAME) == false) {
+			registry.registerBeanDefinition(MAPPING_CONTEXT_INDEXER_BEAN_NAME, BeanDefinitionBuilder.rootBeanDefinition(MappingContextIndexer.class)
+					.addConstructorArgValue(new RuntimeBeanReference(MAPPING_CONTEXT_BEAN_NAME))
+					.getBeanDefinition());
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package internal.org.springframework.content.commons.renditions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.renditions.RenditionCache;
+import org.springframework.content.commons.repository.StoreEvent;
+import org.springframework.content.commons.repository.events.AbstractStoreEventListener;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.AfterUnsetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+import org.springframework.content.commons.utils.BeanUtils;
+
+/**
+ * Removes cached renditions of content that is set or unset.
+ *
+ * Renditions are invalidated both before and after the change; before, because a store may give the new content a
+ * new id and, after, because a rendition of the old content may have been cached while the change was in progress.
+ */
+public class RenditionCacheInvalidator extends AbstractStoreEventListener<Object> {
+
+    private MappingContext mappingContext = new MappingContext("/", ".");
+
+    private List<RenditionCache> caches = new ArrayList<>();
+
+    @Autowired(required=false)
+    public void setMappingContext(MappingContext mappingContext) {
+        this.mappingContext = mappingContext;
+    }
+
+    @Autowired(required=false)
+    public void setRenditionCaches(RenditionCache... caches) {
+        for (RenditionCache cache : caches) {
+            this.caches.add(cache);
+        }
+    }
+
+    @Override
+    protected void onBeforeSetContent(BeforeSetContentEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    protected void onAfterSetContent(AfterSetContentEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    protected void onBeforeUnsetContent(BeforeUnsetContentEvent event) {
+        invalidate(event);
+    }
+
+    @Override
+    protected void onAfterUnsetContent(AfterUnsetContentEvent event) {
+        invalidate(event);
+    }
+
+    private void invalidate(StoreEvent event) {
+        if (caches.isEmpty()) {
+            return;
+        }
+
+        Object contentId = contentId(event);
+        if (contentId == null) {
+            return;
+        }
+
+        for (RenditionCache cache : caches) {
+            cache.invalidate(contentId);
+        }
+    }
+
+    private Object contentId(StoreEvent event) {
+        Object entity = event.getSource();
+        if (event.getPropertyPath() == null) {
+            return BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+        }
+
+        ContentProperty property = mappingContext.getContentProperty(entity.getClass(), event.getPropertyPath().getName());
+        return property != null ? property.getContentId(entity) : null;
+    }
+}
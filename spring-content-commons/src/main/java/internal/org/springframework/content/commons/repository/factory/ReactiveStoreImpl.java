@@ -6,6 +6,7 @@ import java.nio.ByteBuffer;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
 import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.context.ApplicationEventPublisher;
 
@@ -40,6 +41,11 @@ public class ReactiveStoreImpl implements ReactiveContentStore<Object, Serializa
         return delegate.getContent(entity, path);
     }
 
+    @Override
+    public Flux<ByteBuffer> getContent(Object entity, PropertyPath path, GetResourceParams params) {
+        return delegate.getContent(entity, path, params);
+    }
+
     @Override
     public Mono<Object> unsetContent(Object entity, PropertyPath propertyPath) {
         return delegate.unsetContent(entity, propertyPath);
@@ -12,6 +12,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.content.commons.property.PropertyPath;
@@ -53,11 +54,8 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
 
         Object result = null;
 
-        File contentCopy = null;
-        TeeInputStream contentCopyStream = null;
+        TeeInputStream contentCopyStream = new TeeInputStream(content, copyContentRootPath);
         try {
-            contentCopy = Files.createTempFile(copyContentRootPath, "contentCopy", ".tmp").toFile();
-            contentCopyStream = new TeeInputStream(content, new FileOutputStream(contentCopy), true);
             BeforeSetContentEvent before = new BeforeSetContentEvent(property, delegate, contentCopyStream);
 
             publisher.publishEvent(before);
@@ -67,10 +65,10 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
                 content = before.getInputStream();
             }
             // content was processed but not replaced
-            else if (contentCopyStream != null && contentCopyStream.isDirty()) {
+            else if (contentCopyStream.isDirty()) {
                 while (contentCopyStream.read(new byte[4096]) != -1) {
                 }
-                content = new FileInputStream(contentCopy);
+                content = new FileInputStream(contentCopyStream.getContentCopy());
             }
 
             try {
@@ -88,9 +86,8 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
         } catch (IOException ioException) {
             ioException.printStackTrace();
         } finally {
-            if (contentCopyStream != null) {
-                IOUtils.closeQuietly(contentCopyStream);
-            }
+            IOUtils.closeQuietly(contentCopyStream);
+            File contentCopy = contentCopyStream.getContentCopy();
             if (contentCopy != null) {
                 try {
                     Files.deleteIfExists(contentCopy.toPath());
@@ -112,11 +109,8 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
     public Object setContent(Object property, PropertyPath propertyPath, InputStream content, long contentLen) {
         Object result = null;
 
-        File contentCopy = null;
-        TeeInputStream contentCopyStream = null;
+        TeeInputStream contentCopyStream = new TeeInputStream(content, copyContentRootPath);
         try {
-            contentCopy = Files.createTempFile(copyContentRootPath, "contentCopy", ".tmp").toFile();
-            contentCopyStream = new TeeInputStream(content, new FileOutputStream(contentCopy), true);
             BeforeSetContentEvent before = new BeforeSetContentEvent(property, propertyPath, delegate, contentCopyStream);
 
             publisher.publishEvent(before);
@@ -126,10 +120,10 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
                 content = before.getInputStream();
             }
             // content was processed but not replaced
-            else if (contentCopyStream != null && contentCopyStream.isDirty()) {
+            else if (contentCopyStream.isDirty()) {
                 while (contentCopyStream.read(new byte[4096]) != -1) {
                 }
-                content = new FileInputStream(contentCopy);
+                content = new FileInputStream(contentCopyStream.getContentCopy());
             }
 
             try {
@@ -147,9 +141,8 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
         } catch (IOException ioException) {
             ioException.printStackTrace();
         } finally {
-            if (contentCopyStream != null) {
-                IOUtils.closeQuietly(contentCopyStream);
-            }
+            IOUtils.closeQuietly(contentCopyStream);
+            File contentCopy = contentCopyStream.getContentCopy();
             if (contentCopy != null) {
                 try {
                     Files.deleteIfExists(contentCopy.toPath());
@@ -458,39 +451,68 @@ public class StoreImpl implements ContentStore<Object, Serializable> {
         }
     }
 
+    /**
+     * Tees the content into a copy under the content copy root, but only once a before set content listener
+     * actually reads from it.  When no listener touches the stream no copy is made and the caller's stream is
+     * handed to the delegate as is.
+     */
     @Getter
-    static class TeeInputStream extends org.apache.commons.io.input.TeeInputStream {
+    static class TeeInputStream extends ProxyInputStream {
 
+        private final Path contentCopyRootPath;
+        private File contentCopy;
+        private OutputStream branch;
         private boolean isDirty = false;
 
-        public TeeInputStream(InputStream input, OutputStream branch, boolean closeBranch) {
-            super(input, branch, closeBranch);
+        public TeeInputStream(InputStream input, Path contentCopyRootPath) {
+            super(input);
+            this.contentCopyRootPath = contentCopyRootPath;
+        }
+
+        @Override
+        protected void beforeRead(int n) throws IOException {
+            if (!isDirty) {
+                contentCopy = Files.createTempFile(contentCopyRootPath, "contentCopy", ".tmp").toFile();
+                branch = new FileOutputStream(contentCopy);
+                isDirty = true;
+            }
         }
 
         @Override
         public int read() throws IOException {
-            isDirty = true;
-            return super.read();
+            int ch = super.read();
+            if (ch != IOUtils.EOF) {
+                branch.write(ch);
+            }
+            return ch;
         }
 
         @Override
         public int read(byte[] bts, int st, int end) throws IOException {
-            isDirty = true;
-            return super.read(bts, st, end);
+            int n = super.read(bts, st, end);
+            if (n != IOUtils.EOF) {
+                branch.write(bts, st, n);
+            }
+            return n;
         }
 
         @Override
         public int read(byte[] bts) throws IOException {
-            isDirty = true;
-            return super.read(bts);
+            int n = super.read(bts);
+            if (n != IOUtils.EOF) {
+                branch.write(bts, 0, n);
+            }
+            return n;
         }
 
         @Override
         public void close() throws IOException {
             try {
                 super.close();
-            } catch (Throwable t) {
-                throw t;
+            } finally {
+                if (branch != null) {
+                    branch.close();
+                }
             }
         }
     }
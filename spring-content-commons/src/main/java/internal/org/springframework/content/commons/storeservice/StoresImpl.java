@@ -4,11 +4,14 @@ import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.springframework.beans.factory.InitializingBean;
@@ -17,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.factory.StoreFactory;
+import org.springframework.content.commons.storeservice.KeyedStoreFilter;
 import org.springframework.content.commons.storeservice.StoreFilter;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.commons.storeservice.StoreResolver;
@@ -28,6 +32,8 @@ public class StoresImpl implements Stores, InitializingBean {
 
 	private Set<StoreInfo> storeInfos = new HashSet<>();
 	private Map<String, StoreResolver> resolvers = new HashMap<>();
+	private Map<Function<StoreInfo, Object>, Map<Object, Set<StoreInfo>>> storeInfosByKey = new ConcurrentHashMap<>();
+	private Map<Class<?>, Set<StoreInfo>> storeInfosByType = new ConcurrentHashMap<>();
     private ListableBeanFactory factory = null;
 
     public StoresImpl() {
@@ -62,8 +68,55 @@ public class StoresImpl implements Stores, InitializingBean {
 				storeInfos.add(info);
 			}
 		}
+
+        storeInfosByKey.clear();
+        storeInfosByType.clear();
+        storeInfosByKey.put(KeyedStoreFilter.DOMAIN_CLASS, index(KeyedStoreFilter.DOMAIN_CLASS));
 	}
 
+    private Map<Object, Set<StoreInfo>> index(Function<StoreInfo, Object> keyExtractor) {
+        Map<Object, Set<StoreInfo>> index = new HashMap<>();
+        for (StoreInfo info : storeInfos) {
+            index.computeIfAbsent(keyExtractor.apply(info), k -> new HashSet<>()).add(info);
+        }
+        return index;
+    }
+
+    private Set<StoreInfo> candidates(StoreFilter filter) {
+        if (filter instanceof KeyedStoreFilter) {
+            KeyedStoreFilter keyedFilter = (KeyedStoreFilter) filter;
+
+            // built outside of the map's compute methods as key extractors may call back into this service
+            Map<Object, Set<StoreInfo>> index = storeInfosByKey.get(keyedFilter.keyExtractor());
+            if (index == null) {
+                index = index(keyedFilter.keyExtractor());
+                storeInfosByKey.putIfAbsent(keyedFilter.keyExtractor(), index);
+            }
+            return index.getOrDefault(keyedFilter.key(), Collections.emptySet());
+        }
+        return storeInfos;
+    }
+
+    private Set<StoreInfo> candidates(Class<?> storeType, StoreFilter filter) {
+        Set<StoreInfo> candidates = candidates(filter);
+        if (candidates.size() <= 1) {
+            return candidates;
+        }
+
+        // resolving implementations may create store beans so this is also built outside of the map's compute methods
+        Set<StoreInfo> storeInfosOfType = storeInfosByType.get(storeType);
+        if (storeInfosOfType == null) {
+            storeInfosOfType = new HashSet<>();
+            for (StoreInfo info : storeInfos) {
+                if (info.getImplementation(storeType) != null) {
+                    storeInfosOfType.add(info);
+                }
+            }
+            storeInfosByType.putIfAbsent(storeType, storeInfosOfType);
+        }
+        return candidates == storeInfos ? storeInfosOfType : candidates;
+    }
+
     private String beanNameFromFactoryBeanName(String name) {
         return name.replaceFirst("&", "");
     }
@@ -94,7 +147,7 @@ public class StoresImpl implements Stores, InitializingBean {
 		Assert.notNull(filter, "filter must not be null");
 
 		List<StoreInfo> candidates = new ArrayList<>();
-		for (StoreInfo info : storeInfos) {
+		for (StoreInfo info : candidates(storeType, filter)) {
 			if (info.getImplementation(storeType) != null && filter.matches(info)) {
 				candidates.add(info);
 			}
@@ -118,7 +171,7 @@ public class StoresImpl implements Stores, InitializingBean {
     @Override
     public StoreInfo[] getStores(StoreFilter filter) {
         Set<StoreInfo> storeInfos = new HashSet<>();
-        for (StoreInfo info : this.storeInfos) {
+        for (StoreInfo info : candidates(filter)) {
             if (filter.matches(info)) {
                 storeInfos.add(info);
             }
@@ -134,7 +187,7 @@ public class StoresImpl implements Stores, InitializingBean {
 	@Override
 	public StoreInfo[] getStores(Class<?> storeType, StoreFilter filter) {
 		Set<StoreInfo> storeInfos = new HashSet<>();
-		for (StoreInfo info : this.storeInfos) {
+		for (StoreInfo info : candidates(storeType, filter)) {
 			if (info.getImplementation(storeType) != null && filter.matches(info)) {
 				storeInfos.add(info);
 			}
@@ -1,22 +1,28 @@
 package internal.org.springframework.content.fragments;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.fragments.ContentStoreAware;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.property.PropertyPath;
 import org.springframework.content.commons.renditions.Renderable;
+import org.springframework.content.commons.renditions.RenditionCache;
 import org.springframework.content.commons.renditions.RenditionProvider;
 import org.springframework.content.commons.renditions.RenditionService;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.content.commons.utils.DomainObjectUtils;
 import org.springframework.core.io.Resource;
 
 import internal.org.springframework.content.commons.renditions.RenditionServiceImpl;
@@ -33,10 +39,17 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 
     private List<RenditionProvider> providers = new ArrayList<>();
 
+    private RenditionCache renditionCache = null;
+
 	public RenderableImpl() {
        this.mappingContext = new MappingContext("/", ".");
 	}
 
+	@Autowired(required=false)
+	public void setMappingContext(MappingContext mappingContext) {
+	    this.mappingContext = mappingContext;
+	}
+
 	@Autowired(required=false)
     public void setRenditionProviders(RenditionProvider... providers) {
         for (RenditionProvider provider : providers) {
@@ -69,6 +82,11 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 	    this.renditionService = renditionService;
 	}
 
+	@Autowired(required = false)
+	public void setRenditionCache(RenditionCache renditionCache) {
+	    this.renditionCache = renditionCache;
+	}
+
 	@Override
 	public InputStream getRendition(Object entity, String mimeType) {
 		String fromMimeType = null;
@@ -77,6 +95,12 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
 			return null;
 		}
 
+		if (this.renditionCache != null) {
+		    Object contentId = BeanUtils.getFieldWithAnnotation(entity, ContentId.class);
+		    Object contentLength = BeanUtils.getFieldWithAnnotation(entity, ContentLength.class);
+		    return open(getCachedRendition(entity, contentId, contentLength, fromMimeType, mimeType, () -> contentStore.getContent(entity)));
+		}
+
 		if (this.getRenditionService().canConvert(fromMimeType, mimeType)) {
 			InputStream content = null;
 			try {
@@ -108,6 +132,10 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
             return null;
         }
 
+        if (this.renditionCache != null) {
+            return open(getRenditionResource(entity, propertyPath, mimeType));
+        }
+
         if (this.getRenditionService().canConvert(fromMimeType.toString(), mimeType)) {
             try {
                 Resource r = contentStore.getResource(entity, propertyPath);
@@ -126,6 +154,72 @@ public class RenderableImpl implements Renderable, ContentStoreAware {
         return null;
     }
 
+    @Override
+    public Resource getRenditionResource(Object entity, PropertyPath propertyPath, String mimeType) {
+
+        if (this.renditionCache == null) {
+            return null;
+        }
+
+        ContentProperty property = this.mappingContext.getContentProperty(entity.getClass(), propertyPath.getName());
+        if (property == null) {
+            return null;
+        }
+
+        Object fromMimeType = property.getMimeType(entity);
+        if (fromMimeType == null) {
+            return null;
+        }
+
+        return getCachedRendition(entity, property.getContentId(entity), property.getContentLength(entity), fromMimeType.toString(), mimeType, () -> {
+            Resource r = contentStore.getResource(entity, propertyPath);
+            return r != null ? r.getInputStream() : null;
+        });
+    }
+
+    private Resource getCachedRendition(Object entity, Object contentId, Object contentLength, String fromMimeType, String mimeType, Callable<InputStream> content) {
+
+        if (contentId == null || !this.getRenditionService().canConvert(fromMimeType, mimeType)) {
+            return null;
+        }
+
+        // the length catches content that changed under an entity without a @Version
+        Object version = DomainObjectUtils.getVersion(entity) + "/" + contentLength;
+
+        Resource rendition = this.renditionCache.get(contentId, version, mimeType);
+        if (rendition != null) {
+            return rendition;
+        }
+
+        try (InputStream source = content.call()) {
+            if (source != null) {
+                try (InputStream converted = this.getRenditionService().convert(fromMimeType, source, mimeType)) {
+                    if (converted != null) {
+                        return this.renditionCache.put(contentId, version, mimeType, converted);
+                    }
+                }
+            }
+        }
+        catch (Exception e) {
+            LOGGER.error(String.format("Failed to get rendition from %s to %s", fromMimeType, mimeType), e);
+        }
+        return null;
+    }
+
+    private InputStream open(Resource rendition) {
+        if (rendition == null) {
+            return null;
+        }
+
+        try {
+            return rendition.getInputStream();
+        }
+        catch (IOException e) {
+            LOGGER.error(String.format("Failed to read rendition %s", rendition.getDescription()), e);
+        }
+        return null;
+    }
+
     @Override
     public boolean hasRendition(Object entity, String mimeType) {
 
@@ -51,10 +51,12 @@ import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
+import internal.org.springframework.content.commons.config.MappingContextRegistrar;
 import internal.org.springframework.content.commons.config.StoreFragment;
 import internal.org.springframework.content.commons.config.StoreFragmentDefinition;
 import internal.org.springframework.content.commons.config.StoreFragmentDetector;
 import internal.org.springframework.content.commons.config.StoreFragmentsFactoryBean;
+import internal.org.springframework.content.commons.renditions.RenditionCacheInvalidator;
 import internal.org.springframework.content.commons.repository.AnnotatedStoreEventInvoker;
 import internal.org.springframework.content.commons.utils.StoreCandidateComponentProvider;
 import internal.org.springframework.content.commons.utils.StoreUtils;
@@ -70,6 +72,7 @@ public abstract class AbstractStoreBeanDefinitionRegistrar
 	public static final String STORE_INTERFACE_CLASS_PROPERTY = "storeInterfaceClass";
 
 	private static String REPOSITORY_INTERFACE_POST_PROCESSOR = "internal.org.springframework.content.commons.utils.StoreInterfaceAwareBeanPostProcessor";
+	private static String RENDITION_CACHE_INVALIDATOR = "renditionCacheInvalidator";
 
 	private Environment environment;
 	private ResourceLoader resourceLoader;
@@ -133,6 +136,13 @@ public abstract class AbstractStoreBeanDefinitionRegistrar
 			registry.registerBeanDefinition("annotatedStoreEventHandler", annotatedStoreEventHandlerDef);
 		}
 
+		// removes cached renditions of changed content when the application has a RenditionCache
+		if (registry.containsBeanDefinition(RENDITION_CACHE_INVALIDATOR) == false) {
+			registry.registerBeanDefinition(RENDITION_CACHE_INVALIDATOR, createBeanDefinition(RenditionCacheInvalidator.class));
+		}
+
+		MappingContextRegistrar.registerIfNecessary(registry);
+
 		createOperationsBean(registry);
 
 		registerContentStoreBeanDefinitions(importingClassMetadata, registry);
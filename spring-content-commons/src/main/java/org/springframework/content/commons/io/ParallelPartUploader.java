@@ -0,0 +1,93 @@
+package org.springframework.content.commons.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads the parts of a single upload in parallel on an executor.
+ *
+ * At most {@code maxConcurrentParts} parts are uploading, or waiting to upload, at any time; submitting another part
+ * blocks until one completes.  The first part to fail is recorded as the failure of the upload, which the stream
+ * writing the parts checks before submitting more and before completing the upload.
+ *
+ * Instances are used by the single thread writing the content.
+ */
+public class ParallelPartUploader {
+
+	private final Executor executor;
+	private final Semaphore permits;
+
+	private final List<CompletableFuture<Void>> uploads = new ArrayList<>();
+	private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+	/**
+	 * @param executor the executor that uploads parts, or null to use {@link TransferExecutors#getDefault()}
+	 * @param maxConcurrentParts the most parts uploading, or waiting to upload, at any time
+	 */
+	public ParallelPartUploader(Executor executor, int maxConcurrentParts) {
+		this.executor = TransferExecutors.orDefault(executor);
+		this.permits = new Semaphore(maxConcurrentParts);
+	}
+
+	/**
+	 * Submits a part to be uploaded, waiting while {@code maxConcurrentParts} parts are in progress.
+	 *
+	 * @param part the part
+	 * @throws InterruptedException if interrupted while waiting, in which case the part is not submitted
+	 * @throws RejectedExecutionException if the executor rejects the part
+	 */
+	public void submit(Part part) throws InterruptedException {
+		permits.acquire();
+
+		CompletableFuture<Void> upload = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				try {
+					part.upload();
+					upload.complete(null);
+				} catch (Throwable t) {
+					failure.compareAndSet(null, t);
+					upload.completeExceptionally(t);
+				} finally {
+					permits.release();
+				}
+			});
+		} catch (RejectedExecutionException ree) {
+			permits.release();
+			throw ree;
+		}
+		uploads.add(upload);
+	}
+
+	/**
+	 * Waits for every submitted part to complete, successfully or not.
+	 */
+	public void awaitAll() {
+		for (CompletableFuture<Void> upload : uploads) {
+			try {
+				upload.join();
+			} catch (CompletionException ce) {
+				// recorded as the failure by the upload
+			}
+		}
+	}
+
+	/**
+	 * @return the failure of the first part that failed, or null
+	 */
+	public Throwable getFailure() {
+		return failure.get();
+	}
+
+	@FunctionalInterface
+	public interface Part {
+
+		void upload() throws Exception;
+	}
+}
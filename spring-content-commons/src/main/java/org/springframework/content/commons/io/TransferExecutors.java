@@ -0,0 +1,59 @@
+package org.springframework.content.commons.io;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the executor that stores use to transfer parts of content in parallel when the application has not set one.
+ *
+ * The default executor is shared by all stores.  It runs at most {@link #DEFAULT_THREADS} transfers at a time and queues
+ * at most {@link #DEFAULT_QUEUE_CAPACITY} more.  When the queue is full a transfer runs on the thread that submitted
+ * it, so a busy executor slows writers and readers down rather than failing them.  Its threads are daemons and are
+ * released after a minute without work.
+ */
+public final class TransferExecutors {
+
+	public static final int DEFAULT_THREADS = Math.max(8, 2 * Runtime.getRuntime().availableProcessors());
+	public static final int DEFAULT_QUEUE_CAPACITY = 4 * DEFAULT_THREADS;
+
+	private TransferExecutors() {
+	}
+
+	/**
+	 * @return the shared default executor
+	 */
+	public static Executor getDefault() {
+		return DefaultExecutorHolder.EXECUTOR;
+	}
+
+	/**
+	 * @param executor the executor configured by the application, if any
+	 * @return the given executor, or the shared default executor when it is null
+	 */
+	public static Executor orDefault(Executor executor) {
+		return executor != null ? executor : getDefault();
+	}
+
+	private static class DefaultExecutorHolder {
+
+		private static final Executor EXECUTOR = createDefault();
+
+		private static ThreadPoolExecutor createDefault() {
+			AtomicInteger threads = new AtomicInteger();
+			ThreadFactory factory = runnable -> {
+				Thread thread = new Thread(runnable, "spring-content-transfer-" + threads.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			};
+
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_THREADS, DEFAULT_THREADS, 60L, TimeUnit.SECONDS,
+					new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY), factory, new ThreadPoolExecutor.CallerRunsPolicy());
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+	}
+}
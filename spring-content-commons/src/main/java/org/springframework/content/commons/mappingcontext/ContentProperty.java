@@ -1,8 +1,6 @@
 package org.springframework.content.commons.mappingcontext;
 
 import org.apache.commons.lang.StringUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.core.convert.TypeDescriptor;
 
 import lombok.EqualsAndHashCode;
@@ -23,15 +21,13 @@ public class ContentProperty {
     public Object getCustomProperty(Object entity, String propertyName) {
         String customContentPropertyPath = contentPropertyPath + StringUtils.capitalize(propertyName);
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        return wrapper.getPropertyValue(customContentPropertyPath);
+        return accessor(entity, customContentPropertyPath).getValue(entity);
     }
 
     public void setCustomProperty(Object entity, String propertyName, Object value) {
         String customContentPropertyPath = contentPropertyPath + StringUtils.capitalize(propertyName);
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        wrapper.setPropertyValue(customContentPropertyPath, value);
+        accessor(entity, customContentPropertyPath).setValue(entity, value);
     }
 
     public Object getContentId(Object entity) {
@@ -39,8 +35,7 @@ public class ContentProperty {
             return null;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        return wrapper.getPropertyValue(contentIdPropertyPath);
+        return accessor(entity, contentIdPropertyPath).getValue(entity);
     }
 
     public void setContentId(Object entity, Object value, Condition condition) {
@@ -48,16 +43,16 @@ public class ContentProperty {
             return;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        PropertyPathAccessor accessor = accessor(entity, contentIdPropertyPath);
 
         if (condition != null) {
-            TypeDescriptor t = wrapper.getPropertyTypeDescriptor(contentIdPropertyPath);
+            TypeDescriptor t = accessor.getTypeDescriptor(entity);
             if (!condition.matches(t)) {
                 return;
             }
         }
 
-        wrapper.setPropertyValue(contentIdPropertyPath, value);
+        accessor.setValue(entity, value);
     }
 
     public TypeDescriptor getContentIdType(Object entity) {
@@ -65,8 +60,7 @@ public class ContentProperty {
             return null;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        return wrapper.getPropertyTypeDescriptor(contentIdPropertyPath);
+        return accessor(entity, contentIdPropertyPath).getTypeDescriptor(entity);
     }
 
     public Object getContentLength(Object entity) {
@@ -74,8 +68,7 @@ public class ContentProperty {
             return 0L;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        return wrapper.getPropertyValue(contentLengthPropertyPath);
+        return accessor(entity, contentLengthPropertyPath).getValue(entity);
     }
 
     public void setContentLength(Object entity, Object value) {
@@ -83,8 +76,7 @@ public class ContentProperty {
             return;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        wrapper.setPropertyValue(contentLengthPropertyPath, value);
+        accessor(entity, contentLengthPropertyPath).setValue(entity, value);
     }
 
     public Object getMimeType(Object entity) {
@@ -92,8 +84,7 @@ public class ContentProperty {
             return null;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        return wrapper.getPropertyValue(mimeTypePropertyPath);
+        return accessor(entity, mimeTypePropertyPath).getValue(entity);
     }
 
     public void setMimeType(Object entity, Object value) {
@@ -101,8 +92,7 @@ public class ContentProperty {
             return;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        wrapper.setPropertyValue(mimeTypePropertyPath, value);
+        accessor(entity, mimeTypePropertyPath).setValue(entity, value);
     }
 
     public void setOriginalFileName(Object entity, Object value) {
@@ -110,8 +100,7 @@ public class ContentProperty {
             return;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        wrapper.setPropertyValue(originalFileNamePropertyPath, value);
+        accessor(entity, originalFileNamePropertyPath).setValue(entity, value);
     }
 
     public Object getOriginalFileName(Object entity) {
@@ -119,7 +108,10 @@ public class ContentProperty {
             return null;
         }
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
-        return wrapper.getPropertyValue(originalFileNamePropertyPath);
+        return accessor(entity, originalFileNamePropertyPath).getValue(entity);
+    }
+
+    private static PropertyPathAccessor accessor(Object entity, String propertyPath) {
+        return PropertyPathAccessor.forPath(entity.getClass(), propertyPath);
     }
 }
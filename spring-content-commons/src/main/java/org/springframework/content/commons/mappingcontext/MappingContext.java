@@ -1,12 +1,19 @@
 package org.springframework.content.commons.mappingcontext;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
 
 public class MappingContext {
 
-    private Map<Class<?>, Map<String, ContentProperty>> context = new HashMap<>();
+    private static final Log LOGGER = LogFactory.getLog(MappingContext.class);
+
+    private Map<Class<?>, Map<String, ContentProperty>> context = new ConcurrentHashMap<>();
 
     private CharSequence keySeparator = "/";
     private CharSequence contentPropertySeparator = ".";
@@ -16,59 +23,64 @@ public class MappingContext {
         this.contentPropertySeparator = contentPropertySeparator;
     }
 
-//    public MappingContext(Stores stores) {
-//        for (StoreInfo info : stores.getStores(Stores.MATCH_ALL)) {
-//            if (info.getDomainObjectClass() != null) {
-//                context.put(info.getDomainObjectClass(), resolveProperties(info.getDomainObjectClass()));
-//            }
-//        }
-//    }
+    /**
+     * Resolves the content properties of every store's domain class up front so that request threads only ever
+     * read from the context.
+     */
+    public void index(Stores stores) {
+        long start = System.currentTimeMillis();
+        int numProperties = 0;
+        for (StoreInfo info : stores.getStores(Stores.MATCH_ALL)) {
+            Class<?> domainClass = info.getDomainObjectClass();
+            if (domainClass != null) {
+                numProperties += resolveAccessors(domainClass, getContentPropertyMap(domainClass));
+            }
+        }
 
-    public boolean hasMapping(Class<?> domainClass, String path) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(String.format("Indexed %s content properties across %s domain classes in %s ms", numProperties, context.size(), System.currentTimeMillis() - start));
         }
-        return properties.get(path) != null;
+    }
+
+    public boolean hasMapping(Class<?> domainClass, String path) {
+        return getContentPropertyMap(domainClass).get(path) != null;
     }
 
     public ContentProperty getContentProperty(Class<?> domainClass, String path) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
-        }
-        return properties.get(path);
+        return getContentPropertyMap(domainClass).get(path);
     }
 
     public Collection<ContentProperty> getContentProperties(Class<?> domainClass) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
-        }
-        return properties.values();
+        return getContentPropertyMap(domainClass).values();
     }
 
     public Map<String,ContentProperty> getContentPropertyMap(Class<?> domainClass) {
         Map<String, ContentProperty> properties = context.get(domainClass);
         if (properties == null) {
-            properties = resolveProperties(domainClass);
+            properties = context.computeIfAbsent(domainClass, this::resolveProperties);
         }
         return properties;
     }
 
     public Collection<String> getContentPaths(Class<?> domainClass) {
-        Map<String, ContentProperty> properties = context.get(domainClass);
-        if (properties == null) {
-            properties = resolveProperties(domainClass);
-        }
-        return properties.keySet();
+        return getContentPropertyMap(domainClass).keySet();
     }
 
     private Map<String, ContentProperty> resolveProperties(Class<?> domainClass) {
         ContentPropertyMappingContextVisitor visitor = new ContentPropertyMappingContextVisitor(this.keySeparator, this.contentPropertySeparator);
         ClassWalker walker = new ClassWalker(visitor);
         walker.accept(domainClass);
-        context.put(domainClass, visitor.getProperties());
         return visitor.getProperties();
     }
+
+    private int resolveAccessors(Class<?> domainClass, Map<String, ContentProperty> properties) {
+        for (ContentProperty property : properties.values()) {
+            for (String path : new String[] {property.getContentIdPropertyPath(), property.getContentLengthPropertyPath(), property.getMimeTypePropertyPath(), property.getOriginalFileNamePropertyPath()}) {
+                if (path != null) {
+                    PropertyPathAccessor.forPath(domainClass, path);
+                }
+            }
+        }
+        return properties.size();
+    }
 }
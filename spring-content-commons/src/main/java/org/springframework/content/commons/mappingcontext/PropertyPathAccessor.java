@@ -0,0 +1,152 @@
+package org.springframework.content.commons.mappingcontext;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.convert.Property;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Reads and writes a, possibly nested, property path of a domain class through method handles that are resolved
+ * once per class and path and then reused.
+ *
+ * Paths that cannot be resolved to getters and setters, values that would need type conversion and null
+ * intermediate properties are handed to a {@link BeanWrapperImpl} so the behavior is the same as bean wrapper
+ * access.
+ */
+public final class PropertyPathAccessor {
+
+    private static final Map<Class<?>, Map<String, PropertyPathAccessor>> accessors = new ConcurrentReferenceHashMap<>();
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final String path;
+    private final MethodHandle[] getters;
+    private final MethodHandle setter;
+    private final Class<?> propertyType;
+    private final TypeDescriptor typeDescriptor;
+
+    public static PropertyPathAccessor forPath(Class<?> domainClass, String path) {
+        return accessors.computeIfAbsent(domainClass, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(path, p -> new PropertyPathAccessor(domainClass, p));
+    }
+
+    private PropertyPathAccessor(Class<?> domainClass, String path) {
+        this.path = path;
+
+        String[] segments = StringUtils.delimitedListToStringArray(path, ".");
+        MethodHandle[] getters = new MethodHandle[segments.length];
+        MethodHandle setter = null;
+        Class<?> propertyType = null;
+        TypeDescriptor typeDescriptor = null;
+
+        Class<?> segmentClass = domainClass;
+        try {
+            for (int i = 0; i < segments.length; i++) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(segmentClass, segments[i]);
+                if (descriptor == null || descriptor.getReadMethod() == null) {
+                    getters = null;
+                    break;
+                }
+
+                Method readMethod = descriptor.getReadMethod();
+                ReflectionUtils.makeAccessible(readMethod);
+                getters[i] = LOOKUP.unreflect(readMethod).asType(GETTER_TYPE);
+
+                if (i == segments.length - 1) {
+                    Method writeMethod = descriptor.getWriteMethod();
+                    if (writeMethod != null) {
+                        ReflectionUtils.makeAccessible(writeMethod);
+                        setter = LOOKUP.unreflect(writeMethod).asType(SETTER_TYPE);
+                    }
+                    propertyType = descriptor.getPropertyType();
+                    typeDescriptor = new TypeDescriptor(new Property(segmentClass, readMethod, writeMethod, descriptor.getName()));
+                }
+
+                segmentClass = descriptor.getPropertyType();
+            }
+        } catch (IllegalAccessException | SecurityException e) {
+            getters = null;
+        }
+
+        this.getters = getters;
+        this.setter = getters != null ? setter : null;
+        this.propertyType = propertyType;
+        this.typeDescriptor = getters != null ? typeDescriptor : null;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Object getValue(Object entity) {
+        if (getters == null) {
+            return new BeanWrapperImpl(entity).getPropertyValue(path);
+        }
+
+        Object value = entity;
+        try {
+            for (MethodHandle getter : getters) {
+                if (value == null) {
+                    return new BeanWrapperImpl(entity).getPropertyValue(path);
+                }
+                value = (Object) getter.invokeExact(value);
+            }
+        } catch (Throwable t) {
+            ReflectionUtils.rethrowRuntimeException(t);
+        }
+        return value;
+    }
+
+    public void setValue(Object entity, Object value) {
+        if (setter == null || !isDirectlyAssignable(value)) {
+            new BeanWrapperImpl(entity).setPropertyValue(path, value);
+            return;
+        }
+
+        Object target = entity;
+        try {
+            for (int i = 0; i < getters.length - 1; i++) {
+                target = (Object) getters[i].invokeExact(target);
+                if (target == null) {
+                    new BeanWrapperImpl(entity).setPropertyValue(path, value);
+                    return;
+                }
+            }
+            setter.invokeExact(target, value);
+        } catch (Throwable t) {
+            ReflectionUtils.rethrowRuntimeException(t);
+        }
+    }
+
+    public TypeDescriptor getTypeDescriptor(Object entity) {
+        if (typeDescriptor == null) {
+            return new BeanWrapperImpl(entity).getPropertyTypeDescriptor(path);
+        }
+        return typeDescriptor;
+    }
+
+    private boolean isDirectlyAssignable(Object value) {
+        if (propertyType.isArray() || Collection.class.isAssignableFrom(propertyType) || Map.class.isAssignableFrom(propertyType)) {
+            return false;
+        }
+        if (value == null) {
+            return !propertyType.isPrimitive();
+        }
+        return ClassUtils.isAssignableValue(propertyType, value);
+    }
+}
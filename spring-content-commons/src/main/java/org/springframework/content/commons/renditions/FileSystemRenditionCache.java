@@ -0,0 +1,265 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link RenditionCache} that keeps renditions as files in a local directory, bounded by their total size.
+ *
+ * Each piece of content has a directory named from a SHA-256 hash of its content id, holding one file per version and
+ * mime type, so the cache is rebuilt from the directory when the application restarts.  When the total size exceeds
+ * the maximum the least recently used renditions are deleted; the rendition just added is always kept, even if it is
+ * larger than the maximum on its own.
+ *
+ * Renditions are written to a temporary file and moved into place, so a reader never sees a partial rendition.
+ */
+public class FileSystemRenditionCache implements RenditionCache {
+
+	private static final Log LOGGER = LogFactory.getLog(FileSystemRenditionCache.class);
+
+	public static final long DEFAULT_MAXIMUM_SIZE = 1024L * 1024L * 1024L;
+
+	private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+	private final Path directory;
+	private final long maximumSize;
+
+	// access ordered so that iteration starts at the least recently used entry
+	private final LinkedHashMap<Key, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long size = 0L;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public FileSystemRenditionCache(File directory) {
+		this(directory, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public FileSystemRenditionCache(File directory, long maximumSize) {
+		Assert.notNull(directory, "directory must be specified");
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.directory = directory.toPath();
+		this.maximumSize = maximumSize;
+
+		try {
+			Files.createDirectories(this.directory);
+			load();
+		} catch (IOException e) {
+			throw new UncheckedIOException(String.format("Unable to initialize rendition cache in %s", directory), e);
+		}
+	}
+
+	@Override
+	public Resource get(Object contentId, Object version, String mimeType) {
+		Key key = new Key(contentId, version, mimeType);
+		synchronized (entries) {
+			Long length = entries.get(key);
+			if (length != null) {
+				Path file = key.path(directory);
+				if (Files.exists(file)) {
+					hits.increment();
+					return new FileSystemResource(file.toFile());
+				}
+				entries.remove(key);
+				size -= length;
+			}
+		}
+		misses.increment();
+		return null;
+	}
+
+	@Override
+	public Resource put(Object contentId, Object version, String mimeType, InputStream rendition) throws IOException {
+		Key key = new Key(contentId, version, mimeType);
+
+		Path temp = Files.createTempFile(directory, "rendition", TEMP_FILE_SUFFIX);
+		try {
+			long length = Files.copy(rendition, temp, StandardCopyOption.REPLACE_EXISTING);
+
+			Path file = key.path(directory);
+			synchronized (entries) {
+				Files.createDirectories(file.getParent());
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+				Long replaced = entries.put(key, length);
+				if (replaced != null) {
+					size -= replaced;
+				}
+				size += length;
+				evictIfNecessary(key);
+			}
+			return new FileSystemResource(file.toFile());
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public void invalidate(Object contentId) {
+		if (contentId == null) {
+			return;
+		}
+
+		String contentDirectory = hash(contentId.toString());
+		synchronized (entries) {
+			Iterator<Map.Entry<Key, Long>> it = entries.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<Key, Long> entry = it.next();
+				if (entry.getKey().contentDirectory.equals(contentDirectory)) {
+					delete(entry.getKey());
+					size -= entry.getValue();
+					it.remove();
+				}
+			}
+		}
+	}
+
+	public long size() {
+		synchronized (entries) {
+			return size;
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	private void evictIfNecessary(Key added) {
+		Iterator<Map.Entry<Key, Long>> it = entries.entrySet().iterator();
+		while (size > maximumSize && it.hasNext()) {
+			Map.Entry<Key, Long> entry = it.next();
+			if (entry.getKey().equals(added)) {
+				continue;
+			}
+			delete(entry.getKey());
+			size -= entry.getValue();
+			it.remove();
+		}
+	}
+
+	private void delete(Key key) {
+		Path file = key.path(directory);
+		try {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(file.getParent());
+		} catch (DirectoryNotEmptyException e) {
+			// other renditions of the same content remain
+		} catch (IOException e) {
+			LOGGER.warn(String.format("Unable to delete rendition %s", file), e);
+		}
+	}
+
+	private void load() throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> contentDirectories = Files.newDirectoryStream(directory)) {
+			for (Path contentDirectory : contentDirectories) {
+				if (!Files.isDirectory(contentDirectory)) {
+					if (contentDirectory.getFileName().toString().endsWith(TEMP_FILE_SUFFIX)) {
+						Files.deleteIfExists(contentDirectory);
+					}
+					continue;
+				}
+				try (DirectoryStream<Path> renditions = Files.newDirectoryStream(contentDirectory)) {
+					for (Path rendition : renditions) {
+						files.add(rendition);
+					}
+				}
+			}
+		}
+
+		// least recently modified first, so that the oldest renditions are evicted first
+		files.sort(Comparator.comparingLong(this::lastModified));
+
+		synchronized (entries) {
+			for (Path file : files) {
+				long length = Files.size(file);
+				entries.put(new Key(file.getParent().getFileName().toString(), file.getFileName().toString()), length);
+				size += length;
+			}
+		}
+	}
+
+	private long lastModified(Path file) {
+		try {
+			return Files.getLastModifiedTime(file).toMillis();
+		} catch (IOException e) {
+			return 0L;
+		}
+	}
+
+	static String hash(String value) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static final class Key {
+
+		private final String contentDirectory;
+		private final String file;
+
+		private Key(Object contentId, Object version, String mimeType) {
+			this(hash(String.valueOf(contentId)), hash(String.valueOf(version) + "\n" + mimeType));
+		}
+
+		private Key(String contentDirectory, String file) {
+			this.contentDirectory = contentDirectory;
+			this.file = file;
+		}
+
+		private Path path(Path directory) {
+			return directory.resolve(contentDirectory).resolve(file);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o instanceof Key == false) {
+				return false;
+			}
+			Key other = (Key) o;
+			return contentDirectory.equals(other.contentDirectory) && file.equals(other.file);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * contentDirectory.hashCode() + file.hashCode();
+		}
+	}
+}
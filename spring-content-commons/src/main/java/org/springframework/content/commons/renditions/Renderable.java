@@ -3,6 +3,7 @@ package org.springframework.content.commons.renditions;
 import java.io.InputStream;
 
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.core.io.Resource;
 
 public interface Renderable<S> {
 
@@ -13,4 +14,13 @@ public interface Renderable<S> {
 	InputStream getRendition(S entity, String mimeType);
 
 	InputStream getRendition(S entity, PropertyPath path, String mimeType);
+
+	/**
+	 * Returns the rendition as a resource that can be read more than once, for example from a
+	 * {@link RenditionCache}, or null if the rendition is only available as a stream from
+	 * {@link #getRendition(Object, PropertyPath, String)}.
+	 */
+	default Resource getRenditionResource(S entity, PropertyPath path, String mimeType) {
+	    return null;
+	}
 }
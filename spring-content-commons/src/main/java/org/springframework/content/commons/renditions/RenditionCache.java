@@ -0,0 +1,46 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * Holds rendered content so that a rendition is converted once rather than on every request.
+ *
+ * Renditions are keyed by the id of the content they were rendered from, the version of that content and the mime
+ * type they were rendered to.  Including the version means a rendition of content that has since changed is not
+ * returned; {@link #invalidate(Object)} removes renditions of content that is changed or removed.
+ */
+public interface RenditionCache {
+
+	/**
+	 * Returns the cached rendition, or null if there is none.
+	 *
+	 * @param contentId the id of the content the rendition was rendered from
+	 * @param version the version of that content
+	 * @param mimeType the mime type of the rendition
+	 * @return the rendition, or null
+	 */
+	Resource get(Object contentId, Object version, String mimeType);
+
+	/**
+	 * Caches a rendition, reading the given stream to its end.  The caller remains responsible for closing the
+	 * stream.
+	 *
+	 * @param contentId the id of the content the rendition was rendered from
+	 * @param version the version of that content
+	 * @param mimeType the mime type of the rendition
+	 * @param rendition the rendered content
+	 * @return the cached rendition
+	 * @throws IOException if the rendition cannot be read or stored
+	 */
+	Resource put(Object contentId, Object version, String mimeType, InputStream rendition) throws IOException;
+
+	/**
+	 * Removes every cached rendition of the given content.
+	 *
+	 * @param contentId the id of the content
+	 */
+	void invalidate(Object contentId);
+}
@@ -0,0 +1,95 @@
+package org.springframework.content.commons.renditions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.WritableResource;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link RenditionCache} that keeps renditions in a {@link Store}, so that they can be shared by every instance of
+ * an application and outlive it.
+ *
+ * Renditions are stored under an id of the form {@code <hash of content id>/<hash of version and mime type>}.  The
+ * store is not bounded by this cache; use the expiry features of the underlying storage to limit its size.
+ *
+ * {@link #invalidate(Object)} deletes the renditions this instance has cached.  Renditions cached by another instance,
+ * or before a restart, are not deleted but are no longer returned once the content's version changes, so entities
+ * whose content is cached this way should have a {@code @Version} field.
+ */
+public class StoreRenditionCache implements RenditionCache {
+
+	private static final Log LOGGER = LogFactory.getLog(StoreRenditionCache.class);
+
+	private final Store<String> store;
+
+	private final Map<String, Set<String>> renditionIds = new ConcurrentHashMap<>();
+
+	public StoreRenditionCache(Store<String> store) {
+		Assert.notNull(store, "store must be specified");
+		this.store = store;
+	}
+
+	@Override
+	public Resource get(Object contentId, Object version, String mimeType) {
+		Resource resource = store.getResource(id(contentId, version, mimeType));
+		if (resource != null && resource.exists()) {
+			return resource;
+		}
+		return null;
+	}
+
+	@Override
+	public Resource put(Object contentId, Object version, String mimeType, InputStream rendition) throws IOException {
+		String id = id(contentId, version, mimeType);
+
+		Resource resource = store.getResource(id);
+		if (resource instanceof WritableResource == false) {
+			throw new IOException(String.format("Unable to write rendition %s to a read-only store", id));
+		}
+
+		try (OutputStream out = ((WritableResource) resource).getOutputStream()) {
+			IOUtils.copyLarge(rendition, out);
+		}
+
+		renditionIds.computeIfAbsent(FileSystemRenditionCache.hash(String.valueOf(contentId)), k -> ConcurrentHashMap.newKeySet()).add(id);
+		return store.getResource(id);
+	}
+
+	@Override
+	public void invalidate(Object contentId) {
+		if (contentId == null) {
+			return;
+		}
+
+		Set<String> ids = renditionIds.remove(FileSystemRenditionCache.hash(contentId.toString()));
+		if (ids == null) {
+			return;
+		}
+
+		for (String id : ids) {
+			Resource resource = store.getResource(id);
+			if (resource instanceof DeletableResource) {
+				try {
+					((DeletableResource) resource).delete();
+				} catch (IOException e) {
+					LOGGER.warn(String.format("Unable to delete rendition %s", id), e);
+				}
+			}
+		}
+	}
+
+	private static String id(Object contentId, Object version, String mimeType) {
+		return FileSystemRenditionCache.hash(String.valueOf(contentId)) + "/" + FileSystemRenditionCache.hash(String.valueOf(version) + "\n" + mimeType);
+	}
+}
@@ -10,9 +10,34 @@ import reactor.core.publisher.Mono;
 
 public interface ReactiveContentStore<S, SID extends Serializable> extends ContentRepository<S, SID> {
 
+    /**
+     * Sets content.  Stores set the content length of the entity to the number of bytes written.
+     *
+     * @param entity the entity
+     * @param path the content property
+     * @param contentLen the length of the content, or -1 if it is not known, as for chunked and multipart requests
+     * @param buffer the content
+     * @return the entity
+     */
     Mono<S> setContent(S entity, PropertyPath path, long contentLen, Flux<ByteBuffer> buffer);
 
     Flux<ByteBuffer> getContent(S entity, PropertyPath path);
 
+    /**
+     * Gets content, or a range of it.  Stores that cannot read a range inherit this method, which returns the whole
+     * content when no range is requested and fails with {@link UnsupportedOperationException} otherwise.
+     *
+     * @param entity the entity
+     * @param path the content property
+     * @param params the range to get, if any
+     * @return the content
+     */
+    default Flux<ByteBuffer> getContent(S entity, PropertyPath path, GetResourceParams params) {
+        if (params == null || params.getRange() == null) {
+            return getContent(entity, path);
+        }
+        return Flux.error(new UnsupportedOperationException(String.format("%s does not support ranges", getClass().getName())));
+    }
+
     Mono<S> unsetContent(S entity, PropertyPath propertyPath);
 }
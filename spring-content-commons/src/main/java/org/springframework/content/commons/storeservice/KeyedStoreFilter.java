@@ -0,0 +1,25 @@
+package org.springframework.content.commons.storeservice;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * A {@link StoreFilter} that matches the stores whose key, as extracted by {@link #keyExtractor()}, equals
+ * {@link #key()}.
+ *
+ * {@link Stores} implementations may index their stores by key extractor and resolve these filters with a map
+ * lookup rather than by testing every store.  The key extractor should therefore be a shared constant.
+ */
+public interface KeyedStoreFilter extends StoreFilter {
+
+    Function<StoreInfo, Object> DOMAIN_CLASS = StoreInfo::getDomainObjectClass;
+
+    Function<StoreInfo, Object> keyExtractor();
+
+    Object key();
+
+    @Override
+    default boolean matches(StoreInfo info) {
+        return Objects.equals(key(), keyExtractor().apply(info));
+    }
+}
@@ -1,5 +1,7 @@
 package org.springframework.content.commons.storeservice;
 
+import java.util.function.Function;
+
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -19,14 +21,18 @@ public interface Stores {
     static StoreFilter withDomainClass(Class<?> domainClass) {
         Assert.notNull(domainClass);
 
-        return new StoreFilter() {
+        return new KeyedStoreFilter() {
             @Override
             public String name() {
                 return domainClass.getCanonicalName();
             }
             @Override
-            public boolean matches(StoreInfo info) {
-                return domainClass.equals(info.getDomainObjectClass());
+            public Function<StoreInfo, Object> keyExtractor() {
+                return KeyedStoreFilter.DOMAIN_CLASS;
+            }
+            @Override
+            public Object key() {
+                return domainClass;
             }
         };
     }
@@ -6,10 +6,14 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.BeansException;
+import org.springframework.content.commons.mappingcontext.PropertyPathAccessor;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils;
 
 public final class BeanUtils {
@@ -21,6 +25,8 @@ public final class BeanUtils {
 		}
 	};
 
+	private static final Map<Class<?>, Map<Class<? extends Annotation>, Optional<Field>>> annotatedFields = new ConcurrentReferenceHashMap<>();
+
 	private BeanUtils() {
 	}
 
@@ -39,29 +45,23 @@ public final class BeanUtils {
 	public static Field findFieldWithAnnotation(Object domainObj,
 			Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
-		BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-		Field candidate = findFieldWithAnnotation(domainObj.getClass(), annotationClass,
-				wrapper);
-		if (candidate != null)
-			return candidate;
-		return null;
+		return findFieldWithAnnotation(domainObj.getClass(), annotationClass);
 	}
 
 	public static Field findFieldWithAnnotation(Class<?> domainObjClass,
 			Class<? extends Annotation> annotationClass)
 			throws SecurityException, BeansException {
 
-		BeanWrapper wrapper = new BeanWrapperImpl(domainObjClass);
-		Field candidate = findFieldWithAnnotation(domainObjClass, annotationClass,
-				wrapper);
-		if (candidate != null)
-			return candidate;
-		return null;
+		// the annotated field of a class never changes so resolve it once and reuse it
+		return annotatedFields
+				.computeIfAbsent(domainObjClass, k -> new ConcurrentHashMap<>())
+				.computeIfAbsent(annotationClass, k -> Optional.ofNullable(resolveFieldWithAnnotation(domainObjClass, annotationClass)))
+				.orElse(null);
 	}
 
-	private static Field findFieldWithAnnotation(Class<?> domainObjClass,
-			Class<? extends Annotation> annotationClass, BeanWrapper wrapper) {
-		PropertyDescriptor[] descriptors = wrapper.getPropertyDescriptors();
+	private static Field resolveFieldWithAnnotation(Class<?> domainObjClass,
+			Class<? extends Annotation> annotationClass) {
+		PropertyDescriptor[] descriptors = org.springframework.beans.BeanUtils.getPropertyDescriptors(domainObjClass);
 		for (PropertyDescriptor descriptor : descriptors) {
 			Field candidate = getField(domainObjClass, descriptor.getName());
 			if (candidate != null) {
@@ -156,8 +156,7 @@ public final class BeanUtils {
 				PropertyDescriptor descriptor = org.springframework.beans.BeanUtils
 						.getPropertyDescriptor(domainObj.getClass(), field.getName());
 				if (descriptor != null) {
-					BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-					value = wrapper.getPropertyValue(field.getName());
+					value = PropertyPathAccessor.forPath(domainObj.getClass(), field.getName()).getValue(domainObj);
 				}
 				else {
 					value = ReflectionUtils.getField(field, domainObj);
@@ -176,7 +175,7 @@ public final class BeanUtils {
 		List<Field> fields = new ArrayList<>();
 		List<Object> values = new ArrayList<>();
 
-		PropertyDescriptor[] descriptors = new BeanWrapperImpl(domainObj).getPropertyDescriptors();
+		PropertyDescriptor[] descriptors = org.springframework.beans.BeanUtils.getPropertyDescriptors(domainObj.getClass());
 		for (PropertyDescriptor descriptor : descriptors) {
 			Field candidate = getField(domainObj.getClass(), descriptor.getName());
 			if (candidate != null) {
@@ -237,8 +236,7 @@ public final class BeanUtils {
 				PropertyDescriptor descriptor = org.springframework.beans.BeanUtils
 						.getPropertyDescriptor(domainObj.getClass(), field.getName());
 				if (descriptor != null) {
-					BeanWrapper wrapper = new BeanWrapperImpl(domainObj);
-					wrapper.setPropertyValue(field.getName(), value);
+					PropertyPathAccessor.forPath(domainObj.getClass(), field.getName()).setValue(domainObj, value);
 					return;
 				}
 				else {
@@ -0,0 +1,48 @@
+package org.springframework.content.commons.utils;
+
+public final class ByteRanges {
+
+    private ByteRanges() {}
+
+    /**
+     * Returns the start and length of an HTTP byte range, such as {@code bytes=0-99}, {@code bytes=100-} or
+     * {@code bytes=-100}, for content of the given length.
+     *
+     * Returns null when there is no range, or when the range is not a single satisfiable range, in which case the
+     * whole content should be served.
+     *
+     * @param range the range, or null
+     * @param contentLength the length of the content
+     * @return the start and length of the range, or null
+     */
+    public static long[] parse(String range, long contentLength) {
+        if (range == null || !range.startsWith("bytes=") || range.indexOf(',') != -1) {
+            return null;
+        }
+
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+
+        long start, end;
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                start = Math.max(0, contentLength - suffix);
+                end = contentLength - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? contentLength - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), contentLength - 1);
+            }
+        } catch (NumberFormatException nfe) {
+            return null;
+        }
+
+        if (start >= contentLength || end < start) {
+            return null;
+        }
+        return new long[] {start, end - start + 1};
+    }
+}
@@ -9,11 +9,15 @@ import org.springframework.core.annotation.AnnotationUtils;
 public final class DomainObjectUtils {
 
     private static boolean JAVAX_PERSISTENCE_ID_CLASS_PRESENT = false;
+    private static boolean JAVAX_PERSISTENCE_VERSION_CLASS_PRESENT = false;
 
     static {
         try {
             JAVAX_PERSISTENCE_ID_CLASS_PRESENT = DomainObjectUtils.class.getClassLoader().loadClass("javax.persistence.Id") != null;
         } catch (ClassNotFoundException e) {}
+        try {
+            JAVAX_PERSISTENCE_VERSION_CLASS_PRESENT = DomainObjectUtils.class.getClassLoader().loadClass("javax.persistence.Version") != null;
+        } catch (ClassNotFoundException e) {}
     }
 
     private DomainObjectUtils() {}
@@ -48,6 +52,20 @@ public final class DomainObjectUtils {
         return id;
     }
 
+    /**
+     * Returns the value of the entity's {@code @Version} field, or null if it has none.
+     */
+    public static final Object getVersion(Object entity) {
+
+        if (JAVAX_PERSISTENCE_VERSION_CLASS_PRESENT && BeanUtils.hasFieldWithAnnotation(entity, javax.persistence.Version.class)) {
+            return BeanUtils.getFieldWithAnnotation(entity, javax.persistence.Version.class);
+        } else if (BeanUtils.hasFieldWithAnnotation(entity, org.springframework.data.annotation.Version.class)) {
+            return BeanUtils.getFieldWithAnnotation(entity, org.springframework.data.annotation.Version.class);
+        }
+
+        return null;
+    }
+
     public static final Field getIdField(Class<?> domainClass) {
 
         if (JAVAX_PERSISTENCE_ID_CLASS_PRESENT && BeanUtils.findFieldWithAnnotation(domainClass, javax.persistence.Id.class) != null) {
@@ -7,6 +7,19 @@ public interface FileService {
 
 	void mkdirs(File file) throws IOException;
 
+	/**
+	 * Forgets any knowledge that a directory exists.
+	 *
+	 * Implementations that remember the directories they have made must make the directory again on the next
+	 * {@link #mkdirs(File)}.  Callers use this when the directory turns out to be missing, for example because
+	 * it was removed by another process.
+	 *
+	 * @param file
+	 * 			the directory
+	 */
+	default void evict(File file) {
+	}
+
 	/**
 	 * Removes directories.
 	 *
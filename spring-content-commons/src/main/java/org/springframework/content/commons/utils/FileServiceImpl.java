@@ -2,18 +2,39 @@ package org.springframework.content.commons.utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 public class FileServiceImpl implements FileService {
+
+	// directories this service has created or found, so repeated writes to the same directory skip the filesystem
+	private final Set<File> directories = Collections.newSetFromMap(new ConcurrentReferenceHashMap<>());
+
 	public FileServiceImpl() {
 	}
 
 	@Override
 	public void mkdirs(File file) throws IOException {
 		Assert.notNull(file, "file must not be null");
+		if (directories.contains(file)) {
+			return;
+		}
 		FileUtils.forceMkdir(file);
+		directories.add(file);
+	}
+
+	@Override
+	public void evict(File file) {
+		directories.remove(file);
 	}
 
 	@Override
@@ -22,9 +43,9 @@ public class FileServiceImpl implements FileService {
 			throw new IOException("Not a directory");
 		}
 		File dir = from;
-		while (dir != null && dir.listFiles().length == 0 && dir.equals(to) == false) {
+		while (dir != null && isEmptyDirectory(dir) && dir.equals(to) == false) {
 			File temp = dir.getParentFile();
-			dir.delete();
+			delete(dir);
 			dir = temp;
 		}
 	}
@@ -35,10 +56,23 @@ public class FileServiceImpl implements FileService {
 			throw new IOException("Not a directory");
 		}
 		File dir = from;
-		while (dir != null && dir.listFiles() != null && dir.listFiles().length == 0) {
+		while (dir != null && isEmptyDirectory(dir)) {
 			File temp = dir.getParentFile();
-			dir.delete();
+			delete(dir);
 			dir = temp;
 		}
 	}
+
+	private void delete(File dir) {
+		directories.remove(dir);
+		dir.delete();
+	}
+
+	private static boolean isEmptyDirectory(File dir) throws IOException {
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir.toPath())) {
+			return entries.iterator().hasNext() == false;
+		} catch (NotDirectoryException | NoSuchFileException e) {
+			return false;
+		}
+	}
 }
@@ -0,0 +1,54 @@
+package internal.org.springframework.content.commons.config;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class MappingContextRegistrarTest {
+
+    private DefaultListableBeanFactory factory;
+
+    {
+        Describe("MappingContextRegistrar", () -> {
+            BeforeEach(() -> {
+                factory = new DefaultListableBeanFactory();
+                factory.setAllowBeanDefinitionOverriding(false);
+            });
+            Context("when registered more than once", () -> {
+                BeforeEach(() -> {
+                    MappingContextRegistrar.registerIfNecessary(factory);
+                    MappingContextRegistrar.registerIfNecessary(factory);
+                });
+                It("should register a single shared mapping context and its indexer", () -> {
+                    assertThat(factory.getBeanNamesForType(MappingContext.class).length, is(1));
+                    assertThat(factory.getBeanNamesForType(MappingContextIndexer.class).length, is(1));
+                });
+            });
+            Context("when a mapping context is already defined", () -> {
+                BeforeEach(() -> {
+                    factory.registerBeanDefinition(MappingContextRegistrar.MAPPING_CONTEXT_BEAN_NAME, BeanDefinitionBuilder.rootBeanDefinition(MappingContext.class)
+                            .addConstructorArgValue("/")
+                            .addConstructorArgValue(".")
+                            .getBeanDefinition());
+                    MappingContextRegistrar.registerIfNecessary(factory);
+                });
+                It("should keep that mapping context", () -> {
+                    MappingContext existing = factory.getBean(MappingContextRegistrar.MAPPING_CONTEXT_BEAN_NAME, MappingContext.class);
+                    assertThat(factory.getBean(MappingContext.class), is(sameInstance(existing)));
+                });
+            });
+        });
+    }
+}
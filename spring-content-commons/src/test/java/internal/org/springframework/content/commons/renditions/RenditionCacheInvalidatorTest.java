@@ -0,0 +1,114 @@
+package internal.org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.InputStream;
+import java.io.Serializable;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.renditions.RenditionCache;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.events.AfterGetContentEvent;
+import org.springframework.content.commons.repository.events.AfterSetContentEvent;
+import org.springframework.content.commons.repository.events.AfterUnsetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
+import org.springframework.content.commons.repository.events.BeforeUnsetContentEvent;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RenditionCacheInvalidatorTest {
+
+    private RenditionCacheInvalidator invalidator;
+
+    private RenditionCache cache;
+    private RenditionCache otherCache;
+    private ContentStore<Object, Serializable> store;
+
+    private TestEntity entity;
+
+    {
+        Describe("RenditionCacheInvalidator", () -> {
+            BeforeEach(() -> {
+                cache = mock(RenditionCache.class);
+                otherCache = mock(RenditionCache.class);
+                store = mock(ContentStore.class);
+
+                invalidator = new RenditionCacheInvalidator();
+                invalidator.setRenditionCaches(cache, otherCache);
+
+                entity = new TestEntity();
+                entity.setContentId("content-1");
+            });
+            Context("given content is set", () -> {
+                It("should invalidate the renditions before the content changes", () -> {
+                    invalidator.onApplicationEvent(new BeforeSetContentEvent(entity, store, (InputStream) null));
+
+                    verify(cache).invalidate("content-1");
+                    verify(otherCache).invalidate("content-1");
+                });
+                It("should invalidate the renditions of the new content id", () -> {
+                    entity.setContentId("content-2");
+                    invalidator.onApplicationEvent(new AfterSetContentEvent(entity, store));
+
+                    verify(cache).invalidate("content-2");
+                });
+            });
+            Context("given content is unset", () -> {
+                It("should invalidate the renditions before and after the content is removed", () -> {
+                    invalidator.onApplicationEvent(new BeforeUnsetContentEvent(entity, store));
+                    invalidator.onApplicationEvent(new AfterUnsetContentEvent(entity, store));
+
+                    verify(cache, times(2)).invalidate("content-1");
+                });
+            });
+            Context("given an event for a content property", () -> {
+                It("should invalidate the renditions of that property's content", () -> {
+                    invalidator.onApplicationEvent(new AfterSetContentEvent(entity, PropertyPath.from("content"), store));
+
+                    verify(cache).invalidate("content-1");
+                });
+            });
+            Context("given an entity without content", () -> {
+                It("should not invalidate anything", () -> {
+                    entity.setContentId(null);
+                    invalidator.onApplicationEvent(new AfterUnsetContentEvent(entity, store));
+
+                    verify(cache, never()).invalidate(any());
+                });
+            });
+            Context("given content is read", () -> {
+                It("should not invalidate anything", () -> {
+                    invalidator.onApplicationEvent(new AfterGetContentEvent(entity, store));
+
+                    verify(cache, never()).invalidate(any());
+                });
+            });
+        });
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+    }
+}
@@ -5,20 +5,29 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
 import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.events.BeforeSetContentEvent;
 import org.springframework.context.ApplicationEventPublisher;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
@@ -70,6 +79,42 @@ public class StoreImplTest {
                         }
                     }
                 });
+
+                It("should pass the original stream to the delegate", () -> {
+                    verify(store).setContent(anyObject(), argThat(new ArgumentMatcher<InputStream>() {
+                        @Override
+                        public boolean matches(InputStream argument) {
+                            return argument instanceof ByteArrayInputStream;
+                        }
+                    }));
+                });
+            });
+
+            Context("#setContent - inputstream read by a before set content listener", () -> {
+
+                BeforeEach(() -> {
+                    doAnswer(invocation -> {
+                        BeforeSetContentEvent event = invocation.getArgument(0);
+                        assertThat(IOUtils.toString(event.getInputStream(), "UTF-8"), is("foo"));
+                        assertThat(contentCopyPathRoot.toFile().listFiles().length, is(1));
+                        return null;
+                    }).when(publisher).publishEvent(any(BeforeSetContentEvent.class));
+
+                    when(store.setContent(anyObject(), any(InputStream.class))).thenAnswer(invocation -> {
+                        InputStream is = invocation.getArgument(1);
+                        assertThat(IOUtils.toString(is, "UTF-8"), is("foo"));
+                        return new Object();
+                    });
+                });
+
+                JustBeforeEach(() -> {
+                    stores.setContent(new Object(), new ByteArrayInputStream("foo".getBytes()));
+                });
+
+                It("should pass the content copy to the delegate and then delete it", () -> {
+                    verify(store).setContent(anyObject(), any(FileInputStream.class));
+                    assertThat(contentCopyPathRoot.toFile().listFiles().length, is(0));
+                });
             });
         });
     }
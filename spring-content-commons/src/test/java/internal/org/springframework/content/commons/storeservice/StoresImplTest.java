@@ -10,6 +10,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.function.Function;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.invocation.InvocationOnMock;
@@ -18,6 +20,7 @@ import org.springframework.content.commons.repository.AssociativeStore;
 import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.factory.StoreFactory;
+import org.springframework.content.commons.storeservice.KeyedStoreFilter;
 import org.springframework.content.commons.storeservice.StoreFilter;
 import org.springframework.content.commons.storeservice.StoreInfo;
 import org.springframework.content.commons.storeservice.Stores;
@@ -30,6 +33,8 @@ import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
 @Ginkgo4jConfiguration(threads = 1)
 public class StoresImplTest {
 
+	private static final Function<StoreInfo, Object> INTERFACE = StoreInfo::getInterface;
+
 	private StoresImpl contentRepoService;
 
 	private ApplicationContext context;
@@ -245,6 +250,28 @@ public class StoresImplTest {
 					StoreInfo[] infos = contentRepoService.getStores(ContentStore.class, Stores.MATCH_ALL);
 					assertThat(infos.length, is(2));
 				});
+				It("should return stores that match a domain class filter", () -> {
+					assertThat(contentRepoService.getStores(ContentStore.class, Stores.withDomainClass(Entity.class)).length, is(2));
+					assertThat(contentRepoService.getStores(Stores.withDomainClass(Entity.class)).length, is(2));
+					assertThat(contentRepoService.getStores(ContentStore.class, Stores.withDomainClass(OtherEntity.class)).length, is(0));
+				});
+				It("should return the store that matches a keyed filter", () -> {
+					StoreInfo info = contentRepoService.getStore(ContentStore.class, new KeyedStoreFilter() {
+						@Override
+						public String name() {
+							return "test";
+						}
+						@Override
+						public Function<StoreInfo, Object> keyExtractor() {
+							return INTERFACE;
+						}
+						@Override
+						public Object key() {
+							return JpaEntityStoreInterface.class;
+						}
+					});
+					assertThat(info.getInterface(), is(JpaEntityStoreInterface.class));
+				});
 			});
 		});
 	}
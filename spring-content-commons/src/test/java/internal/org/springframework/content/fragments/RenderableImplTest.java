@@ -0,0 +1,176 @@
+package internal.org.springframework.content.fragments;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.renditions.FileSystemRenditionCache;
+import org.springframework.content.commons.renditions.RenditionService;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.annotation.Version;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class RenderableImplTest {
+
+    private RenderableImpl renderable;
+
+    private ContentStore<Object, Serializable> store;
+    private RenditionService renditionService;
+    private File directory;
+    private FileSystemRenditionCache cache;
+
+    private TestEntity entity;
+
+    {
+        Describe("RenderableImpl", () -> {
+            BeforeEach(() -> {
+                store = mock(ContentStore.class);
+                when(store.getContent(any())).thenAnswer(invocation -> stream("original"));
+                when(store.getResource(any(), any(PropertyPath.class))).thenReturn(new ByteArrayResource("original".getBytes(StandardCharsets.UTF_8)));
+
+                renditionService = mock(RenditionService.class);
+                when(renditionService.canConvert("text/plain", "image/jpeg")).thenReturn(true);
+                when(renditionService.convert(eq("text/plain"), any(), eq("image/jpeg"))).thenAnswer(invocation -> stream("rendered"));
+
+                renderable = new RenderableImpl();
+                renderable.setContentStore(store);
+                renderable.setRenditionService(renditionService);
+
+                entity = new TestEntity();
+                entity.setContentId("content-1");
+                entity.setContentLen(8L);
+                entity.setContentMimeType("text/plain");
+                entity.setVersion(1L);
+            });
+            Context("given a rendition cache", () -> {
+                BeforeEach(() -> {
+                    directory = Files.createTempDirectory("renditions").toFile();
+                    cache = new FileSystemRenditionCache(directory, 1024);
+                    renderable.setRenditionCache(cache);
+                });
+                AfterEach(() -> {
+                    FileUtils.deleteDirectory(directory);
+                });
+                It("should render content once and serve the cached rendition after", () -> {
+                    assertThat(read(renderable.getRendition(entity, "image/jpeg")), is("rendered"));
+                    assertThat(read(renderable.getRendition(entity, "image/jpeg")), is("rendered"));
+
+                    verify(renditionService, times(1)).convert(any(), any(), any());
+                    assertThat(cache.get("content-1", "1/8", "image/jpeg"), is(not(nullValue())));
+                });
+                It("should return the cached rendition as a resource of known length", () -> {
+                    Resource rendition = renderable.getRenditionResource(entity, PropertyPath.from("content"), "image/jpeg");
+
+                    assertThat(rendition, is(not(nullValue())));
+                    assertThat(rendition.contentLength(), is(8L));
+                    try (InputStream in = rendition.getInputStream()) {
+                        assertThat(read(in), is("rendered"));
+                    }
+
+                    renderable.getRenditionResource(entity, PropertyPath.from("content"), "image/jpeg");
+                    verify(renditionService, times(1)).convert(any(), any(), any());
+                });
+                It("should render content again once its version changes", () -> {
+                    read(renderable.getRendition(entity, PropertyPath.from("content"), "image/jpeg"));
+                    entity.setVersion(2L);
+                    read(renderable.getRendition(entity, PropertyPath.from("content"), "image/jpeg"));
+
+                    verify(renditionService, times(2)).convert(any(), any(), any());
+                });
+                It("should render content again once its length changes", () -> {
+                    read(renderable.getRendition(entity, "image/jpeg"));
+                    entity.setContentLen(9L);
+                    read(renderable.getRendition(entity, "image/jpeg"));
+
+                    verify(renditionService, times(2)).convert(any(), any(), any());
+                });
+                It("should not cache a rendition it cannot convert to", () -> {
+                    assertThat(renderable.getRendition(entity, "image/png"), is(nullValue()));
+                    assertThat(renderable.getRenditionResource(entity, PropertyPath.from("content"), "image/png"), is(nullValue()));
+
+                    verify(renditionService, never()).convert(any(), any(), any());
+                    assertThat(cache.size(), is(0L));
+                });
+                It("should not cache a rendition of an entity without content", () -> {
+                    entity.setContentId(null);
+
+                    assertThat(renderable.getRenditionResource(entity, PropertyPath.from("content"), "image/jpeg"), is(nullValue()));
+                    assertThat(cache.size(), is(0L));
+                });
+            });
+            Context("given no rendition cache", () -> {
+                It("should render content on every request", () -> {
+                    assertThat(read(renderable.getRendition(entity, "image/jpeg")), is("rendered"));
+                    assertThat(read(renderable.getRendition(entity, "image/jpeg")), is("rendered"));
+
+                    verify(renditionService, times(2)).convert(any(), any(), any());
+                });
+                It("should not return a rendition resource", () -> {
+                    assertThat(renderable.getRenditionResource(entity, PropertyPath.from("content"), "image/jpeg"), is(nullValue()));
+                });
+            });
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream is = in) {
+            return IOUtils.toString(is, StandardCharsets.UTF_8);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private Long contentLen;
+
+        @MimeType
+        private String contentMimeType;
+
+        @Version
+        private Long version;
+    }
+}
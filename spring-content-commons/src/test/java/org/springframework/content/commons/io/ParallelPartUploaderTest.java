@@ -0,0 +1,124 @@
+package org.springframework.content.commons.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ParallelPartUploaderTest {
+
+    private ParallelPartUploader uploader;
+    private ExecutorService executor;
+
+    private AtomicInteger running;
+    private AtomicInteger mostRunning;
+    private List<String> threads;
+    private Exception e;
+
+    {
+        Describe("ParallelPartUploader", () -> {
+            BeforeEach(() -> {
+                running = new AtomicInteger();
+                mostRunning = new AtomicInteger();
+                threads = new CopyOnWriteArrayList<>();
+                e = null;
+            });
+            Context("given an executor", () -> {
+                BeforeEach(() -> {
+                    executor = Executors.newFixedThreadPool(8);
+                    uploader = new ParallelPartUploader(executor, 2);
+                });
+                AfterEach(() -> {
+                    executor.shutdown();
+                });
+                It("should upload at most maxConcurrentParts parts at a time", () -> {
+                    for (int i = 0; i < 10; i++) {
+                        uploader.submit(this::slowPart);
+                    }
+                    uploader.awaitAll();
+
+                    assertThat(mostRunning.get() <= 2, is(true));
+                    assertThat(threads.size(), is(10));
+                    assertThat(uploader.getFailure(), is(nullValue()));
+                });
+                It("should record the first part to fail", () -> {
+                    CountDownLatch failed = new CountDownLatch(1);
+                    uploader.submit(() -> {
+                        failed.countDown();
+                        throw new IOException("badness");
+                    });
+                    failed.await();
+                    uploader.submit(() -> {
+                        throw new IOException("more badness");
+                    });
+                    uploader.awaitAll();
+
+                    assertThat(uploader.getFailure().getMessage(), is("badness"));
+                });
+            });
+            Context("given no executor", () -> {
+                BeforeEach(() -> {
+                    uploader = new ParallelPartUploader(null, 2);
+                });
+                It("should upload the parts on the shared transfer executor", () -> {
+                    for (int i = 0; i < 4; i++) {
+                        uploader.submit(this::slowPart);
+                    }
+                    uploader.awaitAll();
+
+                    assertThat(threads.size(), is(4));
+                    for (String thread : threads) {
+                        assertThat(thread, startsWith("spring-content-transfer-"));
+                    }
+                });
+            });
+            Context("given an executor that rejects parts", () -> {
+                BeforeEach(() -> {
+                    uploader = new ParallelPartUploader(command -> {
+                        throw new RejectedExecutionException("full");
+                    }, 1);
+                });
+                It("should throw and release the part's permit", () -> {
+                    for (int i = 0; i < 2; i++) {
+                        try {
+                            uploader.submit(this::slowPart);
+                        } catch (RejectedExecutionException ree) {
+                            e = ree;
+                        }
+                    }
+
+                    assertThat(e, is(instanceOf(RejectedExecutionException.class)));
+                    assertThat(threads.isEmpty(), is(true));
+                });
+            });
+        });
+    }
+
+    private void slowPart() throws InterruptedException {
+        int now = running.incrementAndGet();
+        mostRunning.accumulateAndGet(now, Math::max);
+        threads.add(Thread.currentThread().getName());
+        Thread.sleep(20);
+        running.decrementAndGet();
+    }
+}
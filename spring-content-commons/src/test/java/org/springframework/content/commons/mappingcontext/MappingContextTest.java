@@ -0,0 +1,95 @@
+package org.springframework.content.commons.mappingcontext;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class MappingContextTest {
+
+    private MappingContext context;
+
+    private Stores stores;
+
+    {
+        Describe("MappingContext", () -> {
+
+            Context("given concurrent first lookups", () -> {
+
+                BeforeEach(() -> {
+                    context = new MappingContext("/", ".");
+                });
+
+                It("should resolve the class once and return the same properties to every caller", () -> {
+                    ExecutorService executor = Executors.newFixedThreadPool(8);
+                    try {
+                        List<Callable<Map<String, ContentProperty>>> lookups = new ArrayList<>();
+                        for (int i = 0; i < 32; i++) {
+                            lookups.add(() -> context.getContentPropertyMap(TestEntity.class));
+                        }
+
+                        Map<String, ContentProperty> expected = context.getContentPropertyMap(TestEntity.class);
+                        for (Future<Map<String, ContentProperty>> result : executor.invokeAll(lookups)) {
+                            assertThat(result.get(), is(sameInstance(expected)));
+                        }
+                    } finally {
+                        executor.shutdownNow();
+                    }
+                });
+            });
+
+            Context("given stores", () -> {
+
+                BeforeEach(() -> {
+                    StoreInfo info = mock(StoreInfo.class);
+                    when(info.getDomainObjectClass()).thenReturn((Class) TestEntity.class);
+
+                    stores = mock(Stores.class);
+                    when(stores.getStores(Stores.MATCH_ALL)).thenReturn(new StoreInfo[] {info});
+
+                    context = new MappingContext("/", ".");
+                    context.index(stores);
+                });
+
+                It("should index the stores' domain classes up front", () -> {
+                    assertThat(context.hasMapping(TestEntity.class, "content"), is(true));
+                    assertThat(context.getContentProperty(TestEntity.class, "content").getContentIdPropertyPath(), is("contentId"));
+                });
+            });
+        });
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+        @ContentId
+        private String contentId;
+        @ContentLength
+        private long contentLength;
+    }
+}
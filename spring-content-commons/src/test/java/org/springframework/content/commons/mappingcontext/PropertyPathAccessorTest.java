@@ -0,0 +1,103 @@
+package org.springframework.content.commons.mappingcontext;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.UUID;
+
+import org.junit.runner.RunWith;
+import org.springframework.beans.NullValueInNestedPathException;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class PropertyPathAccessorTest {
+
+    private TestEntity entity;
+
+    {
+        Describe("PropertyPathAccessor", () -> {
+
+            BeforeEach(() -> {
+                entity = new TestEntity();
+            });
+
+            It("should return the same accessor for the same class and path", () -> {
+                assertThat(PropertyPathAccessor.forPath(TestEntity.class, "contentId"), is(sameInstance(PropertyPathAccessor.forPath(TestEntity.class, "contentId"))));
+            });
+
+            Context("given a top-level property", () -> {
+
+                It("should get and set the value", () -> {
+                    PropertyPathAccessor accessor = PropertyPathAccessor.forPath(TestEntity.class, "contentId");
+
+                    accessor.setValue(entity, "12345");
+                    assertThat(entity.getContentId(), is("12345"));
+                    assertThat(accessor.getValue(entity), is("12345"));
+                });
+
+                It("should set a primitive property from its wrapper", () -> {
+                    PropertyPathAccessor.forPath(TestEntity.class, "contentLength").setValue(entity, 10L);
+                    assertThat(entity.getContentLength(), is(10L));
+                });
+
+                It("should convert values that are not directly assignable", () -> {
+                    PropertyPathAccessor.forPath(TestEntity.class, "contentLength").setValue(entity, "20");
+                    assertThat(entity.getContentLength(), is(20L));
+                });
+
+                It("should return the property's type descriptor", () -> {
+                    assertThat(PropertyPathAccessor.forPath(TestEntity.class, "uuid").getTypeDescriptor(entity).getType(), is(UUID.class));
+                });
+            });
+
+            Context("given a nested property", () -> {
+
+                It("should get and set the value", () -> {
+                    entity.setChild(new TestChild());
+
+                    PropertyPathAccessor accessor = PropertyPathAccessor.forPath(TestEntity.class, "child.mimeType");
+
+                    accessor.setValue(entity, "text/plain");
+                    assertThat(entity.getChild().getMimeType(), is("text/plain"));
+                    assertThat(accessor.getValue(entity), is("text/plain"));
+                });
+            });
+
+            Context("given a nested property with a null parent", () -> {
+
+                It("should fail the same way the bean wrapper does", () -> {
+                    try {
+                        PropertyPathAccessor.forPath(TestEntity.class, "child.mimeType").getValue(entity);
+                        fail("expected a NullValueInNestedPathException");
+                    } catch (NullValueInNestedPathException e) {
+                    }
+                });
+            });
+        });
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+        private String contentId;
+        private long contentLength;
+        private UUID uuid;
+        private TestChild child;
+    }
+
+    @Getter
+    @Setter
+    public static class TestChild {
+        private String mimeType;
+    }
+}
@@ -0,0 +1,88 @@
+package org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.core.io.Resource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class FileSystemRenditionCacheTest {
+
+    private File directory;
+
+    private FileSystemRenditionCache cache;
+
+    {
+        Describe("FileSystemRenditionCache", () -> {
+            BeforeEach(() -> {
+                directory = Files.createTempDirectory("renditions").toFile();
+                cache = new FileSystemRenditionCache(directory, 10);
+            });
+            AfterEach(() -> {
+                FileUtils.deleteDirectory(directory);
+            });
+            Context("given a cached rendition", () -> {
+                BeforeEach(() -> {
+                    cache.put("content-1", 1L, "image/jpeg", stream("12345"));
+                });
+                It("should return it for the same content, version and mime type", () -> {
+                    Resource rendition = cache.get("content-1", 1L, "image/jpeg");
+                    assertThat(rendition, is(not(nullValue())));
+                    assertThat(rendition.contentLength(), is(5L));
+                    try (InputStream in = rendition.getInputStream()) {
+                        assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("12345"));
+                    }
+                });
+                It("should not return it for another version or mime type", () -> {
+                    assertThat(cache.get("content-1", 2L, "image/jpeg"), is(nullValue()));
+                    assertThat(cache.get("content-1", 1L, "image/png"), is(nullValue()));
+                });
+                It("should remove it when the content is invalidated", () -> {
+                    cache.invalidate("content-1");
+                    assertThat(cache.get("content-1", 1L, "image/jpeg"), is(nullValue()));
+                    assertThat(cache.size(), is(0L));
+                });
+                It("should return it from a new cache over the same directory", () -> {
+                    FileSystemRenditionCache reloaded = new FileSystemRenditionCache(directory, 10);
+                    assertThat(reloaded.get("content-1", 1L, "image/jpeg"), is(not(nullValue())));
+                    assertThat(reloaded.size(), is(5L));
+                });
+                Context("when renditions exceed the maximum size", () -> {
+                    BeforeEach(() -> {
+                        cache.put("content-2", 1L, "image/jpeg", stream("12345"));
+                        cache.get("content-1", 1L, "image/jpeg");
+                        cache.put("content-3", 1L, "image/jpeg", stream("12345"));
+                    });
+                    It("should evict the least recently used rendition", () -> {
+                        assertThat(cache.get("content-1", 1L, "image/jpeg"), is(not(nullValue())));
+                        assertThat(cache.get("content-2", 1L, "image/jpeg"), is(nullValue()));
+                        assertThat(cache.get("content-3", 1L, "image/jpeg"), is(not(nullValue())));
+                        assertThat(cache.size(), is(10L));
+                    });
+                });
+            });
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,169 @@
+package org.springframework.content.commons.renditions;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.repository.Store;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.WritableResource;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreRenditionCacheTest {
+
+    private Map<String, byte[]> contents;
+    private Store<String> store;
+
+    private StoreRenditionCache cache;
+
+    private Exception e;
+
+    {
+        Describe("StoreRenditionCache", () -> {
+            BeforeEach(() -> {
+                contents = new ConcurrentHashMap<>();
+                store = mock(Store.class);
+                when(store.getResource(anyString())).thenAnswer(invocation -> new InMemoryResource(contents, invocation.getArgument(0)));
+
+                cache = new StoreRenditionCache(store);
+                e = null;
+            });
+            Context("given a cached rendition", () -> {
+                BeforeEach(() -> {
+                    cache.put("content-1", 1L, "image/jpeg", stream("12345"));
+                });
+                It("should store it in the store", () -> {
+                    assertThat(contents.size(), is(1));
+                });
+                It("should return it for the same content, version and mime type", () -> {
+                    Resource rendition = cache.get("content-1", 1L, "image/jpeg");
+                    assertThat(rendition, is(not(nullValue())));
+                    assertThat(rendition.contentLength(), is(5L));
+                    try (InputStream in = rendition.getInputStream()) {
+                        assertThat(IOUtils.toString(in, StandardCharsets.UTF_8), is("12345"));
+                    }
+                });
+                It("should not return it for another version or mime type", () -> {
+                    assertThat(cache.get("content-1", 2L, "image/jpeg"), is(nullValue()));
+                    assertThat(cache.get("content-1", 1L, "image/png"), is(nullValue()));
+                });
+                It("should be returned by another cache over the same store", () -> {
+                    StoreRenditionCache other = new StoreRenditionCache(store);
+                    assertThat(other.get("content-1", 1L, "image/jpeg"), is(not(nullValue())));
+                });
+                Context("when the content is invalidated", () -> {
+                    BeforeEach(() -> {
+                        cache.put("content-1", 1L, "image/png", stream("678"));
+                        cache.put("content-2", 1L, "image/jpeg", stream("90"));
+
+                        cache.invalidate("content-1");
+                    });
+                    It("should delete every rendition of the content from the store", () -> {
+                        assertThat(cache.get("content-1", 1L, "image/jpeg"), is(nullValue()));
+                        assertThat(cache.get("content-1", 1L, "image/png"), is(nullValue()));
+                        assertThat(contents.size(), is(1));
+                    });
+                    It("should keep the renditions of other content", () -> {
+                        assertThat(cache.get("content-2", 1L, "image/jpeg"), is(not(nullValue())));
+                    });
+                });
+            });
+            Context("given a read-only store", () -> {
+                BeforeEach(() -> {
+                    when(store.getResource(anyString())).thenReturn(mock(Resource.class));
+                });
+                It("should fail to cache a rendition", () -> {
+                    try {
+                        cache.put("content-1", 1L, "image/jpeg", stream("12345"));
+                    } catch (IOException ioe) {
+                        e = ioe;
+                    }
+                    assertThat(e, is(instanceOf(IOException.class)));
+                });
+            });
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class InMemoryResource extends AbstractResource implements WritableResource, DeletableResource {
+
+        private final Map<String, byte[]> contents;
+        private final String id;
+
+        private InMemoryResource(Map<String, byte[]> contents, String id) {
+            this.contents = contents;
+            this.id = id;
+        }
+
+        @Override
+        public boolean exists() {
+            return contents.containsKey(id);
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return getContent().length;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new ByteArrayInputStream(getContent());
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    contents.put(id, toByteArray());
+                }
+            };
+        }
+
+        @Override
+        public void delete() {
+            contents.remove(id);
+        }
+
+        @Override
+        public String getDescription() {
+            return id;
+        }
+
+        private byte[] getContent() throws FileNotFoundException {
+            byte[] content = contents.get(id);
+            if (content == null) {
+                throw new FileNotFoundException(id);
+            }
+            return content;
+        }
+    }
+}
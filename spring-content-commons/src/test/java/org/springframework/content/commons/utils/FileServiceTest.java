@@ -182,6 +182,41 @@ public class FileServiceTest {
 
 				assertThat(p0.toFile().exists(), is(true));
 			});
+
+			It("should recreate a directory it created and then removed", () -> {
+				Path p0 = Files.createTempDirectory(null);
+				File dir = new File(p0.toFile(), "something");
+
+				fileService.mkdirs(dir);
+				fileService.rmdirs(dir, p0.toFile());
+				assertThat(dir.exists(), is(false));
+
+				fileService.mkdirs(dir);
+				assertThat(dir.isDirectory(), is(true));
+			});
+
+			It("should recreate an evicted directory that was removed by someone else", () -> {
+				Path p0 = Files.createTempDirectory(null);
+				File dir = new File(p0.toFile(), "something");
+
+				fileService.mkdirs(dir);
+				FileUtils.deleteDirectory(dir);
+
+				fileService.mkdirs(dir);
+				assertThat(dir.exists(), is(false));
+
+				fileService.evict(dir);
+				fileService.mkdirs(dir);
+				assertThat(dir.isDirectory(), is(true));
+			});
+
+			It("should stop at a directory that does not exist", () -> {
+				Path p0 = Files.createTempDirectory(null);
+
+				fileService.rmdirs(new File(p0.toFile(), "missing"), p0.toFile());
+
+				assertThat(p0.toFile().exists(), is(true));
+			});
 		});
 	}
 }
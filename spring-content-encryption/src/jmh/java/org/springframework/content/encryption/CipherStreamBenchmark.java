@@ -0,0 +1,137 @@
+package org.springframework.content.encryption;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the throughput, on a single thread, of encrypting and decrypting content with a
+ * {@link CipherInputStream} over a new cipher, as the encryption fragment used to, with the pooled
+ * {@link ContentCipher} streams and direct buffers.
+ *
+ * Scores are content sizes per second; multiply by {@code contentSize} for bytes per second.  Run with:
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl spring-content-encryption test-compile exec:exec
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CipherStreamBenchmark {
+
+    private static final String TRANSFORMATION = "AES/CTR/NoPadding";
+
+    @Param({"1048576", "16777216"})
+    private int contentSize;
+
+    @Param({"8192", "65536"})
+    private int readSize;
+
+    private byte[] content;
+    private SecretKey key;
+    private byte[] nonce;
+    private byte[] readBuffer;
+    private ByteBuffer directIn;
+    private ByteBuffer directOut;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        SecureRandom random = new SecureRandom();
+        content = new byte[contentSize];
+        random.nextBytes(content);
+
+        KeyGenerator keyGenerator = KeyGenerator.getInstance("AES");
+        keyGenerator.init(256, random);
+        key = keyGenerator.generateKey();
+        nonce = new byte[12];
+        random.nextBytes(nonce);
+
+        readBuffer = new byte[readSize];
+        directIn = ByteBuffer.allocateDirect(contentSize);
+        directIn.put(content).flip();
+        directOut = ByteBuffer.allocateDirect(readSize);
+    }
+
+    @Benchmark
+    public long encryptCipherInputStream(Blackhole bh) throws Exception {
+        return drain(cipherInputStream(Cipher.ENCRYPT_MODE), bh);
+    }
+
+    @Benchmark
+    public long decryptCipherInputStream(Blackhole bh) throws Exception {
+        return drain(cipherInputStream(Cipher.DECRYPT_MODE), bh);
+    }
+
+    @Benchmark
+    public long encryptCtrCipherInputStream(Blackhole bh) throws Exception {
+        return drain(new CtrCipherInputStream(new ByteArrayInputStream(content), new ContentCipher(key, nonce, 0)), bh);
+    }
+
+    @Benchmark
+    public long decryptCtrCipherInputStream(Blackhole bh) throws Exception {
+        return drain(new CtrCipherInputStream(new ByteArrayInputStream(content), new ContentCipher(key, nonce, 0)), bh);
+    }
+
+    @Benchmark
+    public long directBuffers(Blackhole bh) throws Exception {
+        ByteBuffer in = directIn.duplicate();
+        long total = 0;
+        try (ContentCipher cipher = new ContentCipher(key, nonce, 0)) {
+            while (in.hasRemaining()) {
+                ByteBuffer chunk = in.slice();
+                chunk.limit(Math.min(readSize, chunk.remaining()));
+                directOut.clear();
+                int n = cipher.update(chunk, directOut);
+                in.position(in.position() + n);
+                bh.consume(directOut);
+                total += n;
+            }
+        }
+        return total;
+    }
+
+    private InputStream cipherInputStream(int mode) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        cipher.init(mode, key, new IvParameterSpec(ContentCipher.ivForBlock(nonce, 0)));
+        return new CipherInputStream(new ByteArrayInputStream(content), cipher);
+    }
+
+    private long drain(InputStream is, Blackhole bh) throws IOException {
+        long total = 0;
+        try (InputStream in = is) {
+            int n;
+            while ((n = in.read(readBuffer)) != -1) {
+                bh.consume(readBuffer);
+                total += n;
+            }
+        }
+        return total;
+    }
+}
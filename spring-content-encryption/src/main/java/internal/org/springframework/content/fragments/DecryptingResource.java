@@ -0,0 +1,64 @@
+package internal.org.springframework.content.fragments;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.content.encryption.EnvelopeEncryptionService;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+/**
+ * The decrypted view of a store resource.  Every call to {@link #getInputStream()} opens, and decrypts, the
+ * underlying resource again so the resource can serve several ranges of one request.
+ *
+ * The resource is never a file, even when the underlying resource is, so that its ciphertext is never handed to the
+ * servlet container as is.
+ */
+class DecryptingResource extends AbstractResource {
+
+    private final Resource delegate;
+    private final EnvelopeEncryptionService encrypter;
+    private final byte[] encryptionContext;
+    private final long offset;
+    private final long decryptedLength;
+    private final String keyRing;
+
+    DecryptingResource(Resource delegate, EnvelopeEncryptionService encrypter, byte[] encryptionContext, long offset, long decryptedLength, String keyRing) {
+        this.delegate = delegate;
+        this.encrypter = encrypter;
+        this.encryptionContext = encryptionContext;
+        this.offset = offset;
+        this.decryptedLength = decryptedLength;
+        this.keyRing = keyRing;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return encrypter.decrypt(encryptionContext, delegate.getInputStream(), offset, decryptedLength, keyRing);
+    }
+
+    @Override
+    public boolean exists() {
+        return delegate.exists();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return decryptedLength >= 0 ? decryptedLength : encrypter.contentLength(encryptionContext, delegate.contentLength());
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return delegate.lastModified();
+    }
+
+    @Override
+    public String getFilename() {
+        return delegate.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Decrypted " + delegate.getDescription();
+    }
+}
@@ -1,6 +1,5 @@
 package internal.org.springframework.content.fragments;
 
-import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.fragments.ContentStoreAware;
@@ -12,6 +11,7 @@ import org.springframework.content.commons.repository.ContentStore;
 import org.springframework.content.commons.repository.GetResourceParams;
 import org.springframework.content.commons.repository.Store;
 import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.utils.ByteRanges;
 import org.springframework.content.encryption.EnvelopeEncryptionService;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
@@ -19,7 +19,6 @@ import org.springframework.data.util.Pair;
 import org.springframework.util.Assert;
 import org.springframework.vault.core.VaultOperations;
 
-import javax.crypto.CipherInputStream;
 import java.io.*;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -44,6 +43,7 @@ public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
 
     @Autowired
     public EncryptingContentStoreImpl(MappingContext mappingContext) {
+        this.mappingContext = mappingContext;
         if (this.mappingContext == null) {
             this.mappingContext = new MappingContext("/", ".");
         }
@@ -65,9 +65,9 @@ public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
             throw new StoreAccessException(String.format("Content property %s does not exist", propertyPath.getName()));
         }
 
-        Pair<CipherInputStream, byte[]> encryptionContext = encrypter.encrypt(inputStream, this.keyRing);
+        Pair<InputStream, byte[]> encryptionContext = encrypter.encrypt(inputStream, this.keyRing);
         contentProperty.setCustomProperty(o, this.encryptionKeyContentProperty, encryptionContext.getSecond());
-        return (S) delegate.setContent(o, propertyPath, encryptionContext.getFirst());
+        return decryptedContentLength((S) delegate.setContent(o, propertyPath, encryptionContext.getFirst()), contentProperty, encryptionContext.getSecond());
     }
 
     @Override
@@ -81,9 +81,10 @@ public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
             throw new StoreAccessException(String.format("Content property %s does not exist", propertyPath.getName()));
         }
 
-        Pair<CipherInputStream, byte[]> encryptionContext = encrypter.encrypt(inputStream, this.keyRing);
+        Pair<InputStream, byte[]> encryptionContext = encrypter.encrypt(inputStream, this.keyRing);
         contentProperty.setCustomProperty(o, this.encryptionKeyContentProperty, encryptionContext.getSecond());
-        return (S) delegate.setContent(o, propertyPath, encryptionContext.getFirst(), l);
+        long encryptedLength = encrypter.encryptedLength(encryptionContext.getSecond(), l);
+        return decryptedContentLength((S) delegate.setContent(o, propertyPath, encryptionContext.getFirst(), encryptedLength), contentProperty, encryptionContext.getSecond());
     }
 
     @Override
@@ -103,10 +104,10 @@ public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
                 throw new StoreAccessException(String.format("Content property %s does not exist", propertyPath.getName()));
             }
 
-            Pair<CipherInputStream, byte[]> encryptionContext = null;
+            Pair<InputStream, byte[]> encryptionContext = null;
             encryptionContext = encrypter.encrypt(resource.getInputStream(), this.keyRing);
             contentProperty.setCustomProperty(o, this.encryptionKeyContentProperty, encryptionContext.getSecond());
-            return (S) delegate.setContent(o, propertyPath, new InputStreamResource(encryptionContext.getFirst()));
+            return decryptedContentLength((S) delegate.setContent(o, propertyPath, new InputStreamResource(encryptionContext.getFirst())), contentProperty, encryptionContext.getSecond());
         } catch (IOException e) {
             throw new StoreAccessException("error encrypting resource", e);
         }
@@ -172,24 +173,11 @@ public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
         Assert.notNull(propertyPath);
 
         Resource r = delegate.getResource(o, propertyPath);
-
-        if (r != null) {
-            InputStream unencryptedStream = null;
-            try {
-                ContentProperty contentProperty = mappingContext.getContentProperty(o.getClass(), propertyPath.getName());
-                if (contentProperty == null) {
-                    throw new StoreAccessException(String.format("Content property %s does not exist", propertyPath.getName()));
-                }
-
-                // remove cast and use conversion service
-                unencryptedStream = encrypter.decrypt((byte[]) contentProperty.getCustomProperty(o, this.encryptionKeyContentProperty), r.getInputStream(), 0, this.keyRing);
-                r = new InputStreamResource(new SkipInputStream(unencryptedStream));
-            } catch (IOException e) {
-                throw new StoreAccessException("error encrypting resource", e);
-            }
+        if (r == null) {
+            return null;
         }
 
-        return r;
+        return new DecryptingResource(r, encrypter, encryptionContext(o, propertyPath), 0, -1, this.keyRing);
     }
 
     @Override
@@ -197,46 +185,68 @@ public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
         Assert.notNull(o);
         Assert.notNull(propertyPath);
 
-        GetResourceParams ctrParams = rewriteParamsForCTR(params);
-        Resource r = delegate.getResource(o, propertyPath, ctrParams);
-
-        if (r != null) {
-            InputStream unencryptedStream = null;
-            try {
-                ContentProperty contentProperty = mappingContext.getContentProperty(o.getClass(), propertyPath.getName());
-                if (contentProperty == null) {
-                    throw new StoreAccessException(String.format("Content property %s does not exist", propertyPath.getName()));
-                }
-
-                // remove cast and use conversion service
-                unencryptedStream = encrypter.decrypt((byte[]) contentProperty.getCustomProperty(o, this.encryptionKeyContentProperty), r.getInputStream(), getOffset(r, params), this.keyRing);
-                r = new InputStreamResource(unencryptedStream);
-            } catch (IOException e) {
-                throw new StoreAccessException("error encrypting resource", e);
-            }
+        byte[] encryptionContext = encryptionContext(o, propertyPath);
+
+        long[] range = null;
+        long contentLength = -1;
+        if (params.getRange() != null) {
+            contentLength = contentLength(o, propertyPath);
+            range = ByteRanges.parse(params.getRange(), contentLength);
+        }
+
+        // multiple, unsatisfiable and absent ranges are served from the whole content, where skips are cheap
+        if (range == null) {
+            Resource r = delegate.getResource(o, propertyPath, GetResourceParams.builder().build());
+            return r != null ? new DecryptingResource(r, encrypter, encryptionContext, 0, -1, this.keyRing) : null;
+        }
+
+        // a single range is requested from the start of the block, or segment, holding its first byte, from where
+        // it can be decrypted, to the end of the segment holding its last byte, where it can be authenticated
+        long begin = range[0];
+        long end = range[0] + range[1] - 1;
+        long[] encryptedRange = encrypter.encryptedRange(encryptionContext, begin, end);
+        Resource r = delegate.getResource(o, propertyPath, GetResourceParams.builder().range("bytes=" + encryptedRange[0] + "-" + encryptedRange[1]).build());
+        if (r == null) {
+            return null;
         }
 
-        return r;
+        // stores that cannot serve ranges return the whole content
+        long offset = r instanceof RangeableResource ? begin : 0;
+        return new DecryptingResource(r, encrypter, encryptionContext, offset, contentLength, this.keyRing);
     }
 
-    private GetResourceParams rewriteParamsForCTR(GetResourceParams params) {
-        if (params.getRange() == null) {
-            return params;
+    private byte[] encryptionContext(S o, PropertyPath propertyPath) {
+        ContentProperty contentProperty = mappingContext.getContentProperty(o.getClass(), propertyPath.getName());
+        if (contentProperty == null) {
+            throw new StoreAccessException(String.format("Content property %s does not exist", propertyPath.getName()));
         }
-        int begin = Integer.parseInt(StringUtils.substringBetween(params.getRange(), "bytes=", "-"));
-        int blockBegin = begin - (begin % 16);
-        return GetResourceParams.builder().range("bytes=" + blockBegin + "-" + StringUtils.substringAfter(params.getRange(), "-")).build();
+
+        // remove cast and use conversion service
+        return (byte[]) contentProperty.getCustomProperty(o, this.encryptionKeyContentProperty);
     }
 
-    private int getOffset(Resource r, GetResourceParams params) {
-        int offset = 0;
+    private long contentLength(S o, PropertyPath propertyPath) {
+        ContentProperty contentProperty = mappingContext.getContentProperty(o.getClass(), propertyPath.getName());
+        Object length = contentProperty.getContentLength(o);
+        if (length instanceof Number) {
+            return ((Number) length).longValue();
+        }
 
-        if (r instanceof RangeableResource == false)
-            return offset;
-        if (params.getRange() == null)
-            return offset;
+        Resource r = delegate.getResource(o, propertyPath);
+        try {
+            return r != null ? encrypter.contentLength(encryptionContext(o, propertyPath), r.contentLength()) : 0L;
+        } catch (IOException e) {
+            throw new StoreAccessException("error reading content length", e);
+        }
+    }
 
-        return Integer.parseInt(StringUtils.substringBetween(params.getRange(), "bytes=", "-"));
+    // stores record the length of what they store; segmented content is longer once encrypted
+    private S decryptedContentLength(S o, ContentProperty contentProperty, byte[] encryptionContext) {
+        Object length = contentProperty.getContentLength(o);
+        if (length instanceof Number) {
+            contentProperty.setContentLength(o, encrypter.contentLength(encryptionContext, ((Number) length).longValue()));
+        }
+        return o;
     }
 
     @Override
@@ -304,41 +314,6 @@ public class EncryptingContentStoreImpl<S, SID extends Serializable> implements
         }
     }
 
-    // CipherInputStream skip does not work.  This wraps a cipherinputstream purely to override the skip with a
-    // working version
-    public class SkipInputStream extends FilterInputStream
-    {
-        private static final int MAX_SKIP_BUFFER_SIZE = 2048;
-
-        protected SkipInputStream (InputStream in)
-        {
-            super(in);
-        }
-
-        public long skip(long n)
-                throws IOException
-        {
-            long remaining = n;
-            int nr;
-
-            if (n <= 0) {
-                return 0;
-            }
-
-            int size = (int)Math.min(MAX_SKIP_BUFFER_SIZE, remaining);
-            byte[] skipBuffer = new byte[size];
-            while (remaining > 0) {
-                nr = in.read(skipBuffer, 0, (int)Math.min(size, remaining));
-                if (nr < 0) {
-                    break;
-                }
-                remaining -= nr;
-            }
-
-            return n - remaining;
-        }
-    }
-
     public class EncryptingContentStoreConfigurationImpl implements EncryptingContentStoreConfiguration {
         private String encryptionKeyContentProperty;
         private String keyring;
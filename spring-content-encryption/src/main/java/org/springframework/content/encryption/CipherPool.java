@@ -0,0 +1,55 @@
+package org.springframework.content.encryption;
+
+import java.security.GeneralSecurityException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * A pool of AES/CTR ciphers, so that a cipher is only looked up from its provider when every pooled cipher is in use.
+ *
+ * Ciphers are pooled rather than held per thread because a content stream is often opened on one thread and read
+ * on another.  A released cipher is re-initialized with a zero key so that it no longer holds a data key.
+ */
+final class CipherPool {
+
+    static final String TRANSFORMATION = "AES/CTR/NoPadding";
+
+    private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors() * 4;
+
+    private static final SecretKeySpec CLEAR_KEY = new SecretKeySpec(new byte[32], "AES");
+    private static final IvParameterSpec CLEAR_IV = new IvParameterSpec(new byte[16]);
+
+    private static final Queue<Cipher> idle = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger idleCount = new AtomicInteger();
+
+    private CipherPool() {
+    }
+
+    static Cipher borrow() throws GeneralSecurityException {
+        Cipher cipher = idle.poll();
+        if (cipher != null) {
+            idleCount.decrementAndGet();
+            return cipher;
+        }
+        return Cipher.getInstance(TRANSFORMATION);
+    }
+
+    static void release(Cipher cipher) {
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, CLEAR_KEY, CLEAR_IV);
+        } catch (GeneralSecurityException e) {
+            return;
+        }
+
+        if (idleCount.incrementAndGet() <= MAX_IDLE) {
+            idle.offer(cipher);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.springframework.content.encryption;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+
+/**
+ * Encrypts or decrypts content with AES/CTR, from any offset of the content.
+ *
+ * In counter mode encryption and decryption are the same operation and the keystream for any block is computed
+ * directly from the nonce and the block number, so the cipher can be positioned at any offset without processing the
+ * content before it.  Byte arrays and buffers, including direct buffers from reactive and NIO stores, may be
+ * processed in chunks of any size; larger chunks amortize the per-call overhead of the AES intrinsics.
+ *
+ * Instances are not thread-safe.  The underlying cipher is pooled and is returned to the pool on {@link #close()}.
+ */
+public class ContentCipher implements Closeable {
+
+    static final int AES_BLOCK_SIZE = 16;
+
+    private final SecretKey key;
+    private final byte[] nonce;
+
+    private Cipher cipher;
+    private long position;
+
+    ContentCipher(SecretKey key, byte[] nonce, long offset) throws GeneralSecurityException {
+        this.key = key;
+        this.nonce = nonce;
+        this.cipher = CipherPool.borrow();
+        try {
+            seek(offset);
+        } catch (GeneralSecurityException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the initialization vector for the given block: the nonce followed by a block counter, incremented as a
+     * single 128-bit big-endian number.
+     */
+    static byte[] ivForBlock(byte[] nonce, long block) {
+        byte[] iv = new byte[AES_BLOCK_SIZE];
+        System.arraycopy(nonce, 0, iv, 0, nonce.length);
+
+        long carry = block;
+        for (int i = AES_BLOCK_SIZE - 1; i >= 0 && carry != 0; i--) {
+            long sum = (iv[i] & 0xff) + (carry & 0xff);
+            iv[i] = (byte) sum;
+            carry = (carry >>> 8) + (sum >>> 8);
+        }
+        return iv;
+    }
+
+    /**
+     * @return the offset in the content of the next byte to be processed
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Positions the cipher at the given offset of the content.
+     *
+     * @param offset the offset of the next byte to be processed
+     */
+    public void seek(long offset) throws GeneralSecurityException {
+        checkOpen();
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(ivForBlock(nonce, offset / AES_BLOCK_SIZE)));
+        int intoBlock = (int) (offset % AES_BLOCK_SIZE);
+        if (intoBlock > 0) {
+            cipher.update(new byte[intoBlock]);
+        }
+        position = offset;
+    }
+
+    /**
+     * Processes {@code len} bytes of {@code in} into {@code out}, which may be the same array.
+     *
+     * @return the number of bytes written to {@code out}, always {@code len}
+     */
+    public int update(byte[] in, int inOffset, int len, byte[] out, int outOffset) throws ShortBufferException {
+        checkOpen();
+        int n = cipher.update(in, inOffset, len, out, outOffset);
+        position += n;
+        return n;
+    }
+
+    /**
+     * Processes the remaining bytes of {@code in} into {@code out}, advancing the position of both buffers.
+     *
+     * @return the number of bytes written to {@code out}
+     */
+    public int update(ByteBuffer in, ByteBuffer out) throws ShortBufferException {
+        checkOpen();
+        int n = cipher.update(in, out);
+        position += n;
+        return n;
+    }
+
+    /**
+     * Returns the cipher to the pool.  The content cipher cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        if (cipher != null) {
+            CipherPool.release(cipher);
+            cipher = null;
+        }
+    }
+
+    private void checkOpen() {
+        if (cipher == null) {
+            throw new IllegalStateException("cipher is closed");
+        }
+    }
+}
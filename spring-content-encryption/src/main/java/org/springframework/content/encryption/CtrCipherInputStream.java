@@ -0,0 +1,163 @@
+package org.springframework.content.encryption;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.ShortBufferException;
+
+/**
+ * Encrypts, or decrypts, AES/CTR content read from another stream.
+ *
+ * Unlike {@link javax.crypto.CipherInputStream}, which runs the cipher over 512 bytes at a time, content is processed
+ * in chunks of up to 64KB, and reads of at least that size are processed in place in the caller's array without
+ * copying.
+ *
+ * In counter mode the keystream for any block can be computed directly from the nonce and the block number, so
+ * skipping is done by skipping the underlying stream and re-positioning the cipher; no content is processed to get
+ * there.  How cheap that is depends only on how cheaply the underlying stream skips.
+ */
+class CtrCipherInputStream extends FilterInputStream {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ContentCipher cipher;
+
+    // content already processed but not yet read
+    private byte[] buffer;
+    private int bufferPosition;
+    private int bufferLimit;
+
+    /**
+     * @param in the content to process, positioned at the position of {@code cipher}
+     * @param cipher the cipher, which the stream closes when it is closed
+     */
+    CtrCipherInputStream(InputStream in, ContentCipher cipher) {
+        super(in);
+        this.cipher = cipher;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (bufferPosition == bufferLimit && fill() == -1) {
+            return -1;
+        }
+        return buffer[bufferPosition++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        int buffered = bufferLimit - bufferPosition;
+        if (buffered > 0) {
+            int n = Math.min(buffered, len);
+            System.arraycopy(buffer, bufferPosition, b, off, n);
+            bufferPosition += n;
+            return n;
+        }
+
+        if (len < BUFFER_SIZE) {
+            if (fill() == -1) {
+                return -1;
+            }
+            return read(b, off, len);
+        }
+
+        int n = in.read(b, off, len);
+        if (n == -1) {
+            return -1;
+        }
+        update(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        int buffered = bufferLimit - bufferPosition;
+        if (n <= buffered) {
+            bufferPosition += (int) n;
+            return n;
+        }
+        bufferPosition = bufferLimit = 0;
+
+        long remaining = n - buffered;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                // some streams only skip what is buffered; a read tells end of stream apart from that
+                if (in.read() == -1) {
+                    break;
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+
+        long skipped = n - remaining;
+        try {
+            cipher.seek(cipher.getPosition() + skipped - buffered);
+        } catch (GeneralSecurityException e) {
+            throw new IOException(e);
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (bufferLimit - bufferPosition) + in.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            cipher.close();
+        }
+    }
+
+    private int fill() throws IOException {
+        if (buffer == null) {
+            buffer = new byte[BUFFER_SIZE];
+        }
+
+        int n = in.read(buffer, 0, buffer.length);
+        if (n == -1) {
+            return -1;
+        }
+        update(buffer, 0, n);
+        bufferPosition = 0;
+        bufferLimit = n;
+        return n;
+    }
+
+    private void update(byte[] b, int off, int len) throws IOException {
+        try {
+            cipher.update(b, off, len, b, off);
+        } catch (ShortBufferException e) {
+            throw new IOException(e);
+        }
+    }
+}
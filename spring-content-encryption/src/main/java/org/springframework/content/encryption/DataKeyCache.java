@@ -0,0 +1,203 @@
+package org.springframework.content.encryption;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * A size-bounded cache of unwrapped data keys, keyed by key ring and wrapped data key, so that reading the same
+ * content repeatedly (for example, the byte-range requests of a video) costs a single Vault decrypt.
+ *
+ * Entries live for the configured time to live and the least recently used entry is evicted when the cache is full.
+ * Key material is held only by the cache and is overwritten with zeros as soon as its entry is evicted, expires or is
+ * invalidated.  The JVM cannot lock memory so keys may still be paged to swap; deployments that must prevent that
+ * should disable swap for the process.
+ *
+ * The hit and miss counts can be bound to a metrics registry; for example, with Micrometer,
+ * {@code FunctionCounter.builder("encryption.datakey.cache.hits", cache, DataKeyCache::getHitCount)}.
+ */
+public class DataKeyCache {
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	private final long ttlNanos;
+	private final int maximumSize;
+
+	// access ordered so that iteration starts at the least recently used entry
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public DataKeyCache(Duration ttl) {
+		this(ttl, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public DataKeyCache(Duration ttl, int maximumSize) {
+		Assert.notNull(ttl, "ttl must be specified");
+		Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.ttlNanos = ttl.toNanos();
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Returns a copy of the unwrapped data key, or null if it is not cached.
+	 *
+	 * @param keyName the key ring the data key was wrapped with
+	 * @param wrappedKey the wrapped data key
+	 * @return a copy of the data key, or null
+	 */
+	public byte[] get(String keyName, String wrappedKey) {
+		Key k = new Key(keyName, wrappedKey);
+		synchronized (entries) {
+			Entry entry = entries.get(k);
+			if (entry != null && entry.expires - System.nanoTime() > 0) {
+				hits.increment();
+				return entry.key.clone();
+			}
+			if (entry != null) {
+				entries.remove(k);
+				entry.destroy();
+			}
+		}
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Returns whether an unexpired data key is cached, without counting a hit or a miss.
+	 */
+	public boolean contains(String keyName, String wrappedKey) {
+		synchronized (entries) {
+			Entry entry = entries.get(new Key(keyName, wrappedKey));
+			return entry != null && entry.expires - System.nanoTime() > 0;
+		}
+	}
+
+	/**
+	 * Caches an unwrapped data key.  The cache keeps its own copy so the caller may clear the key it passed.
+	 *
+	 * @param keyName the key ring the data key was wrapped with
+	 * @param wrappedKey the wrapped data key
+	 * @param key the unwrapped data key
+	 */
+	public void put(String keyName, String wrappedKey, byte[] key) {
+		Key k = new Key(keyName, wrappedKey);
+		Entry entry = new Entry(key.clone(), System.nanoTime() + ttlNanos);
+		synchronized (entries) {
+			Entry replaced = entries.put(k, entry);
+			if (replaced != null) {
+				replaced.destroy();
+			}
+			evictIfNecessary();
+		}
+	}
+
+	/**
+	 * Evicts every data key wrapped with a key ring, typically because the key ring has been rotated.
+	 */
+	public void invalidate(String keyName) {
+		synchronized (entries) {
+			Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<Key, Entry> entry = it.next();
+				if (entry.getKey().keyName.equals(keyName)) {
+					entry.getValue().destroy();
+					it.remove();
+				}
+			}
+		}
+	}
+
+	public void invalidateAll() {
+		synchronized (entries) {
+			entries.values().forEach(Entry::destroy);
+			entries.clear();
+		}
+	}
+
+	public long size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	private void evictIfNecessary() {
+		if (entries.size() <= maximumSize) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		Iterator<Entry> it = entries.values().iterator();
+		while (it.hasNext()) {
+			Entry entry = it.next();
+			if (entry.expires - now <= 0) {
+				entry.destroy();
+				it.remove();
+			}
+		}
+
+		it = entries.values().iterator();
+		while (entries.size() > maximumSize && it.hasNext()) {
+			it.next().destroy();
+			it.remove();
+		}
+	}
+
+	private static final class Entry {
+
+		private final byte[] key;
+		private final long expires;
+
+		private Entry(byte[] key, long expires) {
+			this.key = key;
+			this.expires = expires;
+		}
+
+		private void destroy() {
+			Arrays.fill(key, (byte) 0);
+		}
+	}
+
+	private static final class Key {
+
+		private final String keyName;
+		private final String wrappedKey;
+
+		private Key(String keyName, String wrappedKey) {
+			this.keyName = keyName;
+			this.wrappedKey = wrappedKey;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o instanceof Key == false) {
+				return false;
+			}
+			Key other = (Key) o;
+			return keyName.equals(other.keyName) && wrappedKey.equals(other.wrappedKey);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * keyName.hashCode() + wrappedKey.hashCode();
+		}
+	}
+}
@@ -2,27 +2,37 @@ package org.springframework.content.encryption;
 
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.data.util.Pair;
+import org.springframework.util.Assert;
 import org.springframework.vault.core.VaultOperations;
 import org.springframework.vault.core.VaultTransitOperations;
+import org.springframework.vault.support.Ciphertext;
+import org.springframework.vault.support.VaultDecryptionResult;
 
 import javax.crypto.*;
-import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.math.BigInteger;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
+import java.security.GeneralSecurityException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 public class EnvelopeEncryptionService {
 
     private static KeyGenerator KEY_GENERATOR;
 
-    private static String transformation = "AES/CTR/NoPadding";
     private static final String AES = "AES";
 
     static {
@@ -40,42 +50,150 @@ public class EnvelopeEncryptionService {
 
     private final SecureRandom secureRandom = new SecureRandom();
 
+    // key rings known to exist, so that each is only created once
+    private final ConcurrentMap<String, Boolean> keyRings = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, WrappedDataKey> reusableDataKeys = new ConcurrentHashMap<>();
+
+    private DataKeyCache dataKeyCache;
+    private int maxDataKeyReuse = 1;
+
+    private int segmentSize = 0;
+    private int segmentParallelism = Runtime.getRuntime().availableProcessors();
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+    private final LongAdder vaultRequests = new LongAdder();
+    private final LongAdder vaultNanos = new LongAdder();
+
     public EnvelopeEncryptionService(VaultOperations vaultOperations) {
         this.vaultOperations = vaultOperations;
     }
 
-    private CipherInputStream encryptMessage(InputStream is, final SecretKey dataKey, final byte[] nonce) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException {
-        Cipher cipher = Cipher.getInstance(transformation);
-        SecretKeySpec key = new SecretKeySpec(dataKey.getEncoded(), AES);
+    /**
+     * Sets the cache of unwrapped data keys consulted before asking Vault to decrypt a data key.  Data keys are
+     * cached as they are generated, and as they are decrypted.  When not set every decrypt asks Vault.
+     *
+     * @param dataKeyCache the data key cache
+     */
+    public void setDataKeyCache(DataKeyCache dataKeyCache) {
+        this.dataKeyCache = dataKeyCache;
+    }
+
+    public DataKeyCache getDataKeyCache() {
+        return dataKeyCache;
+    }
+
+    /**
+     * Sets how many writes share a data key before a new one is generated.  A shared data key is also replaced when
+     * its key ring is rotated.  Each write still has its own nonce.  Defaults to 1, a new data key for every write.
+     *
+     * @param maxDataKeyReuse the number of writes that may share a data key
+     */
+    public void setMaxDataKeyReuse(int maxDataKeyReuse) {
+        Assert.isTrue(maxDataKeyReuse > 0, "maxDataKeyReuse must be greater than 0");
+        this.maxDataKeyReuse = maxDataKeyReuse;
+    }
+
+    /**
+     * Writes new content in the segmented format: segments of the given size, each encrypted and authenticated on
+     * its own with AES/GCM.  Segments are encrypted and decrypted in parallel, and range reads only decrypt the
+     * segments they touch.  Each segment is 16 bytes longer once encrypted.  By default, and when set to 0, new
+     * content is written as a single, unauthenticated, AES/CTR stream.  Content is always read in the format it was
+     * written in.
+     *
+     * @param segmentSize the segment size in bytes, for example 1MB, or 0
+     */
+    public void setSegmentSize(int segmentSize) {
+        Assert.isTrue(segmentSize >= 0, "segmentSize must not be negative");
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Sets how many segments of a stream are encrypted, or decrypted, at the same time.  Each holds a segment of
+     * content and its ciphertext in memory.  Defaults to the number of processors.
+     *
+     * @param segmentParallelism the number of segments in flight per stream
+     */
+    public void setSegmentParallelism(int segmentParallelism) {
+        Assert.isTrue(segmentParallelism > 0, "segmentParallelism must be greater than 0");
+        this.segmentParallelism = segmentParallelism;
+    }
+
+    /**
+     * Sets the pool segments are encrypted and decrypted on.  Defaults to the common pool.
+     *
+     * @param forkJoinPool the pool
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        Assert.notNull(forkJoinPool, "forkJoinPool must not be null");
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Returns the number of requests made to Vault.  Together with {@link #getVaultRequestNanos()} this can be bound
+     * to a metrics registry; for example, with Micrometer, {@code FunctionTimer.builder("encryption.vault.requests",
+     * service, EnvelopeEncryptionService::getVaultRequestCount, EnvelopeEncryptionService::getVaultRequestNanos,
+     * TimeUnit.NANOSECONDS)}.
+     */
+    public long getVaultRequestCount() {
+        return vaultRequests.sum();
+    }
+
+    public long getVaultRequestNanos() {
+        return vaultNanos.sum();
+    }
+
+    /**
+     * Encrypts content.
+     *
+     * @param is the content
+     * @param keyName the key ring to wrap the data key with
+     * @return the encrypted content and the encryption context to store with it
+     */
+    public Pair<InputStream, byte[]> encrypt(InputStream is, String keyName) {
+        if (segmentSize > 0) {
+            return encryptSegments(is, keyName);
+        }
+
+        Pair<ContentCipher, byte[]> cipher = encryptingCipher(keyName);
+        return Pair.of(new CtrCipherInputStream(is, cipher.getFirst()), cipher.getSecond());
+    }
 
-        byte[] iv = new byte[128 / 8];
-        System.arraycopy(nonce, 0, iv, 0, nonce.length);
-        IvParameterSpec ivSpec = new IvParameterSpec(iv);
+    private Pair<InputStream, byte[]> encryptSegments(InputStream is, String keyName) {
+        try {
+            WrappedDataKey dataKey = dataKey(keyName);
 
-        cipher.init(Cipher.ENCRYPT_MODE, key, ivSpec);
+            byte[] noncePrefix = new byte[SegmentCipher.NONCE_PREFIX_SIZE];
+            secureRandom.nextBytes(noncePrefix);
+            byte[] encryptionContext = SegmentCipher.encryptionContext(segmentSize, dataKey.wrapped, noncePrefix);
 
-        CipherInputStream cis = new CipherInputStream(is, cipher);
-        return cis;
+            SegmentCipher cipher = new SegmentCipher(dataKey.key, encryptionContext);
+            return Pair.of(new SegmentedCipherInputStream(is, cipher, true, 0, -1, segmentParallelism, forkJoinPool), encryptionContext);
+        } catch (Exception e) {
+            throw new RuntimeException("unable to encrypt", e);
+        }
     }
 
-    public Pair<CipherInputStream, byte[]> encrypt(InputStream is, String keyName) {
+    /**
+     * Returns a cipher to encrypt content with, for stores that move content in buffers rather than streams.  The
+     * content is always encrypted in the AES/CTR format, whatever the segment size.  The cipher must be closed once
+     * the content is encrypted.
+     *
+     * @param keyName the key ring to wrap the data key with
+     * @return the cipher, positioned at the start of the content, and the encryption context to store with the content
+     */
+    public Pair<ContentCipher, byte[]> encryptingCipher(String keyName) {
         try {
-            SecretKey key = generateDataKey();
+            WrappedDataKey dataKey = dataKey(keyName);
 
             byte[] nonce = new byte[96 / 8];
             secureRandom.nextBytes(nonce);
 
-            // use vault to get ciphertext
-            VaultTransitOperations transit = vaultOperations.opsForTransit();
-            String base64Encoded = Base64.getEncoder().encodeToString(key.getEncoded());
-            transit.createKey(keyName);
-            String ciphertext = transit.encrypt(keyName, base64Encoded);
-
             byte[] encryptionContext = new byte[117];
-            System.arraycopy(ciphertext.getBytes("UTF-8"), 0, encryptionContext, 0, 105);
+            System.arraycopy(dataKey.wrapped, 0, encryptionContext, 0, 105);
             System.arraycopy(nonce, 0, encryptionContext, 105, 12);
 
-            return Pair.of(encryptMessage(is, key, nonce), encryptionContext);
+            return Pair.of(new ContentCipher(dataKey.key, nonce, 0), encryptionContext);
         } catch (Exception e) {
             throw new RuntimeException("unable to encrypt", e);
         }
@@ -85,139 +203,319 @@ public class EnvelopeEncryptionService {
         return KEY_GENERATOR.generateKey();
     }
 
-    private InputStream decryptInputStream(final SecretKeySpec secretKeySpec, byte[] nonce, int offset, InputStream is) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, BadPaddingException, IllegalBlockSizeException, IOException, InvalidAlgorithmParameterException {
-        Cipher cipher = Cipher.getInstance(transformation);
+    private WrappedDataKey dataKey(String keyName) throws IOException {
+        if (maxDataKeyReuse == 1) {
+            return wrapDataKey(keyName);
+        }
+
+        try {
+            return reusableDataKeys.compute(keyName, (name, current) -> {
+                if (current != null && current.uses < maxDataKeyReuse) {
+                    current.uses++;
+                    return current;
+                }
+                try {
+                    return wrapDataKey(name);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // generates a data key and uses vault to wrap it
+    private WrappedDataKey wrapDataKey(String keyName) throws IOException {
+        SecretKey key = generateDataKey();
 
-        byte[] iv = new byte[128 / 8];
-        System.arraycopy(nonce, 0, iv, 0, nonce.length);
+        VaultTransitOperations transit = vaultOperations.opsForTransit();
+        ensureKeyRing(transit, keyName);
 
-        int AES_BLOCK_SIZE = 16;
-        int blockOffset = offset - (offset % AES_BLOCK_SIZE);
-        final BigInteger ivBI = new BigInteger(1, iv);
-        final BigInteger ivForOffsetBI = ivBI.add(BigInteger.valueOf(blockOffset / AES_BLOCK_SIZE));
-        final byte[] ivForOffsetBA = ivForOffsetBI.toByteArray();
-        final IvParameterSpec ivForOffset;
-        if (ivForOffsetBA.length >= AES_BLOCK_SIZE) {
-            ivForOffset = new IvParameterSpec(ivForOffsetBA, ivForOffsetBA.length - AES_BLOCK_SIZE, AES_BLOCK_SIZE);
-        } else {
-            final byte[] ivForOffsetBASized = new byte[AES_BLOCK_SIZE];
-            System.arraycopy(ivForOffsetBA, 0, ivForOffsetBASized, AES_BLOCK_SIZE - ivForOffsetBA.length, ivForOffsetBA.length);
-            ivForOffset = new IvParameterSpec(ivForOffsetBASized);
+        String base64Encoded = Base64.getEncoder().encodeToString(key.getEncoded());
+        String ciphertext = vault(() -> transit.encrypt(keyName, base64Encoded));
+
+        byte[] wrapped = new byte[105];
+        System.arraycopy(ciphertext.getBytes("UTF-8"), 0, wrapped, 0, 105);
+
+        if (dataKeyCache != null) {
+            dataKeyCache.put(keyName, new String(wrapped), key.getEncoded());
         }
+        return new WrappedDataKey(key, wrapped);
+    }
 
-        cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec, ivForOffset);
+    private void ensureKeyRing(VaultTransitOperations transit, String keyName) {
+        keyRings.computeIfAbsent(keyName, name -> {
+            vault(() -> {
+                transit.createKey(name);
+                return null;
+            });
+            return Boolean.TRUE;
+        });
+    }
 
-        CipherInputStream cis = new CipherInputStream(is, cipher);
+    private <T> T vault(Supplier<T> request) {
+        long start = System.nanoTime();
+        try {
+            return request.get();
+        } finally {
+            vaultNanos.add(System.nanoTime() - start);
+            vaultRequests.increment();
+        }
+    }
 
-        InputStream inputStreamToReturn = cis;
+    private InputStream decryptInputStream(final SecretKeySpec secretKeySpec, byte[] nonce, long offset, InputStream is) throws GeneralSecurityException, IOException {
         if (offset == 0) {
-            inputStreamToReturn = new ZeroOffsetSkipInputStream(cis);
-        } else if (offset > 0) {
-            inputStreamToReturn = new OffsetSkipInputStream(cis, offset % AES_BLOCK_SIZE);
+            return new CtrCipherInputStream(is, new ContentCipher(secretKeySpec, nonce, 0));
         }
 
-        return inputStreamToReturn;
+        // the store has already satisfied the range from the start of the block holding the offset so the bytes
+        // before the offset are read, rather than skipped, and later skips to the offset are no-ops
+        long blockOffset = offset - (offset % ContentCipher.AES_BLOCK_SIZE);
+        InputStream decrypted = new CtrCipherInputStream(is, new ContentCipher(secretKeySpec, nonce, blockOffset));
+        int intoBlock = (int) (offset - blockOffset);
+        byte[] discard = new byte[ContentCipher.AES_BLOCK_SIZE];
+        while (intoBlock > 0) {
+            int n = decrypted.read(discard, 0, intoBlock);
+            if (n == -1) {
+                break;
+            }
+            intoBlock -= n;
+        }
+        return new RangeStartInputStream(decrypted);
     }
+
     private SecretKeySpec decryptKey(byte[] encryptedKey, String keyName) {
+        String wrapped = new String(encryptedKey);
+        if (dataKeyCache != null) {
+            byte[] cached = dataKeyCache.get(keyName, wrapped);
+            if (cached != null) {
+                SecretKeySpec key = new SecretKeySpec(cached, AES);
+                Arrays.fill(cached, (byte) 0);
+                return key;
+            }
+        }
+
         VaultTransitOperations transit = vaultOperations.opsForTransit();
-        String decryptedBase64Key = transit.decrypt(keyName, new String(encryptedKey));
+        String decryptedBase64Key = vault(() -> transit.decrypt(keyName, wrapped));
         byte[] keyBytes = Base64.getDecoder().decode(decryptedBase64Key);
 
         SecretKeySpec key = new SecretKeySpec(keyBytes, AES);
+        if (dataKeyCache != null) {
+            dataKeyCache.put(keyName, wrapped, keyBytes);
+        }
+        Arrays.fill(keyBytes, (byte) 0);
         return key;
     }
 
-    public InputStream decrypt(byte[] ecryptedContext, InputStream is, int offset, String keyName) {
+    /**
+     * Decrypts the data keys of several encryption contexts with a single Vault request and caches them, so that
+     * content that is about to be read does not need a Vault request each.  Does nothing when no data key cache is
+     * set.
+     *
+     * @param encryptionContexts the encryption contexts of the content about to be read
+     * @param keyName the key ring the data keys were wrapped with
+     */
+    public void prefetch(Collection<byte[]> encryptionContexts, String keyName) {
+        if (dataKeyCache == null) {
+            return;
+        }
 
-        byte[] key = new byte[105];
-        System.arraycopy(ecryptedContext, 0, key, 0, 105);
-        byte[] nonce = new byte[12];
-        System.arraycopy(ecryptedContext, 105, nonce, 0, 12);
+        Set<String> uncached = new LinkedHashSet<>();
+        for (byte[] encryptionContext : encryptionContexts) {
+            String wrapped = new String(wrappedKey(encryptionContext));
+            if (!dataKeyCache.contains(keyName, wrapped)) {
+                uncached.add(wrapped);
+            }
+        }
+        if (uncached.isEmpty()) {
+            return;
+        }
+
+        List<String> wrappedKeys = new ArrayList<>(uncached);
+        List<Ciphertext> ciphertexts = new ArrayList<>();
+        for (String wrapped : wrappedKeys) {
+            ciphertexts.add(Ciphertext.of(wrapped));
+        }
+
+        VaultTransitOperations transit = vaultOperations.opsForTransit();
+        List<VaultDecryptionResult> results = vault(() -> transit.decrypt(keyName, ciphertexts));
+        for (int i = 0; i < results.size(); i++) {
+            // keys that fail are left for decrypt to request, and report, individually
+            if (results.get(i).isSuccessful()) {
+                byte[] keyBytes = Base64.getDecoder().decode(results.get(i).getAsString());
+                dataKeyCache.put(keyName, wrappedKeys.get(i), keyBytes);
+                Arrays.fill(keyBytes, (byte) 0);
+            }
+        }
+    }
 
+    /**
+     * Decrypts content of unknown length.
+     *
+     * @see #decrypt(byte[], InputStream, long, long, String)
+     */
+    public InputStream decrypt(byte[] ecryptedContext, InputStream is, long offset, String keyName) {
+        return decrypt(ecryptedContext, is, offset, -1, keyName);
+    }
+
+    /**
+     * Decrypts content.
+     *
+     * When {@code offset} is 0 {@code is} must be the content from its start and skipping the returned stream skips
+     * the ciphertext and starts decrypting at the target, without decrypting the content skipped.  Otherwise
+     * {@code is} must be the encrypted content from the start of the range returned by
+     * {@link #encryptedRange(byte[], long, long)}, as a store returns for a range request, and the returned stream
+     * starts at {@code offset}; as for other ranged store content, skips to the start of the range are no-ops.
+     *
+     * Segmented content that does not run to its end, as for a range request, can only be authenticated when the
+     * length of the content is given.
+     *
+     * @param ecryptedContext the encryption context the content was encrypted with
+     * @param is the encrypted content
+     * @param offset the offset of the first byte to return
+     * @param contentLength the length of the decrypted content, or -1 when {@code is} runs to the end of the content
+     * @param keyName the key ring the data key was wrapped with
+     * @return the decrypted content
+     */
+    public InputStream decrypt(byte[] ecryptedContext, InputStream is, long offset, long contentLength, String keyName) {
         try {
-            SecretKeySpec keySpec = decryptKey(key, keyName);
+            SecretKeySpec keySpec = decryptKey(wrappedKey(ecryptedContext), keyName);
+            if (SegmentCipher.isSegmented(ecryptedContext)) {
+                return decryptSegments(new SegmentCipher(keySpec, ecryptedContext), offset, contentLength, is);
+            }
+
+            byte[] nonce = new byte[12];
+            System.arraycopy(ecryptedContext, 105, nonce, 0, 12);
             return decryptInputStream(keySpec, nonce, offset, is);
         } catch (Exception e) {
             throw new RuntimeException("unable to decrypt", e);
         }
     }
 
-    public void rotate(String keyName) {
-        VaultTransitOperations transit = vaultOperations.opsForTransit();
-        transit.rotate(keyName);
-    }
-
-    // CipherInputStream skip does not work.  This wraps a cipherinputstream purely to override the skip with a
-    // working version.  Used when backend Store has not already primed the input stream.
-    public class ZeroOffsetSkipInputStream extends FilterInputStream
-    {
-        private static final int MAX_SKIP_BUFFER_SIZE = 2048;
+    private InputStream decryptSegments(SegmentCipher cipher, long offset, long contentLength, InputStream is) throws IOException {
+        long lastIndex = contentLength < 0 ? -1 : Math.max(0, contentLength - 1) / cipher.getSegmentSize();
+        long firstIndex = offset / cipher.getSegmentSize();
 
-        protected ZeroOffsetSkipInputStream(InputStream in)
-        {
-            super(in);
+        InputStream decrypted = new SegmentedCipherInputStream(is, cipher, false, firstIndex, lastIndex, segmentParallelism, forkJoinPool);
+        if (offset == 0) {
+            return decrypted;
         }
 
-        public long skip(long n)
-                throws IOException
-        {
-            long remaining = n;
-            int nr;
-
+        // as for the CTR format, the bytes of the first segment before the offset are read rather than skipped
+        long intoSegment = offset - firstIndex * cipher.getSegmentSize();
+        while (intoSegment > 0) {
+            long n = decrypted.skip(intoSegment);
             if (n <= 0) {
-                return 0;
+                break;
             }
+            intoSegment -= n;
+        }
+        return new RangeStartInputStream(decrypted);
+    }
 
-            int size = (int)Math.min(MAX_SKIP_BUFFER_SIZE, remaining);
-            byte[] skipBuffer = new byte[size];
-            while (remaining > 0) {
-                nr = in.read(skipBuffer, 0, (int)Math.min(size, remaining));
-                if (nr < 0) {
-                    break;
-                }
-                remaining -= nr;
-            }
+    /**
+     * Returns the range of encrypted content a store must return to decrypt the given range of content.
+     *
+     * @param encryptionContext the encryption context the content was encrypted with
+     * @param begin the offset of the first byte of the range
+     * @param end the offset of the last byte of the range
+     * @return the offsets of the first and last bytes of the encrypted range
+     */
+    public long[] encryptedRange(byte[] encryptionContext, long begin, long end) {
+        if (SegmentCipher.isSegmented(encryptionContext)) {
+            int segmentSize = SegmentCipher.segmentSize(encryptionContext);
+            long encryptedSegmentSize = (long) segmentSize + SegmentCipher.TAG_SIZE;
+            return new long[] {(begin / segmentSize) * encryptedSegmentSize, (end / segmentSize + 1) * encryptedSegmentSize - 1};
+        }
+        return new long[] {begin - (begin % ContentCipher.AES_BLOCK_SIZE), end};
+    }
 
-            return n - remaining;
+    /**
+     * @param encryptionContext the encryption context the content was encrypted with
+     * @param encryptedLength the length of the encrypted content, or -1 if unknown
+     * @return the length of the decrypted content, or -1 if unknown
+     */
+    public long contentLength(byte[] encryptionContext, long encryptedLength) {
+        if (SegmentCipher.isSegmented(encryptionContext)) {
+            return SegmentCipher.contentLength(SegmentCipher.segmentSize(encryptionContext), encryptedLength);
         }
+        return encryptedLength;
     }
 
-    // This wraps a cipherinputstream purely to override skip
-    //
-    // Used when a backend store has already satisfied a range request (this service will request a range to the nearest block).
-    // Skips then skips bytes between the beginning of the block and the start actual range that the client requested.
-    public class OffsetSkipInputStream extends FilterInputStream
-    {
-        private static final int MAX_SKIP_BUFFER_SIZE = 2048;
-        private final int offset;
-
-        protected OffsetSkipInputStream(InputStream in, int offset)
-        {
-            super(in);
-            this.offset = offset;
+    /**
+     * @param encryptionContext the encryption context the content is encrypted with
+     * @param contentLength the length of the content, or -1 if unknown
+     * @return the length of the encrypted content, or -1 if unknown
+     */
+    public long encryptedLength(byte[] encryptionContext, long contentLength) {
+        if (SegmentCipher.isSegmented(encryptionContext)) {
+            return SegmentCipher.encryptedLength(SegmentCipher.segmentSize(encryptionContext), contentLength);
         }
+        return contentLength;
+    }
 
-        public long skip(long n)
-                throws IOException
-        {
-            long remaining = offset;
-            int nr;
+    /**
+     * Returns a cipher to decrypt content in the AES/CTR format with, for stores that move content in buffers rather
+     * than streams.  The cipher must be closed once the content is decrypted.
+     *
+     * @param encryptionContext the encryption context the content was encrypted with
+     * @param offset the offset of the first byte that will be decrypted
+     * @param keyName the key ring the data key was wrapped with
+     * @return the cipher, positioned at {@code offset}
+     */
+    public ContentCipher decryptingCipher(byte[] encryptionContext, long offset, String keyName) {
+        Assert.isTrue(!SegmentCipher.isSegmented(encryptionContext), "segmented content can only be decrypted as a stream");
 
-            if (n <= 0) {
-                return 0;
-            }
+        byte[] nonce = new byte[12];
+        System.arraycopy(encryptionContext, 105, nonce, 0, 12);
 
-            int size = (int)Math.min(MAX_SKIP_BUFFER_SIZE, remaining);
-            byte[] skipBuffer = new byte[size];
-            while (remaining > 0) {
-                nr = in.read(skipBuffer, 0, (int)Math.min(size, remaining));
-                if (nr < 0) {
-                    break;
-                }
-                remaining -= nr;
-            }
+        try {
+            return new ContentCipher(decryptKey(wrappedKey(encryptionContext), keyName), nonce, offset);
+        } catch (Exception e) {
+            throw new RuntimeException("unable to decrypt", e);
+        }
+    }
+
+    // the wrapped data key of either format
+    private static byte[] wrappedKey(byte[] encryptionContext) {
+        int from = SegmentCipher.isSegmented(encryptionContext) ? SegmentCipher.WRAPPED_KEY_OFFSET : 0;
+        return Arrays.copyOfRange(encryptionContext, from, from + SegmentCipher.WRAPPED_KEY_SIZE);
+    }
+
+    public void rotate(String keyName) {
+        VaultTransitOperations transit = vaultOperations.opsForTransit();
+        vault(() -> {
+            transit.rotate(keyName);
+            return null;
+        });
+        reusableDataKeys.remove(keyName);
+    }
+
+    private static class WrappedDataKey {
+
+        private final SecretKey key;
+        private final byte[] wrapped;
+        private int uses = 1;
+
+        private WrappedDataKey(SecretKey key, byte[] wrapped) {
+            this.key = key;
+            this.wrapped = wrapped;
+        }
+    }
+
+    private static class RangeStartInputStream extends FilterInputStream {
+
+        private RangeStartInputStream(InputStream in) {
+            super(in);
+        }
 
-            return n - remaining;
+        @Override
+        public long skip(long n) {
+            return Math.max(n, 0);
         }
     }
 }
@@ -0,0 +1,135 @@
+package org.springframework.content.encryption;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encrypts and decrypts content in the segmented format: fixed-size segments, each encrypted and authenticated on
+ * its own with AES/GCM.
+ *
+ * The encryption context of segmented content is a format byte, the segment size, the wrapped data key and a random
+ * 7 byte nonce prefix.  Contexts of content in the original AES/CTR format start with the wrapped data key, whose
+ * first byte is never the format byte.  Segments are encrypted with a key derived from the data key and the context,
+ * so that a data key shared between writes never encrypts two segments with the same nonce.  The nonce of each
+ * segment is the nonce prefix, the segment index and a flag marking the last segment, so segments cannot be
+ * reordered or dropped, and content cannot be truncated at a segment boundary, without failing authentication.
+ *
+ * Instances are thread-safe; each thread encrypts with its own cipher.
+ */
+final class SegmentCipher {
+
+    static final byte FORMAT = 1;
+
+    static final int TAG_SIZE = 16;
+    static final int WRAPPED_KEY_OFFSET = 5;
+    static final int WRAPPED_KEY_SIZE = 105;
+    static final int NONCE_PREFIX_SIZE = 7;
+    static final int CONTEXT_SIZE = WRAPPED_KEY_OFFSET + WRAPPED_KEY_SIZE + NONCE_PREFIX_SIZE;
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String KEY_DERIVATION = "HmacSHA256";
+    private static final long MAX_SEGMENTS = 0xffffffffL;
+
+    private static final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final SecretKey key;
+    private final byte[] noncePrefix = new byte[NONCE_PREFIX_SIZE];
+    private final int segmentSize;
+
+    /**
+     * @param dataKey the data key the content is, or will be, encrypted with
+     * @param encryptionContext the encryption context of the content
+     */
+    SegmentCipher(SecretKey dataKey, byte[] encryptionContext) throws GeneralSecurityException {
+        Mac mac = Mac.getInstance(KEY_DERIVATION);
+        mac.init(dataKey);
+        this.key = new SecretKeySpec(mac.doFinal(encryptionContext), "AES");
+        this.segmentSize = segmentSize(encryptionContext);
+        System.arraycopy(encryptionContext, WRAPPED_KEY_OFFSET + WRAPPED_KEY_SIZE, noncePrefix, 0, NONCE_PREFIX_SIZE);
+    }
+
+    static boolean isSegmented(byte[] encryptionContext) {
+        return encryptionContext.length == CONTEXT_SIZE && encryptionContext[0] == FORMAT;
+    }
+
+    static byte[] encryptionContext(int segmentSize, byte[] wrappedKey, byte[] noncePrefix) {
+        return ByteBuffer.allocate(CONTEXT_SIZE)
+                .put(FORMAT)
+                .putInt(segmentSize)
+                .put(wrappedKey, 0, WRAPPED_KEY_SIZE)
+                .put(noncePrefix, 0, NONCE_PREFIX_SIZE)
+                .array();
+    }
+
+    static int segmentSize(byte[] encryptionContext) {
+        return ByteBuffer.wrap(encryptionContext, 1, 4).getInt();
+    }
+
+    /**
+     * @return the length of the encrypted content for content of the given length, or -1 if the length is unknown;
+     * empty content is still one, empty, segment
+     */
+    static long encryptedLength(int segmentSize, long contentLength) {
+        if (contentLength < 0) {
+            return -1L;
+        }
+        long segments = Math.max(1, (contentLength + segmentSize - 1) / segmentSize);
+        return contentLength + segments * TAG_SIZE;
+    }
+
+    /**
+     * @return the length of the content for encrypted content of the given length, or -1 if the length is unknown
+     */
+    static long contentLength(int segmentSize, long encryptedLength) {
+        if (encryptedLength < 0) {
+            return -1L;
+        }
+        long encryptedSegmentSize = (long) segmentSize + TAG_SIZE;
+        long segments = (encryptedLength + encryptedSegmentSize - 1) / encryptedSegmentSize;
+        return Math.max(0, encryptedLength - segments * TAG_SIZE);
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    int getEncryptedSegmentSize() {
+        return segmentSize + TAG_SIZE;
+    }
+
+    byte[] encrypt(long index, boolean last, byte[] segment) throws GeneralSecurityException {
+        return cipher(Cipher.ENCRYPT_MODE, index, last).doFinal(segment);
+    }
+
+    byte[] decrypt(long index, boolean last, byte[] segment) throws GeneralSecurityException {
+        return cipher(Cipher.DECRYPT_MODE, index, last).doFinal(segment);
+    }
+
+    private Cipher cipher(int mode, long index, boolean last) throws GeneralSecurityException {
+        if (index > MAX_SEGMENTS) {
+            throw new GeneralSecurityException("content has more than " + MAX_SEGMENTS + " segments");
+        }
+
+        byte[] nonce = ByteBuffer.allocate(12)
+                .put(noncePrefix)
+                .putInt((int) index)
+                .put((byte) (last ? 1 : 0))
+                .array();
+
+        Cipher cipher = ciphers.get();
+        cipher.init(mode, key, new GCMParameterSpec(TAG_SIZE * 8, nonce));
+        return cipher;
+    }
+}
@@ -0,0 +1,302 @@
+package org.springframework.content.encryption;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Encrypts, or decrypts, content in the segmented format read from another stream.
+ *
+ * Segments are read from the underlying stream on the calling thread and encrypted, or decrypted, on a fork-join
+ * pool, with up to {@code parallelism} segments in flight ahead of the reader.  Whole segments that are skipped are
+ * skipped in the underlying stream, without being decrypted.
+ */
+class SegmentedCipherInputStream extends FilterInputStream {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final SegmentCipher cipher;
+    private final boolean encrypt;
+    private final long firstIndex;
+    private final long lastIndex;
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    private final int inputSegmentSize;
+    private final int outputSegmentSize;
+
+    private final Deque<Segment> inFlight = new ArrayDeque<>();
+    private byte[] held;
+    private long nextIndex;
+    private boolean inputDone;
+
+    private byte[] current = EMPTY;
+    private int currentPosition;
+
+    /**
+     * @param in the content to encrypt, or the encrypted content to decrypt, positioned at the start of segment
+     * {@code firstIndex}
+     * @param cipher the segment cipher
+     * @param encrypt whether to encrypt or decrypt
+     * @param firstIndex the index of the first segment of {@code in}
+     * @param lastIndex the index of the last segment of the content, or -1 when {@code in} runs to the end of the
+     * content, in which case the segment before the end of {@code in} is the last
+     * @param parallelism the number of segments to process concurrently
+     * @param pool the pool to process segments on
+     */
+    SegmentedCipherInputStream(InputStream in, SegmentCipher cipher, boolean encrypt, long firstIndex, long lastIndex, int parallelism, ForkJoinPool pool) {
+        super(in);
+        this.cipher = cipher;
+        this.encrypt = encrypt;
+        this.firstIndex = firstIndex;
+        this.lastIndex = lastIndex;
+        this.parallelism = parallelism;
+        this.pool = pool;
+        this.nextIndex = firstIndex;
+        this.inputSegmentSize = encrypt ? cipher.getSegmentSize() : cipher.getEncryptedSegmentSize();
+        this.outputSegmentSize = encrypt ? cipher.getEncryptedSegmentSize() : cipher.getSegmentSize();
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (currentPosition == current.length) {
+            if (!advance()) {
+                return -1;
+            }
+        }
+        return current[currentPosition++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (currentPosition == current.length) {
+            if (!advance()) {
+                return -1;
+            }
+        }
+
+        int n = Math.min(len, current.length - currentPosition);
+        System.arraycopy(current, currentPosition, b, off, n);
+        currentPosition += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        long remaining = n;
+
+        int buffered = current.length - currentPosition;
+        if (remaining <= buffered) {
+            currentPosition += (int) remaining;
+            return n;
+        }
+        remaining -= buffered;
+        current = EMPTY;
+        currentPosition = 0;
+
+        // segments already read, in order, are dropped whole
+        while (!inFlight.isEmpty() && remaining >= inFlight.peek().outputSize) {
+            Segment segment = inFlight.poll();
+            segment.result.cancel(false);
+            remaining -= segment.outputSize;
+        }
+        if (inFlight.isEmpty() && held != null && remaining >= outputSize(held.length)) {
+            remaining -= outputSize(held.length);
+            held = null;
+            nextIndex++;
+        }
+
+        // then whole segments are skipped in the underlying stream
+        if (inFlight.isEmpty() && held == null && !inputDone && remaining >= outputSegmentSize) {
+            long segments = remaining / outputSegmentSize;
+            long skipped = skipInput(segments * inputSegmentSize);
+            long whole = skipped / inputSegmentSize;
+            int partial = (int) (skipped % inputSegmentSize);
+
+            remaining -= whole * outputSegmentSize;
+            nextIndex += whole;
+            if (skipped < segments * inputSegmentSize) {
+                inputDone = true;
+                if (partial > 0) {
+                    remaining -= Math.min(remaining, Math.max(0, outputSize(partial)));
+                    nextIndex++;
+                }
+            }
+        }
+
+        // and what is left is read
+        while (remaining > 0) {
+            if (currentPosition == current.length && !advance()) {
+                break;
+            }
+            int m = (int) Math.min(remaining, current.length - currentPosition);
+            currentPosition += m;
+            remaining -= m;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public int available() {
+        return current.length - currentPosition;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Segment segment : inFlight) {
+            segment.result.cancel(false);
+        }
+        inFlight.clear();
+        held = null;
+        super.close();
+    }
+
+    private boolean advance() throws IOException {
+        fill();
+        Segment segment = inFlight.poll();
+        if (segment == null) {
+            return false;
+        }
+
+        try {
+            current = segment.result.join();
+        } catch (CompletionException e) {
+            throw new IOException(String.format("unable to %s segment %d", encrypt ? "encrypt" : "decrypt", segment.index), e.getCause());
+        }
+        currentPosition = 0;
+
+        fill();
+        return true;
+    }
+
+    // reads segments and submits them until there are enough in flight
+    private void fill() throws IOException {
+        while (!inputDone && inFlight.size() < parallelism) {
+            if (held == null) {
+                held = readSegment();
+                // only empty content encrypts to an empty, final, segment, and that segment is never empty once
+                // encrypted, so ciphertext with no segments at all has been truncated
+                if (held.length == 0 && !encrypt && nextIndex == firstIndex) {
+                    throw new IOException("truncated ciphertext");
+                }
+                if (held.length == 0 && !(encrypt && nextIndex == firstIndex)) {
+                    held = null;
+                    inputDone = true;
+                    return;
+                }
+            }
+
+            // a full segment is only known to be the last when the underlying stream ends after it
+            byte[] next = null;
+            boolean end = held.length < inputSegmentSize;
+            if (!end) {
+                next = readSegment();
+                end = next.length == 0;
+            }
+
+            boolean last = lastIndex >= 0 ? nextIndex == lastIndex : end;
+            submit(nextIndex++, last, held);
+
+            held = end ? null : next;
+            inputDone = end;
+        }
+    }
+
+    private void submit(long index, boolean last, byte[] input) {
+        CompletableFuture<byte[]> result;
+        if (parallelism == 1) {
+            result = new CompletableFuture<>();
+            try {
+                result.complete(transform(index, last, input));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        } else {
+            result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return transform(index, last, input);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, pool);
+        }
+        inFlight.add(new Segment(index, outputSize(input.length), result));
+    }
+
+    private byte[] transform(long index, boolean last, byte[] input) throws Exception {
+        return encrypt ? cipher.encrypt(index, last, input) : cipher.decrypt(index, last, input);
+    }
+
+    private int outputSize(int inputSize) {
+        return encrypt ? inputSize + SegmentCipher.TAG_SIZE : inputSize - SegmentCipher.TAG_SIZE;
+    }
+
+    private byte[] readSegment() throws IOException {
+        byte[] segment = new byte[inputSegmentSize];
+        int n = 0;
+        while (n < segment.length) {
+            int read = in.read(segment, n, segment.length - n);
+            if (read == -1) {
+                break;
+            }
+            n += read;
+        }
+        return n == segment.length ? segment : Arrays.copyOf(segment, n);
+    }
+
+    private long skipInput(long n) throws IOException {
+        long remaining = n;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                // some streams only skip what is buffered; a read tells end of stream apart from that
+                if (in.read() == -1) {
+                    break;
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+        return n - remaining;
+    }
+
+    private static class Segment {
+
+        private final long index;
+        private final int outputSize;
+        private final CompletableFuture<byte[]> result;
+
+        private Segment(long index, int outputSize, CompletableFuture<byte[]> result) {
+            this.index = index;
+            this.outputSize = outputSize;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package internal.org.springframework.content.fragments;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.ContentStore;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.utils.ByteRanges;
+import org.springframework.content.encryption.EnvelopeEncryptionService;
+import org.springframework.content.encryption.InMemoryVault;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.util.Pair;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@RunWith(Ginkgo4jRunner.class)
+public class EncryptingContentStoreImplTest {
+
+    private static final PropertyPath CONTENT = PropertyPath.from("content");
+
+    private EncryptingContentStoreImpl<TestEntity, String> store;
+    private EnvelopeEncryptionService encrypter;
+    private ContentStore<TestEntity, String> delegate;
+    private TestEntity entity;
+
+    private byte[] content;
+    private byte[] ciphertext;
+    private List<String> requestedRanges;
+
+    private Resource r;
+
+    {
+        Describe("EncryptingContentStoreImpl", () -> {
+            BeforeEach(() -> {
+                encrypter = new EnvelopeEncryptionService(new InMemoryVault().getOperations());
+
+                content = new byte[10000];
+                new Random(42).nextBytes(content);
+                Pair<? extends InputStream, byte[]> encrypted = encrypter.encrypt(new ByteArrayInputStream(content), "shared-key");
+                ciphertext = IOUtils.toByteArray(encrypted.getFirst());
+
+                entity = new TestEntity();
+                entity.setContentId("some-id");
+                entity.setContentLength((long) content.length);
+                entity.setContentKey(encrypted.getSecond());
+
+                requestedRanges = new ArrayList<>();
+                delegate = mock(ContentStore.class);
+                when(delegate.getResource(eq(entity), eq(CONTENT), any(GetResourceParams.class))).thenAnswer(invocation -> {
+                    String range = ((GetResourceParams) invocation.getArgument(2)).getRange();
+                    requestedRanges.add(range);
+                    return new RangedResource(ciphertext, range);
+                });
+
+                store = new EncryptingContentStoreImpl<>(null);
+                ReflectionTestUtils.setField(store, "encrypter", encrypter);
+                store.setContentStore(delegate);
+            });
+            Context("given a range", () -> {
+                BeforeEach(() -> {
+                    r = store.getResource(entity, CONTENT, GetResourceParams.builder().range("bytes=4099-4198").build());
+                });
+                It("should request the range from the start of its block", () -> {
+                    assertThat(requestedRanges.get(0), is("bytes=4096-4198"));
+                });
+                It("should decrypt the range", () -> {
+                    assertThat(region(r, 4099, 100), is(Arrays.copyOfRange(content, 4099, 4199)));
+                });
+            });
+            Context("given a suffix range", () -> {
+                BeforeEach(() -> {
+                    r = store.getResource(entity, CONTENT, GetResourceParams.builder().range("bytes=-10").build());
+                });
+                It("should request the suffix from the start of its block", () -> {
+                    assertThat(requestedRanges.get(0), is("bytes=9984-9999"));
+                });
+                It("should decrypt the suffix", () -> {
+                    assertThat(region(r, 9990, 10), is(Arrays.copyOfRange(content, 9990, 10000)));
+                });
+            });
+            Context("given segmented encryption and a range", () -> {
+                BeforeEach(() -> {
+                    encrypter.setSegmentSize(1024);
+                    Pair<? extends InputStream, byte[]> encrypted = encrypter.encrypt(new ByteArrayInputStream(content), "shared-key");
+                    ciphertext = IOUtils.toByteArray(encrypted.getFirst());
+                    entity.setContentKey(encrypted.getSecond());
+
+                    r = store.getResource(entity, CONTENT, GetResourceParams.builder().range("bytes=4099-4198").build());
+                });
+                It("should request the segments holding the range", () -> {
+                    assertThat(requestedRanges.get(0), is("bytes=4160-5199"));
+                });
+                It("should decrypt the range", () -> {
+                    assertThat(r.contentLength(), is(10000L));
+                    assertThat(region(r, 4099, 100), is(Arrays.copyOfRange(content, 4099, 4199)));
+                });
+            });
+            Context("given multiple ranges", () -> {
+                BeforeEach(() -> {
+                    r = store.getResource(entity, CONTENT, GetResourceParams.builder().range("bytes=10-19,5000-5099").build());
+                });
+                It("should request the whole content", () -> {
+                    assertThat(requestedRanges.get(0), is(nullValue()));
+                });
+                It("should decrypt each range", () -> {
+                    assertThat(region(r, 10, 10), is(Arrays.copyOfRange(content, 10, 20)));
+                    assertThat(region(r, 5000, 100), is(Arrays.copyOfRange(content, 5000, 5100)));
+                });
+            });
+        });
+    }
+
+    // reads a region as spring's ResourceRegionHttpMessageConverter does
+    private static byte[] region(Resource r, long position, int count) throws Exception {
+        try (InputStream in = r.getInputStream()) {
+            assertThat(in.skip(position), is(position));
+            byte[] bytes = new byte[count];
+            IOUtils.readFully(in, bytes);
+            return bytes;
+        }
+    }
+
+    // serves ranges as stores do: positioned at the start of the range with skips to that start being no-ops
+    private static class RangedResource extends ByteArrayResource implements RangeableResource {
+
+        private String range;
+
+        private RangedResource(byte[] bytes, String range) {
+            super(bytes);
+            this.range = range;
+        }
+
+        @Override
+        public void setRange(String range) {
+            this.range = range;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            long[] r = ByteRanges.parse(range, getByteArray().length);
+            if (r == null) {
+                return super.getInputStream();
+            }
+            return new ByteArrayInputStream(getByteArray(), (int) r[0], (int) r[1]) {
+                @Override
+                public synchronized long skip(long n) {
+                    return n;
+                }
+            };
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private Long contentLength;
+
+        private byte[] contentKey;
+    }
+}
@@ -0,0 +1,310 @@
+package org.springframework.content.encryption;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.springframework.data.util.Pair;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class EnvelopeEncryptionServiceTest {
+
+    private static final String CONTENT = "Hello Envelope Encrypted World!";
+
+    private EnvelopeEncryptionService service;
+    private DataKeyCache cache;
+
+    private InMemoryVault vault;
+
+    private byte[] content;
+    private byte[] ciphertext;
+    private byte[] context;
+
+    {
+        Describe("EnvelopeEncryptionService", () -> {
+            BeforeEach(() -> {
+                vault = new InMemoryVault();
+                service = new EnvelopeEncryptionService(vault.getOperations());
+            });
+            Context("#decrypt", () -> {
+                BeforeEach(() -> {
+                    content = new byte[10000];
+                    new Random(42).nextBytes(content);
+                    Pair<? extends InputStream, byte[]> encrypted = service.encrypt(new ByteArrayInputStream(content), "some-keyring");
+                    ciphertext = IOUtils.toByteArray(encrypted.getFirst());
+                    context = encrypted.getSecond();
+                });
+                It("should skip to any offset of the whole content", () -> {
+                    InputStream is = service.decrypt(context, new ByteArrayInputStream(ciphertext), 0, "some-keyring");
+
+                    assertThat(is.skip(4099), is(4099L));
+                    assertThat(read(is, 100), is(Arrays.copyOfRange(content, 4099, 4199)));
+                    assertThat(is.skip(1001), is(1001L));
+                    assertThat(read(is, 100), is(Arrays.copyOfRange(content, 5200, 5300)));
+                });
+                It("should decrypt a range served from the start of its block", () -> {
+                    InputStream is = service.decrypt(context, new ByteArrayInputStream(ciphertext, 4096, ciphertext.length - 4096), 4099L, "some-keyring");
+
+                    assertThat(is.skip(4099), is(4099L));
+                    assertThat(read(is, 100), is(Arrays.copyOfRange(content, 4099, 4199)));
+                });
+                It("should skip within content it has already decrypted", () -> {
+                    InputStream is = service.decrypt(context, new ByteArrayInputStream(ciphertext), 0, "some-keyring");
+
+                    assertThat(read(is, 10), is(Arrays.copyOfRange(content, 0, 10)));
+                    assertThat(is.skip(100), is(100L));
+                    assertThat(read(is, 100), is(Arrays.copyOfRange(content, 110, 210)));
+                });
+                It("should decrypt reads larger than its buffer in place", () -> {
+                    byte[] large = new byte[3 * CtrCipherInputStream.BUFFER_SIZE + 7];
+                    new Random(7).nextBytes(large);
+                    Pair<? extends InputStream, byte[]> encrypted = service.encrypt(new ByteArrayInputStream(large), "some-keyring");
+                    byte[] largeCiphertext = IOUtils.toByteArray(encrypted.getFirst());
+
+                    InputStream is = service.decrypt(encrypted.getSecond(), new ByteArrayInputStream(largeCiphertext), 0, "some-keyring");
+                    assertThat(read(is, 3), is(Arrays.copyOfRange(large, 0, 3)));
+                    assertThat(read(is, large.length - 3), is(Arrays.copyOfRange(large, 3, large.length)));
+                    assertThat(is.read(), is(-1));
+                });
+                It("should decrypt direct buffers from any offset", () -> {
+                    ByteBuffer in = ByteBuffer.allocateDirect(100);
+                    in.put(ciphertext, 4099, 100).flip();
+                    ByteBuffer out = ByteBuffer.allocateDirect(100);
+
+                    try (ContentCipher cipher = service.decryptingCipher(context, 4099, "some-keyring")) {
+                        assertThat(cipher.update(in, out), is(100));
+                        assertThat(cipher.getPosition(), is(4199L));
+                    }
+                    byte[] decrypted = new byte[100];
+                    ((ByteBuffer) out.flip()).get(decrypted);
+                    assertThat(decrypted, is(Arrays.copyOfRange(content, 4099, 4199)));
+                });
+                It("should encrypt direct buffers as it encrypts streams", () -> {
+                    Pair<ContentCipher, byte[]> cipher = service.encryptingCipher("some-keyring");
+                    ByteBuffer in = ByteBuffer.allocateDirect(content.length);
+                    in.put(content).flip();
+                    ByteBuffer out = ByteBuffer.allocateDirect(content.length);
+                    try (ContentCipher encrypting = cipher.getFirst()) {
+                        encrypting.update(in, out);
+                    }
+                    byte[] encrypted = new byte[content.length];
+                    ((ByteBuffer) out.flip()).get(encrypted);
+
+                    InputStream is = service.decrypt(cipher.getSecond(), new ByteArrayInputStream(encrypted), 0, "some-keyring");
+                    assertThat(IOUtils.toByteArray(is), is(content));
+                });
+                It("should compute the counter of blocks past 2GB", () -> {
+                    byte[] nonce = new byte[12];
+                    Arrays.fill(nonce, (byte) 0xff);
+                    long block = (5L << 30) / 16;
+
+                    BigInteger expected = new BigInteger(1, Arrays.copyOf(nonce, 16)).add(BigInteger.valueOf(block));
+                    byte[] iv = ContentCipher.ivForBlock(nonce, block);
+                    assertThat(new BigInteger(1, iv), is(expected));
+                });
+            });
+            Context("given segmented encryption", () -> {
+                BeforeEach(() -> {
+                    service.setSegmentSize(1024);
+                    service.setSegmentParallelism(4);
+
+                    content = new byte[10000];
+                    new Random(42).nextBytes(content);
+                    Pair<? extends InputStream, byte[]> encrypted = service.encrypt(new ByteArrayInputStream(content), "some-keyring");
+                    ciphertext = IOUtils.toByteArray(encrypted.getFirst());
+                    context = encrypted.getSecond();
+                });
+                It("should authenticate each segment", () -> {
+                    assertThat((long) ciphertext.length, is(service.encryptedLength(context, content.length)));
+                    assertThat(ciphertext.length, is(10000 + 10 * 16));
+                    assertThat(service.contentLength(context, ciphertext.length), is(10000L));
+
+                    InputStream is = service.decrypt(context, new ByteArrayInputStream(ciphertext), 0, "some-keyring");
+                    assertThat(IOUtils.toByteArray(is), is(content));
+                });
+                It("should encrypt empty content, and content of whole segments", () -> {
+                    for (int length : new int[] {0, 2048}) {
+                        byte[] bytes = Arrays.copyOf(content, length);
+                        Pair<? extends InputStream, byte[]> encrypted = service.encrypt(new ByteArrayInputStream(bytes), "some-keyring");
+                        byte[] encryptedBytes = IOUtils.toByteArray(encrypted.getFirst());
+                        assertThat((long) encryptedBytes.length, is(service.encryptedLength(encrypted.getSecond(), length)));
+
+                        InputStream is = service.decrypt(encrypted.getSecond(), new ByteArrayInputStream(encryptedBytes), 0, "some-keyring");
+                        assertThat(IOUtils.toByteArray(is), is(bytes));
+                    }
+                });
+                It("should keep an unknown length unknown", () -> {
+                    assertThat(service.encryptedLength(context, -1L), is(-1L));
+                    assertThat(service.contentLength(context, -1L), is(-1L));
+                });
+                It("should fail to decrypt tampered content", () -> {
+                    ciphertext[5000] ^= 1;
+
+                    InputStream is = service.decrypt(context, new ByteArrayInputStream(ciphertext), 0, "some-keyring");
+                    assertThat(failsToRead(is), is(true));
+                });
+                It("should fail to decrypt content truncated at a segment boundary", () -> {
+                    byte[] truncated = Arrays.copyOf(ciphertext, 5 * 1040);
+
+                    InputStream is = service.decrypt(context, new ByteArrayInputStream(truncated), 0, "some-keyring");
+                    assertThat(failsToRead(is), is(true));
+                });
+                It("should fail to decrypt content truncated to nothing", () -> {
+                    InputStream is = service.decrypt(context, new ByteArrayInputStream(new byte[0]), 0, "some-keyring");
+                    assertThat(failsToRead(is), is(true));
+                });
+                It("should skip whole segments without decrypting them", () -> {
+                    ciphertext[1040 + 10] ^= 1;
+
+                    InputStream is = service.decrypt(context, new ByteArrayInputStream(ciphertext), 0, "some-keyring");
+                    assertThat(read(is, 10), is(Arrays.copyOfRange(content, 0, 10)));
+                    assertThat(is.skip(4089), is(4089L));
+                    assertThat(read(is, 100), is(Arrays.copyOfRange(content, 4099, 4199)));
+                });
+                It("should decrypt a range from the segments it touches", () -> {
+                    long[] range = service.encryptedRange(context, 4099, 5200);
+                    assertThat(range, is(new long[] {4 * 1040, 6 * 1040 - 1}));
+
+                    InputStream encrypted = new ByteArrayInputStream(ciphertext, (int) range[0], (int) (range[1] - range[0] + 1));
+                    InputStream is = service.decrypt(context, encrypted, 4099, content.length, "some-keyring");
+                    assertThat(is.skip(4099), is(4099L));
+                    assertThat(read(is, 1102), is(Arrays.copyOfRange(content, 4099, 5201)));
+                });
+                It("should still decrypt content in the CTR format", () -> {
+                    service.setSegmentSize(0);
+                    Pair<byte[], byte[]> encrypted = encrypt("some-keyring");
+                    service.setSegmentSize(1024);
+
+                    assertThat(encrypted.getFirst().length, is(CONTENT.length()));
+                    assertThat(decrypt(encrypted, "some-keyring"), is(CONTENT));
+                });
+            });
+            Context("given no data key cache", () -> {
+                It("should only create each key ring once", () -> {
+                    encrypt("some-keyring");
+                    encrypt("some-keyring");
+
+                    assertThat(vault.getCreates(), is(1));
+                    assertThat(vault.getEncrypts(), is(2));
+                });
+                It("should ask vault to decrypt every read", () -> {
+                    Pair<byte[], byte[]> encrypted = encrypt("some-keyring");
+
+                    assertThat(decrypt(encrypted, "some-keyring"), is(CONTENT));
+                    assertThat(decrypt(encrypted, "some-keyring"), is(CONTENT));
+                    assertThat(vault.getDecrypts(), is(2));
+                    assertThat(service.getVaultRequestCount(), is(4L));
+                });
+            });
+            Context("given a data key cache", () -> {
+                BeforeEach(() -> {
+                    cache = new DataKeyCache(Duration.ofMinutes(5));
+                    service.setDataKeyCache(cache);
+                });
+                It("should not ask vault to decrypt content it encrypted", () -> {
+                    Pair<byte[], byte[]> encrypted = encrypt("some-keyring");
+
+                    assertThat(decrypt(encrypted, "some-keyring"), is(CONTENT));
+                    assertThat(vault.getDecrypts(), is(0));
+                    assertThat(cache.getHitCount(), is(1L));
+                });
+                It("should ask vault to decrypt a data key only once", () -> {
+                    Pair<byte[], byte[]> encrypted = encrypt("some-keyring");
+                    cache.invalidateAll();
+
+                    assertThat(decrypt(encrypted, "some-keyring"), is(CONTENT));
+                    assertThat(decrypt(encrypted, "some-keyring"), is(CONTENT));
+                    assertThat(vault.getDecrypts(), is(1));
+                    assertThat(cache.getMissCount(), is(1L));
+                    assertThat(cache.getHitCount(), is(1L));
+                });
+                It("should prefetch data keys with a single vault request", () -> {
+                    List<Pair<byte[], byte[]>> encrypted = new ArrayList<>();
+                    List<byte[]> contexts = new ArrayList<>();
+                    for (int i = 0; i < 3; i++) {
+                        encrypted.add(encrypt("some-keyring"));
+                        contexts.add(encrypted.get(i).getSecond());
+                    }
+                    cache.invalidateAll();
+
+                    service.prefetch(contexts, "some-keyring");
+                    for (Pair<byte[], byte[]> each : encrypted) {
+                        assertThat(decrypt(each, "some-keyring"), is(CONTENT));
+                    }
+                    assertThat(vault.getBatchDecrypts(), is(1));
+                    assertThat(vault.getDecrypts(), is(0));
+                });
+            });
+            Context("given data keys are reused", () -> {
+                BeforeEach(() -> {
+                    service.setMaxDataKeyReuse(2);
+                });
+                It("should share a data key between writes, each with its own nonce", () -> {
+                    Pair<byte[], byte[]> encrypted = encrypt("some-keyring");
+                    byte[] first = encrypted.getSecond();
+                    byte[] second = encrypt("some-keyring").getSecond();
+                    byte[] third = encrypt("some-keyring").getSecond();
+
+                    assertThat(vault.getEncrypts(), is(2));
+                    assertThat(Arrays.equals(Arrays.copyOf(first, 105), Arrays.copyOf(second, 105)), is(true));
+                    assertThat(Arrays.equals(Arrays.copyOfRange(first, 105, 117), Arrays.copyOfRange(second, 105, 117)), is(false));
+                    assertThat(Arrays.equals(Arrays.copyOf(second, 105), Arrays.copyOf(third, 105)), is(false));
+                    assertThat(decrypt(encrypted, "some-keyring"), is(CONTENT));
+                });
+                It("should generate a new data key once the key ring is rotated", () -> {
+                    byte[] first = encrypt("some-keyring").getSecond();
+                    service.rotate("some-keyring");
+                    byte[] second = encrypt("some-keyring").getSecond();
+
+                    assertThat(Arrays.copyOf(first, 105), is(not(Arrays.copyOf(second, 105))));
+                });
+            });
+        });
+    }
+
+    private static byte[] read(InputStream is, int len) throws Exception {
+        byte[] bytes = new byte[len];
+        IOUtils.readFully(is, bytes);
+        return bytes;
+    }
+
+    private static boolean failsToRead(InputStream is) {
+        try {
+            IOUtils.toByteArray(is);
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    // returns the ciphertext and its encryption context
+    private Pair<byte[], byte[]> encrypt(String keyName) throws Exception {
+        Pair<? extends InputStream, byte[]> encrypted = service.encrypt(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), keyName);
+        return Pair.of(IOUtils.toByteArray(encrypted.getFirst()), encrypted.getSecond());
+    }
+
+    private String decrypt(Pair<byte[], byte[]> encrypted, String keyName) throws Exception {
+        InputStream is = service.decrypt(encrypted.getSecond(), new ByteArrayInputStream(encrypted.getFirst()), 0, keyName);
+        return IOUtils.toString(is, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package org.springframework.content.encryption;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.vault.core.VaultOperations;
+import org.springframework.vault.core.VaultTransitOperations;
+import org.springframework.vault.support.Ciphertext;
+import org.springframework.vault.support.Plaintext;
+import org.springframework.vault.support.VaultDecryptionResult;
+
+/**
+ * A stand-in for vault's transit engine that wraps keys in the same 105 character format, and counts requests.
+ */
+public class InMemoryVault {
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final AtomicInteger creates = new AtomicInteger();
+    private final AtomicInteger encrypts = new AtomicInteger();
+    private final AtomicInteger decrypts = new AtomicInteger();
+    private final AtomicInteger batchDecrypts = new AtomicInteger();
+
+    private final VaultOperations operations;
+
+    public InMemoryVault() {
+        operations = mock(VaultOperations.class);
+        VaultTransitOperations transit = mock(VaultTransitOperations.class);
+        when(operations.opsForTransit()).thenReturn(transit);
+
+        doAnswer(invocation -> {
+            creates.incrementAndGet();
+            return null;
+        }).when(transit).createKey(anyString());
+        when(transit.encrypt(anyString(), anyString())).thenAnswer(invocation -> {
+            encrypts.incrementAndGet();
+            return seal(invocation.getArgument(1));
+        });
+        when(transit.decrypt(anyString(), anyString())).thenAnswer(invocation -> {
+            decrypts.incrementAndGet();
+            return unseal(invocation.getArgument(1));
+        });
+        when(transit.decrypt(anyString(), anyList())).thenAnswer(invocation -> {
+            batchDecrypts.incrementAndGet();
+            List<VaultDecryptionResult> results = new ArrayList<>();
+            for (Object ciphertext : (List<?>) invocation.getArgument(1)) {
+                results.add(new VaultDecryptionResult(Plaintext.of(unseal(((Ciphertext) ciphertext).getCiphertext()))));
+            }
+            return results;
+        });
+    }
+
+    public VaultOperations getOperations() {
+        return operations;
+    }
+
+    public int getCreates() {
+        return creates.get();
+    }
+
+    public int getEncrypts() {
+        return encrypts.get();
+    }
+
+    public int getDecrypts() {
+        return decrypts.get();
+    }
+
+    public int getBatchDecrypts() {
+        return batchDecrypts.get();
+    }
+
+    private String seal(String plaintext) {
+        byte[] bytes = plaintext.getBytes(StandardCharsets.UTF_8);
+        byte[] sealed = new byte[12 + bytes.length + 16];
+        random.nextBytes(sealed);
+        System.arraycopy(bytes, 0, sealed, 12, bytes.length);
+        return "vault:v1:" + Base64.getEncoder().encodeToString(sealed);
+    }
+
+    private static String unseal(String ciphertext) {
+        byte[] sealed = Base64.getDecoder().decode(ciphertext.substring("vault:v1:".length()));
+        return new String(sealed, 12, sealed.length - 28, StandardCharsets.UTF_8);
+    }
+}
@@ -1,17 +1,21 @@
 package internal.org.springframework.content.fs.config;
 
+import org.apache.commons.lang.ClassUtils;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
-import org.springframework.content.commons.utils.FileServiceImpl;
 import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.content.fs.config.FilesystemStoreShardingStrategy;
+import org.springframework.content.fs.config.FilesystemStoreWriteOptions;
 import org.springframework.content.fs.io.FileSystemResourceLoader;
 import org.springframework.util.Assert;
 import org.springframework.versions.LockingAndVersioningProxyFactory;
 
 import internal.org.springframework.content.fs.repository.DefaultFilesystemStoreImpl;
+import internal.org.springframework.content.fs.repository.DefaultReactiveFilesystemStoreImpl;
 
 @SuppressWarnings("rawtypes")
 public class FilesystemStoreFactoryBean extends AbstractStoreFactoryBean {
@@ -28,6 +32,12 @@ public class FilesystemStoreFactoryBean extends AbstractStoreFactoryBean {
     @Autowired(required=false)
     private MappingContext mappingContext;
 
+	@Autowired(required=false)
+	private FilesystemStoreWriteOptions writeOptions;
+
+	@Autowired(required=false)
+	private FilesystemStoreShardingStrategy sharding;
+
 	@Override
 	protected void addProxyAdvice(ProxyFactory result, BeanFactory beanFactory) {
 		if (versioning != null) {
@@ -45,6 +55,9 @@ public class FilesystemStoreFactoryBean extends AbstractStoreFactoryBean {
 
 	@Override
 	protected Object getContentStoreImpl() {
-		return new DefaultFilesystemStoreImpl(loader, mappingContext, filesystemStorePlacementService, new FileServiceImpl());
+		if (ClassUtils.getAllInterfaces(getStoreInterface()).contains(ReactiveContentStore.class)) {
+			return new DefaultReactiveFilesystemStoreImpl(loader, mappingContext, filesystemStorePlacementService, loader.getFileService(), writeOptions, sharding);
+		}
+		return new DefaultFilesystemStoreImpl(loader, mappingContext, filesystemStorePlacementService, loader.getFileService(), writeOptions, sharding);
 	}
 }
@@ -0,0 +1,54 @@
+package internal.org.springframework.content.fs.config;
+
+import java.util.Locale;
+
+import org.springframework.content.fs.config.FilesystemStoreShardingStrategy;
+import org.springframework.util.Assert;
+
+public class HexFanOutShardingStrategy implements FilesystemStoreShardingStrategy {
+
+	private final int levels;
+
+	public HexFanOutShardingStrategy(int levels) {
+		Assert.isTrue(levels > 0 && levels <= 4, "levels must be between 1 and 4");
+		this.levels = levels;
+	}
+
+	@Override
+	public String shard(String location) {
+		if (location == null || location.isEmpty() || location.indexOf('/') != -1) {
+			return location;
+		}
+
+		String digits = leadingHexDigits(location);
+		StringBuilder sharded = new StringBuilder(levels * 3 + location.length());
+		for (int i = 0; i < levels; i++) {
+			sharded.append(digits, i * 2, i * 2 + 2).append('/');
+		}
+		return sharded.append(location).toString();
+	}
+
+	private String leadingHexDigits(String location) {
+		int count = levels * 2;
+		if (location.length() > count) {
+			boolean hex = true;
+			for (int i = 0; i < count && hex; i++) {
+				hex = Character.digit(location.charAt(i), 16) != -1;
+			}
+			if (hex) {
+				return location.substring(0, count).toLowerCase(Locale.ROOT);
+			}
+		}
+		return String.format("%08x", mix(location.hashCode()));
+	}
+
+	// murmur3 finalizer, spreads similar ids across directories
+	private static int mix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+}
@@ -109,6 +109,11 @@ public class FileSystemDeletableResource implements WritableResource, DeletableR
 		return resource.getURI();
 	}
 
+	@Override
+	public boolean isFile() {
+		return resource.isFile();
+	}
+
 	@Override
     public File getFile() {
 		return resource.getFile();
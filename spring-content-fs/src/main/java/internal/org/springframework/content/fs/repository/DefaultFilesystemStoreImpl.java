@@ -3,19 +3,26 @@ package internal.org.springframework.content.fs.repository;
 import static java.lang.String.format;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.UUID;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.io.DeletableResource;
@@ -27,6 +34,8 @@ import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.commons.utils.Condition;
 import org.springframework.content.commons.utils.FileService;
 import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.content.fs.config.FilesystemStoreShardingStrategy;
+import org.springframework.content.fs.config.FilesystemStoreWriteOptions;
 import org.springframework.content.fs.io.FileSystemResourceLoader;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.Resource;
@@ -44,8 +53,14 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 	private PlacementService placer;
 	private FileService fileService;
     private MappingContext mappingContext/* = new MappingContext("/", ".")*/;
+	private FilesystemStoreWriteOptions writeOptions;
+	private FilesystemStoreShardingStrategy sharding;
 
 	public DefaultFilesystemStoreImpl(FileSystemResourceLoader loader, MappingContext mappingContext, PlacementService conversion, FileService fileService) {
+		this(loader, mappingContext, conversion, fileService, null, null);
+	}
+
+	public DefaultFilesystemStoreImpl(FileSystemResourceLoader loader, MappingContext mappingContext, PlacementService conversion, FileService fileService, FilesystemStoreWriteOptions writeOptions, FilesystemStoreShardingStrategy sharding) {
 		this.loader = loader;
 		this.placer = conversion;
 		this.fileService = fileService;
@@ -53,11 +68,19 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 		if (this.mappingContext == null) {
 		    this.mappingContext = new MappingContext("/", ".");
 		}
+		this.writeOptions = writeOptions;
+		if (this.writeOptions == null) {
+			this.writeOptions = new FilesystemStoreWriteOptions();
+		}
+		this.sharding = sharding;
 	}
 
 	@Override
 	public Resource getResource(SID id) {
 		String location = placer.convert(id, String.class);
+		if (sharding != null) {
+			location = sharding.shard(location);
+		}
 		Resource resource = loader.getResource(location);
 		return resource;
 	}
@@ -171,17 +194,10 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
             return entity;
         }
 
-		OutputStream os = null;
+		long written = -1L;
 		try {
-			if (resource.exists() == false) {
-				File resourceFile = resource.getFile();
-				File parent = resourceFile.getParentFile();
-				this.fileService.mkdirs(parent);
-			}
-			if (resource instanceof WritableResource) {
-				os = ((WritableResource) resource).getOutputStream();
-				IOUtils.copy(content, os);
-			}
+			ensureParentDirectory(resource);
+			written = writeContent(resource, content);
 		} catch (IOException e) {
 			logger.error(format("Unexpected io error setting content for entity %s", entity), e);
 			throw new StoreAccessException(format("Setting content for entity %s", entity), e);
@@ -189,13 +205,10 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 			logger.error(format("Unexpected error setting content for entity %s", entity), e);
 			throw new StoreAccessException(format("Setting content for entity %s", entity), e);
 		}
-		finally {
-			IOUtils.closeQuietly(os);
-		}
 
 		try {
 			BeanUtils.setFieldWithAnnotation(entity, ContentLength.class,
-					resource.contentLength());
+					written != -1L ? written : resource.contentLength());
 		}
 		catch (IOException e) {
 			logger.error(format(
@@ -239,17 +252,10 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 			return property;
 		}
 
-		OutputStream os = null;
+		long written = -1L;
 		try {
-			if (resource.exists() == false) {
-				File resourceFile = resource.getFile();
-				File parent = resourceFile.getParentFile();
-				this.fileService.mkdirs(parent);
-			}
-			if (resource instanceof WritableResource) {
-				os = ((WritableResource) resource).getOutputStream();
-				IOUtils.copy(content, os);
-			}
+			ensureParentDirectory(resource);
+			written = writeContent(resource, content);
 		} catch (IOException e) {
 			logger.error(format("Unexpected io error setting content for entity %s", property), e);
 			throw new StoreAccessException(format("Setting content for entity %s", property), e);
@@ -257,12 +263,12 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
 			logger.error(format("Unexpected error setting content for entity %s", property), e);
 			throw new StoreAccessException(format("Setting content for entity %s", property), e);
 		}
-		finally {
-			IOUtils.closeQuietly(os);
-		}
 
 		try {
 			long len = contentLen;
+			if (len == -1L) {
+				len = written;
+			}
 			if (len == -1L) {
 				len = resource.contentLength();
 			}
@@ -391,6 +397,103 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
         return property;
     }
 
+	private void ensureParentDirectory(Resource resource) throws IOException {
+		// the file service remembers the directories it has made so file resources skip the exists check
+		if (resource.isFile() || resource.exists() == false) {
+			File resourceFile = resource.getFile();
+			File parent = resourceFile.getParentFile();
+			this.fileService.mkdirs(parent);
+		}
+	}
+
+	/**
+	 * Writes content to the resource returning the number of bytes written or -1 if the resource is not writable.
+	 */
+	private long writeContent(Resource resource, InputStream content) throws IOException {
+		if (writeOptions.isAtomic() && resource.isFile()) {
+			return writeContentAtomically(resource.getFile().toPath(), content);
+		}
+
+		if (resource instanceof WritableResource == false) {
+			return -1L;
+		}
+
+		OutputStream os = null;
+		try {
+			os = openOutputStream((WritableResource) resource);
+			return IOUtils.copyLarge(content, os, new byte[writeOptions.getBufferSize()]);
+		}
+		finally {
+			IOUtils.closeQuietly(os);
+		}
+	}
+
+	/**
+	 * Writes content to a temporary sibling of the target and then moves it into place so that readers only ever see
+	 * the previous or the new content.
+	 */
+	private long writeContentAtomically(Path target, InputStream content) throws IOException {
+		// not Files.createTempFile as that would give the content owner-only permissions
+		Path temp = target.resolveSibling(format(".%s.%s.tmp", target.getFileName(), UUID.randomUUID()));
+		try {
+			long written = 0L;
+			try (FileChannel channel = openTempFile(temp)) {
+				byte[] buffer = new byte[writeOptions.getBufferSize()];
+				int n;
+				while ((n = IOUtils.read(content, buffer)) > 0) {
+					ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, n);
+					while (bytes.hasRemaining()) {
+						written += channel.write(bytes);
+					}
+				}
+				if (writeOptions.isFsync()) {
+					channel.force(true);
+				}
+			}
+
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return written;
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private FileChannel openTempFile(Path temp) throws IOException {
+		try {
+			return FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		} catch (NoSuchFileException e) {
+			remakeParentDirectory(temp);
+			return FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		}
+	}
+
+	private OutputStream openOutputStream(WritableResource resource) throws IOException {
+		try {
+			return resource.getOutputStream();
+		} catch (FileNotFoundException | NoSuchFileException e) {
+			if (resource.isFile() == false) {
+				throw e;
+			}
+			remakeParentDirectory(resource.getFile().toPath());
+			return resource.getOutputStream();
+		}
+	}
+
+	/**
+	 * Makes the parent of a file again after it was removed since the file service made it, for example, by a
+	 * concurrent delete of its last file or by another process.
+	 */
+	private void remakeParentDirectory(Path file) throws IOException {
+		File parent = file.getParent().toFile();
+		this.fileService.evict(parent);
+		this.fileService.mkdirs(parent);
+	}
+
 	private Object convertToExternalContentIdType(S property, Object contentId) {
 		if (placer.canConvert(TypeDescriptor.forObject(contentId),
 				TypeDescriptor.valueOf(BeanUtils.getFieldWithAnnotationType(property,
@@ -408,11 +511,10 @@ public class DefaultFilesystemStoreImpl<S, SID extends Serializable>
         Assert.notNull(entity, "entity must not be null");
         Assert.notNull(propertyPath, "propertyPath must not be null");
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
         ContentProperty property = this.mappingContext.getContentProperty(entity.getClass(), propertyPath.getName());
         if (property == null) {
             throw new StoreAccessException(String.format("Content property %s does not exist", propertyPath.getName()));
         }
-        wrapper.setPropertyValue(property.getContentIdPropertyPath(), contentId);
+        property.setContentId(entity, contentId, null);
     }
 }
\ No newline at end of file
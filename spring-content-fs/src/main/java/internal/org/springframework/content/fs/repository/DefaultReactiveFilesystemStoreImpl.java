@@ -0,0 +1,277 @@
+package internal.org.springframework.content.fs.repository;
+
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.mappingcontext.Condition;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.utils.ByteRanges;
+import org.springframework.content.commons.utils.FileService;
+import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.content.fs.config.FilesystemStoreShardingStrategy;
+import org.springframework.content.fs.config.FilesystemStoreWriteOptions;
+import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A filesystem store that reads and writes content through {@link AsynchronousFileChannel}s, so that no thread waits
+ * on a transfer.
+ */
+public class DefaultReactiveFilesystemStoreImpl<S, SID extends Serializable>
+		implements ReactiveContentStore<S, SID> {
+
+	private static Log logger = LogFactory.getLog(DefaultReactiveFilesystemStoreImpl.class);
+
+	private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	private FileSystemResourceLoader loader;
+	private PlacementService placer;
+	private FileService fileService;
+	private MappingContext mappingContext;
+	private FilesystemStoreWriteOptions writeOptions;
+	private FilesystemStoreShardingStrategy sharding;
+
+	public DefaultReactiveFilesystemStoreImpl(FileSystemResourceLoader loader, MappingContext mappingContext, PlacementService conversion, FileService fileService, FilesystemStoreWriteOptions writeOptions, FilesystemStoreShardingStrategy sharding) {
+		this.loader = loader;
+		this.placer = conversion;
+		this.fileService = fileService;
+		this.mappingContext = mappingContext;
+		if (this.mappingContext == null) {
+			this.mappingContext = new MappingContext("/", ".");
+		}
+		this.writeOptions = writeOptions;
+		if (this.writeOptions == null) {
+			this.writeOptions = new FilesystemStoreWriteOptions();
+		}
+		this.sharding = sharding;
+	}
+
+	@Override
+	public Mono<S> setContent(S entity, PropertyPath path, long contentLen, Flux<ByteBuffer> buffer) {
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+
+			Serializable newId = UUID.randomUUID().toString();
+
+			contentId = placer.convert(
+					newId,
+					TypeDescriptor.forObject(newId),
+					property.getContentIdType(entity));
+
+			property.setContentId(entity, contentId, null);
+		}
+
+		final Object id = contentId;
+		AtomicLong written = new AtomicLong();
+		Flux<DataBuffer> content = buffer.map(bytes -> {
+			written.addAndGet(bytes.remaining());
+			return bufferFactory.wrap(bytes);
+		});
+
+		return Mono.defer(() -> write(id, content))
+				.then(Mono.fromSupplier(() -> {
+					property.setContentLength(entity, contentLen >= 0 ? contentLen : written.get());
+					return entity;
+				}))
+				.onErrorMap(IOException.class, e -> {
+					logger.error(format("Unexpected io error setting content for entity %s", entity), e);
+					return new StoreAccessException(format("Setting content for entity %s", entity), e);
+				});
+	}
+
+	@Override
+	public Flux<ByteBuffer> getContent(S entity, PropertyPath path) {
+		return this.getContent(entity, path, GetResourceParams.builder().build());
+	}
+
+	@Override
+	public Flux<ByteBuffer> getContent(S entity, PropertyPath path, GetResourceParams params) {
+
+		if (entity == null)
+			return Flux.empty();
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+			return Flux.empty();
+		}
+
+		return Flux.defer(() -> {
+			Path file;
+			long size;
+			try {
+				file = getPath(contentId);
+				size = Files.size(file);
+			} catch (NoSuchFileException e) {
+				return Flux.empty();
+			} catch (IOException e) {
+				return Flux.error(new StoreAccessException(format("Getting content for entity %s", entity), e));
+			}
+
+			long[] range = params != null ? ByteRanges.parse(params.getRange(), size) : null;
+
+			Flux<DataBuffer> content = DataBufferUtils.readAsynchronousFileChannel(
+					() -> AsynchronousFileChannel.open(file, StandardOpenOption.READ),
+					range != null ? range[0] : 0L,
+					bufferFactory,
+					writeOptions.getBufferSize());
+
+			if (range != null) {
+				content = DataBufferUtils.takeUntilByteCount(content, range[1]);
+			}
+
+			return content.map(DataBuffer::asByteBuffer);
+		});
+	}
+
+	@Override
+	public Mono<S> unsetContent(S entity, PropertyPath path) {
+
+		if (entity == null)
+			return Mono.justOrEmpty(entity);
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+			return Mono.just(entity);
+		}
+
+		return Mono.fromCallable(() -> {
+					Files.deleteIfExists(getPath(contentId));
+
+					property.setContentId(entity, null, new Condition() {
+						@Override
+						public boolean matches(TypeDescriptor descriptor) {
+							for (Annotation annotation : descriptor.getAnnotations()) {
+								if ("javax.persistence.Id".equals(
+										annotation.annotationType().getCanonicalName())
+										|| "org.springframework.data.annotation.Id"
+												.equals(annotation.annotationType()
+														.getCanonicalName())) {
+									return false;
+								}
+							}
+							return true;
+						}
+					});
+					property.setContentLength(entity, 0);
+					return entity;
+				})
+				.onErrorMap(IOException.class, e -> new StoreAccessException(format("Unsetting content for entity %s", entity), e));
+	}
+
+	private ContentProperty getContentProperty(S entity, PropertyPath path) {
+		ContentProperty property = this.mappingContext.getContentProperty(entity.getClass(), path.getName());
+		if (property == null) {
+			throw new StoreAccessException(String.format("Content property %s does not exist", path.getName()));
+		}
+		return property;
+	}
+
+	private Path getPath(Object contentId) throws IOException {
+		String location = placer.convert(contentId, String.class);
+		if (sharding != null) {
+			location = sharding.shard(location);
+		}
+		return loader.getResource(location).getFile().toPath();
+	}
+
+	private Mono<Void> write(Object contentId, Flux<DataBuffer> content) {
+		Path target;
+		try {
+			target = getPath(contentId);
+			fileService.mkdirs(target.getParent().toFile());
+		} catch (IOException e) {
+			return Mono.error(e);
+		}
+
+		if (writeOptions.isAtomic() == false) {
+			return write(content, target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		}
+
+		// written to a temporary sibling and moved into place so that readers only ever see the previous or the new content
+		Path temp = target.resolveSibling(format(".%s.%s.tmp", target.getFileName(), UUID.randomUUID()));
+		return write(content, temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+				.then(Mono.fromCallable(() -> {
+					try {
+						Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+					} catch (AtomicMoveNotSupportedException e) {
+						Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+					}
+					return target;
+				}))
+				.doFinally(signal -> {
+					try {
+						Files.deleteIfExists(temp);
+					} catch (IOException e) {
+						logger.warn(format("Unable to delete temporary file %s", temp), e);
+					}
+				})
+				.then();
+	}
+
+	private AsynchronousFileChannel open(Path file, StandardOpenOption... options) throws IOException {
+		try {
+			return AsynchronousFileChannel.open(file, options);
+		} catch (NoSuchFileException e) {
+			// the parent was removed since the file service made it, for example, by another process
+			File parent = file.getParent().toFile();
+			fileService.evict(parent);
+			fileService.mkdirs(parent);
+			return AsynchronousFileChannel.open(file, options);
+		}
+	}
+
+	private Mono<Void> write(Flux<DataBuffer> content, Path file, StandardOpenOption... options) {
+		return Mono.using(
+				() -> open(file, options),
+				channel -> DataBufferUtils.write(content, channel)
+						.then(Mono.fromCallable(() -> {
+							if (writeOptions.isFsync()) {
+								channel.force(true);
+							}
+							return channel;
+						}))
+						.then(),
+				channel -> {
+					try {
+						channel.close();
+					} catch (IOException e) {
+						logger.warn(format("Unable to close %s", file), e);
+					}
+				});
+	}
+}
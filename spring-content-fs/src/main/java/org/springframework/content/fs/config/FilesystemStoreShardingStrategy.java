@@ -0,0 +1,38 @@
+package org.springframework.content.fs.config;
+
+import internal.org.springframework.content.fs.config.HexFanOutShardingStrategy;
+
+/**
+ * Spreads content across sub-directories of the filesystem root so that no single directory has to hold every
+ * file.
+ *
+ * The strategy is applied to the location that the placement service resolves for a content id.  Content that was
+ * stored before a strategy was configured, or changed, remains at its old location.
+ */
+public interface FilesystemStoreShardingStrategy {
+
+	/**
+	 * Returns the location that the content at {@code location} should be stored at.
+	 *
+	 * @param location
+	 * 			the location resolved by the placement service
+	 * @return the sharded location
+	 */
+	String shard(String location);
+
+	/**
+	 * Returns a strategy that places content {@code levels} directories deep, each directory level being named
+	 * after two hex digits of the content id and so having at most 256 entries.  For example, with two levels, the
+	 * content id {@code 9c0e5f6a-...} is stored at {@code 9c/0e/9c0e5f6a-...}.
+	 *
+	 * Content ids that do not start with enough hex digits are sharded by a hash of the id instead.  Locations that
+	 * are already paths are left as they are.
+	 *
+	 * @param levels
+	 * 			the number of directory levels, from 1 to 4
+	 * @return the strategy
+	 */
+	static FilesystemStoreShardingStrategy hexFanOut(int levels) {
+		return new HexFanOutShardingStrategy(levels);
+	}
+}
@@ -0,0 +1,44 @@
+package org.springframework.content.fs.config;
+
+import org.springframework.util.Assert;
+
+/**
+ * Controls how filesystem stores write content.
+ *
+ * By default content is written to a temporary file alongside the target and then atomically moved into place so
+ * that concurrent readers never observe partially written content.  Enabling fsync additionally forces content to
+ * the storage device before it is moved into place, trading throughput for durability.
+ */
+public class FilesystemStoreWriteOptions {
+
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+	private boolean atomic = true;
+	private boolean fsync = false;
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	public boolean isAtomic() {
+		return atomic;
+	}
+
+	public void setAtomic(boolean atomic) {
+		this.atomic = atomic;
+	}
+
+	public boolean isFsync() {
+		return fsync;
+	}
+
+	public void setFsync(boolean fsync) {
+		this.fsync = fsync;
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public void setBufferSize(int bufferSize) {
+		Assert.isTrue(bufferSize > 0, "bufferSize must be greater than 0");
+		this.bufferSize = bufferSize;
+	}
+}
@@ -50,6 +50,10 @@ public class FileSystemResourceLoader
 		return root;
 	}
 
+	public FileService getFileService() {
+		return fileService;
+	}
+
 	private String suffixPath(String path) {
 		if (path.endsWith("/") == false) {
 			return path + "/";
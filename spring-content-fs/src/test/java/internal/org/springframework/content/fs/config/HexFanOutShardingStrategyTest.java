@@ -0,0 +1,49 @@
+package internal.org.springframework.content.fs.config;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.fs.config.FilesystemStoreShardingStrategy;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class HexFanOutShardingStrategyTest {
+
+	private FilesystemStoreShardingStrategy strategy;
+
+	{
+		Describe("HexFanOutShardingStrategy", () -> {
+			Context("given two levels", () -> {
+				It("should shard a UUID by its leading hex digits", () -> {
+					strategy = FilesystemStoreShardingStrategy.hexFanOut(2);
+					assertThat(strategy.shard("9C0E5F6A-1b2c-4d5e-8f90-123456789abc"), is("9c/0e/9C0E5F6A-1b2c-4d5e-8f90-123456789abc"));
+				});
+				It("should shard other ids by a hash of the id", () -> {
+					strategy = FilesystemStoreShardingStrategy.hexFanOut(2);
+					String sharded = strategy.shard("some-content");
+					assertThat(sharded.matches("[0-9a-f]{2}/[0-9a-f]{2}/some-content"), is(true));
+					assertThat(strategy.shard("some-content"), is(sharded));
+				});
+				It("should leave paths alone", () -> {
+					strategy = FilesystemStoreShardingStrategy.hexFanOut(2);
+					assertThat(strategy.shard("/some/path/content.txt"), is("/some/path/content.txt"));
+				});
+			});
+			Context("given an invalid number of levels", () -> {
+				It("should fail", () -> {
+					try {
+						FilesystemStoreShardingStrategy.hexFanOut(5);
+						fail("expected an IllegalArgumentException");
+					} catch (IllegalArgumentException e) {
+					}
+				});
+			});
+		});
+	}
+}
@@ -65,6 +65,10 @@ public class FileSystemDeletableResourceTest {
 				resource.getURI();
 				verify(delegate).getURI();
 			});
+			It("should delegate isFile", () -> {
+				resource.isFile();
+				verify(delegate).isFile();
+			});
 			It("should delegate getFile", () -> {
 				resource.getFile();
 				verify(delegate).getFile();
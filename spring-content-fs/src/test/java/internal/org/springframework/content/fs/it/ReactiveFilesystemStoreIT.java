@@ -0,0 +1,150 @@
+package internal.org.springframework.content.fs.it;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.aop.framework.Advised;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.fs.config.EnableFilesystemStores;
+import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.fs.repository.DefaultReactiveFilesystemStoreImpl;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Flux;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class ReactiveFilesystemStoreIT {
+
+    private static File root;
+
+    private AnnotationConfigApplicationContext context;
+
+    private TestEntityStore store;
+    private TestEntity entity;
+
+    {
+        Describe("DefaultReactiveFilesystemStoreImpl", () -> {
+
+            BeforeEach(() -> {
+                root = Files.createTempDirectory("reactive-fs-it").toFile();
+
+                context = new AnnotationConfigApplicationContext();
+                context.register(TestConfig.class);
+                context.refresh();
+
+                store = context.getBean(TestEntityStore.class);
+                entity = new TestEntity();
+            });
+
+            AfterEach(() -> {
+                context.close();
+                FileUtils.deleteDirectory(root);
+            });
+
+            It("should be backed by the reactive store", () -> {
+                assertThat(((Advised) store).getTargetSource().getTarget(), is(instanceOf(DefaultReactiveFilesystemStoreImpl.class)));
+            });
+
+            Context("given content is set", () -> {
+
+                BeforeEach(() -> {
+                    store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello ", "Spring Content ", "World!")).block();
+                });
+
+                It("should store the content and set the content id and length", () -> {
+                    assertThat(entity.getContentId(), is(not(nullValue())));
+                    assertThat(entity.getContentLen(), is(27L));
+                    assertThat(new File(root, entity.getContentId()).exists(), is(true));
+                });
+
+                It("should get the content", () -> {
+                    assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Spring Content World!"));
+                });
+
+                It("should get a range of the content", () -> {
+                    GetResourceParams params = GetResourceParams.builder().range("bytes=6-19").build();
+                    assertThat(read(store.getContent(entity, PropertyPath.from("content"), params)), is("Spring Content"));
+                });
+
+                Context("given the content is unset", () -> {
+
+                    BeforeEach(() -> {
+                        store.unsetContent(entity, PropertyPath.from("content")).block();
+                    });
+
+                    It("should delete the content and reset the content id and length", () -> {
+                        assertThat(entity.getContentId(), is(nullValue()));
+                        assertThat(entity.getContentLen(), is(0L));
+                        assertThat(root.list().length, is(0));
+                    });
+                });
+            });
+        });
+    }
+
+    @Test
+    public void test() {
+        // noop
+    }
+
+    private static Flux<ByteBuffer> content(String... chunks) {
+        return Flux.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String read(Flux<ByteBuffer> content) {
+        return content.map(buffer -> StandardCharsets.UTF_8.decode(buffer).toString())
+                .reduce("", String::concat)
+                .block();
+    }
+
+    @Configuration
+    @EnableFilesystemStores(basePackages="internal.org.springframework.content.fs.it")
+    public static class TestConfig {
+
+        @Bean
+        public FileSystemResourceLoader fileSystemResourceLoader() {
+            return new FileSystemResourceLoader(root.getAbsolutePath());
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+    }
+
+    public interface TestEntityStore extends ReactiveContentStore<TestEntity, String> {}
+}
@@ -1,5 +1,6 @@
 package internal.org.springframework.content.fs.repository;
 
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
@@ -28,7 +29,9 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.runner.RunWith;
 import org.mockito.InOrder;
 import org.mockito.Matchers;
@@ -40,6 +43,7 @@ import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.utils.FileService;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.content.commons.utils.PlacementServiceImpl;
+import org.springframework.content.fs.config.FilesystemStoreShardingStrategy;
 import org.springframework.content.fs.io.FileSystemResourceLoader;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.InputStreamResource;
@@ -99,6 +103,15 @@ public class DefaultFilesystemStoresImplTest {
 						verify(placer).convert(eq("12345-67890"), eq(String.class));
 						verify(loader).getResource(eq("12345-67890"));
 					});
+					Context("given a sharding strategy", () -> {
+						BeforeEach(() -> {
+							filesystemContentRepoImpl = new DefaultFilesystemStoreImpl<ContentProperty, String>(
+									loader, null, placer, fileService, null, FilesystemStoreShardingStrategy.hexFanOut(2));
+						});
+						It("should shard the placed resource path", () -> {
+							verify(loader).getResource(eq("12/34/12345-67890"));
+						});
+					});
 				});
 			});
 			Describe("AssociativeStore", () -> {
@@ -361,6 +374,62 @@ public class DefaultFilesystemStoresImplTest {
 							});
 						});
 					});
+
+					Context("given a file resource", () -> {
+						BeforeEach(() -> {
+							root = Files.createTempDirectory("fs-store").toFile();
+
+							when(placer.convert(matches(
+									"[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{4}-[a-fA-F0-9]{12}"),
+									eq(String.class)))
+									.thenReturn("12345-67890");
+							when(loader.getResource(eq("12345-67890")))
+									.thenReturn(new FileSystemResource(new File(root, "12345-67890")));
+						});
+
+						AfterEach(() -> {
+							FileUtils.deleteDirectory(root);
+						});
+
+						It("should write the content and record its length", () -> {
+							assertThat(new String(Files.readAllBytes(new File(root, "12345-67890").toPath())), is("Hello content world!"));
+							assertThat(entity.getContentLen(), is(20L));
+						});
+
+						It("should not leave a temporary file behind", () -> {
+							assertThat(root.list().length, is(1));
+						});
+
+						Context("when the content already exists", () -> {
+							BeforeEach(() -> {
+								Files.write(new File(root, "12345-67890").toPath(), "Some old content that is longer".getBytes());
+							});
+
+							It("should replace the content", () -> {
+								assertThat(new String(Files.readAllBytes(new File(root, "12345-67890").toPath())), is("Hello content world!"));
+								assertThat(entity.getContentLen(), is(20L));
+								assertThat(root.list().length, is(1));
+							});
+						});
+
+						Context("when the parent directory was removed after the file service made it", () -> {
+							BeforeEach(() -> {
+								when(loader.getResource(eq("12345-67890")))
+										.thenReturn(new FileSystemResource(new File(root, "removed/12345-67890")));
+
+								Mockito.doNothing().doAnswer(invocation -> {
+									FileUtils.forceMkdir(invocation.getArgument(0));
+									return null;
+								}).when(fileService).mkdirs(anyObject());
+							});
+
+							It("should evict and make the directory again", () -> {
+								verify(fileService).evict(eq(new File(root, "removed")));
+								assertThat(new String(Files.readAllBytes(new File(root, "removed/12345-67890").toPath())), is("Hello content world!"));
+								assertThat(entity.getContentLen(), is(20L));
+							});
+						});
+					});
 				});
 
 				Context("#setContent from Resource", () -> {
@@ -0,0 +1,188 @@
+package internal.org.springframework.content.fs.repository;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.utils.FileServiceImpl;
+import org.springframework.content.commons.utils.PlacementServiceImpl;
+import org.springframework.content.fs.config.FilesystemStoreWriteOptions;
+import org.springframework.content.fs.io.FileSystemResourceLoader;
+import org.springframework.data.annotation.Id;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import reactor.core.publisher.Flux;
+
+@RunWith(Ginkgo4jRunner.class)
+public class DefaultReactiveFilesystemStoreImplTest {
+
+	private DefaultReactiveFilesystemStoreImpl<TestEntity, String> store;
+	private FilesystemStoreWriteOptions writeOptions;
+
+	private File root;
+	private TestEntity entity;
+
+	{
+		Describe("DefaultReactiveFilesystemStoreImpl", () -> {
+			BeforeEach(() -> {
+				root = Files.createTempDirectory("reactive-fs-store").toFile();
+				writeOptions = new FilesystemStoreWriteOptions();
+				writeOptions.setBufferSize(4);
+				entity = new TestEntity();
+			});
+			JustBeforeEach(() -> {
+				store = new DefaultReactiveFilesystemStoreImpl<>(new FileSystemResourceLoader(root.getAbsolutePath()), null, new PlacementServiceImpl(), new FileServiceImpl(), writeOptions, null);
+			});
+			AfterEach(() -> {
+				FileUtils.deleteDirectory(root);
+			});
+			Context("#setContent", () -> {
+				JustBeforeEach(() -> {
+					store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello ", "Content ", "World!")).block();
+				});
+				It("should write the content and set the content id and length", () -> {
+					assertThat(entity.getContentId(), is(not(nullValue())));
+					assertThat(entity.getContentLen(), is(20L));
+					assertThat(new String(Files.readAllBytes(new File(root, entity.getContentId()).toPath()), StandardCharsets.UTF_8), is("Hello Content World!"));
+				});
+				It("should read the content back", () -> {
+					assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Content World!"));
+				});
+				It("should read a range of the content", () -> {
+					GetResourceParams params = GetResourceParams.builder().range("bytes=6-12").build();
+					assertThat(read(store.getContent(entity, PropertyPath.from("content"), params)), is("Content"));
+				});
+				Context("given the content is overwritten", () -> {
+					It("should replace the content", () -> {
+						store.setContent(entity, PropertyPath.from("content"), -1L, content("Bye")).block();
+
+						assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Bye"));
+						assertThat(entity.getContentLen(), is(3L));
+					});
+				});
+				Context("given atomic writes", () -> {
+					BeforeEach(() -> {
+						writeOptions.setAtomic(true);
+					});
+					It("should write the content and leave no temporary files", () -> {
+						assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Content World!"));
+						assertThat(root.list().length, is(1));
+					});
+				});
+				Context("#unsetContent", () -> {
+					It("should delete the content and reset the content id and length", () -> {
+						String contentId = entity.getContentId();
+
+						store.unsetContent(entity, PropertyPath.from("content")).block();
+
+						assertThat(new File(root, contentId).exists(), is(false));
+						assertThat(entity.getContentId(), is(nullValue()));
+						assertThat(entity.getContentLen(), is(0L));
+					});
+				});
+			});
+			Context("given an entity whose content id is also its id", () -> {
+				It("should delete the content but keep the id", () -> {
+					DefaultReactiveFilesystemStoreImpl<SharedIdEntity, String> idStore = new DefaultReactiveFilesystemStoreImpl<>(new FileSystemResourceLoader(root.getAbsolutePath()), null, new PlacementServiceImpl(), new FileServiceImpl(), writeOptions, null);
+					SharedIdEntity idEntity = new SharedIdEntity();
+					idEntity.setContentId("12345");
+					idStore.setContent(idEntity, PropertyPath.from("content"), -1L, content("Hello")).block();
+
+					idStore.unsetContent(idEntity, PropertyPath.from("content")).block();
+
+					assertThat(new File(root, "12345").exists(), is(false));
+					assertThat(idEntity.getContentId(), is("12345"));
+					assertThat(idEntity.getContentLen(), is(0L));
+				});
+			});
+			Context("#getContent", () -> {
+				Context("given content that does not exist", () -> {
+					It("should return no content", () -> {
+						entity.setContentId("does-not-exist");
+						assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is(""));
+					});
+				});
+			});
+		});
+	}
+
+	private static Flux<ByteBuffer> content(String... chunks) {
+		return Flux.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String read(Flux<ByteBuffer> content) {
+		return content.map(buffer -> StandardCharsets.UTF_8.decode(buffer).toString())
+				.reduce("", String::concat)
+				.block();
+	}
+
+	public static class SharedIdEntity {
+
+		@Id
+		@ContentId
+		private String contentId;
+
+		@ContentLength
+		private long contentLen;
+
+		public String getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(String contentId) {
+			this.contentId = contentId;
+		}
+
+		public long getContentLen() {
+			return contentLen;
+		}
+
+		public void setContentLen(long contentLen) {
+			this.contentLen = contentLen;
+		}
+	}
+
+	public static class TestEntity {
+
+		@ContentId
+		private String contentId;
+
+		@ContentLength
+		private long contentLen;
+
+		public String getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(String contentId) {
+			this.contentId = contentId;
+		}
+
+		public long getContentLen() {
+			return contentLen;
+		}
+
+		public void setContentLen(long contentLen) {
+			this.contentLen = contentLen;
+		}
+	}
+}
@@ -1,12 +1,15 @@
 package internal.org.springframework.content.gcs.config;
 
+import org.apache.commons.lang.ClassUtils;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
 import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.content.gcs.config.GCPStorageUploadOptions;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.versions.LockingAndVersioningProxyFactory;
@@ -15,6 +18,7 @@ import com.google.cloud.spring.storage.GoogleStorageProtocolResolver;
 import com.google.cloud.storage.Storage;
 
 import internal.org.springframework.content.gcs.store.DefaultGCPStorageImpl;
+import internal.org.springframework.content.gcs.store.DefaultReactiveGCPStorageImpl;
 
 @SuppressWarnings("rawtypes")
 public class GCPStorageFactoryBean extends AbstractStoreFactoryBean {
@@ -42,6 +46,9 @@ public class GCPStorageFactoryBean extends AbstractStoreFactoryBean {
 	@Autowired
 	private GoogleStorageProtocolResolver resolver;
 
+	@Autowired(required=false)
+	private GCPStorageUploadOptions uploadOptions;
+
 	@Value("${spring.content.gcp.storage.bucket:#{environment.GCP_STORAGE_BUCKET}}")
 	private String bucket;
 
@@ -70,9 +77,15 @@ public class GCPStorageFactoryBean extends AbstractStoreFactoryBean {
 //		s3Protocol.afterPropertiesSet();
 //		s3Protocol.setBeanFactory(context);
 //
+		if (ClassUtils.getAllInterfaces(getStoreInterface()).contains(ReactiveContentStore.class)) {
+			return new DefaultReactiveGCPStorageImpl(mappingContext, s3StorePlacementService, client);
+		}
+
 		DefaultResourceLoader loader = new DefaultResourceLoader();
 		loader.addProtocolResolver(resolver);
 
-		return new DefaultGCPStorageImpl(context, loader, mappingContext, s3StorePlacementService, client/*, s3Provider*/);
+		DefaultGCPStorageImpl store = new DefaultGCPStorageImpl(context, loader, mappingContext, s3StorePlacementService, client/*, s3Provider*/);
+		store.setUploadOptions(uploadOptions);
+		return store;
 	}
 }
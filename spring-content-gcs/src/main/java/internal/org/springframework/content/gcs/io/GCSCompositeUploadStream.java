@@ -0,0 +1,197 @@
+package internal.org.springframework.content.gcs.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.io.ParallelPartUploader;
+import org.springframework.content.gcs.config.GCPStorageUploadOptions;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.ComposeRequest;
+
+/**
+ * Uploads content as a parallel composite upload.
+ *
+ * Content is split into parts that are uploaded concurrently as temporary objects and then composed into the target.
+ * A compose request takes at most 32 sources, so larger uploads are first composed into intermediate objects.  The
+ * target is only written by the final compose and temporary objects are deleted whether or not the upload succeeds.
+ */
+public class GCSCompositeUploadStream extends GCSUploadStream {
+
+	private static Log logger = LogFactory.getLog(GCSCompositeUploadStream.class);
+
+	static final int MAX_COMPOSE_SOURCES = 32;
+
+	private final Storage client;
+	private final BlobInfo target;
+	private final int partSize;
+	private final ParallelPartUploader uploader;
+	private final String tempPrefix;
+
+	private final List<BlobId> parts = new ArrayList<>();
+	private final List<BlobId> temporaries = new ArrayList<>();
+
+	private byte[] buffer;
+	private int count = 0;
+	private boolean closed = false;
+
+	public GCSCompositeUploadStream(Storage client, BlobInfo target, GCPStorageUploadOptions options) {
+		this.client = client;
+		this.target = target;
+		this.partSize = options.getPartSize();
+		this.uploader = new ParallelPartUploader(options.getTaskExecutor(), options.getMaxConcurrentParts());
+		this.tempPrefix = String.format("%s.upload-%s-", target.getName(), UUID.randomUUID());
+		this.buffer = new byte[partSize];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		checkOpen();
+		buffer[count++] = (byte) b;
+		if (count == buffer.length) {
+			uploadPart();
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		checkOpen();
+		while (len > 0) {
+			int n = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, n);
+			count += n;
+			off += n;
+			len -= n;
+			if (count == buffer.length) {
+				uploadPart();
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		try {
+			if (parts.isEmpty()) {
+				client.create(target, buffer, 0, count);
+				return;
+			}
+
+			if (count > 0) {
+				uploadPart();
+			}
+			uploader.awaitAll();
+			checkFailure();
+
+			compose();
+		} catch (RuntimeException e) {
+			throw new IOException(String.format("uploading %s", target.getName()), e);
+		} finally {
+			buffer = null;
+			deleteTemporaries();
+		}
+	}
+
+	@Override
+	public void abort() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		buffer = null;
+		uploader.awaitAll();
+		deleteTemporaries();
+	}
+
+	private void uploadPart() throws IOException {
+		if (uploader.getFailure() != null) {
+			abort();
+			checkFailure();
+		}
+
+		BlobId part = temporary("part-" + parts.size());
+		parts.add(part);
+
+		final byte[] bytes = buffer;
+		final int len = count;
+		buffer = new byte[partSize];
+		count = 0;
+
+		try {
+			uploader.submit(() -> client.create(BlobInfo.newBuilder(part).build(), bytes, 0, len));
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			abort();
+			throw new InterruptedIOException(String.format("interrupted uploading %s", target.getName()));
+		} catch (RejectedExecutionException ree) {
+			abort();
+			throw new IOException(String.format("uploading %s", target.getName()), ree);
+		}
+	}
+
+	private void compose() {
+		List<BlobId> sources = parts;
+		int round = 0;
+		while (sources.size() > MAX_COMPOSE_SOURCES) {
+			List<BlobId> composed = new ArrayList<>();
+			for (int i = 0; i < sources.size(); i += MAX_COMPOSE_SOURCES) {
+				List<BlobId> group = sources.subList(i, Math.min(i + MAX_COMPOSE_SOURCES, sources.size()));
+				BlobId intermediate = temporary("compose-" + round + "-" + composed.size());
+				client.compose(composeRequest(group, BlobInfo.newBuilder(intermediate).build()));
+				composed.add(intermediate);
+			}
+			sources = composed;
+			round++;
+		}
+		client.compose(composeRequest(sources, target));
+	}
+
+	private ComposeRequest composeRequest(List<BlobId> sources, BlobInfo target) {
+		ComposeRequest.Builder request = ComposeRequest.newBuilder().setTarget(target);
+		for (BlobId source : sources) {
+			request.addSource(source.getName());
+		}
+		return request.build();
+	}
+
+	private BlobId temporary(String suffix) {
+		BlobId id = BlobId.of(target.getBucket(), tempPrefix + suffix);
+		temporaries.add(id);
+		return id;
+	}
+
+	private void deleteTemporaries() {
+		for (BlobId temporary : temporaries) {
+			try {
+				client.delete(temporary);
+			} catch (RuntimeException e) {
+				logger.warn(String.format("Unable to delete temporary object %s", temporary.getName()), e);
+			}
+		}
+	}
+
+	private void checkOpen() throws IOException {
+		if (closed) {
+			throw new IOException(String.format("upload of %s is closed", target.getName()));
+		}
+	}
+
+	private void checkFailure() throws IOException {
+		Throwable t = uploader.getFailure();
+		if (t != null) {
+			throw new IOException(String.format("uploading part of %s", target.getName()), t);
+		}
+	}
+}
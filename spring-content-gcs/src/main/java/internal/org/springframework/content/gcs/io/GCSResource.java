@@ -3,23 +3,27 @@ package internal.org.springframework.content.gcs.io;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.URI;
 import java.net.URL;
 
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.gcs.config.GCPStorageUploadOptions;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.util.Assert;
 
+import com.google.cloud.WriteChannel;
 import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageException;
 
 public class GCSResource implements WritableResource, DeletableResource {
 
 	private Storage client;
 	private Resource delegate;
 	private String bucket;
+	private GCPStorageUploadOptions uploadOptions = new GCPStorageUploadOptions();
 
 	public GCSResource(Storage client, String bucket, Resource delegate) {
 		Assert.notNull(client, "client must be specified");
@@ -34,6 +38,12 @@ public class GCSResource implements WritableResource, DeletableResource {
 		return client;
 	}
 
+	public void setUploadOptions(GCPStorageUploadOptions uploadOptions) {
+		if (uploadOptions != null) {
+			this.uploadOptions = uploadOptions;
+		}
+	}
+
 	@Override
 	public boolean exists() {
 		return delegate.exists();
@@ -107,7 +117,19 @@ public class GCSResource implements WritableResource, DeletableResource {
 	}
 
 	@Override
-	public OutputStream getOutputStream() throws IOException {
-		return ((WritableResource) delegate).getOutputStream();
+	public GCSUploadStream getOutputStream() throws IOException {
+		BlobInfo blob = BlobInfo.newBuilder(BlobId.of(bucket, delegate.getFilename())).build();
+
+		if (uploadOptions.isParallelCompositeUpload()) {
+			return new GCSCompositeUploadStream(client, blob, uploadOptions);
+		}
+
+		try {
+			WriteChannel writer = client.writer(blob);
+			writer.setChunkSize(uploadOptions.getChunkSize());
+			return new GCSResumableUploadStream(writer, blob.getName());
+		} catch (StorageException se) {
+			throw new IOException(String.format("opening upload of %s", blob.getName()), se);
+		}
 	}
 }
@@ -0,0 +1,66 @@
+package internal.org.springframework.content.gcs.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.StorageException;
+
+/**
+ * Uploads content through a resumable upload session.
+ *
+ * The write channel sends the content a chunk at a time and retries a failed chunk from the offset the session last
+ * committed, so a network failure costs at most one chunk rather than the whole upload.
+ */
+public class GCSResumableUploadStream extends GCSUploadStream {
+
+	private final WriteChannel writer;
+	private final String name;
+
+	private boolean closed = false;
+
+	public GCSResumableUploadStream(WriteChannel writer, String name) {
+		this.writer = writer;
+		this.name = name;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] {(byte) b}, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (closed) {
+			throw new IOException(String.format("upload of %s is closed", name));
+		}
+		try {
+			ByteBuffer bytes = ByteBuffer.wrap(b, off, len);
+			while (bytes.hasRemaining()) {
+				writer.write(bytes);
+			}
+		} catch (StorageException se) {
+			closed = true;
+			throw new IOException(String.format("uploading %s", name), se);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			writer.close();
+		} catch (StorageException se) {
+			throw new IOException(String.format("completing upload of %s", name), se);
+		}
+	}
+
+	// an unfinished session is never finalized into an object and expires on its own
+	@Override
+	public void abort() {
+		closed = true;
+	}
+}
@@ -0,0 +1,14 @@
+package internal.org.springframework.content.gcs.io;
+
+import java.io.OutputStream;
+
+/**
+ * An upload to GCP storage.  The object is only created, or replaced, when the stream is closed.
+ */
+public abstract class GCSUploadStream extends OutputStream {
+
+	/**
+	 * Discards the upload.  The existing object, if any, is retained.
+	 */
+	public abstract void abort();
+}
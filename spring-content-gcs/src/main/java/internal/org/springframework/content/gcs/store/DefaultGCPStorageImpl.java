@@ -4,7 +4,6 @@ import static java.lang.String.format;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
@@ -24,11 +23,11 @@ import org.springframework.content.commons.repository.*;
 import org.springframework.content.commons.utils.BeanUtils;
 import org.springframework.content.commons.utils.Condition;
 import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.content.gcs.config.GCPStorageUploadOptions;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.core.io.WritableResource;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
@@ -37,6 +36,7 @@ import com.google.cloud.storage.Storage;
 
 import internal.org.springframework.content.commons.utils.ContentPropertyInfoTypeDescriptor;
 import internal.org.springframework.content.gcs.io.GCSResource;
+import internal.org.springframework.content.gcs.io.GCSUploadStream;
 
 @Transactional
 public class DefaultGCPStorageImpl<S, SID extends Serializable>
@@ -52,6 +52,8 @@ public class DefaultGCPStorageImpl<S, SID extends Serializable>
 
     private MappingContext mappingContext/* = new MappingContext("/", ".")*/;
 
+	private GCPStorageUploadOptions uploadOptions;
+
 	public DefaultGCPStorageImpl(ApplicationContext context, ResourceLoader loader, MappingContext mappingContext, PlacementService placementService, Storage client2) {
         Assert.notNull(context, "context must be specified");
 		Assert.notNull(loader, "loader must be specified");
@@ -68,6 +70,10 @@ public class DefaultGCPStorageImpl<S, SID extends Serializable>
         }
 	}
 
+	public void setUploadOptions(GCPStorageUploadOptions uploadOptions) {
+		this.uploadOptions = uploadOptions;
+	}
+
 	@Override
 	public Resource getResource(SID id) {
 		if (id == null)
@@ -166,7 +172,9 @@ public class DefaultGCPStorageImpl<S, SID extends Serializable>
 //		}
 
 		Resource resource = loaderToUse.getResource(location);
-		return new GCSResource(clientToUse, bucket, resource);
+		GCSResource gcsResource = new GCSResource(clientToUse, bucket, resource);
+		gcsResource.setUploadOptions(uploadOptions);
+		return gcsResource;
 	}
 
 	@Override
@@ -252,21 +260,15 @@ public class DefaultGCPStorageImpl<S, SID extends Serializable>
 			return entity;
 		}
 
-		if (resource instanceof WritableResource) {
-    		try (OutputStream os = ((WritableResource) resource).getOutputStream()) {
-    				IOUtils.copy(content, os);
-    		}
-    		catch (IOException e) {
-    		    logger.error(format("Unexpected error setting content for entity %s", entity), e);
-    		    throw new StoreAccessException(format("Setting content for entity %s", entity), e);
-    		}
-		}
-
-		try {
-			BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, resource.contentLength());
-		}
-		catch (IOException e) {
-			logger.error(format("Unexpected error setting content length for entity %s", entity), e);
+		if (resource instanceof GCSResource) {
+			try {
+				long written = write((GCSResource) resource, content);
+				BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, written);
+			}
+			catch (IOException e) {
+				logger.error(format("Unexpected error setting content for entity %s", entity), e);
+				throw new StoreAccessException(format("Setting content for entity %s", entity), e);
+			}
 		}
 		return entity;
 	}
@@ -304,26 +306,16 @@ public class DefaultGCPStorageImpl<S, SID extends Serializable>
 			return entity;
 		}
 
-		if (resource instanceof WritableResource) {
-			try (OutputStream os = ((WritableResource) resource).getOutputStream()) {
-				IOUtils.copy(content, os);
+		if (resource instanceof GCSResource) {
+			try {
+				long written = write((GCSResource) resource, content);
+				property.setContentLength(entity, contentLen != -1L ? contentLen : written);
 			}
 			catch (IOException e) {
 				logger.error(format("Unexpected error setting content for entity %s", entity), e);
 				throw new StoreAccessException(format("Setting content for entity %s", entity), e);
 			}
 		}
-
-		try {
-			long len = contentLen;
-			if (len == -1L) {
-				len = resource.contentLength();
-			}
-			property.setContentLength(entity, len);
-		}
-		catch (IOException e) {
-			logger.error(format("Unexpected error setting content length for entity %s", entity), e);
-		}
 		return entity;
 	}
 
@@ -469,6 +461,20 @@ public class DefaultGCPStorageImpl<S, SID extends Serializable>
         return entity;
     }
 
+	// the object is only created, or replaced, once all of the content has been uploaded
+	private long write(GCSResource resource, InputStream content) throws IOException {
+		GCSUploadStream os = resource.getOutputStream();
+		long written;
+		try {
+			written = IOUtils.copyLarge(content, os);
+			os.close();
+		} catch (IOException | RuntimeException e) {
+			os.abort();
+			throw e;
+		}
+		return written;
+	}
+
 	private String absolutify(String bucket, String location) {
 		String locationToUse = null;
 		Assert.state(location.startsWith("gs://") == false);
@@ -0,0 +1,272 @@
+package internal.org.springframework.content.gcs.store;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.config.ContentPropertyInfo;
+import org.springframework.content.commons.mappingcontext.Condition;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.utils.ByteRanges;
+import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.Assert;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+
+import internal.org.springframework.content.commons.utils.ContentPropertyInfoTypeDescriptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * A reactive Google Cloud Storage store.
+ *
+ * The storage client only offers blocking channels so reads and writes run on the bounded elastic scheduler, keeping
+ * them off event loop threads.
+ */
+public class DefaultReactiveGCPStorageImpl<S, SID extends Serializable>
+		implements ReactiveContentStore<S, SID> {
+
+	private static Log logger = LogFactory.getLog(DefaultReactiveGCPStorageImpl.class);
+
+	public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+	private PlacementService placementService;
+	private Storage client;
+	private MappingContext mappingContext;
+	private Scheduler scheduler = Schedulers.boundedElastic();
+
+	public DefaultReactiveGCPStorageImpl(MappingContext mappingContext, PlacementService placementService, Storage client) {
+		Assert.notNull(placementService, "placementService must be specified");
+		Assert.notNull(client, "client must be specified");
+		this.placementService = placementService;
+		this.client = client;
+		this.mappingContext = mappingContext;
+		if (this.mappingContext == null) {
+			this.mappingContext = new MappingContext("/", ".");
+		}
+	}
+
+	public void setScheduler(Scheduler scheduler) {
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public Mono<S> setContent(S entity, PropertyPath path, long contentLen, Flux<ByteBuffer> buffer) {
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+
+			Serializable newId = UUID.randomUUID().toString();
+
+			Object convertedId = placementService.convert(
+					newId,
+					TypeDescriptor.forObject(newId),
+					property.getContentIdType(entity));
+
+			property.setContentId(entity, convertedId, null);
+		}
+
+		BlobInfo.Builder info = BlobInfo.newBuilder(getBlobId(entity, path, property));
+		Object mimeType = property.getMimeType(entity);
+		if (mimeType != null) {
+			info.setContentType(mimeType.toString());
+		}
+
+		long[] written = new long[1];
+		return Mono.usingWhen(
+						Mono.fromCallable(() -> client.writer(info.build())).subscribeOn(scheduler),
+						channel -> buffer
+								.publishOn(scheduler)
+								.concatMap(bytes -> Mono.fromCallable(() -> write(channel, bytes)))
+								.doOnNext(n -> written[0] += n)
+								.then(Mono.just(entity)),
+						// closing the channel completes the upload so it is only closed when all the content is written
+						channel -> Mono.fromCallable(() -> {
+							channel.close();
+							return channel;
+						}).subscribeOn(scheduler),
+						(channel, e) -> abandon(info.build().getBlobId()),
+						channel -> abandon(info.build().getBlobId()))
+				.map(saved -> {
+					property.setContentLength(entity, contentLen >= 0 ? contentLen : written[0]);
+					return entity;
+				})
+				.onErrorMap(IOException.class, e -> new StoreAccessException(String.format("Setting content for entity %s", entity), e));
+	}
+
+	@Override
+	public Flux<ByteBuffer> getContent(S entity, PropertyPath path) {
+		return this.getContent(entity, path, GetResourceParams.builder().build());
+	}
+
+	@Override
+	public Flux<ByteBuffer> getContent(S entity, PropertyPath path, GetResourceParams params) {
+
+		if (entity == null)
+			return Flux.empty();
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+			return Flux.empty();
+		}
+
+		BlobId blobId = getBlobId(entity, path, property);
+
+		return Flux.defer(() -> {
+			Blob blob = client.get(blobId);
+			if (blob == null) {
+				return Flux.<ByteBuffer>empty();
+			}
+
+			long[] range = params != null ? ByteRanges.parse(params.getRange(), blob.getSize()) : null;
+
+			return Flux.using(
+					() -> openReader(blob, range),
+					this::read,
+					this::closeQuietly);
+		}).subscribeOn(scheduler);
+	}
+
+	@Override
+	public Mono<S> unsetContent(S entity, PropertyPath path) {
+
+		if (entity == null)
+			return Mono.justOrEmpty(entity);
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+			return Mono.just(entity);
+		}
+
+		BlobId blobId = getBlobId(entity, path, property);
+
+		return Mono.fromCallable(() -> client.delete(blobId))
+				.subscribeOn(scheduler)
+				.map(deleted -> {
+					property.setContentId(entity, null, new Condition() {
+						@Override
+						public boolean matches(TypeDescriptor descriptor) {
+							for (Annotation annotation : descriptor.getAnnotations()) {
+								if ("javax.persistence.Id".equals(
+										annotation.annotationType().getCanonicalName())
+										|| "org.springframework.data.annotation.Id"
+												.equals(annotation.annotationType()
+														.getCanonicalName())) {
+									return false;
+								}
+							}
+							return true;
+						}
+					});
+					property.setContentLength(entity, 0);
+					return entity;
+				});
+	}
+
+	private ContentProperty getContentProperty(S entity, PropertyPath path) {
+		ContentProperty property = this.mappingContext.getContentProperty(entity.getClass(), path.getName());
+		if (property == null) {
+			throw new StoreAccessException(String.format("Content property %s does not exist", path.getName()));
+		}
+		return property;
+	}
+
+	private BlobId getBlobId(S entity, PropertyPath path, ContentProperty property) {
+		TypeDescriptor contentPropertyInfoType = ContentPropertyInfoTypeDescriptor.withGenerics(entity, property);
+		if (!placementService.canConvert(contentPropertyInfoType, TypeDescriptor.valueOf(BlobId.class))) {
+			throw new IllegalStateException(String.format("Unable to convert %s to a BlobId", contentPropertyInfoType));
+		}
+		ContentPropertyInfo<S, SID> contentPropertyInfo = ContentPropertyInfo.of(entity,
+				(SID) property.getContentId(entity), path, property);
+		BlobId id = placementService.convert(contentPropertyInfo, BlobId.class);
+
+		// placed in the same location as the blocking store would place it
+		String location;
+		if (placementService.canConvert(BlobId.class, String.class)) {
+			location = placementService.convert(id, String.class);
+		} else {
+			location = placementService.convert(id.getName(), String.class);
+		}
+		if (location.startsWith("/")) {
+			location = location.substring(1);
+		}
+		return BlobId.of(id.getBucket(), location);
+	}
+
+	private ReadChannel openReader(Blob blob, long[] range) throws IOException {
+		// reads the generation whose size the range was resolved against
+		ReadChannel channel = blob.reader();
+		channel.setChunkSize(DEFAULT_BUFFER_SIZE);
+		if (range != null) {
+			channel.seek(range[0]);
+			channel.limit(range[0] + range[1]);
+		}
+		return channel;
+	}
+
+	private Flux<ByteBuffer> read(ReadChannel channel) {
+		return Flux.generate(sink -> {
+			ByteBuffer buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+			try {
+				int n;
+				do {
+					n = channel.read(buffer);
+				} while (n == 0);
+
+				if (n < 0) {
+					sink.complete();
+				} else {
+					buffer.flip();
+					sink.next(buffer);
+				}
+			} catch (IOException e) {
+				sink.error(e);
+			}
+		});
+	}
+
+	private static long write(WriteChannel channel, ByteBuffer bytes) throws IOException {
+		long written = 0;
+		while (bytes.hasRemaining()) {
+			written += channel.write(bytes);
+		}
+		return written;
+	}
+
+	// closing would finalize the partial content as the object, so the upload session is left unfinished and expires
+	// on its own, as GCSResumableUploadStream#abort does
+	private Mono<Void> abandon(BlobId blobId) {
+		return Mono.fromRunnable(() -> logger.debug(String.format("Abandoning upload of %s", blobId)));
+	}
+
+	private void closeQuietly(ReadChannel channel) {
+		try {
+			channel.close();
+		} catch (Exception e) {
+			logger.warn("Unable to close read channel", e);
+		}
+	}
+}
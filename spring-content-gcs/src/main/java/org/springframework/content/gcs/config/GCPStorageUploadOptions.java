@@ -0,0 +1,86 @@
+package org.springframework.content.gcs.config;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * Controls how GCP storage stores upload content.
+ *
+ * By default content is uploaded through a resumable upload session, one chunk of {@code chunkSize} bytes at a time.
+ * A chunk that fails is retried from the last offset the session committed rather than from the start of the content.
+ *
+ * With parallel composite uploads enabled content is instead split into parts of {@code partSize} bytes.  Parts are
+ * uploaded as temporary objects by the task executor with at most {@code maxConcurrentParts} parts uploading, or
+ * waiting to upload, at any time; writers block until a part completes.  Once all parts are uploaded they are composed
+ * into the final object and deleted.  Content that fits in a single part is uploaded directly.
+ */
+public class GCPStorageUploadOptions {
+
+	// resumable upload chunks must be a multiple of 256KB
+	public static final int CHUNK_SIZE_MULTIPLE = 256 * 1024;
+
+	public static final int DEFAULT_CHUNK_SIZE = 15 * 1024 * 1024;
+	public static final int DEFAULT_PART_SIZE = 32 * 1024 * 1024;
+	public static final int DEFAULT_MAX_CONCURRENT_PARTS = 4;
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private boolean parallelCompositeUpload = false;
+	private int partSize = DEFAULT_PART_SIZE;
+	private int maxConcurrentParts = DEFAULT_MAX_CONCURRENT_PARTS;
+	private TaskExecutor taskExecutor;
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		Assert.isTrue(chunkSize > 0 && chunkSize % CHUNK_SIZE_MULTIPLE == 0, "chunkSize must be a multiple of 256KB");
+		this.chunkSize = chunkSize;
+	}
+
+	public boolean isParallelCompositeUpload() {
+		return parallelCompositeUpload;
+	}
+
+	/**
+	 * Enables parallel composite uploads.  Composed objects have no MD5 hash, only a CRC32C checksum, and the temporary
+	 * part objects are visible in the bucket while an upload is in progress.
+	 *
+	 * @param parallelCompositeUpload true to upload content as composed parts
+	 */
+	public void setParallelCompositeUpload(boolean parallelCompositeUpload) {
+		this.parallelCompositeUpload = parallelCompositeUpload;
+	}
+
+	public int getPartSize() {
+		return partSize;
+	}
+
+	public void setPartSize(int partSize) {
+		Assert.isTrue(partSize > 0, "partSize must be greater than 0");
+		this.partSize = partSize;
+	}
+
+	public int getMaxConcurrentParts() {
+		return maxConcurrentParts;
+	}
+
+	public void setMaxConcurrentParts(int maxConcurrentParts) {
+		Assert.isTrue(maxConcurrentParts > 0, "maxConcurrentParts must be greater than 0");
+		this.maxConcurrentParts = maxConcurrentParts;
+	}
+
+	public TaskExecutor getTaskExecutor() {
+		return taskExecutor;
+	}
+
+	/**
+	 * Sets the executor that uploads parts of parallel composite uploads.  When not set parts are uploaded by the
+	 * bounded executor shared by all stores, see {@link org.springframework.content.commons.io.TransferExecutors}.
+	 *
+	 * @param taskExecutor the task executor
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+}
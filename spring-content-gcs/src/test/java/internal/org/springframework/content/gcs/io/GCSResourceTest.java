@@ -0,0 +1,231 @@
+package internal.org.springframework.content.gcs.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.runner.RunWith;
+import org.mockito.AdditionalAnswers;
+import org.mockito.stubbing.Answer;
+import org.springframework.content.gcs.config.GCPStorageUploadOptions;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.google.cloud.spring.storage.GoogleStorageResource;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.Storage.ComposeRequest;
+import com.google.cloud.storage.StorageException;
+import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+
+@RunWith(Ginkgo4jRunner.class)
+public class GCSResourceTest {
+
+	private static final String CONTENT = "Hello Parallel Composite Content World!";
+
+	private Storage storage;
+	private GCPStorageUploadOptions options;
+	private GCSResource resource;
+
+	private OutputStream os;
+	private Exception e;
+	private List<String> uploadThreads;
+
+	{
+		Describe("GCSResource", () -> {
+			BeforeEach(() -> {
+				storage = LocalStorageHelper.customOptions(false).getService();
+				options = new GCPStorageUploadOptions();
+				e = null;
+				uploadThreads = new CopyOnWriteArrayList<>();
+			});
+			JustBeforeEach(() -> {
+				resource = new GCSResource(storage, "some-bucket", new GoogleStorageResource(storage, "gs://some-bucket/some-object", true));
+				resource.setUploadOptions(options);
+			});
+			Context("#getOutputStream", () -> {
+				JustBeforeEach(() -> {
+					os = resource.getOutputStream();
+				});
+				Context("given a resumable upload", () -> {
+					It("should upload the content", () -> {
+						os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+						os.close();
+
+						assertThat(read("some-object"), is(CONTENT));
+					});
+					It("should not accept writes once aborted", () -> {
+						os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+						((GCSUploadStream) os).abort();
+						try {
+							os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+						} catch (IOException ioe) {
+							e = ioe;
+						}
+
+						assertThat(e, is(instanceOf(IOException.class)));
+					});
+				});
+				Context("given a parallel composite upload", () -> {
+					BeforeEach(() -> {
+						storage = withCompose(storage);
+
+						options.setParallelCompositeUpload(true);
+						options.setPartSize(5);
+						options.setMaxConcurrentParts(2);
+						options.setTaskExecutor(new SimpleAsyncTaskExecutor());
+					});
+					It("should upload the content as composed parts", () -> {
+						os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+						os.close();
+
+						assertThat(os, is(instanceOf(GCSCompositeUploadStream.class)));
+						assertThat(read("some-object"), is(CONTENT));
+						assertThat(objects(), is(listOf("some-object")));
+					});
+					It("should upload content that fits in one part directly", () -> {
+						os.write("Hi".getBytes(StandardCharsets.UTF_8));
+						os.close();
+
+						assertThat(read("some-object"), is("Hi"));
+						assertThat(objects(), is(listOf("some-object")));
+					});
+					Context("given more parts than can be composed at once", () -> {
+						BeforeEach(() -> {
+							options.setPartSize(1);
+						});
+						It("should compose the parts in rounds", () -> {
+							StringBuilder content = new StringBuilder();
+							for (int i = 0; i < 40; i++) {
+								content.append(CONTENT);
+							}
+							for (byte b : content.toString().getBytes(StandardCharsets.UTF_8)) {
+								os.write(b);
+							}
+							os.close();
+
+							assertThat(read("some-object"), is(content.toString()));
+							assertThat(objects(), is(listOf("some-object")));
+						});
+					});
+					Context("given no task executor", () -> {
+						BeforeEach(() -> {
+							options.setTaskExecutor(null);
+
+							Answer<?> delegate = mockingDetails(storage).getMockCreationSettings().getDefaultAnswer();
+							doAnswer(invocation -> {
+								BlobInfo info = invocation.getArgument(0);
+								if (info.getName().contains(".upload-")) {
+									uploadThreads.add(Thread.currentThread().getName());
+								}
+								return delegate.answer(invocation);
+							}).when(storage).create(any(BlobInfo.class), any(byte[].class), anyInt(), anyInt());
+						});
+						It("should upload the parts on the shared transfer executor", () -> {
+							os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+							os.close();
+
+							assertThat(read("some-object"), is(CONTENT));
+							assertThat(uploadThreads.isEmpty(), is(false));
+							for (String thread : uploadThreads) {
+								assertThat(thread, startsWith("spring-content-transfer-"));
+							}
+						});
+					});
+					Context("when aborted", () -> {
+						It("should delete the uploaded parts and not create the object", () -> {
+							os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+							((GCSUploadStream) os).abort();
+
+							assertThat(objects().isEmpty(), is(true));
+						});
+					});
+				});
+				Context("given a parallel composite upload whose part fails", () -> {
+					BeforeEach(() -> {
+						storage = mock(Storage.class);
+						when(storage.create(argThat((BlobInfo info) -> info != null && info.getName().endsWith("part-1")), any(byte[].class), anyInt(), anyInt()))
+								.thenThrow(new StorageException(503, "badness"));
+
+						options.setParallelCompositeUpload(true);
+						options.setPartSize(5);
+					});
+					It("should fail, delete the parts and not compose them", () -> {
+						try {
+							os.write(CONTENT.getBytes(StandardCharsets.UTF_8));
+							os.close();
+						} catch (IOException ioe) {
+							e = ioe;
+						}
+
+						assertThat(e, is(instanceOf(IOException.class)));
+						assertThat(e.getCause().getMessage(), containsString("badness"));
+						verify(storage, never()).compose(any());
+						verify(storage).delete(argThat((BlobId id) -> id != null && id.getName().endsWith("part-0")));
+						verify(storage).delete(argThat((BlobId id) -> id != null && id.getName().endsWith("part-1")));
+					});
+				});
+			});
+		});
+	}
+
+	// the in-memory storage does not implement compose
+	private static Storage withCompose(Storage local) {
+		Storage storage = mock(Storage.class, AdditionalAnswers.delegatesTo(local));
+		doAnswer(invocation -> {
+			ComposeRequest request = invocation.getArgument(0);
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			for (ComposeRequest.SourceBlob source : request.getSourceBlobs()) {
+				content.write(local.readAllBytes(BlobId.of(request.getTarget().getBucket(), source.getName())));
+			}
+			return local.create(request.getTarget(), content.toByteArray());
+		}).when(storage).compose(any());
+		return storage;
+	}
+
+	private String read(String name) {
+		return new String(storage.readAllBytes(BlobId.of("some-bucket", name)), StandardCharsets.UTF_8);
+	}
+
+	private List<String> objects() {
+		List<String> names = new ArrayList<>();
+		for (Blob blob : storage.list("some-bucket").iterateAll()) {
+			names.add(blob.getName());
+		}
+		return names;
+	}
+
+	private static List<String> listOf(String... names) {
+		List<String> list = new ArrayList<>();
+		for (String name : names) {
+			list.add(name);
+		}
+		return list;
+	}
+}
@@ -0,0 +1,151 @@
+package internal.org.springframework.content.gcs.it;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.aop.framework.Advised;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.gcs.config.EnableGCPStorage;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+
+import internal.org.springframework.content.gcs.store.DefaultReactiveGCPStorageImpl;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Flux;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class ReactiveGCPStorageIT {
+
+    private static final Storage storage = GCSStorageContainer.getStorage();
+
+    static {
+        System.setProperty("spring.content.gcp.storage.bucket", "test");
+    }
+
+    private AnnotationConfigApplicationContext context;
+
+    private ReactiveTestEntityStore store;
+    private ReactiveTestEntity entity;
+    private String contentId;
+
+    {
+        Describe("DefaultReactiveGCPStorageImpl", () -> {
+
+            BeforeEach(() -> {
+                context = new AnnotationConfigApplicationContext();
+                context.register(TestConfig.class);
+                context.refresh();
+
+                store = context.getBean(ReactiveTestEntityStore.class);
+                entity = new ReactiveTestEntity();
+            });
+
+            AfterEach(() -> {
+                context.close();
+            });
+
+            It("should be backed by the reactive store", () -> {
+                assertThat(((Advised) store).getTargetSource().getTarget(), is(instanceOf(DefaultReactiveGCPStorageImpl.class)));
+            });
+
+            Context("given content is set", () -> {
+
+                BeforeEach(() -> {
+                    store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello ", "Spring Content ", "World!")).block();
+                });
+
+                It("should store the content and set the content id and length", () -> {
+                    assertThat(entity.getContentId(), is(not(nullValue())));
+                    assertThat(entity.getContentLen(), is(27L));
+                    assertThat(storage.get(BlobId.of("test", entity.getContentId())), is(not(nullValue())));
+                });
+
+                It("should get the content", () -> {
+                    assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Spring Content World!"));
+                });
+
+                It("should get a range of the content", () -> {
+                    GetResourceParams params = GetResourceParams.builder().range("bytes=6-19").build();
+                    assertThat(read(store.getContent(entity, PropertyPath.from("content"), params)), is("Spring Content"));
+                });
+
+                Context("given the content is unset", () -> {
+
+                    BeforeEach(() -> {
+                        contentId = entity.getContentId();
+                        store.unsetContent(entity, PropertyPath.from("content")).block();
+                    });
+
+                    It("should delete the content and reset the content id and length", () -> {
+                        assertThat(storage.get(BlobId.of("test", contentId)), is(nullValue()));
+                        assertThat(entity.getContentId(), is(nullValue()));
+                        assertThat(entity.getContentLen(), is(0L));
+                    });
+                });
+            });
+        });
+    }
+
+    @Test
+    public void test() {
+        // noop
+    }
+
+    private static Flux<ByteBuffer> content(String... chunks) {
+        return Flux.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String read(Flux<ByteBuffer> content) {
+        return content.map(buffer -> StandardCharsets.UTF_8.decode(buffer).toString())
+                .reduce("", String::concat)
+                .block();
+    }
+
+    @Configuration
+    @EnableGCPStorage(basePackages="internal.org.springframework.content.gcs.it")
+    public static class TestConfig {
+
+        @Bean
+        public Storage storage() {
+            return storage;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class ReactiveTestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+    }
+
+    public interface ReactiveTestEntityStore extends ReactiveContentStore<ReactiveTestEntity, String> {}
+}
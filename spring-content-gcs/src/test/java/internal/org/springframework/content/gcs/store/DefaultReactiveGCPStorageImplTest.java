@@ -0,0 +1,139 @@
+package internal.org.springframework.content.gcs.store;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.content.commons.utils.PlacementServiceImpl;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+
+import internal.org.springframework.content.gcs.config.GCPStorageConfiguration;
+import reactor.core.publisher.Flux;
+
+@RunWith(Ginkgo4jRunner.class)
+public class DefaultReactiveGCPStorageImplTest {
+
+	private DefaultReactiveGCPStorageImpl<TestEntity, String> store;
+
+	private Storage storage;
+	private TestEntity entity;
+
+	{
+		Describe("DefaultReactiveGCPStorageImpl", () -> {
+			BeforeEach(() -> {
+				storage = LocalStorageHelper.customOptions(false).getService();
+
+				PlacementService placementService = new PlacementServiceImpl();
+				GCPStorageConfiguration.addDefaultConverters(placementService, "some-bucket");
+
+				store = new DefaultReactiveGCPStorageImpl<>(null, placementService, storage);
+				entity = new TestEntity();
+			});
+			Context("#setContent", () -> {
+				JustBeforeEach(() -> {
+					store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello ", "Content ", "World!")).block();
+				});
+				It("should upload the content and set the content id and length", () -> {
+					assertThat(entity.getContentId(), is(not(nullValue())));
+					assertThat(entity.getContentLen(), is(20L));
+					assertThat(new String(storage.readAllBytes(BlobId.of("some-bucket", entity.getContentId())), StandardCharsets.UTF_8), is("Hello Content World!"));
+				});
+				It("should read the content back", () -> {
+					assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Content World!"));
+				});
+				It("should read a range of the content", () -> {
+					GetResourceParams params = GetResourceParams.builder().range("bytes=6-12").build();
+					assertThat(read(store.getContent(entity, PropertyPath.from("content"), params)), is("Content"));
+				});
+				Context("#unsetContent", () -> {
+					It("should delete the content and reset the content id and length", () -> {
+						String contentId = entity.getContentId();
+
+						store.unsetContent(entity, PropertyPath.from("content")).block();
+
+						assertThat(storage.get(BlobId.of("some-bucket", contentId)), is(nullValue()));
+						assertThat(entity.getContentId(), is(nullValue()));
+						assertThat(entity.getContentLen(), is(0L));
+					});
+				});
+			});
+			Context("given content that fails part way", () -> {
+				It("should fail without storing the partial content", () -> {
+					Flux<ByteBuffer> failing = content("Hello ").concatWith(Flux.error(new IllegalStateException("badness")));
+
+					Exception e = null;
+					try {
+						store.setContent(entity, PropertyPath.from("content"), -1L, failing).block();
+					} catch (Exception ex) {
+						e = ex;
+					}
+
+					assertThat(e, is(not(nullValue())));
+					assertThat(storage.get(BlobId.of("some-bucket", entity.getContentId())), is(nullValue()));
+				});
+			});
+			Context("#getContent", () -> {
+				Context("given content that does not exist", () -> {
+					It("should return no content", () -> {
+						entity.setContentId("does-not-exist");
+						assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is(""));
+					});
+				});
+			});
+		});
+	}
+
+	private static Flux<ByteBuffer> content(String... chunks) {
+		return Flux.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String read(Flux<ByteBuffer> content) {
+		return content.map(buffer -> StandardCharsets.UTF_8.decode(buffer).toString())
+				.reduce("", String::concat)
+				.block();
+	}
+
+	public static class TestEntity {
+
+		@ContentId
+		private String contentId;
+
+		@ContentLength
+		private long contentLen;
+
+		public String getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(String contentId) {
+			this.contentId = contentId;
+		}
+
+		public long getContentLen() {
+			return contentLen;
+		}
+
+		public void setContentLen(long contentLen) {
+			this.contentLen = contentLen;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package internal.org.springframework.content.jpa.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Measures the throughput, in MB/s, of writing a blob through {@link BlobResourceOutputStream} the way the store
+ * does, into file backed H2 and HSQLDB databases.  The databases are file backed so that a 1GB blob does not have
+ * to fit in the heap.
+ *
+ * Run with:
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl spring-content-jpa test-compile exec:exec -Djmh.includes=BlobWriteBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class BlobWriteBenchmark {
+
+    private static final int MB = 1024 * 1024;
+
+    @Param({"h2", "hsqldb"})
+    private String database;
+
+    @Param({"1", "100", "1024"})
+    private int megabytes;
+
+    private File directory;
+    private DriverManagerDataSource dataSource;
+    private GenericBlobResource resource;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("blob-benchmark").toFile();
+
+        dataSource = new DriverManagerDataSource();
+        if ("h2".equals(database)) {
+            dataSource.setDriverClassName("org.h2.Driver");
+            dataSource.setUrl("jdbc:h2:file:" + new File(directory, "blobs").getAbsolutePath());
+        } else {
+            dataSource.setDriverClassName("org.hsqldb.jdbc.JDBCDriver");
+            dataSource.setUrl("jdbc:hsqldb:file:" + new File(directory, "blobs").getAbsolutePath() + ";hsqldb.lob_compressed=false");
+            dataSource.setUsername("SA");
+        }
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        populator.addScript(new ClassPathResource(String.format("org/springframework/content/jpa/schema-%s.sql", database)));
+        populator.execute(dataSource);
+
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        resource = new GenericBlobResource("benchmark", template, new DataSourceTransactionManager(dataSource));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if ("hsqldb".equals(database)) {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        }
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Benchmark
+    public long write(Written written) throws IOException {
+        long len;
+        try (InputStream content = new PatternInputStream((long) megabytes * MB)) {
+            OutputStream os = resource.getOutputStream();
+            len = IOUtils.copyLarge(content, os);
+            os.close();
+        }
+        written.megabytes += megabytes;
+        return len;
+    }
+
+    /**
+     * Reports the megabytes written, which JMH divides by the measurement time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Written {
+
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+        }
+    }
+
+    /**
+     * Produces content of a given length from a repeated block of random bytes, so that large content does not
+     * have to be held in memory.
+     */
+    private static class PatternInputStream extends InputStream {
+
+        private static final byte[] PATTERN = new byte[64 * 1024];
+
+        static {
+            new Random(42).nextBytes(PATTERN);
+        }
+
+        private long remaining;
+        private int pos;
+
+        private PatternInputStream(long length) {
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            int b = PATTERN[pos] & 0xff;
+            pos = (pos + 1) % PATTERN.length;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int n = (int) Math.min(Math.min(len, remaining), PATTERN.length - pos);
+            System.arraycopy(PATTERN, pos, b, off, n);
+            pos = (pos + n) % PATTERN.length;
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.content.jpa.io.AbstractBlobResource;
 import org.springframework.content.jpa.io.BlobResourceLoader;
+import org.springframework.content.jpa.config.JpaStoreConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -25,6 +26,9 @@ public class JpaStoreConfiguration {
 
 	private static Log logger = LogFactory.getLog(JpaStoreConfiguration.class);
 
+	@Autowired(required = false)
+	private List<JpaStoreConfigurer> configurers;
+
 	@Bean
 	public DelegatingBlobResourceLoader blobResourceLoader(DataSource ds, List<BlobResourceLoader> loaders) {
 		return new DelegatingBlobResourceLoader(ds, loaders);
@@ -32,22 +36,33 @@ public class JpaStoreConfiguration {
 
 	@Bean
 	public BlobResourceLoader genericBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
-		return new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "GENERIC", (l, t, txn) -> {
+		return configure(new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "GENERIC", (l, t, txn) -> {
 			return new GenericBlobResource(l, t, txn); 
-		});
+		}));
 	}
 
 	@Bean
 	public BlobResourceLoader mysqlBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
-		return new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "MySQL", (l, t, txn) -> { return new MySQLBlobResource(l, t, txn); });
+		return configure(new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "MySQL", (l, t, txn) -> { return new MySQLBlobResource(l, t, txn); }));
 	}
 
 	@Bean
 	public BlobResourceLoader postgresBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
-		return new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "PostgreSQL", (l, t, txn) -> { return new PostgresBlobResource(l, t, txn); });
+		return configure(new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "PostgreSQL", (l, t, txn) -> { return new PostgresBlobResource(l, t, txn); }));
 	}
 	@Bean
 	public BlobResourceLoader sqlServerBlobResourceLoader(DataSource ds, PlatformTransactionManager txnMgr) {
-		return new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "Microsoft SQL Server", (l, t, txn) -> { return new SQLServerBlobResource(l, t, txn); });
+		return configure(new CustomizableBlobResourceLoader(new JdbcTemplate(ds), txnMgr, "Microsoft SQL Server", (l, t, txn) -> { return new SQLServerBlobResource(l, t, txn); }));
+	}
+
+	private CustomizableBlobResourceLoader configure(CustomizableBlobResourceLoader loader) {
+		JpaStorePropertiesImpl properties = new JpaStorePropertiesImpl();
+		if (configurers != null) {
+			for (JpaStoreConfigurer configurer : configurers) {
+				configurer.configure(properties);
+			}
+		}
+		loader.setWriteBufferSize(properties.getWriteBufferSize());
+		return loader;
 	}
 }
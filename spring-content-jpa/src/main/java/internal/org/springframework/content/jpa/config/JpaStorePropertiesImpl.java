@@ -0,0 +1,31 @@
+package internal.org.springframework.content.jpa.config;
+
+import org.springframework.content.jpa.config.JpaStoreProperties;
+
+import internal.org.springframework.content.jpa.io.BlobResourceOutputStream;
+
+public class JpaStorePropertiesImpl implements JpaStoreProperties {
+
+	private int commitTimeout;
+	private int writeBufferSize = BlobResourceOutputStream.DEFAULT_BUFFER_SIZE;
+
+	@Override
+	public JpaStoreProperties commitTimeout(int seconds) {
+		this.commitTimeout = seconds;
+		return this;
+	}
+
+	@Override
+	public JpaStoreProperties writeBufferSize(int bytes) {
+		this.writeBufferSize = bytes;
+		return this;
+	}
+
+	public int getCommitTimeout() {
+		return commitTimeout;
+	}
+
+	public int getWriteBufferSize() {
+		return writeBufferSize;
+	}
+}
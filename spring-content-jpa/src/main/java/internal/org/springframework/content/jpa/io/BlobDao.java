@@ -0,0 +1,124 @@
+package internal.org.springframework.content.jpa.io;
+
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Access to the BLOBS table.
+ *
+ * Every statement is parameterised and its SQL is fixed per database, so that the database can reuse its plan and
+ * drivers and pools that cache prepared statements can reuse the statement.
+ */
+public class BlobDao {
+
+	public static final String SELECT_CONTENT_SQL = "SELECT id, content FROM BLOBS WHERE id=?";
+	public static final String SELECT_COUNT_SQL = "SELECT COUNT(id) FROM BLOBS WHERE id=?";
+	public static final String INSERT_SQL = "INSERT INTO BLOBS (id, content) VALUES (?, ?)";
+	public static final String UPDATE_SQL = "UPDATE BLOBS SET content=? WHERE id=?";
+	public static final String DELETE_SQL = "DELETE FROM BLOBS WHERE id=?";
+
+	private final JdbcTemplate template;
+	private final String selectContentSQL;
+	private final String selectContentLengthSQL;
+	private final boolean lengthFromLocator;
+
+	public BlobDao(JdbcTemplate template) {
+		this(template, SELECT_CONTENT_SQL, null);
+	}
+
+	/**
+	 * @param template the template
+	 * @param selectContentSQL the query for the id and content columns of a blob
+	 * @param contentLengthExpression the SQL expression for the length of the content column, or null to read the
+	 * 			length from the blob locator
+	 */
+	public BlobDao(JdbcTemplate template, String selectContentSQL, String contentLengthExpression) {
+		this.template = template;
+		this.selectContentSQL = selectContentSQL;
+		this.lengthFromLocator = contentLengthExpression == null;
+		this.selectContentLengthSQL = "SELECT " + (lengthFromLocator ? "content" : contentLengthExpression) + " FROM BLOBS WHERE id=?";
+	}
+
+	public JdbcTemplate getTemplate() {
+		return template;
+	}
+
+	public boolean exists(Object id) {
+		Integer count = template.queryForObject(SELECT_COUNT_SQL, Integer.class, id.toString());
+		return count != null && count > 0;
+	}
+
+	/**
+	 * Returns the length of the content of the blob, or null when there is no such blob, in a single query.
+	 *
+	 * @param id the blob id
+	 * @return the length of the content, or null
+	 */
+	public Long selectContentLength(Object id) {
+		return template.query(selectContentLengthSQL, ps -> ps.setString(1, id.toString()), new ResultSetExtractor<Long>() {
+			@Override
+			public Long extractData(ResultSet rs) throws SQLException {
+				if (!rs.next()) {
+					return null;
+				}
+				if (lengthFromLocator) {
+					Blob b = rs.getBlob(1);
+					return b != null ? b.length() : 0L;
+				}
+				return rs.getLong(1);
+			}
+		});
+	}
+
+	/**
+	 * Prepares the query for the id and content columns of a blob on the given connection.  The caller owns the
+	 * statement and the connection.
+	 */
+	public PreparedStatement prepareSelectContent(Connection conn, Object id) throws SQLException {
+		return prepareSelectContent(conn, id, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+	}
+
+	public PreparedStatement prepareSelectContent(Connection conn, Object id, int resultSetType, int resultSetConcurrency) throws SQLException {
+		PreparedStatement ps = conn.prepareStatement(selectContentSQL, resultSetType, resultSetConcurrency);
+		try {
+			ps.setString(1, id.toString());
+		} catch (SQLException e) {
+			ps.close();
+			throw e;
+		}
+		return ps;
+	}
+
+	/**
+	 * Inserts or replaces the content of a blob.
+	 *
+	 * @param id the blob id
+	 * @param content the content
+	 * @param length the exact length of the content
+	 */
+	public void write(Object id, InputStream content, long length) {
+		String rid = id.toString();
+		if (exists(rid)) {
+			template.update(UPDATE_SQL, ps -> {
+				ps.setBinaryStream(1, content, length);
+				ps.setString(2, rid);
+			});
+		} else {
+			template.update(INSERT_SQL, ps -> {
+				ps.setString(1, rid);
+				ps.setBinaryStream(2, content, length);
+			});
+		}
+	}
+
+	public void delete(Object id) {
+		template.update(DELETE_SQL, id.toString());
+	}
+}
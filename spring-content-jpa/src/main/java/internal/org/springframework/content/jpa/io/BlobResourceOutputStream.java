@@ -1,132 +1,168 @@
 package internal.org.springframework.content.jpa.io;
 
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
-import java.sql.Blob;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-
-import org.apache.commons.io.IOUtils;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.springframework.content.jpa.io.BlobResource;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.ResultSetExtractor;
-import org.springframework.jdbc.datasource.DataSourceUtils;
 
+/**
+ * Collects content in memory, or in a temporary file once it outgrows the buffer, and writes it to the BLOBS table
+ * when closed so that the driver is given the content as a stream of known length.
+ */
 public class BlobResourceOutputStream extends OutputStream {
 
-	private static Log logger = LogFactory.getLog(BlobResourceOutputStream.class);
+	public static final int DEFAULT_BUFFER_SIZE = 4 * 1024 * 1024;
 
 	private BlobResource blobResource;
 	private JdbcTemplate template;
+	private BlobDao dao;
+	private int bufferSize;
 
-	private Connection con;
-	private PreparedStatement ps;
-	private ResultSet rs;
 	private OutputStream os;
-	private Blob blob;
-	private boolean insert;
-	
+	private boolean closed;
+	private boolean failed;
+
 	public BlobResourceOutputStream(BlobResource blobResource, JdbcTemplate template) {
+		this(blobResource, template, DEFAULT_BUFFER_SIZE);
+	}
+
+	public BlobResourceOutputStream(BlobResource blobResource, JdbcTemplate template, int bufferSize) {
 		this.blobResource = blobResource;
 		this.template = template;
+		this.dao = new BlobDao(template);
+		this.bufferSize = bufferSize;
 	}
 
 	protected BlobResource getResource() {
 		return blobResource;
 	}
-	
+
 	protected JdbcTemplate getTemplate() {
 		return template;
 	}
-	
+
+	protected BlobDao getDao() {
+		return dao;
+	}
+
 	@Override
 	public void write(int b) throws IOException {
 
 		if (os == null) {
 			os = initializeStream();
 		}
-		
-		os.write(b);
-	}
-	
-	protected OutputStream initializeStream() {
-		
-		final Object rid = blobResource.getId();
-		con = DataSourceUtils.getConnection(template.getDataSource());
 
-		String sql = "SELECT id, content FROM BLOBS WHERE id=?";
 		try {
-			ps = con.prepareStatement(sql, ResultSet.TYPE_SCROLL_SENSITIVE, ResultSet.CONCUR_UPDATABLE);
-			ps.setString(1, rid.toString());
-			rs = ps.executeQuery();
-			
-
-			if (!rs.next()) {
-				insert = true;
-				rs.moveToInsertRow();
-			} else { 
-			}
-			
-			blob = ps.getConnection().createBlob(); 
-			return blob.setBinaryStream(1L);
-			
-		} catch (SQLException e) {
-			logger.error(String.format("intializing stream for blob resource %s", rid), e);
+			os.write(b);
+		} catch (IOException e) {
+			failed = true;
+			throw e;
 		}
-		
-		return null;
 	}
 
 	@Override
-	public void close() throws IOException {
-		
-		IOUtils.closeQuietly(os);
-		
+	public void write(byte[] b, int off, int len) throws IOException {
+
+		if (os == null) {
+			os = initializeStream();
+		}
+
 		try {
-			
-			rs.updateString(1, blobResource.getId().toString());
-			rs.updateBlob(2, blob);
-			
-			if (!insert) {
-				rs.updateRow();
-			} else {
-				rs.insertRow();
-			}
-		} catch (SQLException e) {
-			logger.error(String.format("closing stream for blob resource %s", blobResource.getId()), e);
+			os.write(b, off, len);
+		} catch (IOException e) {
+			failed = true;
+			throw e;
+		}
+	}
+
+	protected OutputStream initializeStream() throws IOException {
+		return new DeferredFileOutputStream(bufferSize, "blob", ".tmp", null);
+	}
+
+	/**
+	 * Writes the content collected by the stream returned from {@link #initializeStream()} to the database.  The
+	 * stream has already been closed.
+	 */
+	protected void writeBlob(OutputStream stream) throws IOException {
+
+		DeferredFileOutputStream content = (DeferredFileOutputStream) stream;
+		String id = blobResource.getId().toString();
+
+		try (InputStream in = content.isInMemory() ? new ByteArrayInputStream(content.getData()) : new FileInputStream(content.getFile())) {
+			dao.write(id, in, content.getByteCount());
+		} catch (DataAccessException e) {
+			throw new IOException(String.format("writing blob resource %s", id), e);
 		} finally {
-			try {
-				rs.close();
-				ps.close();
-				DataSourceUtils.releaseConnection(con, template.getDataSource());
-			} catch (SQLException e) {
-				logger.error(String.format("closing resources for blob resource %s", blobResource.getId()), e);
+			if (content.isInMemory() == false) {
+				FileUtils.deleteQuietly(content.getFile());
 			}
 		}
-		
+	}
+
+	@Override
+	public void close() throws IOException {
+
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		if (failed) {
+			discard();
+			throw new IOException(String.format("content for blob resource %s is incomplete", blobResource.getId()));
+		}
+
+		if (os == null) {
+			os = initializeStream();
+		}
+
+		os.close();
+		writeBlob(os);
+
 		super.close();
 	}
-	
-	
-
-	public Blob getBlob() { 
-		String sql = "SELECT id, content FROM BLOBS WHERE id='" + blobResource.getId() + "'";
-		return this.template.query(sql, new ResultSetExtractor<Blob>() {
-			@Override
-			public Blob extractData(ResultSet rs)
-					throws SQLException, DataAccessException {
-				if (rs.next()) {
-					return rs.getBlob(1);
-				}
-				else {
-					return null;
-				}
+
+	/**
+	 * Discards the content written so far, for example because copying it failed part way.  The existing content,
+	 * if any, is retained and closing the stream afterwards does nothing.
+	 */
+	public void abort() {
+
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		discard();
+	}
+
+	private void discard() {
+		if (os != null) {
+			try {
+				os.close();
+			} catch (IOException e) {
+				// the content is being discarded
 			}
-		});
+			discardBlob(os);
+		}
+	}
+
+	/**
+	 * Releases the content collected by the stream returned from {@link #initializeStream()} without writing it to
+	 * the database.  The stream has already been closed.
+	 */
+	protected void discardBlob(OutputStream stream) {
+
+		DeferredFileOutputStream content = (DeferredFileOutputStream) stream;
+		if (content.isInMemory() == false) {
+			FileUtils.deleteQuietly(content.getFile());
+		}
 	}
 }
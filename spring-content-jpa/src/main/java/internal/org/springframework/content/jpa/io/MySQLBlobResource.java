@@ -11,7 +11,7 @@ public class MySQLBlobResource extends AbstractBlobResource {
 	}
 
 	@Override
-	protected String getSelectBlobSQL(Object id) {
-		return "SELECT id, 'content' as content FROM BLOBS WHERE id='" + id + "'";
+	protected BlobDao createDao(JdbcTemplate template) {
+		return new BlobDao(template, "SELECT id, 'content' as content FROM BLOBS WHERE id=?", "OCTET_LENGTH(content)");
 	}
 }
@@ -2,14 +2,14 @@ package internal.org.springframework.content.jpa.io;
 
 import static java.lang.String.format;
 
-import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 import javax.sql.DataSource;
 
@@ -18,6 +18,7 @@ import org.apache.commons.logging.LogFactory;
 import org.postgresql.largeobject.LargeObject;
 import org.postgresql.largeobject.LargeObjectManager;
 import org.springframework.content.jpa.io.AbstractBlobResource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -36,8 +37,6 @@ public class PostgresBlobResource extends AbstractBlobResource {
 	public InputStream getInputStream() throws IOException {
 		final Object id = this.getId();
 
-		String sql = getSelectBlobSQL(id);
-
 		TransactionStatus status = null;
 		if (getTransactionManager() != null) {
 		    status = getTransactionManager().getTransaction(new DefaultTransactionDefinition());
@@ -47,11 +46,11 @@ public class PostgresBlobResource extends AbstractBlobResource {
 		Connection conn = DataSourceUtils.getConnection(ds);
 
 		InputStream is = null;
-		Statement stmt = null;
+		PreparedStatement stmt = null;
 		ResultSet rs = null;
 		try {
-			stmt = conn.createStatement();
-			rs = stmt.executeQuery(sql);
+			stmt = getDao().prepareSelectContent(conn, id);
+			rs = stmt.executeQuery();
 			if (!rs.next()) {
 				try {
 					rs.close();
@@ -66,7 +65,13 @@ public class PostgresBlobResource extends AbstractBlobResource {
 			LargeObjectManager lobj = conn.unwrap(org.postgresql.PGConnection.class).getLargeObjectAPI();
 			long oid = rs.getLong(2);
 			LargeObject obj = lobj.open(oid, LargeObjectManager.READ);
-			is = obj.getInputStream(-1);
+			long[] region = getRange() != null ? getByteRange(obj.size64()) : null;
+			if (region != null) {
+				obj.seek64(region[0], LargeObject.SEEK_SET);
+				is = new PartialContentInputStream(obj.getInputStream(region[1]));
+			} else {
+				is = obj.getInputStream(-1);
+			}
 		}
 		catch (SQLException e) {
 			logger.error(format("getting content %s", id), e);
@@ -76,9 +81,57 @@ public class PostgresBlobResource extends AbstractBlobResource {
 		return new ClosingInputStream(id, is, rs, stmt, status, getTransactionManager(), conn, ds);
 	}
 
+	@Override
+	public boolean exists() {
+		// the length of a large object is not available to a plain query
+		try {
+			return getDao().exists(getId());
+		} catch (DataAccessException dae) {
+			logger.warn(format("checking existence of content %s", getId()), dae);
+			return false;
+		}
+	}
+
+	@Override
+	public long contentLength() throws IOException {
+		final Object id = this.getId();
+
+		TransactionStatus status = null;
+		if (getTransactionManager() != null) {
+			status = getTransactionManager().getTransaction(new DefaultTransactionDefinition());
+		}
+
+		DataSource ds = this.getTemplate().getDataSource();
+		Connection conn = DataSourceUtils.getConnection(ds);
+		try (PreparedStatement ps = getDao().prepareSelectContent(conn, id)) {
+			try (ResultSet rs = ps.executeQuery()) {
+				if (!rs.next()) {
+					throw new FileNotFoundException(format("blob resource %s not found", id));
+				}
+
+				LargeObjectManager lobj = conn.unwrap(org.postgresql.PGConnection.class).getLargeObjectAPI();
+				LargeObject obj = lobj.open(rs.getLong(2), LargeObjectManager.READ);
+				try {
+					return obj.size64();
+				} finally {
+					obj.close();
+				}
+			}
+		}
+		catch (SQLException e) {
+			throw new IOException(format("getting content length %s", id), e);
+		}
+		finally {
+			DataSourceUtils.releaseConnection(conn, ds);
+			if (status != null && status.isCompleted() == false) {
+				getTransactionManager().commit(status);
+			}
+		}
+	}
+
 	@Override
 	public OutputStream getOutputStream() throws IOException {
-		return new BufferedOutputStream(new PostgresBlobResourceOutputStream(this, this.getTemplate()), 10);
+		return new PostgresBlobResourceOutputStream(this, this.getTemplate());
 	}
 
     @Override
@@ -86,16 +139,15 @@ public class PostgresBlobResource extends AbstractBlobResource {
         throws IOException {
 
         final Object id = this.getId();
-        String sql = getSelectBlobSQL(id);
 
         DataSource ds = this.getTemplate().getDataSource();
         Connection conn = DataSourceUtils.getConnection(ds);
 
-        Statement stmt = null;
+        PreparedStatement stmt = null;
         ResultSet rs = null;
         try {
-            stmt = conn.createStatement();
-            rs = stmt.executeQuery(sql);
+            stmt = getDao().prepareSelectContent(conn, id);
+            rs = stmt.executeQuery();
             if (!rs.next()) {
                 try {
                     rs.close();
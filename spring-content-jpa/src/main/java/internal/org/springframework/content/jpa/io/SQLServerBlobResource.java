@@ -5,9 +5,9 @@ import static java.lang.String.format;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 import javax.sql.DataSource;
 
@@ -28,12 +28,15 @@ public class SQLServerBlobResource extends AbstractBlobResource {
 		super(id, template, txnMgr);
 	}
 
+	@Override
+	protected BlobDao createDao(JdbcTemplate template) {
+		return new BlobDao(template, BlobDao.SELECT_CONTENT_SQL, "DATALENGTH(content)");
+	}
+
 	@Override
 	public InputStream getInputStream() throws IOException {
 		final Object id = getId();
 
-		String sql = getSelectBlobSQL(getId());
-
 		DataSource ds = getTemplate().getDataSource();
 		Connection conn = DataSourceUtils.getConnection(ds);
 		try {
@@ -42,20 +45,20 @@ public class SQLServerBlobResource extends AbstractBlobResource {
 			logger.error(format("setting autocommit to false whilst getting content %s", id), e);
 		}
 		InputStream is = null;
-		Statement stmt = null;
+		PreparedStatement stmt = null;
 		ResultSet rs = null;
 		try {
-			stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
+			stmt = getDao().prepareSelectContent(conn, id, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
 
 			if (stmt.isWrapperFor(com.microsoft.sqlserver.jdbc.SQLServerStatement.class)) {
 				SQLServerStatement SQLstmt = stmt.unwrap(com.microsoft.sqlserver.jdbc.SQLServerStatement.class);
 				SQLstmt.setResponseBuffering("adaptive");
 			}
-			rs = stmt.executeQuery(sql);
+			rs = stmt.executeQuery();
 
 			if (!rs.next())
 				return null;
-			is = rs.getBinaryStream(2);
+			is = getRange() != null ? getBinaryStream(rs.getBlob(2)) : rs.getBinaryStream(2);
 		}
 		catch (SQLException e) {
 			logger.error(format("getting content %s", id), e);
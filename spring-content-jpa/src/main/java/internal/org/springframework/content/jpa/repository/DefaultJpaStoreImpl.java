@@ -13,8 +13,6 @@ import java.util.UUID;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.content.commons.annotations.ContentId;
 import org.springframework.content.commons.annotations.ContentLength;
 import org.springframework.content.commons.io.DeletableResource;
@@ -34,6 +32,8 @@ import org.springframework.core.io.WritableResource;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import internal.org.springframework.content.jpa.io.BlobResourceOutputStream;
+
 public class DefaultJpaStoreImpl<S, SID extends Serializable>
 		implements Store<SID>, AssociativeStore<S, SID>, ContentStore<S, SID> {
 
@@ -196,12 +196,10 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
 		    return entity;
 		}
 
-		OutputStream os = null;
 		long contentLen = -1L;
 		try {
 			if (resource instanceof WritableResource) {
-				os = ((WritableResource) resource).getOutputStream();
-				contentLen = IOUtils.copyLarge(content, os);
+				contentLen = write((WritableResource) resource, content);
 			}
 		}
 		catch (IOException e) {
@@ -210,7 +208,6 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
 		}
 		finally {
 			IOUtils.closeQuietly(content);
-			IOUtils.closeQuietly(os);
 		}
 
 		BeanUtils.setFieldWithAnnotation(entity, ContentId.class,
@@ -248,12 +245,10 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
             return entity;
         }
 
-        OutputStream os = null;
         long readLen = -1L;
         try {
             if (resource instanceof WritableResource) {
-                os = ((WritableResource) resource).getOutputStream();
-                readLen = IOUtils.copyLarge(content, os);
+                readLen = write((WritableResource) resource, content);
             }
         }
         catch (IOException e) {
@@ -262,7 +257,6 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
         }
         finally {
             IOUtils.closeQuietly(content);
-            IOUtils.closeQuietly(os);
         }
 
         property.setContentId(entity, ((BlobResource) resource).getId(), null);
@@ -347,6 +341,23 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
         return entity;
     }
 
+	// the new content only replaces the old once it has been copied in full
+	private long write(WritableResource resource, InputStream content) throws IOException {
+		OutputStream os = resource.getOutputStream();
+		try {
+			long len = IOUtils.copyLarge(content, os);
+			os.close();
+			return len;
+		} catch (IOException | RuntimeException e) {
+			if (os instanceof BlobResourceOutputStream) {
+				((BlobResourceOutputStream) os).abort();
+			} else {
+				IOUtils.closeQuietly(os);
+			}
+			throw e;
+		}
+	}
+
 	protected Object convertToExternalContentIdType(S property, Object contentId) {
 		ConversionService converter = new DefaultConversionService();
 		if (converter.canConvert(TypeDescriptor.forObject(contentId),
@@ -389,7 +400,6 @@ public class DefaultJpaStoreImpl<S, SID extends Serializable>
         Assert.notNull(entity, "entity must not be null");
         Assert.notNull(propertyPath, "propertyPath must not be null");
 
-        BeanWrapper wrapper = new BeanWrapperImpl(entity);
         ContentProperty property = this.mappingContext.getContentProperty(entity.getClass(), propertyPath.getName());
         if (property == null) {
             throw new StoreAccessException(String.format("Content property %s does not exist", propertyPath.getName()));
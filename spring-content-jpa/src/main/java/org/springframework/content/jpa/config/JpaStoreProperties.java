@@ -4,4 +4,13 @@ public interface JpaStoreProperties {
 
 	JpaStoreProperties commitTimeout(int seconds);
 
+	/**
+	 * Sets the number of bytes of content held in memory while writing a blob before the content is spilled to a
+	 * temporary file.  The content is written to the database when the stream is closed.
+	 *
+	 * @param bytes the size of the write buffer in bytes
+	 * @return the properties
+	 */
+	JpaStoreProperties writeBufferSize(int bytes);
+
 }
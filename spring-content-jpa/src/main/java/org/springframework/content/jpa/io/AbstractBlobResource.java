@@ -2,8 +2,9 @@ package org.springframework.content.jpa.io;
 
 import static java.lang.String.format;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -11,6 +12,7 @@ import java.net.URI;
 import java.net.URL;
 import java.sql.Blob;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -19,22 +21,29 @@ import javax.sql.DataSource;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.utils.ByteRanges;
 import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
 
+import internal.org.springframework.content.jpa.io.BlobDao;
 import internal.org.springframework.content.jpa.io.BlobResourceOutputStream;
 
-public abstract class AbstractBlobResource implements BlobResource {
+public abstract class AbstractBlobResource implements BlobResource, RangeableResource {
 
     private static Log logger = LogFactory.getLog(AbstractBlobResource.class);
 
     private Object id;
     private JdbcTemplate template;
     private PlatformTransactionManager txnMgr;
+    private int writeBufferSize = BlobResourceOutputStream.DEFAULT_BUFFER_SIZE;
+    private String range;
+    private BlobDao dao;
+    private Long contentLength;
 
     public AbstractBlobResource(Object id, JdbcTemplate template, PlatformTransactionManager txnMgr) {
         this.id = id;
@@ -63,6 +72,56 @@ public abstract class AbstractBlobResource implements BlobResource {
         return txnMgr;
     }
 
+    protected BlobDao getDao() {
+        if (dao == null) {
+            dao = createDao(template);
+        }
+        return dao;
+    }
+
+    /**
+     * Creates the DAO used to access the BLOBS table.  Override to provide database-specific SQL.
+     */
+    protected BlobDao createDao(JdbcTemplate template) {
+        return new BlobDao(template);
+    }
+
+    protected int getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    /**
+     * Sets the number of bytes of content that are held in memory while writing, before the content is spilled to
+     * a temporary file.
+     *
+     * @param writeBufferSize the size of the write buffer in bytes
+     */
+    public void setWriteBufferSize(int writeBufferSize) {
+        this.writeBufferSize = writeBufferSize;
+    }
+
+    @Override
+    public void setRange(String range) {
+        this.range = range;
+    }
+
+    protected String getRange() {
+        return range;
+    }
+
+    /**
+     * Returns the start and length of the byte range set on this resource, for content of the given length.
+     *
+     * Returns null when no range is set, or when the range is not a single satisfiable range, in which case the
+     * whole content should be served.
+     *
+     * @param contentLength the length of the content
+     * @return the start and length of the range, or null
+     */
+    protected long[] getByteRange(long contentLength) {
+        return ByteRanges.parse(range, contentLength);
+    }
+
     @Override
     public boolean isWritable() {
         return true;
@@ -70,31 +129,38 @@ public abstract class AbstractBlobResource implements BlobResource {
 
     @Override
     public OutputStream getOutputStream() throws IOException {
-        return new BufferedOutputStream(new BlobResourceOutputStream(this, template), 10);
+        invalidateMetadata();
+        return new BlobResourceOutputStream(this, template, writeBufferSize);
     }
 
     @Override
     public boolean exists() {
+        try {
+            return getMetadata() != null;
+        } catch (DataAccessException dae) {
+            logger.warn(format("checking existence of blob resource %s", id), dae);
+            return false;
+        }
+    }
 
-        final Object id = this.id;
-
-        String sql = "SELECT COUNT(id) FROM BLOBS WHERE id='" + this.id + "'";
-
-        return this.template.query(sql, new ResultSetExtractor<Boolean>() {
-            @Override
-            public Boolean extractData(ResultSet rs) {
-                try {
-                    if (rs.next()) {
-                        int count = rs.getInt(1);
-                        return count == 1;
-                    }
-                } catch (SQLException sqle) {
-                    logger.warn(format("checking existence of blob resource %s", id), sqle);
-                }
+    /**
+     * Returns the length of the content, or null when there is no content.
+     *
+     * Existence and length are fetched by a single query and remembered, so that callers asking for both, such as
+     * the REST layer serving a GET or HEAD, only query the database once.  Content that is found to be missing is
+     * not remembered, and writing or deleting through this resource forgets the content.
+     *
+     * @return the length of the content, or null
+     */
+    protected Long getMetadata() {
+        if (contentLength == null) {
+            contentLength = getDao().selectContentLength(id);
+        }
+        return contentLength;
+    }
 
-                return false;
-            }
-        });
+    protected void invalidateMetadata() {
+        contentLength = null;
     }
 
     @Override
@@ -124,7 +190,11 @@ public abstract class AbstractBlobResource implements BlobResource {
 
     @Override
     public long contentLength() throws IOException {
-        return 0;
+        Long length = getMetadata();
+        if (length == null) {
+            throw new FileNotFoundException(format("blob resource %s not found", id));
+        }
+        return length;
     }
 
     @Override
@@ -151,17 +221,15 @@ public abstract class AbstractBlobResource implements BlobResource {
     public InputStream getInputStream() throws IOException {
         final Object id = this.id;
 
-        String sql = getSelectBlobSQL(this.id);
-
         DataSource ds = this.template.getDataSource();
         Connection conn = DataSourceUtils.getConnection(ds);
 
         InputStream is = null;
-        Statement stmt = null;
+        PreparedStatement stmt = null;
         ResultSet rs = null;
         try {
-            stmt = conn.createStatement();
-            rs = stmt.executeQuery(sql);
+            stmt = getDao().prepareSelectContent(conn, id);
+            rs = stmt.executeQuery();
             if (!rs.next()) {
                 try {
                     rs.close();
@@ -174,7 +242,7 @@ public abstract class AbstractBlobResource implements BlobResource {
             }
 
             Blob b = rs.getBlob(2);
-            is = b.getBinaryStream();
+            is = getBinaryStream(b);
         }
         catch (SQLException e) {
             logger.error(format("getting input stream for blob resource %s", id), e);
@@ -186,13 +254,21 @@ public abstract class AbstractBlobResource implements BlobResource {
 
     @Override
     public void delete() throws IOException {
-        String sql = "DELETE FROM BLOBS WHERE id='" + this.id + "'";
-        this.template.update(sql);
+        invalidateMetadata();
+        getDao().delete(this.id);
     }
 
 
-    protected String getSelectBlobSQL(Object id) {
-        return "SELECT id, content FROM BLOBS WHERE id='" + id + "'";
+    /**
+     * Returns a stream onto the blob, or onto just the byte range set on this resource so that the driver can
+     * start reading at the range rather than at the beginning of the content.
+     */
+    protected InputStream getBinaryStream(Blob b) throws SQLException {
+        long[] region = range != null ? getByteRange(b.length()) : null;
+        if (region != null) {
+            return new PartialContentInputStream(b.getBinaryStream(region[0] + 1, region[1]));
+        }
+        return b.getBinaryStream();
     }
 
     public class ClosingInputStream extends InputStream {
@@ -229,6 +305,28 @@ public abstract class AbstractBlobResource implements BlobResource {
             }
         }
 
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return actual.read(b, off, len);
+            } catch (IOException ioe) {
+              if (txnStatus != null && txnStatus.isCompleted() == false) {
+                  txnMgr.rollback(txnStatus);
+              }
+              throw ioe;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return actual.skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return actual.available();
+        }
+
         @Override
         public void close() {
 
@@ -282,4 +380,20 @@ public abstract class AbstractBlobResource implements BlobResource {
             }
         }
     }
+
+    /**
+     * A stream onto a byte range of the content.  The range has already been positioned by the database, so
+     * consumers skipping to the start of the range are told that they have.
+     */
+    public static class PartialContentInputStream extends FilterInputStream {
+
+        public PartialContentInputStream(InputStream delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return n;
+        }
+    }
 }
@@ -16,6 +16,7 @@ public class CustomizableBlobResourceLoader implements BlobResourceLoader {
 	private PlatformTransactionManager txnMgr;
 	private String databaseName;
 	private ResourceProvider resourceProvider;
+	private Integer writeBufferSize;
 
 	public CustomizableBlobResourceLoader(JdbcTemplate template, PlatformTransactionManager txnMgr) {
 		this.template = template;
@@ -36,9 +37,17 @@ public class CustomizableBlobResourceLoader implements BlobResourceLoader {
 		return databaseName;
 	}
 
+	public void setWriteBufferSize(int writeBufferSize) {
+		this.writeBufferSize = writeBufferSize;
+	}
+
 	@Override
 	public Resource getResource(String location) {
-		return resourceProvider.getResource(location, template, txnMgr);
+		Resource resource = resourceProvider.getResource(location, template, txnMgr);
+		if (writeBufferSize != null && resource instanceof AbstractBlobResource) {
+			((AbstractBlobResource) resource).setWriteBufferSize(writeBufferSize);
+		}
+		return resource;
 	}
 
 	@Override
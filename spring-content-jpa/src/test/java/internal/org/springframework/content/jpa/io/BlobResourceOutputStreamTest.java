@@ -0,0 +1,161 @@
+package internal.org.springframework.content.jpa.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.content.jpa.io.BlobResource;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+@RunWith(Ginkgo4jRunner.class)
+public class BlobResourceOutputStreamTest {
+
+	private BlobResourceOutputStream stream;
+
+	private BlobResource resource;
+	private JdbcTemplate template;
+	private PreparedStatement ps;
+	private ArgumentCaptor<PreparedStatementSetter> setter;
+
+	private int bufferSize;
+	private Exception e;
+
+	{
+		Describe("BlobResourceOutputStream", () -> {
+			BeforeEach(() -> {
+				resource = mock(BlobResource.class);
+				when(resource.getId()).thenReturn("12345");
+				template = mock(JdbcTemplate.class);
+				ps = mock(PreparedStatement.class);
+				setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+				e = null;
+			});
+			JustBeforeEach(() -> {
+				stream = new BlobResourceOutputStream(resource, template, bufferSize);
+				try {
+					stream.write("Hello Content World!".getBytes());
+					stream.close();
+				} catch (IOException ioe) {
+					e = ioe;
+				}
+			});
+			Context("given content that fits in the buffer", () -> {
+				BeforeEach(() -> {
+					bufferSize = 1024;
+					when(template.queryForObject(anyString(), eq(Integer.class), any())).thenReturn(0);
+				});
+				It("should insert the content with its length", () -> {
+					assertThat(e, is(nullValue()));
+					verify(template).update(eq("INSERT INTO BLOBS (id, content) VALUES (?, ?)"), setter.capture());
+					setter.getValue().setValues(ps);
+					verify(ps).setString(1, "12345");
+					verify(ps).setBinaryStream(eq(2), any(InputStream.class), eq(20L));
+				});
+				It("should only write once when closed again", () -> {
+					stream.close();
+					verify(template, times(1)).update(anyString(), any(PreparedStatementSetter.class));
+				});
+			});
+			Context("given content that outgrows the buffer and an existing blob", () -> {
+				BeforeEach(() -> {
+					bufferSize = 4;
+					when(template.queryForObject(anyString(), eq(Integer.class), any())).thenReturn(1);
+				});
+				It("should update the content with its length", () -> {
+					assertThat(e, is(nullValue()));
+					verify(template).update(eq("UPDATE BLOBS SET content=? WHERE id=?"), setter.capture());
+					setter.getValue().setValues(ps);
+					verify(ps).setBinaryStream(eq(1), any(InputStream.class), eq(20L));
+					verify(ps).setString(2, "12345");
+				});
+			});
+			Context("given the database write fails", () -> {
+				BeforeEach(() -> {
+					bufferSize = 1024;
+					when(template.queryForObject(anyString(), eq(Integer.class), any())).thenThrow(new DataAccessResourceFailureException("badness"));
+				});
+				It("should throw an IOException from close", () -> {
+					assertThat(e, is(not(nullValue())));
+				});
+			});
+		});
+
+		Describe("BlobResourceOutputStream#abort", () -> {
+			BeforeEach(() -> {
+				resource = mock(BlobResource.class);
+				when(resource.getId()).thenReturn("12345");
+				template = mock(JdbcTemplate.class);
+				e = null;
+			});
+			Context("given content that was partly written and then aborted", () -> {
+				BeforeEach(() -> {
+					stream = new BlobResourceOutputStream(resource, template, 4);
+					stream.write("Hello Content World!".getBytes());
+					stream.abort();
+					stream.close();
+				});
+				It("should not write the content", () -> {
+					verify(template, never()).update(anyString(), any(PreparedStatementSetter.class));
+				});
+			});
+			Context("given a write that fails part way", () -> {
+				BeforeEach(() -> {
+					stream = new BlobResourceOutputStream(resource, template, 1024) {
+						@Override
+						protected OutputStream initializeStream() {
+							return new OutputStream() {
+								@Override
+								public void write(int b) throws IOException {
+									throw new IOException("badness");
+								}
+							};
+						}
+
+						@Override
+						protected void discardBlob(OutputStream stream) {
+						}
+					};
+					try {
+						stream.write("Hello Content World!".getBytes());
+					} catch (IOException ioe) {
+						// expected
+					}
+					try {
+						stream.close();
+					} catch (IOException ioe) {
+						e = ioe;
+					}
+				});
+				It("should not commit the truncated content when closed", () -> {
+					assertThat(e, is(not(nullValue())));
+					verify(template, never()).update(anyString(), any(PreparedStatementSetter.class));
+				});
+			});
+		});
+	}
+}
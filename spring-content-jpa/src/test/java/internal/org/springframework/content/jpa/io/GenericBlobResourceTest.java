@@ -5,20 +5,30 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
 import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.sql.Blob;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 import javax.sql.DataSource;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.runner.RunWith;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
@@ -31,14 +41,15 @@ public class GenericBlobResourceTest {
 
 	private GenericBlobResource resource;
 
-	private String id;
 	private JdbcTemplate template;
 	private PlatformTransactionManager txnMgr;
 
 	private DataSource ds;
 	private Connection conn;
-	private Statement statement;
+	private PreparedStatement ps;
 	private ResultSet rs;
+	private Blob blob;
+	private String range;
 
 	private Object result;
 
@@ -52,15 +63,16 @@ public class GenericBlobResourceTest {
 			Context("#exists", () -> {
 				BeforeEach(() -> {
 					conn = mock(Connection.class);
-					statement = mock(Statement.class);
+					ps = mock(PreparedStatement.class);
 					rs = mock(ResultSet.class);
 
 					when(ds.getConnection()).thenReturn(conn);
-					when(conn.createStatement()).thenReturn(statement);
-					when(statement.executeQuery(anyObject())).thenReturn(rs);
+					when(conn.prepareStatement(anyObject())).thenReturn(ps);
+					when(conn.prepareStatement(anyObject(), anyInt(), anyInt())).thenReturn(ps);
+					when(ps.executeQuery()).thenReturn(rs);
 				});
 				JustBeforeEach(() -> {
-					resource = new GenericBlobResource(id, template, txnMgr);
+					resource = new GenericBlobResource("12345", template, txnMgr);
 					result = resource.exists();
 				});
 				Context("given the resultset throws SQLException", () -> {
@@ -72,18 +84,120 @@ public class GenericBlobResourceTest {
 					});
 				});
 			});
+			Context("#contentLength", () -> {
+				BeforeEach(() -> {
+					conn = mock(Connection.class);
+					ps = mock(PreparedStatement.class);
+					rs = mock(ResultSet.class);
+					blob = mock(Blob.class);
+
+					when(ds.getConnection()).thenReturn(conn);
+					when(conn.prepareStatement(anyObject())).thenReturn(ps);
+					when(ps.executeQuery()).thenReturn(rs);
+				});
+				JustBeforeEach(() -> {
+					resource = new GenericBlobResource("12345", template, txnMgr);
+					try {
+						result = resource.contentLength();
+					} catch (Exception e) {
+						result = e;
+					}
+				});
+				Context("given the blob exists", () -> {
+					BeforeEach(() -> {
+						when(rs.next()).thenReturn(true);
+						when(rs.getBlob(1)).thenReturn(blob);
+						when(blob.length()).thenReturn(1024L);
+					});
+					It("should return the length of the blob", () -> {
+						assertThat(result, is(1024L));
+						verify(ps).setString(1, "12345");
+					});
+					It("should not query the database again to check existence", () -> {
+						assertThat(resource.exists(), is(true));
+						verify(conn, times(1)).prepareStatement(anyObject());
+					});
+				});
+				Context("given the blob does not exist", () -> {
+					BeforeEach(() -> {
+						when(rs.next()).thenReturn(false);
+					});
+					It("should throw a FileNotFoundException", () -> {
+						assertThat(result, is(instanceOf(FileNotFoundException.class)));
+					});
+				});
+			});
+			Context("#getInputStream given a range", () -> {
+				BeforeEach(() -> {
+					conn = mock(Connection.class);
+					ps = mock(PreparedStatement.class);
+					rs = mock(ResultSet.class);
+					blob = mock(Blob.class);
+
+					when(ds.getConnection()).thenReturn(conn);
+					when(conn.prepareStatement(anyObject(), anyInt(), anyInt())).thenReturn(ps);
+					when(ps.executeQuery()).thenReturn(rs);
+					when(rs.next()).thenReturn(true);
+					when(rs.getBlob(2)).thenReturn(blob);
+					when(blob.length()).thenReturn(10L);
+					when(blob.getBinaryStream(anyLong(), anyLong())).thenReturn(new ByteArrayInputStream("2345".getBytes()));
+					when(blob.getBinaryStream()).thenReturn(new ByteArrayInputStream("0123456789".getBytes()));
+				});
+				JustBeforeEach(() -> {
+					resource = new GenericBlobResource("12345", template, txnMgr);
+					resource.setRange(range);
+					result = resource.getInputStream();
+				});
+				Context("given a single range", () -> {
+					BeforeEach(() -> {
+						range = "bytes=2-5";
+					});
+					It("should read just the range from the blob", () -> {
+						verify(blob).getBinaryStream(3L, 4L);
+						InputStream is = (InputStream) result;
+						assertThat(is.skip(2), is(2L));
+						assertThat(IOUtils.toString(is, "UTF-8"), is("2345"));
+					});
+				});
+				Context("given an open-ended range", () -> {
+					BeforeEach(() -> {
+						range = "bytes=6-";
+					});
+					It("should read to the end of the blob", () -> {
+						verify(blob).getBinaryStream(7L, 4L);
+					});
+				});
+				Context("given a suffix range", () -> {
+					BeforeEach(() -> {
+						range = "bytes=-3";
+					});
+					It("should read the end of the blob", () -> {
+						verify(blob).getBinaryStream(8L, 3L);
+					});
+				});
+				Context("given multiple ranges", () -> {
+					BeforeEach(() -> {
+						range = "bytes=0-1,4-5";
+					});
+					It("should read the whole blob", () -> {
+						verify(blob).getBinaryStream();
+						assertThat(IOUtils.toString((InputStream) result, "UTF-8"), is("0123456789"));
+					});
+				});
+			});
 			Context("#getInputStream", () -> {
 				BeforeEach(() -> {
 					conn = mock(Connection.class);
-					statement = mock(Statement.class);
+					ps = mock(PreparedStatement.class);
 					rs = mock(ResultSet.class);
 
 					when(ds.getConnection()).thenReturn(conn);
-					when(conn.createStatement()).thenReturn(statement);
-					when(statement.executeQuery(anyObject())).thenReturn(rs);
+					when(conn.prepareStatement(anyObject())).thenReturn(ps);
+					when(conn.prepareStatement(anyObject(), anyInt(), anyInt())).thenReturn(ps);
+					when(ps.executeQuery()).thenReturn(rs);
 				});
 				JustBeforeEach(() -> {
-					resource = new GenericBlobResource(id, template, txnMgr);
+					resource = new GenericBlobResource("12345", template, txnMgr);
 					result = resource.getInputStream();
 				});
 				Context("given a SQLException is thrown", () -> {
@@ -1,21 +1,40 @@
 package internal.org.springframework.content.mongo.config;
 
+import org.apache.commons.lang.ClassUtils;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
 import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.content.mongo.config.MongoStoreUploadOptions;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations;
 import org.springframework.versions.LockingAndVersioningProxyFactory;
 
+import internal.org.springframework.content.mongo.io.GridFsIndexes;
 import internal.org.springframework.content.mongo.store.DefaultMongoStoreImpl;
+import internal.org.springframework.content.mongo.store.DefaultReactiveMongoStoreImpl;
 
 public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 
-	@Autowired
+	@Autowired(required=false)
 	private GridFsTemplate gridFs;
 
+	@Autowired(required=false)
+	private MongoDatabaseFactory dbFactory;
+
+	@Autowired(required=false)
+	private ReactiveGridFsOperations reactiveGridFs;
+
+	@Autowired(required=false)
+	private ReactiveMongoOperations reactiveMongo;
+
 	@Autowired
 	private PlacementService mongoStorePlacementService;
 
@@ -25,6 +44,13 @@ public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 	@Autowired(required=false)
     private LockingAndVersioningProxyFactory versioning;
 
+	@Autowired(required=false)
+	private MongoStoreUploadOptions uploadOptions;
+
+	// the bucket that Spring Boot configures its GridFS templates with
+	@Value("${spring.data.mongodb.gridfs.bucket:fs}")
+	private String bucket = "fs";
+
     @Override
     protected void addProxyAdvice(ProxyFactory result, BeanFactory beanFactory) {
         if (versioning != null) {
@@ -39,6 +65,26 @@ public class MongoStoreFactoryBean extends AbstractStoreFactoryBean {
 
 	@Override
 	protected Object getContentStoreImpl() {
-		return new DefaultMongoStoreImpl(gridFs, mappingContext, mongoStorePlacementService);
+		if (ClassUtils.getAllInterfaces(getStoreInterface()).contains(ReactiveContentStore.class)) {
+			if (reactiveGridFs == null) {
+				throw new NoSuchBeanDefinitionException(ReactiveGridFsOperations.class.getCanonicalName());
+			}
+			DefaultReactiveMongoStoreImpl store = new DefaultReactiveMongoStoreImpl(reactiveGridFs, mappingContext, mongoStorePlacementService);
+			store.setMongoOperations(reactiveMongo);
+			store.setBucket(bucket);
+			return store;
+		}
+
+		if (gridFs == null) {
+			throw new NoSuchBeanDefinitionException(GridFsTemplate.class.getCanonicalName());
+		}
+		if (dbFactory == null) {
+			throw new NoSuchBeanDefinitionException(MongoDatabaseFactory.class.getCanonicalName());
+		}
+		GridFsIndexes.ensureIndexesAsync(dbFactory, bucket);
+
+		DefaultMongoStoreImpl store = new DefaultMongoStoreImpl(gridFs, dbFactory, bucket, mappingContext, mongoStorePlacementService);
+		store.setUploadOptions(uploadOptions);
+		return store;
 	}
 }
@@ -0,0 +1,93 @@
+package internal.org.springframework.content.mongo.io;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+
+/**
+ * Ensures a GridFS bucket has the indexes that the GridFS specification calls for.
+ *
+ * The driver only creates them when it uploads to an empty bucket, so buckets populated any other way can be left
+ * without them; every lookup by filename then scans the files collection and every chunk read scans the chunks
+ * collection.
+ */
+public final class GridFsIndexes {
+
+	private static final Log logger = LogFactory.getLog(GridFsIndexes.class);
+
+	private static final Document FILES_INDEX = new Document("filename", 1).append("uploadDate", 1);
+	private static final Document CHUNKS_INDEX = new Document("files_id", 1).append("n", 1);
+
+	private static final Map<MongoDatabaseFactory, Set<String>> checked = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private GridFsIndexes() {
+	}
+
+	/**
+	 * Checks, and if necessary creates, the indexes of a bucket.  This happens once per database factory and bucket and
+	 * off the calling thread so that startup neither waits for, nor fails because of, the database.  Failures are
+	 * logged.
+	 *
+	 * @param dbFactory the factory of the bucket's database
+	 * @param bucketName the bucket
+	 */
+	public static void ensureIndexesAsync(MongoDatabaseFactory dbFactory, String bucketName) {
+		synchronized (checked) {
+			if (!checked.computeIfAbsent(dbFactory, factory -> new HashSet<>()).add(bucketName)) {
+				return;
+			}
+		}
+		CompletableFuture.runAsync(() -> {
+			try {
+				ensureIndexes(dbFactory.getMongoDatabase(), bucketName);
+			} catch (RuntimeException e) {
+				logger.warn("Unable to check the GridFS indexes; content lookups may be slow", e);
+			}
+		});
+	}
+
+	public static void ensureIndexes(MongoDatabase db, String bucketName) {
+		ensureIndex(db.getCollection(bucketName + ".files"), FILES_INDEX, new IndexOptions());
+		ensureIndex(db.getCollection(bucketName + ".chunks"), CHUNKS_INDEX, new IndexOptions().unique(true));
+	}
+
+	private static void ensureIndex(MongoCollection<Document> collection, Document keys, IndexOptions options) {
+		for (Document index : collection.listIndexes()) {
+			if (isIndexedBy(index.get("key", Document.class), keys)) {
+				return;
+			}
+		}
+		logger.info(String.format("Creating index %s on %s", keys.toJson(), collection.getNamespace()));
+		collection.createIndex(keys, options);
+	}
+
+	// an index whose leading keys are the given keys; key order matters and numeric directions may be ints or doubles
+	private static boolean isIndexedBy(Document indexKeys, Document keys) {
+		if (indexKeys == null || indexKeys.size() < keys.size()) {
+			return false;
+		}
+		Iterator<Map.Entry<String, Object>> actual = indexKeys.entrySet().iterator();
+		for (Map.Entry<String, Object> expected : keys.entrySet()) {
+			Map.Entry<String, Object> next = actual.next();
+			if (!next.getKey().equals(expected.getKey())
+					|| !(next.getValue() instanceof Number)
+					|| ((Number) next.getValue()).intValue() != ((Number) expected.getValue()).intValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -1,11 +1,18 @@
 package internal.org.springframework.content.mongo.io;
 
+import com.mongodb.MongoException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
 import com.mongodb.client.gridfs.model.GridFSFile;
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.springframework.content.mongo.config.MongoStoreUploadOptions;
 import org.springframework.content.commons.io.DeletableResource;
+import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.commons.utils.ByteRanges;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 import org.springframework.util.Assert;
@@ -13,19 +20,31 @@ import org.springframework.util.Assert;
 import java.io.*;
 import java.net.URI;
 import java.net.URL;
-import java.util.concurrent.CountDownLatch;
 
 import static org.springframework.data.mongodb.core.query.Query.query;
 import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
 
+/**
+ * A GridFS file.  The file's metadata is looked up once, when first needed, and reused for the life of the resource;
+ * writing or deleting through the resource refreshes it.
+ */
 public class GridFsStoreResource
-		implements Resource, WritableResource, DeletableResource {
+		implements Resource, WritableResource, DeletableResource, RangeableResource {
 
-	private static Log logger = LogFactory.getLog(GridFsStoreResource.class);
+	/**
+	 * The order in which files of the same name supersede each other, newest upload first with the id breaking ties.
+	 */
+	public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "uploadDate", "_id");
 
 	private GridFsResource delegate;
 	private String location;
 	private GridFsTemplate gridfs;
+	private GridFSBucket bucket;
+	private int chunkSize = MongoStoreUploadOptions.DEFAULT_CHUNK_SIZE;
+	private String range;
+
+	private GridFSFile file;
+	private boolean resolved = false;
 
 	public GridFsStoreResource(Resource delegate, GridFsTemplate gridfs) {
 		Assert.isInstanceOf(GridFsResource.class,
@@ -41,8 +60,14 @@ public class GridFsStoreResource
 		this.gridfs = gridfs;
 	}
 
+	public GridFsStoreResource(String location, GridFsTemplate gridfs, GridFSBucket bucket, int chunkSize) {
+		this(location, gridfs);
+		this.bucket = bucket;
+		this.chunkSize = chunkSize;
+	}
+
 	public long contentLength() throws IOException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return 0L;
 		}
@@ -54,7 +79,7 @@ public class GridFsStoreResource
 	}
 
 	public long lastModified() throws IOException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return -1L;
 		}
@@ -62,7 +87,7 @@ public class GridFsStoreResource
 	}
 
 	public Object getId() {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return null;
 		}
@@ -70,19 +95,39 @@ public class GridFsStoreResource
 	}
 
 	public boolean exists() {
-		return gridfs.findOne(query(whereFilename().is(location))) != null;
+		return getGridFSFile() != null;
 	}
 
 	public boolean isOpen() {
 		return true;
 	}
 
+	@Override
+	public void setRange(String range) {
+		this.range = range;
+	}
+
 	public InputStream getInputStream() throws IOException, IllegalStateException {
-		GridFSFile file = gridfs.findOne(query(whereFilename().is(location)));
+		GridFSFile file = getGridFSFile();
 		if (file == null) {
 			return null;
 		}
-		return gridfs.getResource(location).getInputStream();
+
+		GridFSDownloadStream is;
+		try {
+			is = getBucket().openDownloadStream(file.getId());
+		} catch (MongoException me) {
+			throw new IOException(String.format("opening download stream for %s", location), me);
+		}
+
+		long[] region = ByteRanges.parse(range, file.getLength());
+		if (region == null) {
+			return is;
+		}
+
+		// the download stream skips by fetching chunks from the chunk holding the start of the range onwards
+		is.skip(region[0]);
+		return new PartialContentInputStream(is, region[1]);
 	}
 
 	public String getDescription() {
@@ -120,77 +165,97 @@ public class GridFsStoreResource
 	}
 
 	@Override
-	public OutputStream getOutputStream() throws IOException {
-		final GridFsStoreResource resource = this;
+	public GridFsUploadStream getOutputStream() throws IOException {
+		GridFSBucket bucket = getBucket();
+		try {
+			GridFSUploadOptions options = new GridFSUploadOptions().chunkSizeBytes(chunkSize);
+			return new GridFsUploadStream(bucket, bucket.openUploadStream(location, options), location, this::refresh);
+		} catch (MongoException me) {
+			throw new IOException(String.format("opening upload stream for %s", location), me);
+		}
+	}
 
-		final PipedInputStream is = new PipedInputStream();
-		final OutputStream synchronizedOutputStream = new PipedOutputStream(is) {
-			private boolean firstWrite = true;
+	@Override
+	public void delete() {
+		if (getGridFSFile() == null) {
+			return;
+		}
+		gridfs.delete(query(whereFilename().is(location)));
+		refresh();
+	}
 
-			@Override
-			public void write(byte[] b, int off, int len) throws IOException {
-				deleteOnFirstWrite();
-				super.write(b, off, len);
-			}
+	// while content is being replaced both the old and new files exist; the newest is the current one
+	private GridFSFile getGridFSFile() {
+		if (!resolved) {
+			Query latest = query(whereFilename().is(location)).with(NEWEST_FIRST);
+			file = gridfs.findOne(latest);
+			resolved = true;
+		}
+		return file;
+	}
 
-			@Override
-			public void write(byte[] b) throws IOException {
-				deleteOnFirstWrite();
-				super.write(b);
-			}
+	private void refresh() {
+		file = null;
+		resolved = false;
+	}
 
-			@Override
-			public void write(int b) throws IOException {
-				deleteOnFirstWrite();
-				super.write(b);
-			}
+	private GridFSBucket getBucket() {
+		if (bucket == null) {
+			throw new IllegalStateException(String.format("no GridFS bucket to stream %s with", location));
+		}
+		return bucket;
+	}
 
-			protected void deleteOnFirstWrite() {
-				if (firstWrite) {
-					try {
-						gridfs.delete(query(whereFilename().is(resource.getFilename())));
-					}
-					finally {
-						firstWrite = false;
-					}
-				}
-			}
+	/**
+	 * A stream onto a byte range of the content.  The stream has already been positioned at the start of the range, so
+	 * consumers skipping to the start of the range are told that they have.
+	 */
+	public static class PartialContentInputStream extends FilterInputStream {
 
-			@Override
-			public void close() throws IOException {
-				super.close();
+		private long remaining;
 
-				synchronized (resource) {
-					return;
-				}
-			}
-		};
+		public PartialContentInputStream(InputStream delegate, long length) {
+			super(delegate);
+			this.remaining = length;
+		}
 
-		CountDownLatch latch = new CountDownLatch(1);
-		Thread t = new Thread(() -> {
-			synchronized (resource) {
-				latch.countDown();
-				gridfs.store(is, resource.getFilename());
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int b = super.read();
+			if (b != -1) {
+				remaining--;
 			}
-		});
-		t.start();
+			return b;
+		}
 
-		try {
-			latch.await();
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int n = super.read(b, off, (int) Math.min(len, remaining));
+			if (n > 0) {
+				remaining -= n;
+			}
+			return n;
 		}
-		catch (InterruptedException e) {
-			logger.warn(String.format("waiting for countdown latch for resource %s",
-					resource.getFilename()), e);
+
+		@Override
+		public long skip(long n) throws IOException {
+			return n;
 		}
 
-		return synchronizedOutputStream;
-	}
+		@Override
+		public int available() throws IOException {
+			return (int) Math.min(super.available(), remaining);
+		}
 
-	@Override
-	public void delete() {
-		if (gridfs.findOne(query(whereFilename().is(location))) == null) {
-			return;
+		@Override
+		public boolean markSupported() {
+			return false;
 		}
-		gridfs.delete(query(whereFilename().is(location)));
 	}
 }
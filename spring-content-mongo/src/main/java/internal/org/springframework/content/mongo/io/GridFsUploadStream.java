@@ -0,0 +1,148 @@
+package internal.org.springframework.content.mongo.io;
+
+import static com.mongodb.client.model.Filters.eq;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.BsonValue;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+/**
+ * Writes content straight to a GridFS upload stream.
+ *
+ * The driver writes a chunk document each time a chunk fills and only inserts the files document when the stream is
+ * closed, so readers continue to see the content being replaced until then.  Once the new file is visible the files it
+ * replaces, those uploaded before it, are deleted.  Files uploaded after it by a concurrent writer are left for that
+ * writer, so that the newest content always survives.  If the upload fails, or is aborted, its chunks are removed and
+ * the existing content is left untouched.
+ */
+public class GridFsUploadStream extends OutputStream {
+
+	private final GridFSBucket bucket;
+	private final GridFSUploadStream upload;
+	private final String filename;
+	private final Runnable onClose;
+
+	private long written = 0L;
+	private boolean closed = false;
+
+	GridFsUploadStream(GridFSBucket bucket, GridFSUploadStream upload, String filename, Runnable onClose) {
+		this.bucket = bucket;
+		this.upload = upload;
+		this.filename = filename;
+		this.onClose = onClose;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		checkOpen();
+		try {
+			upload.write(b);
+			written++;
+		} catch (MongoException me) {
+			abort();
+			throw new IOException(String.format("writing content for %s", filename), me);
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		checkOpen();
+		try {
+			upload.write(b, off, len);
+			written += len;
+		} catch (MongoException me) {
+			abort();
+			throw new IOException(String.format("writing content for %s", filename), me);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		try {
+			upload.close();
+			onClose.run();
+		} catch (MongoException me) {
+			upload.abort();
+			throw new IOException(String.format("completing upload for %s", filename), me);
+		}
+
+		try {
+			BsonValue id = upload.getId();
+			GridFSFile stored = null;
+			List<GridFSFile> others = new ArrayList<>();
+			for (GridFSFile file : bucket.find(eq("filename", filename))) {
+				if (id.equals(file.getId())) {
+					stored = file;
+				} else {
+					others.add(file);
+				}
+			}
+
+			// a newer upload has already replaced this one
+			if (stored == null) {
+				return;
+			}
+
+			for (GridFSFile other : others) {
+				if (isOlder(other, stored)) {
+					bucket.delete(other.getId());
+				}
+			}
+		} catch (MongoException me) {
+			throw new IOException(String.format("deleting replaced content for %s", filename), me);
+		}
+	}
+
+	/**
+	 * Orders files of the same name as readers do, by {@link GridFsStoreResource#NEWEST_FIRST}.
+	 *
+	 * @param file the file
+	 * @param than the file to compare it with
+	 * @return true if {@code file} was superseded by {@code than}
+	 */
+	public static boolean isOlder(GridFSFile file, GridFSFile than) {
+		int byDate = file.getUploadDate().compareTo(than.getUploadDate());
+		if (byDate != 0) {
+			return byDate < 0;
+		}
+		return file.getId().isObjectId() && than.getId().isObjectId()
+				&& file.getId().asObjectId().compareTo(than.getId().asObjectId()) < 0;
+	}
+
+	/**
+	 * Discards the upload, removing any chunks already written.  The existing content, if any, is retained.
+	 */
+	public void abort() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		upload.abort();
+	}
+
+	/**
+	 * @return the number of bytes written so far
+	 */
+	public long getBytesWritten() {
+		return written;
+	}
+
+	private void checkOpen() throws IOException {
+		if (closed) {
+			throw new IOException(String.format("upload for %s is closed", filename));
+		}
+	}
+}
@@ -25,11 +25,18 @@ import org.springframework.content.commons.utils.Condition;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.Resource;
+import org.springframework.content.mongo.config.MongoStoreUploadOptions;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
 import internal.org.springframework.content.mongo.io.GridFsStoreResource;
+import internal.org.springframework.content.mongo.io.GridFsUploadStream;
 
 public class DefaultMongoStoreImpl<S, SID extends Serializable>
 		implements Store<SID>, AssociativeStore<S, SID>, ContentStore<S, SID> {
@@ -37,7 +44,11 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 	private static Log logger = LogFactory.getLog(DefaultMongoStoreImpl.class);
 
 	private GridFsTemplate gridFs;
+	private GridFSBucket bucket;
+	private MongoDatabaseFactory dbFactory;
+	private String bucketName;
 	private PlacementService placer;
+	private MongoStoreUploadOptions uploadOptions = new MongoStoreUploadOptions();
 
     private MappingContext mappingContext;
 
@@ -55,6 +66,29 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
         }
 	}
 
+	public DefaultMongoStoreImpl(GridFsTemplate gridFs, GridFSBucket bucket, MappingContext mappingContext, PlacementService placer) {
+		this(gridFs, mappingContext, placer);
+		this.bucket = bucket;
+	}
+
+	/**
+	 * Creates a store that streams content through the named bucket of the factory's database, which must be the
+	 * database and bucket the template uses.
+	 */
+	public DefaultMongoStoreImpl(GridFsTemplate gridFs, MongoDatabaseFactory dbFactory, String bucketName, MappingContext mappingContext, PlacementService placer) {
+		this(gridFs, mappingContext, placer);
+		Assert.notNull(dbFactory, "dbFactory cannot be null");
+		Assert.hasText(bucketName, "bucketName cannot be empty");
+		this.dbFactory = dbFactory;
+		this.bucketName = bucketName;
+	}
+
+	public void setUploadOptions(MongoStoreUploadOptions uploadOptions) {
+		if (uploadOptions != null) {
+			this.uploadOptions = uploadOptions;
+		}
+	}
+
 	@Override
 	public Resource getResource(SID id) {
 	    if (id == null) {
@@ -62,7 +96,7 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 	    }
 
 	    String location = placer.convert(id, String.class);
-		return new GridFsStoreResource(location, gridFs);
+		return newResource(location);
 	}
 
 	@Override
@@ -76,7 +110,7 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 
 		    if (objectId != null) {
 		        String location = placer.convert(objectId, String.class);
-		        return new GridFsStoreResource(location, gridFs);
+		        return newResource(location);
 		    }
 		}
 
@@ -100,7 +134,7 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 
             if (objectId != null) {
                 String location = placer.convert(objectId, String.class);
-                return new GridFsStoreResource(location, gridFs);
+                return withRange(newResource(location), params);
             }
         }
 
@@ -111,7 +145,7 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 
         SID contentId = (SID) property.getContentId(entity);
 
-        return this.getResource(contentId);
+        return withRange(this.getResource(contentId), params);
     }
 
     @Override
@@ -200,25 +234,13 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
             return entity;
         }
 
-		if (resource.exists()) {
-			gridFs.delete(query(whereFilename().is(resource.getFilename())));
-		}
-
+		long contentLen = 0L;
 		try {
-			gridFs.store(content, resource.getFilename());
-			resource = gridFs.getResource(resource.getFilename());
+			contentLen = write((GridFsStoreResource) resource, content);
 		} catch (Exception e) {
 			logger.error(format("Unexpected error setting content for entity  %s", entity), e);
 			throw new StoreAccessException(format("Setting content for entity %s", entity), e);
 		}
-
-		long contentLen = 0L;
-		try {
-			contentLen = resource.contentLength();
-		}
-		catch (IOException ioe) {
-			logger.debug(format("Unable to retrieve content length for %s", contentId));
-		}
 		BeanUtils.setFieldWithAnnotation(entity, ContentLength.class, contentLen);
 
 		return entity;
@@ -254,28 +276,15 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
             return entity;
         }
 
-        if (resource.exists()) {
-            gridFs.delete(query(whereFilename().is(resource.getFilename())));
-        }
-
+        long written = 0L;
         try {
-            gridFs.store(content, resource.getFilename());
-            resource = gridFs.getResource(resource.getFilename());
+            written = write((GridFsStoreResource) resource, content);
         } catch (Exception e) {
             logger.error(format("Unexpected error setting content for entity  %s", entity), e);
             throw new StoreAccessException(format("Setting content for entity %s", entity), e);
         }
 
-        try {
-            long len = contentLen;
-            if (len == -1L) {
-                len = resource.contentLength();
-            }
-            property.setContentLength(entity, len);
-        }
-        catch (IOException ioe) {
-            logger.debug(format("Unable to retrieve content length for %s", contentId));
-        }
+        property.setContentLength(entity, contentLen != -1L ? contentLen : written);
 
         return entity;
     }
@@ -312,10 +321,10 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
 			return null;
 
 		String location = placer.convert(contentId, String.class);
-		Resource resource = gridFs.getResource(location);
 		try {
-			if (resource != null && resource.exists()) {
-				return resource.getInputStream();
+			GridFSFile file = findLatest(location);
+			if (file != null) {
+				return gridFs.getResource(file).getInputStream();
 			}
 		}
 		catch (IOException e) {
@@ -342,10 +351,10 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
             return null;
 
         String location = placer.convert(contentId, String.class);
-        Resource resource = gridFs.getResource(location);
         try {
-            if (resource != null && resource.exists()) {
-                return resource.getInputStream();
+            GridFSFile file = findLatest(location);
+            if (file != null) {
+                return gridFs.getResource(file).getInputStream();
             }
         }
         catch (IOException e) {
@@ -448,6 +457,44 @@ public class DefaultMongoStoreImpl<S, SID extends Serializable>
         return entity;
     }
 
+	private Resource withRange(Resource resource, GetResourceParams params) {
+		if (resource != null && params != null) {
+			((GridFsStoreResource) resource).setRange(params.getRange());
+		}
+		return resource;
+	}
+
+	// while content is being replaced both the old and new files exist; the newest is the current one
+	private GridFSFile findLatest(String location) {
+		return gridFs.findOne(query(whereFilename().is(location)).with(GridFsStoreResource.NEWEST_FIRST));
+	}
+
+	// the database is looked up for each resource, as the template does, so that session bound databases are used
+	private GridFsStoreResource newResource(String location) {
+		GridFSBucket resourceBucket = bucket;
+		if (resourceBucket == null && dbFactory != null) {
+			resourceBucket = GridFSBuckets.create(dbFactory.getMongoDatabase(), bucketName);
+		}
+		return new GridFsStoreResource(location, gridFs, resourceBucket, uploadOptions.getChunkSize());
+	}
+
+	// the new content only replaces the old once it has been written in full
+	private long write(GridFsStoreResource resource, InputStream content) throws IOException {
+		GridFsUploadStream os = resource.getOutputStream();
+		try {
+			byte[] buffer = new byte[uploadOptions.getChunkSize()];
+			int n;
+			while ((n = content.read(buffer)) != -1) {
+				os.write(buffer, 0, n);
+			}
+			os.close();
+		} catch (IOException | RuntimeException e) {
+			os.abort();
+			throw e;
+		}
+		return os.getBytesWritten();
+	}
+
 	protected Object convertToExternalContentIdType(S property, Object contentId) {
 		if (placer.canConvert(TypeDescriptor.forObject(contentId),
 				TypeDescriptor.valueOf(BeanUtils.getFieldWithAnnotationType(property,
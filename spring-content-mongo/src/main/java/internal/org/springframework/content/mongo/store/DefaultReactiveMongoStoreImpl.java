@@ -0,0 +1,281 @@
+package internal.org.springframework.content.mongo.store;
+
+import static java.lang.String.format;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
+
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.springframework.content.commons.mappingcontext.Condition;
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.commons.repository.StoreAccessException;
+import org.springframework.content.commons.utils.ByteRanges;
+import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations;
+import org.springframework.util.Assert;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+import internal.org.springframework.content.mongo.io.GridFsStoreResource;
+import internal.org.springframework.content.mongo.io.GridFsUploadStream;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A reactive GridFS store.  Requires the MongoDB reactive streams driver.
+ */
+public class DefaultReactiveMongoStoreImpl<S, SID extends Serializable>
+		implements ReactiveContentStore<S, SID> {
+
+	private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+	private ReactiveGridFsOperations gridFs;
+	private PlacementService placer;
+	private MappingContext mappingContext;
+
+	private ReactiveMongoOperations mongo;
+	private String bucket = "fs";
+
+	public DefaultReactiveMongoStoreImpl(ReactiveGridFsOperations gridFs, MappingContext mappingContext, PlacementService placer) {
+		Assert.notNull(gridFs, "gridFs cannot be null");
+		Assert.notNull(placer, "placer cannot be null");
+		this.gridFs = gridFs;
+		this.placer = placer;
+		this.mappingContext = mappingContext;
+		if (this.mappingContext == null) {
+			this.mappingContext = new MappingContext("/", ".");
+		}
+	}
+
+	/**
+	 * Lets ranges be read from the chunks that hold them, rather than by downloading the content and skipping to the
+	 * start of the range.  Without it ranges are still supported, but cost as much as reading up to their end.
+	 *
+	 * @param mongo the operations used to query the chunks
+	 */
+	public void setMongoOperations(ReactiveMongoOperations mongo) {
+		this.mongo = mongo;
+	}
+
+	/**
+	 * Sets the GridFS bucket the {@link ReactiveGridFsOperations} use, so that chunks can be read from it.  Defaults
+	 * to {@code fs}.
+	 *
+	 * @param bucket the bucket name
+	 */
+	public void setBucket(String bucket) {
+		Assert.hasText(bucket, "bucket cannot be empty");
+		this.bucket = bucket;
+	}
+
+	@Override
+	public Mono<S> setContent(S entity, PropertyPath path, long contentLen, Flux<ByteBuffer> buffer) {
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+
+			Serializable newId = UUID.randomUUID().toString();
+
+			contentId = convertToExternalContentIdType(newId, property.getContentIdType(entity));
+
+			property.setContentId(entity, contentId, null);
+		}
+
+		String filename = placer.convert(contentId, String.class);
+
+		AtomicLong written = new AtomicLong();
+		Flux<DataBuffer> content = buffer.map(bytes -> {
+			written.addAndGet(bytes.remaining());
+			return bufferFactory.wrap(bytes);
+		});
+
+		// the new content only replaces the old once it has been stored in full
+		Object mimeType = property.getMimeType(entity);
+		return (mimeType != null
+						? gridFs.store(content, filename, mimeType.toString())
+						: gridFs.store(content, filename))
+				.flatMap(objectId -> deleteReplaced(filename, objectId).thenReturn(objectId))
+				.map(objectId -> {
+					property.setContentLength(entity, contentLen >= 0 ? contentLen : written.get());
+					return entity;
+				})
+				.onErrorMap(e -> e instanceof StoreAccessException == false,
+						e -> new StoreAccessException(format("Setting content for entity %s", entity), e));
+	}
+
+	// deletes the files the stored file replaces, those older in the order readers use; files uploaded after it by a
+	// concurrent writer are left for that writer, so that the newest content always survives
+	private Mono<Void> deleteReplaced(String filename, ObjectId objectId) {
+		return gridFs.find(query(whereFilename().is(filename)))
+				.collectList()
+				.flatMap(files -> {
+					GridFSFile stored = files.stream()
+							.filter(file -> file.getId().isObjectId() && objectId.equals(file.getObjectId()))
+							.findFirst()
+							.orElse(null);
+
+					// a newer upload has already replaced this one
+					if (stored == null) {
+						return Mono.empty();
+					}
+
+					return Flux.fromIterable(files)
+							.filter(file -> file.getId().isObjectId() && GridFsUploadStream.isOlder(file, stored))
+							.concatMap(file -> gridFs.delete(query(where("_id").is(file.getObjectId()))))
+							.then();
+				});
+	}
+
+	@Override
+	public Flux<ByteBuffer> getContent(S entity, PropertyPath path) {
+		return this.getContent(entity, path, GetResourceParams.builder().build());
+	}
+
+	@Override
+	public Flux<ByteBuffer> getContent(S entity, PropertyPath path, GetResourceParams params) {
+
+		if (entity == null)
+			return Flux.empty();
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+			return Flux.empty();
+		}
+
+		String filename = placer.convert(contentId, String.class);
+
+		// while content is being replaced both the old and new files exist; the newest is the current one
+		Query latest = query(whereFilename().is(filename)).with(GridFsStoreResource.NEWEST_FIRST);
+
+		return gridFs.findFirst(latest)
+				.flatMapMany(file -> {
+					long[] range = params != null ? ByteRanges.parse(params.getRange(), file.getLength()) : null;
+					if (range != null && mongo != null) {
+						return readChunks(file, range);
+					}
+
+					return gridFs.getResource(file).flatMapMany(resource -> {
+						Flux<DataBuffer> content = resource.getDownloadStream();
+						if (range != null) {
+							content = DataBufferUtils.skipUntilByteCount(content, range[0]);
+							content = DataBufferUtils.takeUntilByteCount(content, range[1]);
+						}
+						return content;
+					})
+					.map(DefaultReactiveMongoStoreImpl::toByteBuffer);
+				});
+	}
+
+	// reads only the chunks holding the range rather than downloading and discarding everything before it
+	private Flux<ByteBuffer> readChunks(GridFSFile file, long[] range) {
+		if (range[1] == 0) {
+			return Flux.empty();
+		}
+
+		long chunkSize = file.getChunkSize();
+		long begin = range[0];
+		long end = range[0] + range[1];
+
+		Query chunks = query(where("files_id").is(file.getObjectId())
+				.and("n").gte((int) (begin / chunkSize)).lte((int) ((end - 1) / chunkSize)))
+				.with(Sort.by("n"));
+
+		return mongo.find(chunks, Document.class, bucket + ".chunks")
+				.map(chunk -> {
+					byte[] data = chunk.get("data", Binary.class).getData();
+					long offset = chunk.getInteger("n") * chunkSize;
+					int from = (int) Math.max(0, begin - offset);
+					int to = (int) Math.min(data.length, end - offset);
+					return ByteBuffer.wrap(data, from, to - from);
+				});
+	}
+
+	@Override
+	public Mono<S> unsetContent(S entity, PropertyPath path) {
+
+		if (entity == null)
+			return Mono.justOrEmpty(entity);
+
+		ContentProperty property = getContentProperty(entity, path);
+
+		Object contentId = property.getContentId(entity);
+		if (contentId == null) {
+			return Mono.just(entity);
+		}
+
+		String filename = placer.convert(contentId, String.class);
+
+		return gridFs.delete(query(whereFilename().is(filename)))
+				.then(Mono.fromSupplier(() -> {
+					property.setContentId(entity, null, new Condition() {
+						@Override
+						public boolean matches(TypeDescriptor descriptor) {
+							for (Annotation annotation : descriptor.getAnnotations()) {
+								if ("javax.persistence.Id".equals(
+										annotation.annotationType().getCanonicalName())
+										|| "org.springframework.data.annotation.Id"
+												.equals(annotation.annotationType()
+														.getCanonicalName())) {
+									return false;
+								}
+							}
+							return true;
+						}
+					});
+					property.setContentLength(entity, 0);
+					return entity;
+				}));
+	}
+
+	private ContentProperty getContentProperty(S entity, PropertyPath path) {
+		ContentProperty property = this.mappingContext.getContentProperty(entity.getClass(), path.getName());
+		if (property == null) {
+			throw new StoreAccessException(format("Content property %s does not exist", path.getName()));
+		}
+		return property;
+	}
+
+	private Object convertToExternalContentIdType(Object contentId, TypeDescriptor contentIdType) {
+		if (placer.canConvert(TypeDescriptor.forObject(contentId), contentIdType)) {
+			return placer.convert(contentId, TypeDescriptor.forObject(contentId), contentIdType);
+		}
+		return contentId.toString();
+	}
+
+	// the driver's buffers are pooled so their bytes are copied out before they are released
+	private static ByteBuffer toByteBuffer(DataBuffer buffer) {
+		try {
+			ByteBuffer bytes = ByteBuffer.allocate(buffer.readableByteCount());
+			bytes.put(buffer.asByteBuffer());
+			bytes.flip();
+			return bytes;
+		} finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+}
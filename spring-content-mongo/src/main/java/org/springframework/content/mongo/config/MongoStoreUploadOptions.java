@@ -0,0 +1,29 @@
+package org.springframework.content.mongo.config;
+
+import org.springframework.util.Assert;
+
+/**
+ * Controls how Mongo stores upload content to GridFS.
+ *
+ * Content is split into chunks of {@code chunkSize} bytes and each chunk is written as soon as it fills, so an upload
+ * holds at most one chunk in memory.
+ */
+public class MongoStoreUploadOptions {
+
+	// the GridFS default; keeps each chunk document well below the 16MB BSON limit
+	public static final int DEFAULT_CHUNK_SIZE = 255 * 1024;
+
+	public static final int MAX_CHUNK_SIZE = 15 * 1024 * 1024;
+
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0");
+		Assert.isTrue(chunkSize <= MAX_CHUNK_SIZE, "chunkSize must be at most 15MB");
+		this.chunkSize = chunkSize;
+	}
+}
@@ -1,15 +1,27 @@
 package internal.org.springframework.content.mongo.io;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSDownloadStream;
+import com.mongodb.client.gridfs.GridFSFindIterable;
+import com.mongodb.client.gridfs.GridFSUploadStream;
 import com.mongodb.client.gridfs.model.GridFSFile;
-import org.apache.commons.io.IOUtils;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
-import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Date;
@@ -23,7 +35,7 @@ import static org.mockito.Mockito.*;
 
 @RunWith(PowerMockRunner.class)
 @PowerMockRunnerDelegate(Ginkgo4jRunner.class)
-@PrepareForTest({ GridFsTemplate.class, GridFSFile.class })
+@PrepareForTest({ GridFsTemplate.class, GridFSFile.class, GridFSUploadStream.class, GridFSDownloadStream.class })
 public class GridFSResourceTest {
 
 	private GridFsStoreResource r;
@@ -31,7 +43,20 @@ public class GridFSResourceTest {
 	private String location;
 	private GridFsTemplate gridfs;
 
+	private GridFSBucket bucket;
+	private GridFSUploadStream upload;
+	private GridFSDownloadStream download;
+	private String range;
+	private ObjectId oldId = new ObjectId();
+	private ObjectId newId = new ObjectId();
+	private ObjectId newerId = new ObjectId();
+
 	private GridFSFile file;
+	private GridFSFile stored;
+	private GridFSFile newer;
+	private MongoCursor<GridFSFile> cursor;
+
+	private Exception e;
 
 	private Object rc;
 
@@ -40,9 +65,13 @@ public class GridFSResourceTest {
 			BeforeEach(() -> {
 				location = "some-location";
 				gridfs = mock(GridFsTemplate.class);
+				bucket = mock(GridFSBucket.class);
+				e = null;
+				range = null;
 			});
 			JustBeforeEach(() -> {
-				r = new GridFsStoreResource(location, gridfs);
+				r = new GridFsStoreResource(location, gridfs, bucket, 1024);
+				r.setRange(range);
 			});
 			Describe("Resource", () -> {
 				Context("#contentLength", () -> {
@@ -135,21 +164,68 @@ public class GridFSResourceTest {
 					Context("given the file exists", () -> {
 						BeforeEach(() -> {
 							file = mock(GridFSFile.class);
+							when(file.getId()).thenReturn(new BsonObjectId(oldId));
+							when(file.getLength()).thenReturn(10L);
 							when(gridfs.findOne(anyObject())).thenReturn(file);
-							when(gridfs.getResource(location))
-									.thenReturn(mock(GridFsResource.class));
+
+							download = mock(GridFSDownloadStream.class);
+							when(bucket.openDownloadStream(any(BsonValue.class))).thenReturn(download);
+							when(download.read(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> invocation.getArgument(2));
 						});
-						It("should return the file's input stream", () -> {
-							verify(gridfs).getResource(location);
+						It("should return the file's download stream", () -> {
+							verify(bucket).openDownloadStream(new BsonObjectId(oldId));
+							verify(gridfs, never()).getResource(anyString());
+							assertThat(rc, is(download));
+						});
+						Context("given a range", () -> {
+							BeforeEach(() -> {
+								range = "bytes=4-6";
+							});
+							It("should seek to the start of the range", () -> {
+								verify(download).skip(4L);
+							});
+							It("should only return the range", () -> {
+								InputStream is = (InputStream) rc;
+								assertThat(is.skip(4L), is(4L));
+								assertThat(is.read(new byte[100], 0, 100), is(3));
+								assertThat(is.read(new byte[100], 0, 100), is(-1));
+							});
+						});
+						Context("given an unsatisfiable range", () -> {
+							BeforeEach(() -> {
+								range = "bytes=20-";
+							});
+							It("should return the whole file", () -> {
+								verify(download, never()).skip(anyLong());
+								assertThat(rc, is(download));
+							});
 						});
 					});
 					Context("given the file doesn't exist", () -> {
 						It("should return null", () -> {
-							verify(gridfs, never()).getResource(location);
+							verify(bucket, never()).openDownloadStream(any(BsonValue.class));
 							assertThat(rc, is(nullValue()));
 						});
 					});
 				});
+				Context("given the resource is used repeatedly", () -> {
+					BeforeEach(() -> {
+						file = mock(GridFSFile.class);
+						when(file.getId()).thenReturn(new BsonObjectId(oldId));
+						when(file.getUploadDate()).thenReturn(new Date());
+						when(gridfs.findOne(anyObject())).thenReturn(file);
+					});
+					JustBeforeEach(() -> {
+						r.exists();
+						r.contentLength();
+						r.lastModified();
+						r.getId();
+						r.getInputStream();
+					});
+					It("should look the file up once", () -> {
+						verify(gridfs, times(1)).findOne(anyObject());
+					});
+				});
 				Context("#getDescription", () -> {
 					JustBeforeEach(() -> {
 						rc = r.getDescription();
@@ -201,19 +277,109 @@ public class GridFSResourceTest {
 					});
 				});
 				Context("getOutputStream", () -> {
+					BeforeEach(() -> {
+						upload = mock(GridFSUploadStream.class);
+						when(bucket.openUploadStream(eq(location), any(GridFSUploadOptions.class))).thenReturn(upload);
+						when(upload.getId()).thenReturn(new BsonObjectId(newId));
+
+						file = mock(GridFSFile.class);
+						when(file.getId()).thenReturn(new BsonObjectId(oldId));
+						when(file.getUploadDate()).thenReturn(new Date(1000L));
+						stored = mock(GridFSFile.class);
+						when(stored.getId()).thenReturn(new BsonObjectId(newId));
+						when(stored.getUploadDate()).thenReturn(new Date(2000L));
+						cursor = mock(MongoCursor.class);
+						when(cursor.hasNext()).thenReturn(true, true, false);
+						when(cursor.next()).thenReturn(file, stored);
+						GridFSFindIterable files = mock(GridFSFindIterable.class);
+						when(files.iterator()).thenReturn(cursor);
+						when(bucket.find(any(Bson.class))).thenReturn(files);
+					});
 					JustBeforeEach(() -> {
 						rc = r.getOutputStream();
 					});
+					It("should open an upload stream with the configured chunk size", () -> {
+						ArgumentCaptor<GridFSUploadOptions> options = ArgumentCaptor.forClass(GridFSUploadOptions.class);
+						verify(bucket).openUploadStream(eq(location), options.capture());
+						assertThat(options.getValue().getChunkSizeBytes(), is(1024));
+					});
 					Context("when content is written", () -> {
 						JustBeforeEach(() -> {
+							r.exists();
 							((OutputStream) rc).write(new byte[] { 32 }, 0, 1);
-							IOUtils.closeQuietly((OutputStream) rc);
+							((OutputStream) rc).close();
 						});
 						It("should store the content", () -> {
-							verify(gridfs).store(any(InputStream.class), eq(location));
+							verify(upload).write(any(byte[].class), eq(0), eq(1));
+							verify(upload).close();
+							assertThat(((GridFsUploadStream) rc).getBytesWritten(), is(1L));
+						});
+						It("should look the file up again after it is stored", () -> {
+							r.exists();
+							verify(gridfs, times(2)).findOne(anyObject());
+						});
+						It("should delete the content it replaces once stored", () -> {
+							InOrder inOrder = inOrder(upload, bucket);
+							inOrder.verify(upload).close();
+							inOrder.verify(bucket).delete(new BsonObjectId(oldId));
+						});
+						It("should not delete the content it stored", () -> {
+							verify(bucket, never()).delete(new BsonObjectId(newId));
+						});
+						Context("given a concurrent writer stored content after it", () -> {
+							BeforeEach(() -> {
+								newer = mock(GridFSFile.class);
+								when(newer.getId()).thenReturn(new BsonObjectId(newerId));
+								when(newer.getUploadDate()).thenReturn(new Date(3000L));
+								when(cursor.hasNext()).thenReturn(true, true, true, false);
+								when(cursor.next()).thenReturn(file, stored, newer);
+							});
+							It("should delete only the older content", () -> {
+								verify(bucket).delete(new BsonObjectId(oldId));
+								verify(bucket, never()).delete(new BsonObjectId(newerId));
+							});
+						});
+						Context("given a concurrent writer has already replaced it", () -> {
+							BeforeEach(() -> {
+								when(cursor.hasNext()).thenReturn(true, false);
+								when(cursor.next()).thenReturn(file);
+							});
+							It("should not delete anything", () -> {
+								verify(bucket, never()).delete(any(BsonValue.class));
+							});
+						});
+						It("should not use a gridfs template store", () -> {
+							verify(gridfs, never()).store(any(InputStream.class), anyString());
+							verify(gridfs, never()).delete(anyObject());
+						});
+					});
+					Context("when the upload is aborted", () -> {
+						JustBeforeEach(() -> {
+							((OutputStream) rc).write(new byte[] { 32 }, 0, 1);
+							((GridFsUploadStream) rc).abort();
+							((OutputStream) rc).close();
+						});
+						It("should discard the upload and keep the existing content", () -> {
+							verify(upload).abort();
+							verify(upload, never()).close();
+							verify(bucket, never()).delete(any(BsonValue.class));
+						});
+					});
+					Context("when a write fails", () -> {
+						BeforeEach(() -> {
+							doThrow(new MongoException("badness")).when(upload).write(any(byte[].class), anyInt(), anyInt());
+						});
+						JustBeforeEach(() -> {
+							try {
+								((OutputStream) rc).write(new byte[] { 32 }, 0, 1);
+							} catch (IOException ioe) {
+								e = ioe;
+							}
 						});
-						It("should delete existing content", () -> {
-							verify(gridfs).delete(anyObject());
+						It("should abort the upload and throw an IOException", () -> {
+							assertThat(e, is(instanceOf(IOException.class)));
+							verify(upload).abort();
+							verify(bucket, never()).delete(any(BsonValue.class));
 						});
 					});
 				});
@@ -0,0 +1,105 @@
+package internal.org.springframework.content.mongo.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.IndexOptions;
+
+@RunWith(Ginkgo4jRunner.class)
+public class GridFsIndexesTest {
+
+	private MongoDatabase db;
+	private MongoCollection<Document> files;
+	private MongoCollection<Document> chunks;
+
+	private List<Document> filesIndexes;
+	private List<Document> chunksIndexes;
+
+	{
+		Describe("GridFsIndexes", () -> {
+			BeforeEach(() -> {
+				db = mock(MongoDatabase.class);
+				files = mock(MongoCollection.class);
+				chunks = mock(MongoCollection.class);
+				when(db.getCollection("fs.files")).thenReturn(files);
+				when(db.getCollection("fs.chunks")).thenReturn(chunks);
+
+				filesIndexes = new ArrayList<>();
+				filesIndexes.add(new Document("key", new Document("_id", 1)));
+				chunksIndexes = new ArrayList<>();
+				chunksIndexes.add(new Document("key", new Document("_id", 1)));
+			});
+			JustBeforeEach(() -> {
+				stubIndexes(files, filesIndexes);
+				stubIndexes(chunks, chunksIndexes);
+
+				GridFsIndexes.ensureIndexes(db, "fs");
+			});
+			Context("given the bucket has no gridfs indexes", () -> {
+				It("should create the filename index", () -> {
+					verify(files).createIndex(eq(new Document("filename", 1).append("uploadDate", 1)), any(IndexOptions.class));
+				});
+				It("should create a unique chunk index", () -> {
+					ArgumentCaptor<IndexOptions> options = ArgumentCaptor.forClass(IndexOptions.class);
+					verify(chunks).createIndex(eq(new Document("files_id", 1).append("n", 1)), options.capture());
+					assertThat(options.getValue().isUnique(), is(true));
+				});
+			});
+			Context("given the bucket has the gridfs indexes", () -> {
+				BeforeEach(() -> {
+					filesIndexes.add(new Document("key", new Document("filename", 1.0).append("uploadDate", 1.0)));
+					chunksIndexes.add(new Document("key", new Document("files_id", 1).append("n", 1)));
+				});
+				It("should not create any indexes", () -> {
+					verify(files, never()).createIndex(any(Document.class), any(IndexOptions.class));
+					verify(chunks, never()).createIndex(any(Document.class), any(IndexOptions.class));
+				});
+			});
+			Context("given the files are indexed in a different order", () -> {
+				BeforeEach(() -> {
+					filesIndexes.add(new Document("key", new Document("uploadDate", 1).append("filename", 1)));
+				});
+				It("should create the filename index", () -> {
+					verify(files).createIndex(eq(new Document("filename", 1).append("uploadDate", 1)), any(IndexOptions.class));
+				});
+			});
+		});
+	}
+
+	private static void stubIndexes(MongoCollection<Document> collection, List<Document> indexes) {
+		ListIndexesIterable<Document> iterable = mock(ListIndexesIterable.class);
+		when(iterable.iterator()).thenAnswer(invocation -> cursor(indexes.iterator()));
+		when(collection.listIndexes()).thenReturn(iterable);
+	}
+
+	private static MongoCursor<Document> cursor(Iterator<Document> indexes) {
+		MongoCursor<Document> cursor = mock(MongoCursor.class);
+		when(cursor.hasNext()).thenAnswer(invocation -> indexes.hasNext());
+		when(cursor.next()).thenAnswer(invocation -> indexes.next());
+		return cursor;
+	}
+}
@@ -39,11 +39,15 @@ import org.springframework.context.annotation.Import;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsTemplate;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
@@ -492,6 +496,21 @@ public class MongoStoreIT {
 		public MongoDatabaseFactory mongoDbFactory() {
 			return new SimpleMongoClientDatabaseFactory(mongoClient(), getDatabaseName());
 		}
+
+		@Bean
+		public ReactiveMongoDatabaseFactory reactiveMongoDbFactory() {
+			return new SimpleReactiveMongoDatabaseFactory(MongoTestContainer.getReactiveMongoClient(), getDatabaseName());
+		}
+
+		@Bean
+		public ReactiveMongoTemplate reactiveMongoTemplate(MappingMongoConverter mongoConverter) {
+			return new ReactiveMongoTemplate(reactiveMongoDbFactory(), mongoConverter);
+		}
+
+		@Bean
+		public ReactiveGridFsTemplate reactiveGridFsTemplate(MappingMongoConverter mongoConverter) {
+			return new ReactiveGridFsTemplate(reactiveMongoDbFactory(), mongoConverter);
+		}
 	}
 
 	public interface ContentProperty {
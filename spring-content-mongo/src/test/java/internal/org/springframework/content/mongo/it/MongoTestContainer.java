@@ -29,6 +29,10 @@ public class MongoTestContainer extends MongoDBContainer {
         return MongoClients.create(getTestDbUrl());
     }
 
+    public static com.mongodb.reactivestreams.client.MongoClient getReactiveMongoClient() {
+        return com.mongodb.reactivestreams.client.MongoClients.create(getTestDbUrl());
+    }
+
     @SuppressWarnings("unused") // Serializable safe singleton usage
     protected MongoTestContainer readResolve() {
         return Singleton.INSTANCE;
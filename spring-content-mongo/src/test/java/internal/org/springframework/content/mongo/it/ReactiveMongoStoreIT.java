@@ -0,0 +1,192 @@
+package internal.org.springframework.content.mongo.it;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.aop.framework.Advised;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.mongo.config.EnableMongoStores;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+import internal.org.springframework.content.mongo.it.MongoStoreIT.InfrastructureConfig;
+import internal.org.springframework.content.mongo.store.DefaultReactiveMongoStoreImpl;
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Flux;
+
+@RunWith(Ginkgo4jRunner.class)
+@Ginkgo4jConfiguration(threads=1)
+public class ReactiveMongoStoreIT {
+
+    private AnnotationConfigApplicationContext context;
+    private GridFsTemplate gridFs;
+
+    private ReactiveTestEntityStore store;
+    private ReactiveTestEntity entity;
+    private String contentId;
+
+    {
+        Describe("DefaultReactiveMongoStoreImpl", () -> {
+
+            BeforeEach(() -> {
+                context = new AnnotationConfigApplicationContext();
+                context.register(TestConfig.class);
+                context.refresh();
+
+                store = context.getBean(ReactiveTestEntityStore.class);
+                gridFs = context.getBean(GridFsTemplate.class);
+                entity = new ReactiveTestEntity();
+            });
+
+            AfterEach(() -> {
+                context.close();
+            });
+
+            It("should be backed by the reactive store", () -> {
+                assertThat(((Advised) store).getTargetSource().getTarget(), is(instanceOf(DefaultReactiveMongoStoreImpl.class)));
+            });
+
+            Context("given content is set", () -> {
+
+                BeforeEach(() -> {
+                    store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello ", "Spring Content ", "World!")).block();
+                });
+
+                It("should store the content and set the content id and length", () -> {
+                    assertThat(entity.getContentId(), is(not(nullValue())));
+                    assertThat(entity.getContentLen(), is(27L));
+                    assertThat(gridFs.findOne(filename(entity.getContentId())), is(not(nullValue())));
+                });
+
+                It("should get the content", () -> {
+                    assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Spring Content World!"));
+                });
+
+                It("should get a range of the content", () -> {
+                    GetResourceParams params = GetResourceParams.builder().range("bytes=6-19").build();
+                    assertThat(read(store.getContent(entity, PropertyPath.from("content"), params)), is("Spring Content"));
+                });
+
+                Context("given the content is replaced", () -> {
+
+                    BeforeEach(() -> {
+                        store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello Again!")).block();
+                    });
+
+                    It("should get the new content and keep only one file", () -> {
+                        assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Again!"));
+                        assertThat(gridFs.find(filename(entity.getContentId())).into(new ArrayList<>()).size(), is(1));
+                    });
+                });
+
+                Context("given another writer stores the same file at the same upload date", () -> {
+
+                    BeforeEach(() -> {
+                        GridFSFile current = gridFs.findOne(filename(entity.getContentId()));
+                        gridFs.store(new ByteArrayInputStream("Hello Concurrently!".getBytes(StandardCharsets.UTF_8)), entity.getContentId());
+                        context.getBean(MongoTemplate.class).updateMulti(filename(entity.getContentId()), Update.update("uploadDate", current.getUploadDate()), "fs.files");
+                    });
+
+                    It("should get the newest file", () -> {
+                        assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Concurrently!"));
+                    });
+
+                    Context("given the content is then replaced", () -> {
+
+                        BeforeEach(() -> {
+                            store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello Again!")).block();
+                        });
+
+                        It("should keep only the new file", () -> {
+                            assertThat(read(store.getContent(entity, PropertyPath.from("content"))), is("Hello Again!"));
+                            assertThat(gridFs.find(filename(entity.getContentId())).into(new ArrayList<>()).size(), is(1));
+                        });
+                    });
+                });
+
+                Context("given the content is unset", () -> {
+
+                    BeforeEach(() -> {
+                        contentId = entity.getContentId();
+                        store.unsetContent(entity, PropertyPath.from("content")).block();
+                    });
+
+                    It("should delete the content and reset the content id and length", () -> {
+                        assertThat(gridFs.findOne(filename(contentId)), is(nullValue()));
+                        assertThat(entity.getContentId(), is(nullValue()));
+                        assertThat(entity.getContentLen(), is(0L));
+                    });
+                });
+            });
+        });
+    }
+
+    @Test
+    public void test() {
+        // noop
+    }
+
+    private static Flux<ByteBuffer> content(String... chunks) {
+        return Flux.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Query filename(String contentId) {
+        return Query.query(Criteria.where("filename").is(contentId));
+    }
+
+    private static String read(Flux<ByteBuffer> content) {
+        return content.map(buffer -> StandardCharsets.UTF_8.decode(buffer).toString())
+                .reduce("", String::concat)
+                .block();
+    }
+
+    @Configuration
+    @EnableMongoStores
+    @Import(InfrastructureConfig.class)
+    public static class TestConfig {
+        //
+    }
+
+    @Getter
+    @Setter
+    public static class ReactiveTestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+    }
+
+    public interface ReactiveTestEntityStore extends ReactiveContentStore<ReactiveTestEntity, String> {}
+}
@@ -8,7 +8,10 @@ import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyObject;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -23,9 +26,13 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.bson.BsonObjectId;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.modules.junit4.PowerMockRunnerDelegate;
@@ -35,18 +42,26 @@ import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.gridfs.GridFsResource;
 import org.springframework.data.mongodb.gridfs.GridFsTemplate;
 
 import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSFindIterable;
+import com.mongodb.client.gridfs.GridFSUploadStream;
 import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
 
 @RunWith(PowerMockRunner.class)
 @PowerMockRunnerDelegate(Ginkgo4jRunner.class)
-@PrepareForTest({ GridFsTemplate.class, GridFSFile.class })
+@PrepareForTest({ GridFsTemplate.class, GridFSFile.class, GridFSUploadStream.class })
 public class DefaultMongoStoreImplTest {
     private DefaultMongoStoreImpl<Object, String> mongoContentRepoImpl;
     private GridFsTemplate gridFsTemplate;
+    private GridFSBucket bucket;
+    private GridFSUploadStream upload;
     private GridFSFile gridFSFile;
     private ObjectId gridFSId;
     private ContentProperty property;
@@ -104,16 +119,26 @@ public class DefaultMongoStoreImplTest {
                 BeforeEach(() -> {
                     placer = mock(PlacementService.class);
                     gridFsTemplate = mock(GridFsTemplate.class);
+                    bucket = mock(GridFSBucket.class);
+                    upload = mock(GridFSUploadStream.class);
                     gridFSFile = mock(GridFSFile.class);
                     resource = mock(GridFsResource.class);
-                    mongoContentRepoImpl = spy(new DefaultMongoStoreImpl<Object, String>(gridFsTemplate, null, placer));
+                    mongoContentRepoImpl = spy(new DefaultMongoStoreImpl<Object, String>(gridFsTemplate, bucket, null, placer));
                 });
 
                 Context("#setContent", () -> {
                     BeforeEach(() -> {
                         property = new TestEntity();
 
-                        content = mock(InputStream.class);
+                        content = new ByteArrayInputStream("Hello content world!".getBytes());
+
+                        when(placer.convert(anyObject(), eq(String.class))).thenReturn("abcd-efghi");
+                        when(bucket.openUploadStream(eq("abcd-efghi"), any(GridFSUploadOptions.class))).thenReturn(upload);
+                        when(upload.getId()).thenReturn(new BsonObjectId(new ObjectId()));
+                        GridFSFindIterable files = mock(GridFSFindIterable.class);
+                        MongoCursor<GridFSFile> cursor = mock(MongoCursor.class);
+                        when(files.iterator()).thenReturn(cursor);
+                        when(bucket.find(any(Bson.class))).thenReturn(files);
                     });
 
                     JustBeforeEach(() -> {
@@ -124,24 +149,35 @@ public class DefaultMongoStoreImplTest {
                         }
                     });
 
+                    It("should stream the content to gridfs and set the content length", () -> {
+                        verify(upload).write(any(byte[].class), eq(0), eq(20));
+                        verify(upload).close();
+                        assertThat(property.getContentLen(), is(20L));
+                    });
+
+                    It("should not look the content up again", () -> {
+                        verify(gridFsTemplate, never()).findOne(anyObject());
+                        verify(gridFsTemplate, never()).getResource(anyString());
+                    });
+
                     Context("#when the content already exists", () -> {
                         BeforeEach(() -> {
                             property.setContentId("abcd-efghi");
-
-                            when(placer.convert(eq("abcd-efghi"), eq(String.class))).thenReturn("abcd-efghi");
-                            when(gridFsTemplate.getResource("abcd-efghi")).thenReturn(resource);
-                            when(resource.exists()).thenReturn(true);
-                            when(resource.contentLength()).thenReturn(1L);
                         });
 
                         Context("when the gridfs store throws an exception", () -> {
                             BeforeEach(() -> {
-                                when(gridFsTemplate.store(anyObject(), anyString())).thenThrow(new RuntimeException("set-exception"));
+                                doThrow(new RuntimeException("set-exception")).when(upload).write(any(byte[].class), anyInt(), anyInt());
                             });
                             It("should throw a StoreAccessException", () -> {
                                 assertThat(e, is(instanceOf(StoreAccessException.class)));
                                 assertThat(e.getCause().getMessage(), is("set-exception"));
                             });
+                            It("should abort the upload and keep the existing content", () -> {
+                                verify(upload).abort();
+                                verify(upload, never()).close();
+                                verify(bucket, never()).delete(any(BsonValue.class));
+                            });
                         });
                     });
                 });
@@ -187,7 +223,7 @@ public class DefaultMongoStoreImplTest {
 
                         when(placer.convert(eq("abcd"), eq(String.class)))
                                 .thenReturn("abcd");
-                        when(gridFsTemplate.getResource("abcd")).thenReturn(resource);
+                        when(gridFsTemplate.getResource(gridFSFile)).thenReturn(resource);
                         when(resource.getInputStream()).thenReturn(content);
                     });
 
@@ -199,9 +235,27 @@ public class DefaultMongoStoreImplTest {
                         }
                     });
 
+                    Context("when the resource doesn't exist", () -> {
+                        It("should return null", () -> {
+                            assertThat(result, is(nullValue()));
+                        });
+                    });
+
                     Context("when the resource exists", () -> {
                         BeforeEach(() -> {
-                            when(resource.exists()).thenReturn(true);
+                            when(gridFsTemplate.findOne(anyObject())).thenReturn(gridFSFile);
+                        });
+
+                        It("should return the content from a single lookup", () -> {
+                            assertThat(result, is(content));
+                            verify(gridFsTemplate).findOne(anyObject());
+                            verify(gridFsTemplate, never()).getResource(anyString());
+                        });
+
+                        It("should look up the newest file of that name", () -> {
+                            ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+                            verify(gridFsTemplate).findOne(query.capture());
+                            assertThat(query.getValue().getSortObject().get("uploadDate"), is(-1));
                         });
 
                         Context("when the resource outputstream throws an IOException", () -> {
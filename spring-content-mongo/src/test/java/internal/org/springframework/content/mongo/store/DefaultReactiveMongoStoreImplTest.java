@@ -0,0 +1,135 @@
+package internal.org.springframework.content.mongo.store;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsOperations;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+import com.mongodb.client.gridfs.model.GridFSFile;
+
+import lombok.Getter;
+import lombok.Setter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RunWith(Ginkgo4jRunner.class)
+public class DefaultReactiveMongoStoreImplTest {
+
+    private static final Date UPLOADED = new Date(1_700_000_000_000L);
+
+    private DefaultReactiveMongoStoreImpl<TestEntity, String> store;
+    private ReactiveGridFsOperations gridFs;
+    private PlacementService placer;
+
+    private TestEntity entity;
+
+    private GridFSFile stored;
+    private GridFSFile olderId;
+    private GridFSFile newerId;
+    private GridFSFile olderDate;
+
+    {
+        Describe("DefaultReactiveMongoStoreImpl", () -> {
+            BeforeEach(() -> {
+                gridFs = mock(ReactiveGridFsOperations.class);
+                placer = mock(PlacementService.class);
+                when(placer.convert(any(), eq(String.class))).thenReturn("12345");
+
+                store = new DefaultReactiveMongoStoreImpl<>(gridFs, null, placer);
+
+                entity = new TestEntity();
+                entity.setContentId("12345");
+            });
+            Context("#setContent", () -> {
+                BeforeEach(() -> {
+                    stored = file("000000000000000000000002", UPLOADED);
+                    olderId = file("000000000000000000000001", UPLOADED);
+                    newerId = file("000000000000000000000003", UPLOADED);
+                    olderDate = file("000000000000000000000004", new Date(UPLOADED.getTime() - 1000L));
+
+                    when(gridFs.store(any(), anyString())).thenReturn(Mono.just(stored.getObjectId()));
+                    when(gridFs.find(any(Query.class))).thenReturn(Flux.just(olderId, stored, newerId, olderDate));
+                    when(gridFs.delete(any(Query.class))).thenReturn(Mono.empty());
+                });
+                Context("given files of the same name uploaded at the same time", () -> {
+                    It("should delete only the files it replaces, ordering them by upload date and then id", () -> {
+                        store.setContent(entity, PropertyPath.from("content"), -1L, content("Hello")).block();
+
+                        ArgumentCaptor<Query> deleted = ArgumentCaptor.forClass(Query.class);
+                        verify(gridFs, times(2)).delete(deleted.capture());
+
+                        List<ObjectId> ids = deleted.getAllValues().stream()
+                                .map(query -> (ObjectId) query.getQueryObject().get("_id"))
+                                .collect(Collectors.toList());
+                        assertThat(ids, hasItems(olderId.getObjectId(), olderDate.getObjectId()));
+                    });
+                });
+            });
+            Context("#getContent", () -> {
+                BeforeEach(() -> {
+                    when(gridFs.findFirst(any(Query.class))).thenReturn(Mono.empty());
+                });
+                It("should read the newest file of that name, breaking upload date ties by id", () -> {
+                    store.getContent(entity, PropertyPath.from("content")).collectList().block();
+
+                    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+                    verify(gridFs).findFirst(query.capture());
+                    assertThat(query.getValue().getSortObject(), is(new Document("uploadDate", -1).append("_id", -1)));
+                });
+            });
+        });
+    }
+
+    @Test
+    public void noop() {
+    }
+
+    private static GridFSFile file(String id, Date uploaded) {
+        return new GridFSFile(new BsonObjectId(new ObjectId(id)), "12345", 5L, 255 * 1024, uploaded, null);
+    }
+
+    private static Flux<ByteBuffer> content(String content) {
+        return Flux.just(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Getter
+    @Setter
+    public static class TestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private long contentLen;
+    }
+}
@@ -104,7 +104,13 @@ public class ContentStoreContentService implements ContentService {
                          break;
                     } else if (((StoreResource) resource).isRenderableAs(acceptedMimeType)) {
 
-                        resource = new RenderedResource(((StoreResource) resource).renderAs(acceptedMimeType), resource);
+                        // a cached rendition has a length, so it is served through the normal byte range handling
+                        Resource renditionResource = storeResource.getRenditionResource(acceptedMimeType);
+                        if (renditionResource != null) {
+                            resource = renditionResource;
+                        } else {
+                            resource = new RenderedResource(((StoreResource) resource).renderAs(acceptedMimeType), resource);
+                        }
                         producedResourceType = acceptedMimeType;
                         break;
                     }
@@ -0,0 +1,371 @@
+package internal.org.springframework.content.rest.controllers;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.persistence.Version;
+
+import org.springframework.content.commons.mappingcontext.ContentProperty;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.commons.utils.BeanUtils;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.convert.Jsr310Converters;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.repository.support.RepositoryInvokerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import internal.org.springframework.content.rest.mappingcontext.ContentPropertyRequest;
+import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToRequestMappingContext;
+import internal.org.springframework.content.rest.utils.HeaderUtils;
+import internal.org.springframework.content.rest.utils.StoreUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The WebFlux counterpart of {@link StoreRestController} for stores that implement {@link ReactiveContentStore}.
+ *
+ * Serves GET (including single byte ranges and conditional requests), HEAD, PUT, POST and DELETE of
+ * {@code /{store}/{id}/{contentProperty}} by streaming the request and response bodies straight to and from the
+ * store.  Requests for any other store are passed down the chain.
+ *
+ * Entities are found and saved through reactive repositories when the domain type has one.  Otherwise the blocking
+ * repository is invoked on the bounded elastic scheduler so that event loop threads never wait on it.
+ */
+public class ReactiveStoreWebFilter implements WebFilter {
+
+    private static final ConfigurableConversionService conversionService = new DefaultConversionService();
+
+    static {
+        Jsr310Converters.getConvertersToRegister().forEach(conversionService::addConverter);
+    }
+
+    private final RestConfiguration config;
+    private final Stores stores;
+    private final Repositories repositories;
+    private final RepositoryInvokerFactory repoInvokerFactory;
+    private final MappingContext mappingContext;
+    private final ContentPropertyToRequestMappingContext requestMappingContext;
+
+    private Scheduler scheduler = Schedulers.boundedElastic();
+
+    public ReactiveStoreWebFilter(RestConfiguration config, Stores stores, Repositories repositories, RepositoryInvokerFactory repoInvokerFactory, MappingContext mappingContext, ContentPropertyToRequestMappingContext requestMappingContext) {
+        this.config = config;
+        this.stores = stores;
+        this.repositories = repositories;
+        this.repoInvokerFactory = repoInvokerFactory;
+        this.mappingContext = mappingContext;
+        this.requestMappingContext = requestMappingContext;
+    }
+
+    public void setScheduler(Scheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.PUT && method != HttpMethod.POST && method != HttpMethod.DELETE) {
+            return chain.filter(exchange);
+        }
+
+        String pathInfo = StoreUtils.storeLookupPath(request.getPath().pathWithinApplication().value(), config.getBaseUri());
+        if (pathInfo == null) {
+            return chain.filter(exchange);
+        }
+
+        String[] pathSegments = pathInfo.split("/");
+        if (pathSegments.length < 3) {
+            return chain.filter(exchange);
+        }
+
+        StoreInfo info = stores.getStore(ReactiveContentStore.class, StoreUtils.withStorePath(pathSegments[1]));
+        if (info == null) {
+            return chain.filter(exchange);
+        }
+
+        ContentProperty property = resolveContentProperty(info, pathInfo);
+        if (property == null) {
+            return chain.filter(exchange);
+        }
+
+        PropertyPath path = PropertyPath.from(property.getContentPropertyPath());
+        ReactiveContentStore<Object, ?> store = info.getImplementation(ReactiveContentStore.class);
+
+        return findOne(info, pathSegments[2])
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException()))
+                .flatMap(entity -> {
+                    switch (method) {
+                    case GET:
+                    case HEAD:
+                        return getContent(exchange, store, entity, property, path, method == HttpMethod.HEAD);
+                    case DELETE:
+                        return deleteContent(exchange, info, store, entity, property, path);
+                    default:
+                        return setContent(exchange, info, store, entity, property, path);
+                    }
+                })
+                .onErrorMap(ResourceNotFoundException.class, e -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    private ContentProperty resolveContentProperty(StoreInfo info, String pathInfo) {
+
+        String requestedPath = ContentPropertyRequest.from(pathInfo).getContentPropertyPath();
+        if (!StringUtils.hasText(requestedPath)) {
+            Iterator<ContentProperty> properties = mappingContext.getContentProperties(info.getDomainObjectClass()).iterator();
+            return properties.hasNext() ? properties.next() : null;
+        }
+
+        String propertyPath = requestMappingContext.resolveContentPropertyPath(info.getDomainObjectClass(), requestedPath);
+        return mappingContext.getContentProperty(info.getDomainObjectClass(), propertyPath);
+    }
+
+    private Mono<Void> getContent(ServerWebExchange exchange, ReactiveContentStore<Object, ?> store, Object entity, ContentProperty property, PropertyPath path, boolean headersOnly) {
+
+        if (property.getContentId(entity) == null) {
+            return Mono.error(new ResourceNotFoundException());
+        }
+
+        String etag = getETag(entity);
+        Instant lastModified = getLastModified(entity);
+        if (exchange.checkNotModified(etag, lastModified != null ? lastModified : Instant.MIN)) {
+            return exchange.getResponse().setComplete();
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        Object mimeType = property.getMimeType(entity);
+        headers.setContentType(mimeType != null ? MediaType.parseMediaType(mimeType.toString()) : MediaType.APPLICATION_OCTET_STREAM);
+
+        Object originalFileName = property.getOriginalFileName(entity);
+        if (originalFileName != null && StringUtils.hasText(originalFileName.toString())) {
+            headers.setContentDisposition(ContentDisposition.builder("form-data").name("attachment").filename(originalFileName.toString(), Charset.defaultCharset()).build());
+        }
+
+        Object len = property.getContentLength(entity);
+        long contentLength = len != null ? conversionService.convert(len, Long.class) : -1L;
+
+        // a HEAD describes the whole content, ignoring any range, and is answered without reading it
+        if (headersOnly) {
+            if (contentLength >= 0) {
+                headers.setContentLength(contentLength);
+            }
+            return response.setComplete();
+        }
+
+        GetResourceParams params = GetResourceParams.builder().build();
+
+        HttpRange range = getRange(exchange, etag, lastModified, contentLength);
+        if (range != null) {
+            long start = range.getRangeStart(contentLength);
+            long end = range.getRangeEnd(contentLength);
+            if (start >= contentLength) {
+                headers.set(HttpHeaders.CONTENT_RANGE, format("bytes */%s", contentLength));
+                return Mono.error(new ResponseStatusException(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE));
+            }
+
+            response.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+            headers.set(HttpHeaders.CONTENT_RANGE, format("bytes %s-%s/%s", start, end, contentLength));
+            headers.setContentLength(end - start + 1);
+            params = GetResourceParams.builder().range(format("bytes=%s-%s", start, end)).build();
+        } else if (contentLength >= 0) {
+            headers.setContentLength(contentLength);
+        }
+
+        return response.writeWith(store.getContent(entity, path, params).map(response.bufferFactory()::wrap));
+    }
+
+    private HttpRange getRange(ServerWebExchange exchange, String etag, Instant lastModified, long contentLength) {
+
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+
+        List<HttpRange> ranges;
+        try {
+            ranges = headers.getRange();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, e.getMessage());
+        }
+
+        // multiple ranges are answered with the whole content, as the specification allows
+        if (ranges.size() != 1 || contentLength < 0) {
+            return null;
+        }
+
+        // a range is only served if the content is still the content the client has part of
+        String ifRange = headers.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null) {
+            if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+                if (etag == null || !ifRange.equals(HeaderUtils.padEtagIfNecessary(etag))) {
+                    return null;
+                }
+            } else {
+                long ifRangeDate = HeaderUtils.parseDateValue(ifRange);
+                if (lastModified == null || ifRangeDate == -1 || lastModified.toEpochMilli() / 1000 * 1000 > ifRangeDate) {
+                    return null;
+                }
+            }
+        }
+
+        return ranges.get(0);
+    }
+
+    private Mono<Void> setContent(ServerWebExchange exchange, StoreInfo info, ReactiveContentStore<Object, ?> store, Object entity, ContentProperty property, PropertyPath path) {
+
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+
+        boolean isNew = property.getContentId(entity) == null;
+        if (!isNew) {
+            Instant lastModified = getLastModified(entity);
+            HeaderUtils.evaluateHeaderConditions(headers, getETag(entity), lastModified != null ? Date.from(lastModified) : null);
+        }
+
+        Mono<Object> updated;
+        if (MediaType.MULTIPART_FORM_DATA.isCompatibleWith(headers.getContentType())) {
+            updated = exchange.getMultipartData().flatMap(parts -> {
+                Part part = parts.getFirst("file");
+                if (part == null) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Required part 'file' is not present"));
+                }
+
+                MediaType mimeType = part.headers().getContentType();
+                setMetadata(entity, property, mimeType, part instanceof FilePart ? ((FilePart) part).filename() : null);
+
+                return store.setContent(entity, path, part.headers().getContentLength(), part.content().map(ReactiveStoreWebFilter::toByteBuffer));
+            });
+        } else {
+            setMetadata(entity, property, headers.getContentType(), null);
+
+            updated = store.setContent(entity, path, headers.getContentLength(), exchange.getRequest().getBody().map(ReactiveStoreWebFilter::toByteBuffer));
+        }
+
+        return updated
+                .flatMap(saved -> save(info, saved))
+                .then(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(isNew ? HttpStatus.CREATED : HttpStatus.OK);
+                    return exchange.getResponse().setComplete();
+                }));
+    }
+
+    private Mono<Void> deleteContent(ServerWebExchange exchange, StoreInfo info, ReactiveContentStore<Object, ?> store, Object entity, ContentProperty property, PropertyPath path) {
+
+        if (property.getContentId(entity) == null) {
+            return Mono.error(new ResourceNotFoundException());
+        }
+
+        Instant lastModified = getLastModified(entity);
+        HeaderUtils.evaluateHeaderConditions(exchange.getRequest().getHeaders(), getETag(entity), lastModified != null ? Date.from(lastModified) : null);
+
+        return store.unsetContent(entity, path)
+                .flatMap(updated -> {
+                    property.setMimeType(updated, null);
+                    property.setOriginalFileName(updated, null);
+                    return save(info, updated);
+                })
+                .then(Mono.defer(() -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.NO_CONTENT);
+                    return exchange.getResponse().setComplete();
+                }));
+    }
+
+    private void setMetadata(Object entity, ContentProperty property, MediaType mimeType, String originalFileName) {
+        // set before the content so that stores can use them while setting it
+        property.setMimeType(entity, (mimeType != null ? mimeType : MediaType.APPLICATION_OCTET_STREAM).toString());
+        if (StringUtils.hasText(originalFileName)) {
+            property.setOriginalFileName(entity, originalFileName);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Object> findOne(StoreInfo info, String id) {
+
+        Class<?> domainClass = info.getDomainObjectClass();
+
+        Object repository = repositories.getRepositoryFor(domainClass).orElse(null);
+        if (repository == null) {
+            return Mono.error(new ResourceNotFoundException());
+        }
+
+        if (repository instanceof ReactiveCrudRepository) {
+            Class<?> idType = repositories.getRepositoryInformationFor(domainClass).map(RepositoryInformation::getIdType).orElse(null);
+            Object convertedId = idType != null ? ((ConversionService) config.converters()).convert(id, idType) : id;
+            return ((ReactiveCrudRepository<Object, Object>) repository).findById(convertedId);
+        }
+
+        return Mono.fromCallable(() -> repoInvokerFactory.getInvokerFor(domainClass).invokeFindById(id).orElse(null))
+                .subscribeOn(scheduler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Object> save(StoreInfo info, Object entity) {
+
+        Object repository = repositories.getRepositoryFor(info.getDomainObjectClass()).orElse(null);
+        if (repository instanceof ReactiveCrudRepository) {
+            return ((ReactiveCrudRepository<Object, Object>) repository).save(entity);
+        }
+
+        return Mono.fromCallable(() -> repoInvokerFactory.getInvokerFor(info.getDomainObjectClass()).invokeSave(entity))
+                .subscribeOn(scheduler);
+    }
+
+    private static String getETag(Object entity) {
+        Object version = BeanUtils.getFieldWithAnnotation(entity, Version.class);
+        return version != null ? version.toString() : null;
+    }
+
+    private static Instant getLastModified(Object entity) {
+        Object lastModified = BeanUtils.getFieldWithAnnotation(entity, LastModifiedDate.class);
+        if (lastModified == null) {
+            return null;
+        }
+        return conversionService.convert(conversionService.convert(lastModified, Date.class), Instant.class);
+    }
+
+    // request buffers may be pooled so their bytes are copied out before they are released
+    private static ByteBuffer toByteBuffer(DataBuffer buffer) {
+        try {
+            ByteBuffer bytes = ByteBuffer.allocate(buffer.readableByteCount());
+            bytes.put(buffer.asByteBuffer());
+            bytes.flip();
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
@@ -3,7 +3,9 @@ package internal.org.springframework.content.rest.io;
 import org.springframework.content.commons.io.RangeableResource;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.core.io.Resource;
 import org.springframework.core.io.WritableResource;
+import org.springframework.util.MimeType;
 
 public interface AssociatedStoreResource<S> extends WritableResource, StoreResource, RangeableResource {
 
@@ -12,4 +14,10 @@ public interface AssociatedStoreResource<S> extends WritableResource, StoreResou
     PropertyPath getPropertyPath();
 
     ContentProperty getContentProperty();
+
+    /**
+     * Returns the rendition as a resource that can be served with byte ranges, or null if it can only be rendered
+     * as a stream by {@link #renderAs(MimeType)}.
+     */
+    Resource getRenditionResource(MimeType mimeType);
 }
@@ -127,6 +127,18 @@ public class AssociatedStoreResourceImpl<S> implements HttpResource, AssociatedS
         return null;
     }
 
+    @Override
+    public Resource getRenditionResource(org.springframework.util.MimeType mimeType) {
+
+        if (Renderable.class.isAssignableFrom(this.getStoreInfo().getInterface())) {
+
+            Renderable renderer = (Renderable)this.getStoreInfo().getImplementation(AssociativeStore.class);
+            return renderer.getRenditionResource(getAssociation(), this.getPropertyPath(), mimeType.toString());
+        }
+
+        return null;
+    }
+
     @Override
     public Object getETag() {
 
@@ -55,7 +55,8 @@ public class RenderedResource extends InputStreamResource {
 
     @Override
     public boolean isFile() {
-        return original.isFile();
+        // the rendition is a stream; the original's file does not hold this resource's content
+        return false;
     }
 
     @Override
@@ -1,20 +1,49 @@
 package internal.org.springframework.content.rest.mappings;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 
 public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler {
 
+	static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+	static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+	static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+	static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
 	public StoreByteRangeHttpRequestHandler() {
 	}
 
+	@Override
+	public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+		if (isSendfileSupported(request, response)) {
+			response = new SendfileResponse(request, response);
+		}
+		super.handleRequest(request, response);
+	}
+
 	@Override
 	protected Resource getResource(HttpServletRequest request) throws IOException {
 		return (Resource) request.getAttribute("SPRING_CONTENT_RESOURCE");
@@ -30,7 +59,121 @@ public class StoreByteRangeHttpRequestHandler extends ResourceHttpRequestHandler
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
-		this.setResourceHttpMessageConverter(new ResourceHttpMessageConverter());
-		this.setResourceRegionHttpMessageConverter(new ResourceRegionHttpMessageConverter());
+		this.setResourceHttpMessageConverter(new FileChannelResourceHttpMessageConverter());
+		this.setResourceRegionHttpMessageConverter(new FileChannelResourceRegionHttpMessageConverter());
+	}
+
+	/**
+	 * Sendfile bypasses the response body so, like Tomcat's own default servlet, only use it when neither the request
+	 * nor the response has been wrapped by a filter that might want to see that body.
+	 */
+	static boolean isSendfileSupported(HttpServletRequest request, HttpServletResponse response) {
+		return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))
+				&& request.getClass().getName().equals("org.apache.catalina.connector.RequestFacade")
+				&& response.getClass().getName().equals("org.apache.catalina.connector.ResponseFacade");
+	}
+
+	/**
+	 * Writes {@code count} bytes of {@code file}, starting at {@code position}, either by handing the file to the
+	 * servlet container's sendfile support or by transferring it from a {@link FileChannel}.
+	 */
+	static void writeFile(Path file, long position, long count, HttpOutputMessage outputMessage) throws IOException {
+		if (outputMessage instanceof ServletServerHttpResponse) {
+			HttpServletResponse servletResponse = ((ServletServerHttpResponse) outputMessage).getServletResponse();
+			if (servletResponse instanceof SendfileResponse) {
+				((SendfileResponse) servletResponse).sendfile(file, position, count);
+				return;
+			}
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			OutputStream out = outputMessage.getBody();
+			WritableByteChannel target = Channels.newChannel(out);
+			while (count > 0) {
+				long transferred = channel.transferTo(position, count, target);
+				if (transferred <= 0) {
+					break;
+				}
+				position += transferred;
+				count -= transferred;
+			}
+		}
+	}
+
+	/**
+	 * Returns the local file holding the content of the given resource or null if the content is not held in a
+	 * local file.
+	 */
+	static Path localFile(Resource resource) {
+		if (resource == null || !resource.isFile()) {
+			return null;
+		}
+		try {
+			return resource.getFile().toPath();
+		} catch (IOException | UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
+	static class FileChannelResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+		@Override
+		protected void writeContent(Resource resource, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+			Path file = localFile(resource);
+			if (file == null) {
+				super.writeContent(resource, outputMessage);
+				return;
+			}
+
+			try {
+				writeFile(file, 0, Files.size(file), outputMessage);
+			} catch (NoSuchFileException e) {
+				// ignore, consistent with the stream based copy
+			}
+		}
+	}
+
+	static class FileChannelResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+		@Override
+		protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage) throws IOException {
+			Path file = localFile(region.getResource());
+			if (file == null) {
+				super.writeResourceRegion(region, outputMessage);
+				return;
+			}
+
+			long start = region.getPosition();
+			long end = start + region.getCount() - 1;
+			long resourceLength = region.getResource().contentLength();
+			end = Math.min(end, resourceLength - 1);
+			long rangeLength = end - start + 1;
+
+			HttpHeaders responseHeaders = outputMessage.getHeaders();
+			responseHeaders.add("Content-Range", "bytes " + start + '-' + end + '/' + resourceLength);
+			responseHeaders.setContentLength(rangeLength);
+
+			writeFile(file, start, rangeLength, outputMessage);
+		}
+	}
+
+	/**
+	 * Marks a response whose container supports sendfile so that local file content can be handed off to the
+	 * container rather than being written to the response body.
+	 */
+	static class SendfileResponse extends HttpServletResponseWrapper {
+
+		private final HttpServletRequest request;
+
+		SendfileResponse(HttpServletRequest request, HttpServletResponse response) {
+			super(response);
+			this.request = request;
+		}
+
+		void sendfile(Path file, long position, long count) throws IOException {
+			request.setAttribute(SENDFILE_FILENAME_ATTR, file.toFile().getCanonicalPath());
+			request.setAttribute(SENDFILE_START_ATTR, position);
+			request.setAttribute(SENDFILE_END_ATTR, position + count);
+		}
 	}
 }
@@ -0,0 +1,44 @@
+package org.springframework.content.rest.config;
+
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.repository.support.DefaultRepositoryInvokerFactory;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.repository.support.RepositoryInvokerFactory;
+
+import internal.org.springframework.content.rest.controllers.ReactiveStoreWebFilter;
+import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToRequestMappingContext;
+
+/**
+ * Exports stores implementing {@link org.springframework.content.commons.repository.ReactiveContentStore} to WebFlux
+ * applications.  Requires Project Reactor.
+ */
+@Configuration
+@Import(RestConfiguration.class)
+public class ReactiveRestConfiguration {
+
+	@Bean
+	ReactiveStoreWebFilter reactiveStoreWebFilter(ApplicationContext context, RestConfiguration config, Stores stores, MappingContext mappingContext, ContentPropertyToRequestMappingContext requestMappingContext) {
+
+		Repositories repositories = null;
+		try {
+			repositories = context.getBean(Repositories.class);
+		} catch (NoSuchBeanDefinitionException nsbde) {
+			repositories = new Repositories(context);
+		}
+
+		RepositoryInvokerFactory repoInvokerFactory = null;
+		try {
+			repoInvokerFactory = context.getBean(RepositoryInvokerFactory.class);
+		} catch (NoSuchBeanDefinitionException nsbde) {
+			repoInvokerFactory = new DefaultRepositoryInvokerFactory(repositories);
+		}
+
+		return new ReactiveStoreWebFilter(config, stores, repositories, repoInvokerFactory, mappingContext, requestMappingContext);
+	}
+}
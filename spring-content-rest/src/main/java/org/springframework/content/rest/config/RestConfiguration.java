@@ -22,6 +22,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.converter.ConverterRegistry;
 import org.springframework.core.convert.support.DefaultConversionService;
@@ -36,6 +37,7 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import internal.org.springframework.content.commons.config.MappingContextRegistrar;
 import internal.org.springframework.content.commons.storeservice.StoresImpl;
 import internal.org.springframework.content.rest.controllers.ResourceHandlerMethodArgumentResolver;
 import internal.org.springframework.content.rest.controllers.resolvers.DefaultEntityResolver;
@@ -45,6 +47,7 @@ import internal.org.springframework.content.rest.mappings.ContentHandlerMapping;
 import internal.org.springframework.content.rest.mappings.StoreByteRangeHttpRequestHandler;
 
 @Configuration
+@Import(MappingContextRegistrar.class)
 @ComponentScan("internal.org.springframework.content.rest.controllers, org.springframework.data.rest.extensions, org.springframework.data.rest.versioning")
 public class RestConfiguration implements InitializingBean {
 
@@ -153,11 +156,6 @@ public class RestConfiguration implements InitializingBean {
 	    return this.getStoreHandlerInterceptor();
 	}
 
-    @Bean
-    MappingContext mappingContext() {
-        return new MappingContext("/", ".");
-    }
-
 	@Bean
 	ContentPropertyToRequestMappingContext exportedRequestMappingContext() {
 		return new ContentPropertyToRequestMappingContext();
@@ -0,0 +1,456 @@
+package internal.org.springframework.content.rest.controllers;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.persistence.Version;
+
+import org.junit.runner.RunWith;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.annotations.MimeType;
+import org.springframework.content.commons.annotations.OriginalFileName;
+import org.springframework.content.commons.mappingcontext.MappingContext;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.repository.ReactiveContentStore;
+import org.springframework.content.commons.storeservice.StoreFilter;
+import org.springframework.content.commons.storeservice.StoreInfo;
+import org.springframework.content.commons.storeservice.Stores;
+import org.springframework.content.commons.utils.ByteRanges;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.data.repository.support.RepositoryInvokerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import org.springframework.web.server.handler.ResponseStatusExceptionHandler;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.mappingcontext.ContentPropertyToRequestMappingContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RunWith(Ginkgo4jRunner.class)
+public class ReactiveStoreWebFilterTest {
+
+    private HttpHandler handler;
+
+    private Stores stores;
+    private InMemoryStore store;
+    private ReactiveCrudRepository<TestEntity, String> repository;
+
+    private TestEntity entity;
+
+    private MockServerHttpRequest request;
+    private MockServerHttpResponse response;
+
+    {
+        Describe("ReactiveStoreWebFilter", () -> {
+            BeforeEach(() -> {
+                store = new InMemoryStore();
+                entity = new TestEntity();
+
+                StoreInfo info = mock(StoreInfo.class);
+                doReturn(TestEntity.class).when(info).getDomainObjectClass();
+                when(info.getImplementation(ReactiveContentStore.class)).thenReturn(store);
+
+                stores = mock(Stores.class);
+                when(stores.getStore(eq(ReactiveContentStore.class), any(StoreFilter.class))).thenAnswer(invocation -> {
+                    StoreFilter filter = invocation.getArgument(1);
+                    return "testEntities".equals(filter.name()) ? info : null;
+                });
+
+                repository = mock(ReactiveCrudRepository.class);
+                when(repository.findById("999")).thenAnswer(invocation -> Mono.just(entity));
+                when(repository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+                Repositories repositories = mock(Repositories.class);
+                doReturn(Optional.of(repository)).when(repositories).getRepositoryFor(TestEntity.class);
+
+                MappingContext mappingContext = new MappingContext("/", ".");
+                ReactiveStoreWebFilter filter = new ReactiveStoreWebFilter(new RestConfiguration(), stores, repositories, mock(RepositoryInvokerFactory.class), mappingContext, new ContentPropertyToRequestMappingContext());
+
+                handler = WebHttpHandlerBuilder
+                        .webHandler(exchange -> {
+                            exchange.getResponse().setStatusCode(HttpStatus.I_AM_A_TEAPOT);
+                            return exchange.getResponse().setComplete();
+                        })
+                        .filter(filter)
+                        .exceptionHandler(new ResponseStatusExceptionHandler())
+                        .build();
+
+                response = new MockServerHttpResponse();
+            });
+            JustBeforeEach(() -> {
+                handler.handle(request, response).block();
+            });
+            Context("given a PUT request", () -> {
+                BeforeEach(() -> {
+                    request = MockServerHttpRequest.put("/testEntities/999/content")
+                            .header("Content-Type", "text/plain")
+                            .body("Hello Reactive World!");
+                });
+                It("should stream the body to the store and save the entity", () -> {
+                    assertThat(response.getStatusCode(), is(HttpStatus.CREATED));
+                    assertThat(new String(store.contents.get(entity.getContentId()), StandardCharsets.UTF_8), is("Hello Reactive World!"));
+                    assertThat(entity.getMimeType(), is("text/plain"));
+                    verify(repository).save(entity);
+                });
+            });
+            Context("given a POST request", () -> {
+                BeforeEach(() -> {
+                    request = MockServerHttpRequest.post("/testEntities/999/content")
+                            .header("Content-Type", "text/plain")
+                            .body("Hello Reactive World!");
+                });
+                It("should stream the body to the store and save the entity", () -> {
+                    assertThat(response.getStatusCode(), is(HttpStatus.CREATED));
+                    assertThat(new String(store.contents.get(entity.getContentId()), StandardCharsets.UTF_8), is("Hello Reactive World!"));
+                    assertThat(entity.getContentLen(), is(21L));
+                    verify(repository).save(entity);
+                });
+            });
+            Context("given a multipart POST request", () -> {
+                BeforeEach(() -> {
+                    request = MockServerHttpRequest.post("/testEntities/999/content")
+                            .header("Content-Type", "multipart/form-data; boundary=part-boundary")
+                            .body("--part-boundary\r\n"
+                                    + "Content-Disposition: form-data; name=\"file\"; filename=\"hello.txt\"\r\n"
+                                    + "Content-Type: text/plain\r\n"
+                                    + "\r\n"
+                                    + "Hello Multipart World!\r\n"
+                                    + "--part-boundary--\r\n");
+                });
+                It("should stream the file part to the store without a content length", () -> {
+                    assertThat(response.getStatusCode(), is(HttpStatus.CREATED));
+                    assertThat(new String(store.contents.get(entity.getContentId()), StandardCharsets.UTF_8), is("Hello Multipart World!"));
+                    assertThat(store.contentLen, is(-1L));
+                    assertThat(entity.getContentLen(), is(22L));
+                });
+                It("should set the mime type and original file name", () -> {
+                    assertThat(entity.getMimeType(), is("text/plain"));
+                    assertThat(entity.getOriginalFileName(), is("hello.txt"));
+                    verify(repository).save(entity);
+                });
+            });
+            Context("given a multipart POST request without a file part", () -> {
+                BeforeEach(() -> {
+                    request = MockServerHttpRequest.post("/testEntities/999/content")
+                            .header("Content-Type", "multipart/form-data; boundary=part-boundary")
+                            .body("--part-boundary\r\n"
+                                    + "Content-Disposition: form-data; name=\"other\"\r\n"
+                                    + "\r\n"
+                                    + "value\r\n"
+                                    + "--part-boundary--\r\n");
+                });
+                It("should respond bad request", () -> {
+                    assertThat(response.getStatusCode(), is(HttpStatus.BAD_REQUEST));
+                    assertThat(store.contents.isEmpty(), is(true));
+                });
+            });
+            Context("given existing content", () -> {
+                BeforeEach(() -> {
+                    entity.setContentId("abcd");
+                    entity.setContentLen(21L);
+                    entity.setMimeType("text/plain");
+                    entity.setVersion(1L);
+                    store.contents.put("abcd", "Hello Reactive World!".getBytes(StandardCharsets.UTF_8));
+                });
+                Context("given a GET request", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.get("/testEntities/999/content").build();
+                    });
+                    It("should stream the content from the store", () -> {
+                        assertThat(response.getHeaders().getContentLength(), is(21L));
+                        assertThat(response.getHeaders().getFirst("Content-Type"), is("text/plain"));
+                        assertThat(response.getHeaders().getETag(), is("\"1\""));
+                        assertThat(response.getBodyAsString().block(), is("Hello Reactive World!"));
+                    });
+                });
+                Context("given a HEAD request", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.head("/testEntities/999/content").build();
+                    });
+                    It("should respond with the content's headers without reading it", () -> {
+                        assertThat(response.getHeaders().getContentLength(), is(21L));
+                        assertThat(response.getHeaders().getFirst("Content-Type"), is("text/plain"));
+                        assertThat(response.getHeaders().getFirst("Accept-Ranges"), is("bytes"));
+                        assertThat(response.getHeaders().getETag(), is("\"1\""));
+                        assertThat(store.reads, is(0));
+                    });
+                });
+                Context("given a HEAD request with a matching If-None-Match", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.head("/testEntities/999/content").ifNoneMatch("\"1\"").build();
+                    });
+                    It("should respond not modified", () -> {
+                        assertThat(response.getStatusCode(), is(HttpStatus.NOT_MODIFIED));
+                    });
+                });
+                Context("given a GET request for the entity's primary content property", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.get("/testEntities/999").build();
+                    });
+                    It("should stream the content from the store", () -> {
+                        assertThat(response.getBodyAsString().block(), is("Hello Reactive World!"));
+                    });
+                });
+                Context("given a GET request for a range", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.get("/testEntities/999/content").header("Range", "bytes=6-13").build();
+                    });
+                    It("should stream the range from the store", () -> {
+                        assertThat(response.getStatusCode(), is(HttpStatus.PARTIAL_CONTENT));
+                        assertThat(response.getHeaders().getFirst("Content-Range"), is("bytes 6-13/21"));
+                        assertThat(response.getHeaders().getContentLength(), is(8L));
+                        assertThat(response.getBodyAsString().block(), is("Reactive"));
+                    });
+                });
+                Context("given a GET request for a range beyond the content", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.get("/testEntities/999/content").header("Range", "bytes=100-").build();
+                    });
+                    It("should respond with range not satisfiable", () -> {
+                        assertThat(response.getStatusCode(), is(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE));
+                    });
+                });
+                Context("given a GET request for a range with a matching If-Range", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.get("/testEntities/999/content")
+                                .header("Range", "bytes=6-13")
+                                .header("If-Range", "\"1\"")
+                                .build();
+                    });
+                    It("should stream the range from the store", () -> {
+                        assertThat(response.getStatusCode(), is(HttpStatus.PARTIAL_CONTENT));
+                        assertThat(response.getBodyAsString().block(), is("Reactive"));
+                    });
+                });
+                Context("given a GET request for a range with a stale If-Range", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.get("/testEntities/999/content")
+                                .header("Range", "bytes=6-13")
+                                .header("If-Range", "\"0\"")
+                                .build();
+                    });
+                    It("should stream the whole content", () -> {
+                        assertThat(response.getStatusCode(), is(not(HttpStatus.PARTIAL_CONTENT)));
+                        assertThat(response.getHeaders().getFirst("Content-Range"), is(nullValue()));
+                        assertThat(response.getBodyAsString().block(), is("Hello Reactive World!"));
+                    });
+                });
+                Context("given a GET request for a range with an If-Range date", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.get("/testEntities/999/content")
+                                .header("Range", "bytes=6-13")
+                                .header("If-Range", "Thu, 01 Jan 2015 00:00:00 GMT")
+                                .build();
+                    });
+                    It("should stream the whole content as the entity has no last modified date", () -> {
+                        assertThat(response.getStatusCode(), is(not(HttpStatus.PARTIAL_CONTENT)));
+                        assertThat(response.getBodyAsString().block(), is("Hello Reactive World!"));
+                    });
+                });
+                Context("given a GET request with a matching If-None-Match", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.get("/testEntities/999/content").ifNoneMatch("\"1\"").build();
+                    });
+                    It("should respond not modified", () -> {
+                        assertThat(response.getStatusCode(), is(HttpStatus.NOT_MODIFIED));
+                    });
+                });
+                Context("given a PUT request", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.put("/testEntities/999/content")
+                                .header("Content-Type", "text/plain")
+                                .body("Updated");
+                    });
+                    It("should replace the content", () -> {
+                        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+                        assertThat(new String(store.contents.get("abcd"), StandardCharsets.UTF_8), is("Updated"));
+                    });
+                });
+                Context("given a PUT request with a stale If-Match", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.put("/testEntities/999/content")
+                                .header("Content-Type", "text/plain")
+                                .header("If-Match", "\"0\"")
+                                .body("Updated");
+                    });
+                    It("should respond precondition failed and leave the content", () -> {
+                        assertThat(response.getStatusCode(), is(HttpStatus.PRECONDITION_FAILED));
+                        assertThat(new String(store.contents.get("abcd"), StandardCharsets.UTF_8), is("Hello Reactive World!"));
+                    });
+                });
+                Context("given a DELETE request", () -> {
+                    BeforeEach(() -> {
+                        request = MockServerHttpRequest.delete("/testEntities/999/content").build();
+                    });
+                    It("should unset the content and save the entity", () -> {
+                        assertThat(response.getStatusCode(), is(HttpStatus.NO_CONTENT));
+                        assertThat(store.contents.get("abcd"), is(nullValue()));
+                        assertThat(entity.getContentId(), is(nullValue()));
+                        assertThat(entity.getMimeType(), is(nullValue()));
+                        verify(repository).save(entity);
+                    });
+                });
+            });
+            Context("given a GET request for content that has not been set", () -> {
+                BeforeEach(() -> {
+                    request = MockServerHttpRequest.get("/testEntities/999/content").build();
+                });
+                It("should respond not found", () -> {
+                    assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
+                });
+            });
+            Context("given a GET request for an entity that does not exist", () -> {
+                BeforeEach(() -> {
+                    when(repository.findById("999")).thenReturn(Mono.empty());
+                    request = MockServerHttpRequest.get("/testEntities/999/content").build();
+                });
+                It("should respond not found", () -> {
+                    assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
+                });
+            });
+            Context("given a request for a store that is not reactive", () -> {
+                BeforeEach(() -> {
+                    request = MockServerHttpRequest.get("/otherEntities/999/content").build();
+                });
+                It("should pass the request down the chain", () -> {
+                    assertThat(response.getStatusCode(), is(HttpStatus.I_AM_A_TEAPOT));
+                });
+            });
+        });
+    }
+
+    public static class TestEntity {
+
+        @ContentId
+        private String contentId;
+
+        @ContentLength
+        private Long contentLen;
+
+        @MimeType
+        private String mimeType;
+
+        @OriginalFileName
+        private String originalFileName;
+
+        @Version
+        private Long version;
+
+        public String getContentId() {
+            return contentId;
+        }
+
+        public void setContentId(String contentId) {
+            this.contentId = contentId;
+        }
+
+        public Long getContentLen() {
+            return contentLen;
+        }
+
+        public void setContentLen(Long contentLen) {
+            this.contentLen = contentLen;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public void setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+        }
+
+        public String getOriginalFileName() {
+            return originalFileName;
+        }
+
+        public void setOriginalFileName(String originalFileName) {
+            this.originalFileName = originalFileName;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public void setVersion(Long version) {
+            this.version = version;
+        }
+    }
+
+    public static class InMemoryStore implements ReactiveContentStore<TestEntity, String> {
+
+        private Map<String, byte[]> contents = new HashMap<>();
+        private long contentLen;
+        private int reads;
+
+        @Override
+        public Mono<TestEntity> setContent(TestEntity entity, PropertyPath path, long contentLen, Flux<ByteBuffer> buffer) {
+            this.contentLen = contentLen;
+            if (entity.getContentId() == null) {
+                entity.setContentId("abcd");
+            }
+            return buffer.reduce(new byte[0], (bytes, next) -> {
+                byte[] joined = new byte[bytes.length + next.remaining()];
+                System.arraycopy(bytes, 0, joined, 0, bytes.length);
+                next.get(joined, bytes.length, next.remaining());
+                return joined;
+            }).map(bytes -> {
+                contents.put(entity.getContentId(), bytes);
+                entity.setContentLen((long) bytes.length);
+                return entity;
+            });
+        }
+
+        @Override
+        public Flux<ByteBuffer> getContent(TestEntity entity, PropertyPath path) {
+            return getContent(entity, path, GetResourceParams.builder().build());
+        }
+
+        @Override
+        public Flux<ByteBuffer> getContent(TestEntity entity, PropertyPath path, GetResourceParams params) {
+            reads++;
+            byte[] bytes = contents.get(entity.getContentId());
+            long[] range = ByteRanges.parse(params.getRange(), bytes.length);
+            if (range == null) {
+                return Flux.just(ByteBuffer.wrap(bytes));
+            }
+            return Flux.just(ByteBuffer.wrap(bytes, (int) range[0], (int) range[1]));
+        }
+
+        @Override
+        public Mono<TestEntity> unsetContent(TestEntity entity, PropertyPath path) {
+            contents.remove(entity.getContentId());
+            entity.setContentId(null);
+            entity.setContentLen(0L);
+            return Mono.just(entity);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package internal.org.springframework.content.rest.mappings;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.runner.RunWith;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.rest.io.RenderedResource;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.AfterEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+
+@RunWith(Ginkgo4jRunner.class)
+public class StoreByteRangeHttpRequestHandlerTest {
+
+	private StoreByteRangeHttpRequestHandler handler;
+
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	private File file;
+
+	{
+		Describe("StoreByteRangeHttpRequestHandler", () -> {
+			BeforeEach(() -> {
+				file = File.createTempFile("content", ".txt");
+				Files.write(file.toPath(), "Hello Spring Content World!".getBytes(StandardCharsets.UTF_8));
+
+				handler = new StoreByteRangeHttpRequestHandler();
+				handler.afterPropertiesSet();
+
+				request = new MockHttpServletRequest("GET", "/content");
+				request.setAttribute("SPRING_CONTENT_CONTENTTYPE", MediaType.TEXT_PLAIN);
+				response = new MockHttpServletResponse();
+			});
+			AfterEach(() -> {
+				file.delete();
+			});
+			Context("given a file resource", () -> {
+				BeforeEach(() -> {
+					request.setAttribute("SPRING_CONTENT_RESOURCE", new FileSystemResource(file));
+				});
+				Context("given a full request", () -> {
+					JustBeforeEach(() -> {
+						handler.handleRequest(request, response);
+					});
+					It("should write the whole file", () -> {
+						assertThat(response.getStatus(), is(200));
+						assertThat(response.getContentLengthLong(), is(27L));
+						assertThat(response.getContentAsString(), is("Hello Spring Content World!"));
+					});
+				});
+				Context("given a range request", () -> {
+					BeforeEach(() -> {
+						request.addHeader("Range", "bytes=6-11");
+					});
+					JustBeforeEach(() -> {
+						handler.handleRequest(request, response);
+					});
+					It("should write the requested range", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(response.getHeader("Content-Range"), is("bytes 6-11/27"));
+						assertThat(response.getContentAsString(), is("Spring"));
+					});
+				});
+				Context("given a range past the end of the file", () -> {
+					BeforeEach(() -> {
+						request.addHeader("Range", "bytes=21-100");
+					});
+					JustBeforeEach(() -> {
+						handler.handleRequest(request, response);
+					});
+					It("should write up to the end of the file", () -> {
+						assertThat(response.getStatus(), is(206));
+						assertThat(response.getHeader("Content-Range"), is("bytes 21-26/27"));
+						assertThat(response.getContentAsString(), is("World!"));
+					});
+				});
+				Context("given a container that supports sendfile but a wrapped request", () -> {
+					BeforeEach(() -> {
+						request.setAttribute(StoreByteRangeHttpRequestHandler.SENDFILE_SUPPORT_ATTR, Boolean.TRUE);
+					});
+					JustBeforeEach(() -> {
+						handler.handleRequest(request, response);
+					});
+					It("should write the file to the response body", () -> {
+						assertThat(request.getAttribute(StoreByteRangeHttpRequestHandler.SENDFILE_FILENAME_ATTR), is(nullValue()));
+						assertThat(response.getContentAsString(), is("Hello Spring Content World!"));
+					});
+				});
+			});
+			Context("given a rendition of a file resource", () -> {
+				BeforeEach(() -> {
+					request.setAttribute("SPRING_CONTENT_RESOURCE", new RenderedResource(new ByteArrayInputStream("rendition".getBytes(StandardCharsets.UTF_8)), new FileSystemResource(file)));
+				});
+				JustBeforeEach(() -> {
+					handler.handleRequest(request, response);
+				});
+				It("should write the rendition rather than the file", () -> {
+					assertThat(response.getContentAsString(), is("rendition"));
+				});
+			});
+		});
+	}
+}
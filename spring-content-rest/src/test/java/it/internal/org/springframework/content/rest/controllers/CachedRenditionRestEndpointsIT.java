@@ -0,0 +1,158 @@
+package it.internal.org.springframework.content.rest.controllers;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.content.commons.renditions.FileSystemRenditionCache;
+import org.springframework.content.rest.config.RestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.data.rest.webmvc.config.RepositoryRestMvcConfiguration;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.DelegatingWebMvcConfiguration;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jConfiguration;
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jSpringRunner;
+
+import internal.org.springframework.content.rest.support.StoreConfig;
+import internal.org.springframework.content.rest.support.TestEntity;
+import internal.org.springframework.content.rest.support.TestEntityContentRepository;
+import internal.org.springframework.content.rest.support.TestEntityRepository;
+
+@RunWith(Ginkgo4jSpringRunner.class)
+@Ginkgo4jConfiguration(threads = 1)
+@WebAppConfiguration
+@ContextConfiguration(classes = {
+		StoreConfig.class,
+		CachedRenditionRestEndpointsIT.RenditionCacheConfig.class,
+		DelegatingWebMvcConfiguration.class,
+		RepositoryRestMvcConfiguration.class,
+		RestConfiguration.class })
+@Transactional
+@ActiveProfiles("store")
+public class CachedRenditionRestEndpointsIT {
+
+	private static final String CONTENT = "Hello Spring Content World!";
+	private static final String RENDITION = "<html><body>Hello Spring Content World!</body></html>";
+
+	@Autowired
+	TestEntityRepository repository;
+	@Autowired
+	TestEntityContentRepository contentRepository;
+
+	@Autowired
+	FileSystemRenditionCache cache;
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mvc;
+
+	private TestEntity testEntity;
+	private String url;
+
+	{
+		Describe("Cached Rendition REST Endpoints", () -> {
+			BeforeEach(() -> {
+				mvc = MockMvcBuilders.webAppContextSetup(context).build();
+
+				testEntity = repository.save(new TestEntity());
+				testEntity = contentRepository.setContent(testEntity, new ByteArrayInputStream(CONTENT.getBytes()));
+				testEntity.setMimeType("text/plain");
+				testEntity = repository.save(testEntity);
+
+				url = "/testEntitiesContent/" + testEntity.getId();
+			});
+			Context("a GET to /{store}/{id} with a mime type that matches a renderer", () -> {
+				It("should return the rendition and cache it", () -> {
+					MockHttpServletResponse response = mvc
+							.perform(get(url).accept("text/html"))
+							.andExpect(status().isOk()).andReturn().getResponse();
+
+					assertThat(response.getContentAsString(), is(RENDITION));
+					assertThat(response.getContentType(), is("text/html"));
+					assertThat(response.getContentLengthLong(), is((long) RENDITION.length()));
+
+					Resource cached = cache.get(testEntity.getContentId(), "null/" + CONTENT.length(), "text/html");
+					assertThat(cached, is(not(nullValue())));
+					assertThat(IOUtils.toString(cached.getInputStream()), is(RENDITION));
+				});
+				Context("given the rendition is cached", () -> {
+					BeforeEach(() -> {
+						mvc.perform(get(url).accept("text/html")).andExpect(status().isOk());
+					});
+					It("should return the cached rendition", () -> {
+						long hits = cache.getHitCount();
+
+						MockHttpServletResponse response = mvc
+								.perform(get(url).accept("text/html"))
+								.andExpect(status().isOk()).andReturn().getResponse();
+
+						assertThat(response.getContentAsString(), is(RENDITION));
+						assertThat(cache.getHitCount(), is(hits + 1));
+					});
+					It("should return a byte range of the cached rendition", () -> {
+						MockHttpServletResponse response = mvc
+								.perform(get(url).accept("text/html").header("range", "bytes=12-17"))
+								.andExpect(status().isPartialContent()).andReturn().getResponse();
+
+						assertThat(response.getContentAsString(), is("Hello "));
+						assertThat(response.getHeader("Content-Range"), is("bytes 12-17/" + RENDITION.length()));
+					});
+					Context("when the content is replaced", () -> {
+						BeforeEach(() -> {
+							testEntity = contentRepository.setContent(testEntity, new ByteArrayInputStream("Goodbye".getBytes()));
+							testEntity = repository.save(testEntity);
+						});
+						It("should invalidate the cached rendition and render the new content", () -> {
+							assertThat(cache.get(testEntity.getContentId(), "null/" + CONTENT.length(), "text/html"), is(nullValue()));
+
+							MockHttpServletResponse response = mvc
+									.perform(get(url).accept("text/html"))
+									.andExpect(status().isOk()).andReturn().getResponse();
+
+							assertThat(response.getContentAsString(), is("<html><body>Goodbye</body></html>"));
+						});
+					});
+				});
+			});
+		});
+	}
+
+	@Test
+	public void noop() {
+	}
+
+	@Configuration
+	public static class RenditionCacheConfig {
+
+		@Bean
+		public FileSystemRenditionCache renditionCache() throws IOException {
+			return new FileSystemRenditionCache(Files.createTempDirectory("spring-content-renditions").toFile());
+		}
+	}
+}
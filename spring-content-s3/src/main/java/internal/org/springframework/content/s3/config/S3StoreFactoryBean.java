@@ -11,6 +11,8 @@ import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.factory.AbstractStoreFactoryBean;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.content.s3.config.MultiTenantS3ClientProvider;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.versions.LockingAndVersioningProxyFactory;
@@ -47,6 +49,12 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
     @Autowired(required=false)
     private MappingContext mappingContext;
 
+    @Autowired(required=false)
+    private S3StoreUploadOptions uploadOptions;
+
+    @Autowired(required=false)
+    private S3ObjectMetadataCache metadataCache;
+
 	@Value("${spring.content.s3.bucket:#{environment.AWS_BUCKET}}")
 	private String bucket;
 
@@ -73,6 +81,8 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 	protected Object getContentStoreImpl() {
 
 		SimpleStorageProtocolResolver s3Protocol = new SimpleStorageProtocolResolver(client);
+		s3Protocol.setUploadOptions(uploadOptions);
+		s3Protocol.setMetadataCache(metadataCache);
 		s3Protocol.afterPropertiesSet();
 
 		DefaultResourceLoader loader = new DefaultResourceLoader();
@@ -82,12 +92,17 @@ public class S3StoreFactoryBean extends AbstractStoreFactoryBean {
 		    if (client == null) {
 		        throw new NoSuchBeanDefinitionException(S3Client.class.getCanonicalName());
 		    }
-		    return new DefaultS3StoreImpl(context, loader, mappingContext, s3StorePlacementService, client, s3Provider);
+		    DefaultS3StoreImpl store = new DefaultS3StoreImpl(context, loader, mappingContext, s3StorePlacementService, client, s3Provider);
+		    store.setUploadOptions(uploadOptions);
+		    store.setMetadataCache(metadataCache);
+		    return store;
 		} else {
             if (asyncClient == null) {
                 throw new NoSuchBeanDefinitionException(S3AsyncClient.class.getCanonicalName());
             }
-            return new DefaultReactiveS3StoreImpl(context, loader, mappingContext, s3StorePlacementService, asyncClient, s3Provider);
+            DefaultReactiveS3StoreImpl store = new DefaultReactiveS3StoreImpl(context, loader, mappingContext, s3StorePlacementService, asyncClient, s3Provider);
+            store.setUploadOptions(uploadOptions);
+            return store;
 		}
 	}
 }
@@ -104,6 +104,10 @@ public class S3StoreResource implements WritableResource, DeletableResource, Ran
 	                .build();
 
 	        client.deleteObject(deleteObjectRequest);
+
+	        if (delegate instanceof SimpleStorageResource) {
+	            ((SimpleStorageResource) delegate).invalidateMetadata();
+	        }
 		}
 	}
 
@@ -1,6 +1,8 @@
 package internal.org.springframework.content.s3.io;
 
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
 import org.springframework.core.io.ProtocolResolver;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
@@ -25,6 +27,10 @@ public class SimpleStorageProtocolResolver implements ProtocolResolver, Initiali
      */
     private TaskExecutor taskExecutor;
 
+    private S3StoreUploadOptions uploadOptions;
+
+    private S3ObjectMetadataCache metadataCache;
+
     public SimpleStorageProtocolResolver(S3Client amazonS3) {
 //        this.amazonS3 = AmazonS3ProxyFactory.createProxy(amazonS3);
         this.amazonS3 = amazonS3;
@@ -34,8 +40,22 @@ public class SimpleStorageProtocolResolver implements ProtocolResolver, Initiali
         this.taskExecutor = taskExecutor;
     }
 
+    public void setUploadOptions(S3StoreUploadOptions uploadOptions) {
+        this.uploadOptions = uploadOptions;
+    }
+
+    public void setMetadataCache(S3ObjectMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
     @Override
     public void afterPropertiesSet() {
+        if (this.uploadOptions == null) {
+            this.uploadOptions = new S3StoreUploadOptions();
+        }
+        if (this.taskExecutor == null) {
+            this.taskExecutor = this.uploadOptions.getTaskExecutor();
+        }
         if (this.taskExecutor == null) {
             this.taskExecutor = new SyncTaskExecutor();
         }
@@ -44,11 +64,14 @@ public class SimpleStorageProtocolResolver implements ProtocolResolver, Initiali
     @Override
     public Resource resolve(String location, ResourceLoader resourceLoader) {
         if (SimpleStorageNameUtils.isSimpleStorageResource(location)) {
-            return new SimpleStorageResource(this.amazonS3,
+            SimpleStorageResource resource = new SimpleStorageResource(this.amazonS3,
                     SimpleStorageNameUtils.getBucketNameFromLocation(location),
                     SimpleStorageNameUtils.getObjectNameFromLocation(location),
                     this.taskExecutor,
                     SimpleStorageNameUtils.getVersionIdFromLocation(location));
+            resource.setUploadOptions(this.uploadOptions);
+            resource.setMetadataCache(this.metadataCache);
+            return resource;
         }
         else {
             return null;
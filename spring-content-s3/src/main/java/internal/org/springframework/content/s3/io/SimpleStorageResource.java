@@ -1,24 +1,27 @@
 package internal.org.springframework.content.s3.io;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URL;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 import org.springframework.content.commons.io.RangeableResource;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
 import org.springframework.core.io.AbstractResource;
 import org.springframework.core.io.WritableResource;
 import org.springframework.core.task.TaskExecutor;
@@ -69,6 +72,10 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
 
     private String contentType;
 
+    private S3StoreUploadOptions uploadOptions = new S3StoreUploadOptions();
+
+    private S3ObjectMetadataCache metadataCache;
+
     public SimpleStorageResource(S3Client amazonS3, String bucketName, String objectName,
             TaskExecutor taskExecutor) {
         this(amazonS3, bucketName, objectName, taskExecutor, null, null);
@@ -112,6 +119,32 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
         this.contentType = contentType;
     }
 
+    /**
+     * Set the options that control how content is uploaded when written to the output stream.
+     * @param uploadOptions the upload options
+     */
+    public void setUploadOptions(S3StoreUploadOptions uploadOptions) {
+        this.uploadOptions = uploadOptions;
+    }
+
+    /**
+     * Set the cache that object metadata is shared through, or null to not share it.
+     * @param metadataCache the metadata cache
+     */
+    public void setMetadataCache(S3ObjectMetadataCache metadataCache) {
+        this.metadataCache = metadataCache;
+    }
+
+    /**
+     * Forget the metadata of the object, because it has been written or deleted.
+     */
+    public void invalidateMetadata() {
+        this.objectMetadata = null;
+        if (this.metadataCache != null) {
+            this.metadataCache.invalidate(this.amazonS3, this.bucketName, this.objectName);
+        }
+    }
+
     /**
      * Determine the Content-Type value of the resource as saved in object storage.
      * @return Content-Type value of the resource
@@ -203,83 +236,121 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
     @Override
     public SimpleStorageResource createRelative(String relativePath) throws IOException {
         String relativeKey = this.objectName + "/" + relativePath;
-        return new SimpleStorageResource(this.amazonS3, this.bucketName, relativeKey,
+        SimpleStorageResource relative = new SimpleStorageResource(this.amazonS3, this.bucketName, relativeKey,
                 this.taskExecutor);
+        relative.setUploadOptions(this.uploadOptions);
+        relative.setMetadataCache(this.metadataCache);
+        return relative;
     }
 
     private HeadObjectResponse getObjectMetadata() {
         if (this.objectMetadata == null) {
-            try {
-                HeadObjectRequest.Builder headObjectRequestBuilder = HeadObjectRequest
-                        .builder().bucket(this.bucketName).key(this.objectName);
-                if (this.versionId != null) {
-                    headObjectRequestBuilder.versionId(this.versionId);
-                }
-                this.objectMetadata = this.amazonS3
-                        .headObject(headObjectRequestBuilder.build());
+            if (this.metadataCache != null) {
+                this.objectMetadata = this.metadataCache.get(this.amazonS3, this.bucketName,
+                        this.objectName, this.versionId, this::headObject);
             }
-            catch (S3Exception e) {
-                // Catch 404 (object not found) and 301 (bucket not found, moved
-                // permanently)
-                if (e.statusCode() == 404 || e.statusCode() == 301) {
-                    this.objectMetadata = null;
-                }
-                else {
-                    throw e;
-                }
+            else {
+                this.objectMetadata = headObject();
             }
         }
         return this.objectMetadata;
     }
 
+    private HeadObjectResponse headObject() {
+        try {
+            HeadObjectRequest.Builder headObjectRequestBuilder = HeadObjectRequest
+                    .builder().bucket(this.bucketName).key(this.objectName);
+            if (this.versionId != null) {
+                headObjectRequestBuilder.versionId(this.versionId);
+            }
+            return this.amazonS3.headObject(headObjectRequestBuilder.build());
+        }
+        catch (S3Exception e) {
+            // Catch 404 (object not found) and 301 (bucket not found, moved
+            // permanently)
+            if (e.statusCode() == 404 || e.statusCode() == 301) {
+                return null;
+            }
+            else {
+                throw e;
+            }
+        }
+    }
+
     private class SimpleStorageOutputStream extends OutputStream {
 
-        // The minimum size for a multi part is 5 MB, hence the buffer size of 5 MB
-        private static final int BUFFER_SIZE = 1024 * 1024 * 5;
+        private final int partSize;
 
-        private final Object monitor = new Object();
+        private final Semaphore partsInFlight;
 
-        private final CompletionService<CompletedPart> completionService;
+        // part buffers returned by completed parts, for reuse by later parts
+        private final BlockingQueue<byte[]> buffers;
 
-        @SuppressWarnings("FieldMayBeFinal")
-        private ByteArrayOutputStream currentOutputStream = new ByteArrayOutputStream(
-                BUFFER_SIZE);
+        private final ExecutorService executor;
+
+        private final List<Future<CompletedPart>> parts = new ArrayList<>();
+
+        private volatile Throwable failure;
+
+        private byte[] buffer;
+
+        private int count;
 
         private int partNumberCounter = 1;
 
         private CreateMultipartUploadResponse multiPartUploadResult;
 
+        private boolean closed;
+
+        private boolean aborted;
+
         SimpleStorageOutputStream() {
-            this.completionService = new ExecutorCompletionService<>(
-                    new ExecutorServiceAdapter(SimpleStorageResource.this.taskExecutor));
+            S3StoreUploadOptions options = SimpleStorageResource.this.uploadOptions;
+            this.partSize = options.getPartSize();
+            this.partsInFlight = new Semaphore(options.getMaxConcurrentParts());
+            this.buffers = new ArrayBlockingQueue<>(options.getMaxConcurrentParts() + 1);
+            this.executor = new ExecutorServiceAdapter(SimpleStorageResource.this.taskExecutor);
+            this.buffer = new byte[this.partSize];
         }
 
         @Override
         public void write(int b) throws IOException {
-            synchronized (this.monitor) {
-                if (this.currentOutputStream.size() == BUFFER_SIZE) {
-                    initiateMultiPartIfNeeded();
-                    this.completionService.submit(new UploadPartResultCallable(
-                            SimpleStorageResource.this.amazonS3,
-                            this.currentOutputStream.toByteArray(),
-                            this.currentOutputStream.size(),
-                            SimpleStorageResource.this.bucketName,
-                            SimpleStorageResource.this.objectName,
-                            this.multiPartUploadResult.uploadId(),
-                            this.partNumberCounter++));
-                    this.currentOutputStream.reset();
+            ensureOpen();
+            if (this.count == this.buffer.length) {
+                uploadPart();
+            }
+            this.buffer[this.count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            if (off < 0 || len < 0 || len > b.length - off) {
+                throw new IndexOutOfBoundsException();
+            }
+            while (len > 0) {
+                if (this.count == this.buffer.length) {
+                    uploadPart();
                 }
-                this.currentOutputStream.write(b);
+                int n = Math.min(len, this.buffer.length - this.count);
+                System.arraycopy(b, off, this.buffer, this.count, n);
+                this.count += n;
+                off += n;
+                len -= n;
             }
         }
 
         @Override
         public void close() throws IOException {
-            synchronized (this.monitor) {
-                if (this.currentOutputStream == null) {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+
+            try {
+                if (this.aborted) {
                     return;
                 }
-
                 if (isMultiPartUpload()) {
                     finishMultiPartUpload();
                 }
@@ -287,6 +358,18 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
                     finishSimpleUpload();
                 }
             }
+            finally {
+                // Release the memory early
+                this.buffer = null;
+                this.buffers.clear();
+                invalidateMetadata();
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (this.closed) {
+                throw new IOException("Stream closed");
+            }
         }
 
         private boolean isMultiPartUpload() {
@@ -294,11 +377,13 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
         }
 
         private void finishSimpleUpload() {
-            byte[] content = this.currentOutputStream.toByteArray();
+            byte[] content = this.buffer;
+            int length = this.count;
             String md5Digest;
             try {
                 MessageDigest messageDigest = MessageDigest.getInstance("MD5");
-                md5Digest = BinaryUtils.toBase64(messageDigest.digest(content));
+                messageDigest.update(content, 0, length);
+                md5Digest = BinaryUtils.toBase64(messageDigest.digest());
             }
             catch (NoSuchAlgorithmException e) {
                 throw new IllegalStateException(
@@ -315,40 +400,105 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
                 requestBuilder.contentType(SimpleStorageResource.this.contentType);
             }
 
-            SimpleStorageResource.this.amazonS3.putObject(requestBuilder.build(), RequestBody.fromBytes(content));
+            SimpleStorageResource.this.amazonS3.putObject(requestBuilder.build(), requestBody(content, length));
+        }
 
-            // Release the memory early
-            this.currentOutputStream = null;
+        /**
+         * Hands the full buffer to the executor as the next part and carries on writing into a free buffer.  Blocks
+         * while the maximum number of parts are in flight.
+         */
+        private void uploadPart() throws IOException {
+            initiateMultiPartIfNeeded();
+            checkForFailure();
+
+            try {
+                this.partsInFlight.acquire();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abortMultiPartUpload();
+                throw new InterruptedIOException("Interrupted waiting to upload part " + this.partNumberCounter);
+            }
+
+            final byte[] content = this.buffer;
+            final int length = this.count;
+            final int partNumber = this.partNumberCounter++;
+            final String uploadId = this.multiPartUploadResult.uploadId();
+
+            try {
+                this.parts.add(this.executor.submit(() -> {
+                    try {
+                        UploadPartResponse uploadPartResponse = SimpleStorageResource.this.amazonS3.uploadPart(
+                                UploadPartRequest.builder()
+                                        .bucket(SimpleStorageResource.this.bucketName)
+                                        .key(SimpleStorageResource.this.objectName)
+                                        .uploadId(uploadId)
+                                        .partNumber(partNumber).build(),
+                                requestBody(content, length));
+                        return CompletedPart.builder().partNumber(partNumber)
+                                .eTag(uploadPartResponse.eTag()).build();
+                    }
+                    catch (Throwable t) {
+                        this.failure = t;
+                        throw t;
+                    }
+                    finally {
+                        this.buffers.offer(content);
+                        this.partsInFlight.release();
+                    }
+                }));
+            }
+            catch (RuntimeException e) {
+                this.partsInFlight.release();
+                abortMultiPartUpload();
+                throw new IOException("Multi part upload failed ", e);
+            }
+
+            byte[] next = this.buffers.poll();
+            this.buffer = next != null ? next : new byte[this.partSize];
+            this.count = 0;
+        }
+
+        private void checkForFailure() throws IOException {
+            Throwable t = this.failure;
+            if (t != null) {
+                abortMultiPartUpload();
+                throw new IOException("Multi part upload failed ", t);
+            }
         }
 
         private void finishMultiPartUpload() throws IOException {
-            this.completionService.submit(new UploadPartResultCallable(
-                    SimpleStorageResource.this.amazonS3,
-                    this.currentOutputStream.toByteArray(),
-                    this.currentOutputStream.size(),
-                    SimpleStorageResource.this.bucketName,
-                    SimpleStorageResource.this.objectName,
-                    this.multiPartUploadResult.uploadId(), this.partNumberCounter));
+            if (this.count > 0) {
+                uploadPart();
+            }
+
+            List<CompletedPart> completedParts = new ArrayList<>(this.parts.size());
             try {
-                CompletedMultipartUpload multipartUpload = CompletedMultipartUpload
-                        .builder().parts(getCompletedMultiParts()).build();
-                SimpleStorageResource.this.amazonS3
-                        .completeMultipartUpload(CompleteMultipartUploadRequest.builder()
-                                .bucket(this.multiPartUploadResult.bucket())
-                                .key(this.multiPartUploadResult.key())
-                                .multipartUpload(multipartUpload)
-                                .uploadId(this.multiPartUploadResult.uploadId()).build());
+                for (Future<CompletedPart> part : this.parts) {
+                    completedParts.add(part.get());
+                }
             }
             catch (ExecutionException e) {
                 abortMultiPartUpload();
                 throw new IOException("Multi part upload failed ", e.getCause());
             }
             catch (InterruptedException e) {
-                abortMultiPartUpload();
                 Thread.currentThread().interrupt();
+                abortMultiPartUpload();
+                throw new InterruptedIOException("Interrupted waiting for parts to upload");
             }
-            finally {
-                this.currentOutputStream = null;
+
+            try {
+                SimpleStorageResource.this.amazonS3
+                        .completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                                .bucket(this.multiPartUploadResult.bucket())
+                                .key(this.multiPartUploadResult.key())
+                                .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                                .uploadId(this.multiPartUploadResult.uploadId()).build());
+            }
+            catch (RuntimeException e) {
+                abortMultiPartUpload();
+                throw new IOException("Multi part upload failed ", e);
             }
         }
 
@@ -368,7 +518,11 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
         }
 
         private void abortMultiPartUpload() {
-            if (isMultiPartUpload()) {
+            if (isMultiPartUpload() && !this.aborted) {
+                this.aborted = true;
+                for (Future<CompletedPart> part : this.parts) {
+                    part.cancel(false);
+                }
                 SimpleStorageResource.this.amazonS3
                         .abortMultipartUpload(AbortMultipartUploadRequest.builder()
                                 .bucket(this.multiPartUploadResult.bucket())
@@ -377,71 +531,11 @@ public class SimpleStorageResource extends AbstractResource implements WritableR
             }
         }
 
-        private List<CompletedPart> getCompletedMultiParts()
-                throws ExecutionException, InterruptedException {
-            List<CompletedPart> result = new ArrayList<>(this.partNumberCounter);
-            for (int i = 0; i < this.partNumberCounter; i++) {
-                Future<CompletedPart> uploadPartResultFuture = this.completionService
-                        .take();
-                result.add(uploadPartResultFuture.get());
-            }
-            return result;
+        // reads the buffer in place, and again from the start should the request be retried
+        private RequestBody requestBody(byte[] content, int length) {
+            return RequestBody.fromContentProvider(() -> new ByteArrayInputStream(content, 0, length), length,
+                    "application/octet-stream");
         }
-
-        private final class UploadPartResultCallable implements Callable<CompletedPart> {
-
-            private final S3Client amazonS3;
-
-            private final int contentLength;
-
-            private final int partNumber;
-
-            private final String bucketName;
-
-            private final String key;
-
-            private final String uploadId;
-
-            @SuppressWarnings("FieldMayBeFinal")
-            private byte[] content;
-
-            private UploadPartResultCallable(S3Client amazon, byte[] content,
-                    int writtenDataSize, String bucketName, String key, String uploadId,
-                    int partNumber) {
-                this.amazonS3 = amazon;
-                this.content = content;
-                this.contentLength = writtenDataSize;
-                this.partNumber = partNumber;
-                this.bucketName = bucketName;
-                this.key = key;
-                this.uploadId = uploadId;
-            }
-
-            @Override
-            public CompletedPart call() throws Exception {
-                try {
-                    final UploadPartResponse uploadPartResponse = this.amazonS3
-                            .uploadPart(
-                                    UploadPartRequest.builder().bucket(this.bucketName)
-                                            .key(this.key).uploadId(this.uploadId)
-                                            .partNumber(this.partNumber).build(),
-                                    RequestBody.fromInputStream(
-                                            new ByteArrayInputStream(this.content),
-                                            this.contentLength));
-                    return CompletedPart.builder().partNumber(this.partNumber)
-                            .eTag(uploadPartResponse.eTag()).build();
-
-                }
-                finally {
-                    // Release the memory, as the callable may still live inside the
-                    // CompletionService which would cause
-                    // an exhaustive memory usage
-                    this.content = null;
-                }
-            }
-
-        }
-
     }
 
     /**
@@ -1,11 +1,13 @@
 package internal.org.springframework.content.s3.store;
 
-import java.io.File;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -13,11 +15,13 @@ import org.springframework.content.commons.config.ContentPropertyInfo;
 import org.springframework.content.commons.mappingcontext.ContentProperty;
 import org.springframework.content.commons.mappingcontext.MappingContext;
 import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
 import org.springframework.content.commons.repository.ReactiveContentStore;
 import org.springframework.content.commons.repository.StoreAccessException;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.content.s3.S3ObjectId;
 import org.springframework.content.s3.config.MultiTenantS3ClientProvider;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.ResourceLoader;
@@ -31,12 +35,18 @@ import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.ResponsePublisher;
 import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 
 @Transactional
 public class DefaultReactiveS3StoreImpl<S, SID extends Serializable>
@@ -53,6 +63,8 @@ public class DefaultReactiveS3StoreImpl<S, SID extends Serializable>
 
     private S3AsyncClient asyncClient;
 
+    private S3StoreUploadOptions uploadOptions = new S3StoreUploadOptions();
+
 	public DefaultReactiveS3StoreImpl(ApplicationContext context, ResourceLoader loader, MappingContext mappingContext, PlacementService placementService, S3AsyncClient asyncClient, MultiTenantS3ClientProvider provider) {
         Assert.notNull(context, "context must be specified");
 		Assert.notNull(loader, "loader must be specified");
@@ -68,6 +80,12 @@ public class DefaultReactiveS3StoreImpl<S, SID extends Serializable>
         }
 	}
 
+    public void setUploadOptions(S3StoreUploadOptions uploadOptions) {
+        if (uploadOptions != null) {
+            this.uploadOptions = uploadOptions;
+        }
+    }
+
     private S3ObjectId getS3ObjectId(S entity, PropertyPath path, ContentProperty property) {
         TypeDescriptor contentPropertyInfoType = ContentPropertyInfoTypeDescriptor.withGenerics(entity, property);
         if (!placementService.canConvert(contentPropertyInfoType, TypeDescriptor.valueOf(S3ObjectId.class))) {
@@ -104,33 +122,147 @@ public class DefaultReactiveS3StoreImpl<S, SID extends Serializable>
 
         final S3ObjectId s3ObjectId = getS3ObjectId(entity, path, property);
 
-        PutObjectRequest.Builder requestBuilder = PutObjectRequest.builder()
-                .bucket(s3ObjectId.getBucket())
-                .contentLength(contentLen)
-                .key(s3ObjectId.getKey());
-
         Object mimeType = property.getMimeType(entity);
-        if (mimeType != null) {
-            String strMimeType = mimeType.toString();
-            requestBuilder.contentType(strMimeType);
-        }
+        String contentType = mimeType != null ? mimeType.toString() : null;
 
-        CompletableFuture<PutObjectResponse> future = asyncClient.putObject(
-                requestBuilder.build(),
-                AsyncRequestBody.fromPublisher(buffer)
-        );
+        Mono<Long> written;
+        if (contentLen >= 0) {
+            written = putObject(s3ObjectId, contentType, contentLen, buffer).thenReturn(contentLen);
+        } else {
+            written = upload(s3ObjectId, contentType, buffer);
+        }
 
-        return Mono.fromFuture(future)
-          .map((response) -> {
+        return written.map(len -> {
             property.setContentId(entity, s3ObjectId.getKey(), null);
-            property.setContentLength(entity, contentLen);
+            property.setContentLength(entity, len);
             return entity;
-          }
-        );
+        });
+    }
+
+    private Mono<PutObjectResponse> putObject(S3ObjectId s3ObjectId, String contentType, long contentLen, Flux<ByteBuffer> buffer) {
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(s3ObjectId.getBucket())
+                .key(s3ObjectId.getKey())
+                .contentLength(contentLen)
+                .contentType(contentType)
+                .build();
+
+        return Mono.fromFuture(() -> asyncClient.putObject(request, AsyncRequestBody.fromPublisher(buffer)));
+    }
+
+    /**
+     * Uploads content of unknown length, which a single PUT cannot carry.  Content that fits in one part is PUT with
+     * its length.  Larger content is uploaded as a multipart upload of part sized buffers, with at most
+     * {@code maxConcurrentParts} parts in flight, and the upload is aborted if the content fails or the subscriber
+     * cancels.
+     */
+    private Mono<Long> upload(S3ObjectId s3ObjectId, String contentType, Flux<ByteBuffer> buffer) {
+        int partSize = uploadOptions.getPartSize();
+
+        return parts(buffer, partSize).switchOnFirst((first, parts) -> {
+            if (first.isOnError()) {
+                return Mono.error(first.getThrowable());
+            }
+            if (!first.hasValue()) {
+                return putObject(s3ObjectId, contentType, 0, Flux.empty()).thenReturn(0L);
+            }
+
+            ByteBuffer part = first.get();
+            if (part.remaining() < partSize) {
+                long len = part.remaining();
+                return putObject(s3ObjectId, contentType, len, Flux.just(part)).thenReturn(len);
+            }
+
+            return multipartUpload(s3ObjectId, contentType, parts);
+        }).next();
+    }
+
+    private Mono<Long> multipartUpload(S3ObjectId s3ObjectId, String contentType, Flux<ByteBuffer> parts) {
+        CreateMultipartUploadRequest request = CreateMultipartUploadRequest.builder()
+                .bucket(s3ObjectId.getBucket())
+                .key(s3ObjectId.getKey())
+                .contentType(contentType)
+                .build();
+
+        return Mono.fromFuture(() -> asyncClient.createMultipartUpload(request)).flatMap(upload -> {
+            String uploadId = upload.uploadId();
+            AtomicLong written = new AtomicLong();
+
+            return parts.index()
+                    .flatMapSequential(part -> {
+                        int partNumber = part.getT1().intValue() + 1;
+                        long len = part.getT2().remaining();
+                        written.addAndGet(len);
+
+                        UploadPartRequest uploadPart = UploadPartRequest.builder()
+                                .bucket(s3ObjectId.getBucket())
+                                .key(s3ObjectId.getKey())
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength(len)
+                                .build();
+
+                        return Mono.fromFuture(() -> asyncClient.uploadPart(uploadPart, AsyncRequestBody.fromByteBuffer(part.getT2())))
+                                .map(response -> CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+                    }, uploadOptions.getMaxConcurrentParts(), 1)
+                    .collectList()
+                    .flatMap(completed -> Mono.fromFuture(() -> asyncClient.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                            .bucket(s3ObjectId.getBucket())
+                            .key(s3ObjectId.getKey())
+                            .uploadId(uploadId)
+                            .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build())
+                            .build())))
+                    .map(response -> written.get())
+                    .onErrorResume(e -> abort(s3ObjectId, uploadId).then(Mono.error(e)))
+                    .doOnCancel(() -> abort(s3ObjectId, uploadId).subscribe());
+        });
+    }
+
+    private Mono<Void> abort(S3ObjectId s3ObjectId, String uploadId) {
+        AbortMultipartUploadRequest request = AbortMultipartUploadRequest.builder()
+                .bucket(s3ObjectId.getBucket())
+                .key(s3ObjectId.getKey())
+                .uploadId(uploadId)
+                .build();
+
+        return Mono.fromFuture(() -> asyncClient.abortMultipartUpload(request))
+                .doOnError(e -> logger.warn(String.format("Unable to abort multipart upload %s of %s", uploadId, s3ObjectId.getKey()), e))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    // regroups the content into buffers of partSize bytes; only the last may be smaller
+    private static Flux<ByteBuffer> parts(Flux<ByteBuffer> content, int partSize) {
+        return Flux.defer(() -> {
+            ByteBuffer[] part = { ByteBuffer.allocate(partSize) };
+
+            return content.concatMapIterable(bytes -> {
+                List<ByteBuffer> full = new ArrayList<>();
+                while (bytes.hasRemaining()) {
+                    ByteBuffer slice = bytes.duplicate();
+                    slice.limit(slice.position() + Math.min(bytes.remaining(), part[0].remaining()));
+                    part[0].put(slice);
+                    bytes.position(slice.position());
+
+                    if (!part[0].hasRemaining()) {
+                        part[0].flip();
+                        full.add(part[0]);
+                        part[0] = ByteBuffer.allocate(partSize);
+                    }
+                }
+                return full;
+            })
+            .concatWith(Mono.fromSupplier(() -> (ByteBuffer) part[0].flip()).filter(ByteBuffer::hasRemaining));
+        });
     }
 
     @Override
     public Flux<ByteBuffer> getContent(S entity, PropertyPath path) {
+        return this.getContent(entity, path, GetResourceParams.builder().build());
+    }
+
+    @Override
+    public Flux<ByteBuffer> getContent(S entity, PropertyPath path, GetResourceParams params) {
 
         if (entity == null)
             return Flux.empty();
@@ -147,17 +279,26 @@ public class DefaultReactiveS3StoreImpl<S, SID extends Serializable>
 
         final S3ObjectId s3ObjectId = getS3ObjectId(entity, path, property);
 
-        GetObjectRequest request = GetObjectRequest.builder()
+        GetObjectRequest.Builder requestBuilder = GetObjectRequest.builder()
                 .bucket(s3ObjectId.getBucket())
-                .key(s3ObjectId.getKey())
-                .build();
+                .key(s3ObjectId.getKey());
+
+        if (params != null && params.getRange() != null) {
+            requestBuilder.range(params.getRange());
+        }
+
+        GetObjectRequest request = requestBuilder.build();
 
-        AsyncResponseTransformer.toFile(new File("/tmp/foo"));
-        CompletableFuture<ResponsePublisher<GetObjectResponse>> responseFuture =
-                asyncClient.getObject(request, AsyncResponseTransformer.toPublisher());
+        // the request is made on subscription and cancelling the subscription, before or after the response starts,
+        // aborts it so that its connection is released
+        return Flux.defer(() -> {
+            CompletableFuture<ResponsePublisher<GetObjectResponse>> responseFuture =
+                    asyncClient.getObject(request, AsyncResponseTransformer.toPublisher());
 
-        ResponsePublisher<GetObjectResponse> responsePublisher = responseFuture.join();
-        return Flux.from(responsePublisher);
+            return Mono.fromFuture(responseFuture)
+                    .doOnCancel(() -> responseFuture.cancel(true))
+                    .flatMapMany(Flux::from);
+        });
     }
 
     @Transactional
@@ -8,6 +8,7 @@ import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.Map;
 import java.util.UUID;
 
 import org.apache.commons.io.IOUtils;
@@ -28,6 +29,8 @@ import org.springframework.content.commons.utils.Condition;
 import org.springframework.content.commons.utils.PlacementService;
 import org.springframework.content.s3.S3ObjectId;
 import org.springframework.content.s3.config.MultiTenantS3ClientProvider;
+import org.springframework.content.s3.config.S3ObjectMetadataCache;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.DefaultResourceLoader;
@@ -36,6 +39,7 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.WritableResource;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 import internal.org.springframework.content.commons.utils.ContentPropertyInfoTypeDescriptor;
 import internal.org.springframework.content.s3.io.S3StoreResource;
@@ -53,6 +57,12 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 	private PlacementService placementService;
 	private S3Client client;
 	private MultiTenantS3ClientProvider clientProvider;
+	private S3StoreUploadOptions uploadOptions;
+	private S3ObjectMetadataCache metadataCache;
+
+	// tenant clients and loaders, released under memory pressure.  Keyed by the provider's tenant key or else by the
+	// client; both are compared with equals, which the SDK's clients do not override, so a client is its own key
+	private final Map<Object, TenantResources> tenants = new ConcurrentReferenceHashMap<>();
 
     private MappingContext mappingContext/* = new MappingContext("/", ".")*/;
 
@@ -72,6 +82,14 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
         }
 	}
 
+	public void setUploadOptions(S3StoreUploadOptions uploadOptions) {
+		this.uploadOptions = uploadOptions;
+	}
+
+	public void setMetadataCache(S3ObjectMetadataCache metadataCache) {
+		this.metadataCache = metadataCache;
+	}
+
 	@Override
 	public Resource getResource(SID id) {
 		if (id == null)
@@ -159,16 +177,10 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
         S3Client clientToUse = client;
         ResourceLoader loaderToUse = loader;
         if (clientProvider != null) {
-			S3Client client = clientProvider.getS3Client();
-			if (client != null) {
-				SimpleStorageProtocolResolver s3Protocol = new SimpleStorageProtocolResolver(client);
-				s3Protocol.afterPropertiesSet();
-
-				DefaultResourceLoader loader = new DefaultResourceLoader();
-				loader.addProtocolResolver(s3Protocol);
-
-				clientToUse = client;
-				loaderToUse = loader;
+			TenantResources tenant = getTenantResources();
+			if (tenant != null) {
+				clientToUse = tenant.client;
+				loaderToUse = tenant.loader;
 			}
 		}
 
@@ -178,6 +190,50 @@ public class DefaultS3StoreImpl<S, SID extends Serializable>
 		return s3Resource;
 	}
 
+	private TenantResources getTenantResources() {
+		Object tenantKey = clientProvider.getTenantKey();
+		if (tenantKey != null) {
+			TenantResources tenant = tenants.get(tenantKey);
+			if (tenant == null) {
+				S3Client client = clientProvider.getS3Client();
+				if (client == null) {
+					return null;
+				}
+				tenant = tenants.computeIfAbsent(tenantKey, key -> createTenantResources(client));
+			}
+			return tenant;
+		}
+
+		S3Client client = clientProvider.getS3Client();
+		if (client == null) {
+			return null;
+		}
+		return tenants.computeIfAbsent(client, key -> createTenantResources(client));
+	}
+
+	private TenantResources createTenantResources(S3Client client) {
+		SimpleStorageProtocolResolver s3Protocol = new SimpleStorageProtocolResolver(client);
+		s3Protocol.setUploadOptions(uploadOptions);
+		s3Protocol.setMetadataCache(metadataCache);
+		s3Protocol.afterPropertiesSet();
+
+		DefaultResourceLoader loader = new DefaultResourceLoader();
+		loader.addProtocolResolver(s3Protocol);
+
+		return new TenantResources(client, loader);
+	}
+
+	private static final class TenantResources {
+
+		private final S3Client client;
+		private final ResourceLoader loader;
+
+		private TenantResources(S3Client client, ResourceLoader loader) {
+			this.client = client;
+			this.loader = loader;
+		}
+	}
+
 	@Override
 	public void associate(Object entity, Serializable id) {
 		BeanUtils.setFieldWithAnnotation(entity, ContentId.class, id);
@@ -5,6 +5,9 @@ import software.amazon.awssdk.services.s3.S3Client;
 /**
  * When configured to do so, the S3Store will provide the AmazonS3 client object returned by this function to any
  * `Resource`s that it is asked to load.
+ *
+ * The S3Store caches the resource loader it builds for each client.  Providers that create a new client on each call
+ * should also return a tenant key so that the S3Store can reuse the client and resource loader built for that tenant.
  */
 public interface MultiTenantS3ClientProvider {
 
@@ -14,4 +17,15 @@ public interface MultiTenantS3ClientProvider {
      * @return the S3Client client to use, or null
      */
     S3Client getS3Client();
+
+    /**
+     * A key identifying the current tenant, or null.  When a key is returned the S3Store only calls
+     * {@link #getS3Client()} the first time it sees the key, and uses the client returned then for as long as it
+     * caches it.  Keys must therefore be stable for a tenant and implement equals and hashCode.
+     *
+     * @return the tenant key, or null to cache by client
+     */
+    default Object getTenantKey() {
+        return null;
+    }
 }
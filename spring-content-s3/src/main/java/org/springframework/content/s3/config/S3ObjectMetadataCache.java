@@ -0,0 +1,198 @@
+package org.springframework.content.s3.config;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+/**
+ * A size-bounded cache of S3 object metadata, shared by the resources of S3 stores so that the several metadata
+ * lookups made while serving content (exists, length, last modified, content type) cost a single HEAD request.
+ *
+ * Entries, including those for objects that do not exist, live for the configured time to live and are evicted
+ * as soon as the object is written or deleted through a store.  Concurrent lookups of an object that is not cached
+ * share a single HEAD request.
+ *
+ * The hit, miss and coalesced counts can be bound to a metrics registry; for example, with Micrometer,
+ * {@code FunctionCounter.builder("s3.metadata.cache.hits", cache, S3ObjectMetadataCache::getHitCount)}.
+ */
+public class S3ObjectMetadataCache {
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private final long ttlNanos;
+	private final int maximumSize;
+
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	private final Map<Key, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	public S3ObjectMetadataCache(Duration ttl) {
+		this(ttl, DEFAULT_MAXIMUM_SIZE);
+	}
+
+	public S3ObjectMetadataCache(Duration ttl, int maximumSize) {
+		Assert.notNull(ttl, "ttl must be specified");
+		Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "ttl must be positive");
+		Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+		this.ttlNanos = ttl.toNanos();
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Returns the metadata of an object, making the HEAD request only if the metadata is not cached and no other
+	 * thread is already making it.
+	 *
+	 * @param client the client the object is accessed with
+	 * @param bucket the bucket
+	 * @param key the object key
+	 * @param versionId the version, or null
+	 * @param head makes the HEAD request, returning null if the object does not exist
+	 * @return the metadata, or null if the object does not exist
+	 */
+	public HeadObjectResponse get(S3Client client, String bucket, String key, String versionId, Supplier<HeadObjectResponse> head) {
+		Key k = new Key(client, bucket, key, versionId);
+
+		Entry entry = entries.get(k);
+		if (entry != null && entry.expires - System.nanoTime() > 0) {
+			hits.increment();
+			return entry.metadata;
+		}
+
+		CompletableFuture<Entry> load = new CompletableFuture<>();
+		CompletableFuture<Entry> inFlight = loading.putIfAbsent(k, load);
+		if (inFlight != null) {
+			coalesced.increment();
+			try {
+				return inFlight.join().metadata;
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+		}
+
+		misses.increment();
+		try {
+			entry = new Entry(head.get(), System.nanoTime() + ttlNanos);
+		} catch (RuntimeException e) {
+			loading.remove(k, load);
+			load.completeExceptionally(e);
+			throw e;
+		}
+
+		// an object invalidated while its metadata was loading is not cached
+		if (loading.remove(k, load)) {
+			entries.put(k, entry);
+			evictIfNecessary();
+		}
+		load.complete(entry);
+		return entry.metadata;
+	}
+
+	/**
+	 * Evicts the metadata of an object, typically because it has been written or deleted.
+	 */
+	public void invalidate(S3Client client, String bucket, String key) {
+		Key k = new Key(client, bucket, key, null);
+		loading.remove(k);
+		entries.remove(k);
+	}
+
+	public void invalidateAll() {
+		loading.clear();
+		entries.clear();
+	}
+
+	public long size() {
+		return entries.size();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that waited for another thread's HEAD request rather than making their own.
+	 */
+	public long getCoalescedCount() {
+		return coalesced.sum();
+	}
+
+	private void evictIfNecessary() {
+		if (entries.size() <= maximumSize) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		entries.values().removeIf(entry -> entry.expires - now <= 0);
+
+		Iterator<Key> keys = entries.keySet().iterator();
+		while (entries.size() > maximumSize && keys.hasNext()) {
+			keys.next();
+			keys.remove();
+		}
+	}
+
+	private static final class Entry {
+
+		private final HeadObjectResponse metadata;
+		private final long expires;
+
+		private Entry(HeadObjectResponse metadata, long expires) {
+			this.metadata = metadata;
+			this.expires = expires;
+		}
+	}
+
+	private static final class Key {
+
+		private final S3Client client;
+		private final String bucket;
+		private final String key;
+		private final String versionId;
+
+		private Key(S3Client client, String bucket, String key, String versionId) {
+			this.client = client;
+			this.bucket = bucket;
+			this.key = key;
+			this.versionId = versionId;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (o instanceof Key == false) {
+				return false;
+			}
+			Key other = (Key) o;
+			// clients are compared by identity so that tenants never see each other's objects
+			return client == other.client && bucket.equals(other.bucket) && key.equals(other.key) && Objects.equals(versionId, other.versionId);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(client), bucket, key, versionId);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package org.springframework.content.s3.config;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * Controls how S3 stores upload content.
+ *
+ * Content larger than the part size is uploaded as a multipart upload.  Parts are uploaded by the task executor, when
+ * one is set, with at most {@code maxConcurrentParts} parts uploading, or waiting to upload, at any time; writers
+ * block until a part completes.  Each upload therefore holds at most {@code maxConcurrentParts + 1} part buffers.
+ */
+public class S3StoreUploadOptions {
+
+	// the minimum size for a part of a multipart upload
+	public static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+	public static final int DEFAULT_PART_SIZE = MIN_PART_SIZE;
+	public static final int DEFAULT_MAX_CONCURRENT_PARTS = 4;
+
+	private int partSize = DEFAULT_PART_SIZE;
+	private int maxConcurrentParts = DEFAULT_MAX_CONCURRENT_PARTS;
+	private TaskExecutor taskExecutor;
+
+	public int getPartSize() {
+		return partSize;
+	}
+
+	public void setPartSize(int partSize) {
+		Assert.isTrue(partSize >= MIN_PART_SIZE, "partSize must be at least 5MB");
+		this.partSize = partSize;
+	}
+
+	public int getMaxConcurrentParts() {
+		return maxConcurrentParts;
+	}
+
+	public void setMaxConcurrentParts(int maxConcurrentParts) {
+		Assert.isTrue(maxConcurrentParts > 0, "maxConcurrentParts must be greater than 0");
+		this.maxConcurrentParts = maxConcurrentParts;
+	}
+
+	public TaskExecutor getTaskExecutor() {
+		return taskExecutor;
+	}
+
+	/**
+	 * Sets the executor that uploads parts.  When not set parts are uploaded by the thread writing the content.
+	 *
+	 * @param taskExecutor the task executor
+	 */
+	public void setTaskExecutor(TaskExecutor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+}
@@ -0,0 +1,152 @@
+package internal.org.springframework.content.s3.io;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.JustBeforeEach;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+@RunWith(Ginkgo4jRunner.class)
+public class SimpleStorageResourceTest {
+
+	private SimpleStorageResource resource;
+
+	private S3Client client;
+	private S3StoreUploadOptions options;
+	private Map<Integer, byte[]> uploadedParts;
+	private AtomicInteger inFlight, maxInFlight;
+
+	private byte[] content;
+	private Exception e;
+
+	{
+		Describe("SimpleStorageResource", () -> {
+			BeforeEach(() -> {
+				client = mock(S3Client.class);
+				options = new S3StoreUploadOptions();
+				options.setMaxConcurrentParts(2);
+				options.setTaskExecutor(new SimpleAsyncTaskExecutor());
+
+				uploadedParts = new ConcurrentHashMap<>();
+				inFlight = new AtomicInteger();
+				maxInFlight = new AtomicInteger();
+
+				when(client.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(CreateMultipartUploadResponse.builder().bucket("some-bucket").key("some-key").uploadId("12345").build());
+				when(client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(invocation -> {
+					int active = inFlight.incrementAndGet();
+					maxInFlight.accumulateAndGet(active, Math::max);
+					try {
+						UploadPartRequest request = invocation.getArgument(0);
+						RequestBody body = invocation.getArgument(1);
+						try (InputStream in = body.contentStreamProvider().newStream()) {
+							uploadedParts.put(request.partNumber(), IOUtils.toByteArray(in));
+						}
+						Thread.sleep(50);
+						return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+					} finally {
+						inFlight.decrementAndGet();
+					}
+				});
+				e = null;
+			});
+			JustBeforeEach(() -> {
+				resource = new SimpleStorageResource(client, "some-bucket", "some-key", options.getTaskExecutor());
+				resource.setUploadOptions(options);
+				try (OutputStream os = resource.getOutputStream()) {
+					for (int i = 0; i < content.length; i += 100000) {
+						os.write(content, i, Math.min(100000, content.length - i));
+					}
+				} catch (IOException ioe) {
+					e = ioe;
+				}
+			});
+			Context("given content smaller than a part", () -> {
+				BeforeEach(() -> {
+					content = "Hello Content World!".getBytes();
+				});
+				It("should put the object in a single request", () -> {
+					assertThat(e, is(nullValue()));
+					ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+					verify(client).putObject(any(PutObjectRequest.class), body.capture());
+					try (InputStream in = body.getValue().contentStreamProvider().newStream()) {
+						assertThat(IOUtils.toByteArray(in), is(content));
+					}
+					verify(client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+				});
+			});
+			Context("given content larger than a part", () -> {
+				BeforeEach(() -> {
+					content = new byte[S3StoreUploadOptions.MIN_PART_SIZE * 4 + 1234];
+					new Random(42).nextBytes(content);
+				});
+				It("should upload the content as parts, at most max concurrent parts at a time", () -> {
+					assertThat(e, is(nullValue()));
+					assertThat(uploadedParts.size(), is(5));
+
+					ByteArrayOutputStream uploaded = new ByteArrayOutputStream();
+					for (int i = 1; i <= 5; i++) {
+						uploaded.write(uploadedParts.get(i));
+					}
+					assertThat(uploaded.toByteArray(), is(content));
+					assertThat(maxInFlight.get(), is(lessThanOrEqualTo(2)));
+				});
+				It("should complete the upload with the parts in order", () -> {
+					ArgumentCaptor<CompleteMultipartUploadRequest> request = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+					verify(client).completeMultipartUpload(request.capture());
+					assertThat(request.getValue().multipartUpload().parts().stream().map(CompletedPart::partNumber).collect(Collectors.toList()), is(Arrays.asList(1, 2, 3, 4, 5)));
+					assertThat(request.getValue().uploadId(), is("12345"));
+				});
+				Context("given a part fails to upload", () -> {
+					BeforeEach(() -> {
+						when(client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenThrow(new IllegalStateException("badness"));
+					});
+					It("should abort the upload", () -> {
+						assertThat(e, is(instanceOf(IOException.class)));
+						verify(client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+						verify(client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+					});
+				});
+			});
+		});
+	}
+}
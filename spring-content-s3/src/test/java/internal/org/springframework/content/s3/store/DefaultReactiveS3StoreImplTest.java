@@ -0,0 +1,314 @@
+package internal.org.springframework.content.s3.store;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.content.commons.annotations.ContentId;
+import org.springframework.content.commons.annotations.ContentLength;
+import org.springframework.content.commons.property.PropertyPath;
+import org.springframework.content.commons.repository.GetResourceParams;
+import org.springframework.content.commons.utils.PlacementService;
+import org.springframework.content.commons.utils.PlacementServiceImpl;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.content.s3.config.S3StoreUploadOptions;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import internal.org.springframework.content.s3.config.S3StoreConfiguration;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+@RunWith(Ginkgo4jRunner.class)
+public class DefaultReactiveS3StoreImplTest {
+
+	private DefaultReactiveS3StoreImpl<TestEntity, String> store;
+
+	private S3AsyncClient client;
+	private PlacementService placementService;
+
+	private TestEntity entity;
+	private GetResourceParams params;
+
+	// the in-process stand-in for S3: requests are answered when the test calls respond()
+	private AsyncResponseTransformer<GetObjectResponse, Object> transformer;
+	private CompletableFuture<Object> responseFuture;
+	private AtomicBoolean streamCancelled;
+
+	private Flux<ByteBuffer> content;
+	private long contentLen;
+	private StringBuilder received;
+	private Throwable error;
+	private boolean completed;
+	private Disposable subscription;
+
+	{
+		Describe("DefaultReactiveS3StoreImpl", () -> {
+			BeforeEach(() -> {
+				client = mock(S3AsyncClient.class);
+				when(client.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class))).thenAnswer(invocation -> {
+					transformer = invocation.getArgument(1);
+					responseFuture = new CompletableFuture<>();
+					return responseFuture;
+				});
+
+				placementService = new PlacementServiceImpl();
+				S3StoreConfiguration.addDefaultS3ObjectIdConverters(placementService, "some-bucket");
+
+				store = new DefaultReactiveS3StoreImpl<>(new GenericApplicationContext(), new DefaultResourceLoader(), null, placementService, client, null);
+
+				entity = new TestEntity("some-content-id");
+				params = GetResourceParams.builder().build();
+				streamCancelled = new AtomicBoolean();
+				received = new StringBuilder();
+				error = null;
+				completed = false;
+			});
+			Context("#setContent", () -> {
+				BeforeEach(() -> {
+					when(client.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class))).thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+					when(client.createMultipartUpload(any(CreateMultipartUploadRequest.class))).thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("some-upload").build()));
+					when(client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class))).thenAnswer(invocation -> {
+						UploadPartRequest request = invocation.getArgument(0);
+						return CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build());
+					});
+					when(client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class))).thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+					when(client.abortMultipartUpload(any(AbortMultipartUploadRequest.class))).thenReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+
+					S3StoreUploadOptions options = new S3StoreUploadOptions();
+					options.setPartSize(S3StoreUploadOptions.MIN_PART_SIZE);
+					store.setUploadOptions(options);
+				});
+				JustBeforeEach(() -> {
+					try {
+						store.setContent(entity, PropertyPath.from("content"), contentLen, content).block();
+					} catch (Exception e) {
+						error = e;
+					}
+				});
+				Context("given content of a known length", () -> {
+					BeforeEach(() -> {
+						contentLen = 20L;
+						content = chunks("Hello ", "Content ", "World!");
+					});
+					It("should put the object with that length", () -> {
+						ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+						verify(client).putObject(request.capture(), any(AsyncRequestBody.class));
+
+						assertThat(request.getValue().contentLength(), is(20L));
+						assertThat(entity.getContentLen(), is(20L));
+						verify(client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+					});
+				});
+				Context("given content of an unknown length that fits in one part", () -> {
+					BeforeEach(() -> {
+						contentLen = -1L;
+						content = chunks("Hello ", "Content ", "World!");
+					});
+					It("should put the object with the length of the content", () -> {
+						ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+						verify(client).putObject(request.capture(), any(AsyncRequestBody.class));
+
+						assertThat(request.getValue().contentLength(), is(20L));
+						assertThat(entity.getContentLen(), is(20L));
+						verify(client, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+					});
+				});
+				Context("given empty content of an unknown length", () -> {
+					BeforeEach(() -> {
+						contentLen = -1L;
+						content = Flux.empty();
+					});
+					It("should put an empty object", () -> {
+						ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+						verify(client).putObject(request.capture(), any(AsyncRequestBody.class));
+
+						assertThat(request.getValue().contentLength(), is(0L));
+						assertThat(entity.getContentLen(), is(0L));
+					});
+				});
+				Context("given content of an unknown length that is larger than a part", () -> {
+					BeforeEach(() -> {
+						contentLen = -1L;
+						content = Flux.range(0, 11).map(i -> ByteBuffer.allocate(512 * 1024));
+					});
+					It("should upload the content in parts", () -> {
+						ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+						verify(client, times(2)).uploadPart(parts.capture(), any(AsyncRequestBody.class));
+
+						assertThat(parts.getAllValues().get(0).partNumber(), is(1));
+						assertThat(parts.getAllValues().get(0).contentLength(), is((long) S3StoreUploadOptions.MIN_PART_SIZE));
+						assertThat(parts.getAllValues().get(1).partNumber(), is(2));
+						assertThat(parts.getAllValues().get(1).contentLength(), is(512L * 1024));
+						verify(client, never()).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+					});
+					It("should complete the upload and set the length of the content", () -> {
+						ArgumentCaptor<CompleteMultipartUploadRequest> request = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+						verify(client).completeMultipartUpload(request.capture());
+
+						List<CompletedPart> completed = request.getValue().multipartUpload().parts();
+						assertThat(completed.size(), is(2));
+						assertThat(completed.get(0).eTag(), is("etag-1"));
+						assertThat(completed.get(1).eTag(), is("etag-2"));
+						assertThat(request.getValue().uploadId(), is("some-upload"));
+						assertThat(entity.getContentLen(), is(11L * 512 * 1024));
+					});
+					Context("given a part fails to upload", () -> {
+						BeforeEach(() -> {
+							CompletableFuture<UploadPartResponse> failed = new CompletableFuture<>();
+							failed.completeExceptionally(new IllegalStateException("badness"));
+							when(client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class))).thenReturn(failed);
+						});
+						It("should abort the upload", () -> {
+							assertThat(error, is(not(nullValue())));
+							verify(client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+							verify(client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+						});
+					});
+				});
+			});
+			Context("#getContent", () -> {
+				JustBeforeEach(() -> {
+					content = store.getContent(entity, PropertyPath.from("content"), params);
+				});
+				It("should not make the request until subscribed to", () -> {
+					verify(client, never()).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+				});
+				Context("when subscribed to", () -> {
+					JustBeforeEach(() -> {
+						subscription = content.subscribe(
+								buffer -> received.append(StandardCharsets.UTF_8.decode(buffer)),
+								e -> error = e,
+								() -> completed = true);
+					});
+					It("should return without waiting for the response", () -> {
+						assertThat(completed, is(false));
+						assertThat(received.length(), is(0));
+					});
+					It("should stream the content once S3 responds", () -> {
+						respond("Hello ", "Content ", "World!");
+
+						assertThat(received.toString(), is("Hello Content World!"));
+						assertThat(completed, is(true));
+						assertThat(error, is(nullValue()));
+					});
+					It("should request the object", () -> {
+						ArgumentCaptor<GetObjectRequest> request = ArgumentCaptor.forClass(GetObjectRequest.class);
+						verify(client).getObject(request.capture(), any(AsyncResponseTransformer.class));
+
+						assertThat(request.getValue().bucket(), is("some-bucket"));
+						assertThat(request.getValue().key(), is("some-content-id"));
+						assertThat(request.getValue().range(), is(nullValue()));
+					});
+					Context("given a range", () -> {
+						BeforeEach(() -> {
+							params = GetResourceParams.builder().range("bytes=6-12").build();
+						});
+						It("should request the range", () -> {
+							ArgumentCaptor<GetObjectRequest> request = ArgumentCaptor.forClass(GetObjectRequest.class);
+							verify(client).getObject(request.capture(), any(AsyncResponseTransformer.class));
+
+							assertThat(request.getValue().range(), is("bytes=6-12"));
+						});
+					});
+					Context("when cancelled before S3 responds", () -> {
+						It("should cancel the request", () -> {
+							subscription.dispose();
+
+							assertThat(responseFuture.isCancelled(), is(true));
+						});
+					});
+					Context("when cancelled while streaming", () -> {
+						It("should cancel the response stream", () -> {
+							respond(Flux.<ByteBuffer>never());
+
+							subscription.dispose();
+
+							assertThat(streamCancelled.get(), is(true));
+						});
+					});
+				});
+			});
+		});
+	}
+
+	private static Flux<ByteBuffer> chunks(String... chunks) {
+		return Flux.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private void respond(String... chunks) {
+		respond(chunks(chunks));
+	}
+
+	private void respond(Flux<ByteBuffer> stream) {
+		CompletableFuture<Object> prepared = transformer.prepare();
+		transformer.onResponse(GetObjectResponse.builder().build());
+		transformer.onStream(SdkPublisher.adapt(stream.doOnCancel(() -> streamCancelled.set(true))));
+		prepared.whenComplete((result, e) -> {
+			if (e != null) {
+				responseFuture.completeExceptionally(e);
+			} else {
+				responseFuture.complete(result);
+			}
+		});
+	}
+
+	public static class TestEntity {
+
+		@ContentId
+		private String contentId;
+
+		@ContentLength
+		private long contentLen;
+
+		public TestEntity(String contentId) {
+			this.contentId = contentId;
+		}
+
+		public String getContentId() {
+			return contentId;
+		}
+
+		public void setContentId(String contentId) {
+			this.contentId = contentId;
+		}
+
+		public long getContentLen() {
+			return contentLen;
+		}
+
+		public void setContentLen(long contentLen) {
+			this.contentLen = contentLen;
+		}
+	}
+}
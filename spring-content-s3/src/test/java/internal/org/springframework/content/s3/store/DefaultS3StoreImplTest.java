@@ -7,6 +7,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.endsWith;
@@ -21,6 +22,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.junit.runner.RunWith;
@@ -68,6 +70,7 @@ public class DefaultS3StoreImplTest {
 	private S3Client client, client2;
 
 	private MultiTenantS3ClientProvider clientProvider;
+	private AtomicInteger clientRequests;
 
 	private String defaultBucket;
 
@@ -232,6 +235,33 @@ public class DefaultS3StoreImplTest {
 							assertThat(((S3StoreResource)r).getClient(), is(client2));
 							assertThat(r.getDescription(), is(format("Amazon s3 resource [bucket='%s' and object='%s']","some-bucket", "some-object-id")));
 						});
+
+						Context("given a provider that supplies a tenant key", () -> {
+							BeforeEach(() -> {
+								clientRequests = new AtomicInteger();
+								clientProvider = new MultiTenantS3ClientProvider() {
+									@Override
+									public S3Client getS3Client() {
+										clientRequests.incrementAndGet();
+										return mock(S3Client.class);
+									};
+
+									@Override
+									public Object getTenantKey() {
+										return "some-tenant";
+									}
+								};
+							});
+
+							It("should reuse the tenant's client", () -> {
+								S3Client tenantClient = ((S3StoreResource)r).getClient();
+
+								Resource r2 = s3ObjectIdBasedStore.getResource(new S3ObjectId("some-bucket", "some-other-object-id"));
+
+								assertThat(((S3StoreResource)r2).getClient(), is(sameInstance(tenantClient)));
+								assertThat(clientRequests.get(), is(1));
+							});
+						});
 					});
 				});
 			});
@@ -0,0 +1,127 @@
+package org.springframework.content.s3.config;
+
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.BeforeEach;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Context;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.Describe;
+import static com.github.paulcwarren.ginkgo4j.Ginkgo4jDSL.It;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runner.RunWith;
+
+import com.github.paulcwarren.ginkgo4j.Ginkgo4jRunner;
+
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+@RunWith(Ginkgo4jRunner.class)
+public class S3ObjectMetadataCacheTest {
+
+	private S3ObjectMetadataCache cache;
+
+	private S3Client client, otherClient;
+	private HeadObjectResponse metadata;
+	private AtomicInteger heads;
+
+	{
+		Describe("S3ObjectMetadataCache", () -> {
+			BeforeEach(() -> {
+				cache = new S3ObjectMetadataCache(Duration.ofMinutes(1), 2);
+				client = mock(S3Client.class);
+				otherClient = mock(S3Client.class);
+				metadata = HeadObjectResponse.builder().contentLength(42L).build();
+				heads = new AtomicInteger();
+			});
+			Context("given metadata that has been fetched", () -> {
+				BeforeEach(() -> {
+					cache.get(client, "bucket", "key", null, this::head);
+				});
+				It("should serve it from the cache", () -> {
+					assertThat(cache.get(client, "bucket", "key", null, this::head), is(sameInstance(metadata)));
+					assertThat(heads.get(), is(1));
+					assertThat(cache.getHitCount(), is(1L));
+					assertThat(cache.getMissCount(), is(1L));
+				});
+				It("should fetch it again once invalidated", () -> {
+					cache.invalidate(client, "bucket", "key");
+					cache.get(client, "bucket", "key", null, this::head);
+					assertThat(heads.get(), is(2));
+				});
+				It("should not serve it for another client", () -> {
+					cache.get(otherClient, "bucket", "key", null, this::head);
+					assertThat(heads.get(), is(2));
+				});
+				It("should evict entries beyond the maximum size", () -> {
+					cache.get(client, "bucket", "key2", null, this::head);
+					cache.get(client, "bucket", "key3", null, this::head);
+					assertThat(cache.size(), is(2L));
+				});
+			});
+			Context("given an object that does not exist", () -> {
+				It("should cache its absence", () -> {
+					assertThat(cache.get(client, "bucket", "missing", null, () -> { heads.incrementAndGet(); return null; }), is(nullValue()));
+					assertThat(cache.get(client, "bucket", "missing", null, this::head), is(nullValue()));
+					assertThat(heads.get(), is(1));
+				});
+			});
+			Context("given metadata that has expired", () -> {
+				It("should fetch it again", () -> {
+					cache = new S3ObjectMetadataCache(Duration.ofMillis(1));
+					cache.get(client, "bucket", "key", null, this::head);
+					Thread.sleep(10);
+					cache.get(client, "bucket", "key", null, this::head);
+					assertThat(heads.get(), is(2));
+				});
+			});
+			Context("given concurrent lookups of the same object", () -> {
+				It("should make a single HEAD request", () -> {
+					CountDownLatch started = new CountDownLatch(1);
+					CountDownLatch release = new CountDownLatch(1);
+					ExecutorService executor = Executors.newFixedThreadPool(4);
+					try {
+						Future<HeadObjectResponse> first = executor.submit(() -> cache.get(client, "bucket", "key", null, () -> {
+							started.countDown();
+							try {
+								release.await(5, TimeUnit.SECONDS);
+							} catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+							return head();
+						}));
+						started.await(5, TimeUnit.SECONDS);
+
+						Future<HeadObjectResponse> second = executor.submit(() -> cache.get(client, "bucket", "key", null, this::head));
+						Future<HeadObjectResponse> third = executor.submit(() -> cache.get(client, "bucket", "key", null, this::head));
+						while (cache.getCoalescedCount() < 2) {
+							Thread.sleep(5);
+						}
+						release.countDown();
+
+						assertThat(first.get(), is(sameInstance(metadata)));
+						assertThat(second.get(), is(sameInstance(metadata)));
+						assertThat(third.get(), is(sameInstance(metadata)));
+						assertThat(heads.get(), is(1));
+					} finally {
+						executor.shutdownNow();
+					}
+				});
+			});
+		});
+	}
+
+	private HeadObjectResponse head() {
+		heads.incrementAndGet();
+		return metadata;
+	}
+}